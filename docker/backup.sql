@@ -184,7 +184,7 @@ CREATE TABLE `INVOICES` (
   `date` datetime(6) NOT NULL,
   `status` enum('ACTIVE','DELETED','INACTIVE','NOT_PAID','NOT_SENT','PAID','PENDING','SENT','SUSPENDED') NOT NULL,
   PRIMARY KEY (`id`),
-  KEY `FKdhc51ih4oqto9ng00e4ioso7w` (`fk_user`),
+  KEY `idx_invoices_user_date` (`fk_user`,`date`),
   CONSTRAINT `FKdhc51ih4oqto9ng00e4ioso7w` FOREIGN KEY (`fk_user`) REFERENCES `USERS` (`id`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
 /*!40101 SET character_set_client = @saved_cs_client */;
@@ -960,6 +960,52 @@ LOCK TABLES `USERS_SEQ` WRITE;
 INSERT INTO `USERS_SEQ` VALUES (151);
 /*!40000 ALTER TABLE `USERS_SEQ` ENABLE KEYS */;
 UNLOCK TABLES;
+
+--
+-- Optimistic locking version columns
+--
+
+ALTER TABLE `INVOICES` ADD COLUMN `version` bigint NOT NULL DEFAULT '0';
+ALTER TABLE `MEMBERSHIPS` ADD COLUMN `version` bigint NOT NULL DEFAULT '0';
+ALTER TABLE `PAYMENTS` ADD COLUMN `version` bigint NOT NULL DEFAULT '0';
+ALTER TABLE `STUDENTS` ADD COLUMN `version` bigint NOT NULL DEFAULT '0';
+ALTER TABLE `TRAINING_GROUPS` ADD COLUMN `version` bigint NOT NULL DEFAULT '0';
+ALTER TABLE `USERS` ADD COLUMN `version` bigint NOT NULL DEFAULT '0';
+
+--
+-- Monthly membership billing
+--
+
+ALTER TABLE `PRODUCTS_SERVICES` ADD COLUMN `membership_type` enum('ADVANCED','BASIC','NO_LIMIT','PREMIUM','TRIAL') DEFAULT NULL,
+  ADD UNIQUE KEY `uk_products_services_membership_type` (`membership_type`);
+ALTER TABLE `INVOICES` ADD COLUMN `billing_period` date DEFAULT NULL,
+  ADD UNIQUE KEY `uk_invoices_user_billing_period` (`fk_user`,`billing_period`);
+
+CREATE TABLE `BILLING_RUNS` (
+  `failed_chunks` int NOT NULL,
+  `id` int NOT NULL,
+  `invoices_created` int NOT NULL,
+  `members_skipped` int NOT NULL,
+  `billing_period` date NOT NULL,
+  `finished_at` datetime(6) DEFAULT NULL,
+  `started_at` datetime(6) NOT NULL,
+  `version` bigint NOT NULL DEFAULT '0',
+  `status` enum('COMPLETED','FAILED','RUNNING') NOT NULL,
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_billing_runs_billing_period` (`billing_period`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+CREATE TABLE `BILLING_RUNS_SEQ` (
+  `next_val` bigint DEFAULT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+INSERT INTO `BILLING_RUNS_SEQ` VALUES (1);
+
+--
+-- One assistance record per student and training session
+--
+
+ALTER TABLE `ASSISTANCE` ADD UNIQUE KEY `uk_assistance_session_student` (`fk_training_session`,`fk_student`);
+
 /*!40103 SET TIME_ZONE=@OLD_TIME_ZONE */;
 
 /*!40101 SET SQL_MODE=@OLD_SQL_MODE */;
@@ -2,11 +2,13 @@ package com.denniseckerskorn;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main application class for the MemberFlow application.
  */
 @SpringBootApplication
+@EnableScheduling
 public class MemberFlowApplication {
     public static void main(String[] args) {
         SpringApplication.run(MemberFlowApplication.class, args);
@@ -0,0 +1,135 @@
+package com.denniseckerskorn.config;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Limits the number of requests processed at the same time when requests run on virtual threads.
+ * Tomcat no longer caps concurrency with a fixed thread pool in that mode, and since every request keeps its
+ * connection until it completes (open session in view), running more requests than there are pooled
+ * connections only moves the queue into HikariCP, where waiting requests time out with an error.
+ * Requests wait here instead, in arrival order, and are answered with 503 if no slot frees up in time.
+ * A request processed asynchronously, such as a streamed export, keeps its slot until the asynchronous
+ * processing completes, fails or times out, since it keeps reading from the database while it streams.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrencyLimitFilter.class);
+    private final Semaphore permits;
+    private final long acquireTimeoutNanos;
+
+    /**
+     * Constructor for ConcurrencyLimitFilter.
+     *
+     * @param maxRequests    the number of requests processed at the same time, by default the connection pool size
+     * @param acquireTimeout how long a request may wait for a slot
+     */
+    public ConcurrencyLimitFilter(
+            @Value("${memberflow.concurrency.max-requests:${spring.datasource.hikari.maximum-pool-size:10}}") int maxRequests,
+            @Value("${memberflow.concurrency.acquire-timeout:PT10S}") Duration acquireTimeout) {
+        this.permits = new Semaphore(maxRequests, true);
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+        logger.info("Virtual threads enabled, processing at most {} requests at the same time", maxRequests);
+    }
+
+    /**
+     * Waits for a free slot, then lets the request through and frees the slot when it completes,
+     * or when its asynchronous processing ends if it started any.
+     *
+     * @param request     the HTTP request
+     * @param response    the HTTP response
+     * @param filterChain the filter chain
+     * @throws ServletException if an error occurs during filtering
+     * @throws IOException      if an I/O error occurs
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+
+        if (!acquired) {
+            logger.warn("Rejected {} {}: no request slot freed up in time", request.getMethod(), request.getRequestURI());
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType("application/json");
+            response.getWriter().write("{\"message\": \"Server busy, please try again shortly.\"}");
+            return;
+        }
+
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleasingListener());
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                permits.release();
+            }
+        }
+    }
+
+    /**
+     * Frees the slot of an asynchronous request once, whichever of its end events comes first.
+     */
+    private class ReleasingListener implements AsyncListener {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+    }
+}
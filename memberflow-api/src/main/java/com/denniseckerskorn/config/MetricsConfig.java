@@ -0,0 +1,43 @@
+package com.denniseckerskorn.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Metrics configuration class for the parts Spring Boot does not bind on its own.
+ * Spring Boot publishes the HikariCP gauges and timers ({@code hikaricp.connections.*}) of the primary pool,
+ * the Hibernate statistics ({@code hibernate.*}) and the request timers; this class adds the replica pool
+ * when read-only transactions are routed to one.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Bean publishing the metrics of the replica pool and whether the replica is currently read from.
+     * Without a replica it binds nothing.
+     *
+     * @param dataSource the application DataSource
+     * @return the binder of the replica metrics
+     */
+    @Bean
+    public MeterBinder replicaMetrics(DataSource dataSource) {
+        return registry -> {
+            if (!(dataSource instanceof ReadWriteRoutingDataSource routingDataSource)) {
+                return;
+            }
+            HikariDataSource replica = routingDataSource.getReplicaDataSource();
+            if (replica.getMetricsTrackerFactory() == null) {
+                replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            }
+            Gauge.builder("memberflow.datasource.replica.usable", routingDataSource, source -> source.isReplicaUsable() ? 1 : 0)
+                    .description("Whether read-only transactions are routed to the replica (1) or to the primary (0)")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,63 @@
+package com.denniseckerskorn.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times every public method of the services, including the operations inherited from {@code AbstractService}.
+ * Each call is recorded in the {@value #METRIC_NAME} timer, tagged with the service class, the method and the
+ * simple name of the exception it threw ({@code none} on success), so the count of the non-{@code none} series
+ * is the error counter of a method. Controllers are timed by the {@code http.server.requests} timer of Spring
+ * Boot, tagged with the URI template, the status and the exception in the same way.
+ */
+@Aspect
+@Component
+public class ServiceMetricsAspect {
+
+    /**
+     * Name of the timer recording the service calls.
+     */
+    public static final String METRIC_NAME = "memberflow.service";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Constructor for ServiceMetricsAspect.
+     *
+     * @param meterRegistry the registry the timers are recorded in
+     */
+    public ServiceMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Runs a service method and records its duration and outcome.
+     *
+     * @param joinPoint the service call
+     * @return the result of the call
+     * @throws Throwable whatever the call throws, after recording it
+     */
+    @Around("execution(public * com.denniseckerskorn.services..*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(METRIC_NAME)
+                    .description("Duration of the service calls")
+                    .tag("class", AopUtils.getTargetClass(joinPoint.getTarget()).getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+}
@@ -2,8 +2,10 @@ package com.denniseckerskorn.controllers;
 
 import com.denniseckerskorn.dtos.LoginRequest;
 import com.denniseckerskorn.entities.user_managment.users.User;
+import com.denniseckerskorn.security.CustomUserDetails;
 import com.denniseckerskorn.security.JwtUtil;
-import com.denniseckerskorn.services.user_managment_services.UserService;
+import com.denniseckerskorn.security.LoginExecutor;
+import com.denniseckerskorn.security.core.AuthenticationException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -11,12 +13,15 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * AuthController handles user authentication requests.
  * It provides an endpoint for user login, which returns a JWT token upon successful authentication.
+ * Logins are checked on the {@link LoginExecutor}, so the request thread is released while BCrypt runs.
  */
 @RestController
 @RequestMapping("/api/v1/auth")
@@ -25,19 +30,19 @@ public class AuthController {
 
     private final AuthenticationManager authenticationManager;
     private final JwtUtil jwtUtil;
-    private final UserService userService;
+    private final LoginExecutor loginExecutor;
 
     /**
      * Constructor for AuthController.
      *
      * @param authenticationManager Authentication manager for handling authentication requests.
      * @param jwtUtil               Utility class for generating JWT tokens.
-     * @param userService           Service for handling user-related operations.
+     * @param loginExecutor         Bounded executor running the password checks.
      */
-    public AuthController(AuthenticationManager authenticationManager, JwtUtil jwtUtil, UserService userService) {
+    public AuthController(AuthenticationManager authenticationManager, JwtUtil jwtUtil, LoginExecutor loginExecutor) {
         this.authenticationManager = authenticationManager;
         this.jwtUtil = jwtUtil;
-        this.userService = userService;
+        this.loginExecutor = loginExecutor;
     }
 
     /**
@@ -49,19 +54,37 @@ public class AuthController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successful login"),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "429", description = "Too many logins in progress"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
 
     @Operation(summary = "User login", description = "Authenticate a user and return a JWT token")
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody LoginRequest loginRequest) {
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        loginRequest.getEmail(), loginRequest.getPassword()
-                )
-        );
+    public CompletableFuture<ResponseEntity<?>> login(@RequestBody LoginRequest loginRequest) {
+        return loginExecutor.submit(() -> authenticate(loginRequest));
+    }
+
+    /**
+     * Checks the credentials of a login and issues a token for the authenticated user.
+     * The user loaded by the authentication is reused, so a login looks the user up only once.
+     *
+     * @param loginRequest The login request containing user credentials.
+     * @return ResponseEntity containing the JWT token.
+     * @throws AuthenticationException if the credentials are invalid.
+     */
+    private ResponseEntity<?> authenticate(LoginRequest loginRequest) {
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(
+                            loginRequest.getEmail(), loginRequest.getPassword()
+                    )
+            );
+        } catch (org.springframework.security.core.AuthenticationException e) {
+            throw new AuthenticationException("Invalid email or password");
+        }
 
-        User user = userService.findByEmail(loginRequest.getEmail());
+        User user = ((CustomUserDetails) authentication.getPrincipal()).getUser();
 
         String authority = user.getRole().getPermissions().stream()
                 .map(p -> p.getPermissionName().name())
@@ -0,0 +1,145 @@
+package com.denniseckerskorn.controllers;
+
+import com.denniseckerskorn.dtos.class_managment_dtos.AssistanceDTO;
+import com.denniseckerskorn.dtos.finance_management_dtos.InvoiceDTO;
+import com.denniseckerskorn.dtos.finance_management_dtos.PaymentDTO;
+import com.denniseckerskorn.dtos.user_managment_dtos.StudentDTO;
+import com.denniseckerskorn.services.AbstractService;
+import com.denniseckerskorn.services.class_managment_services.AssistanceService;
+import com.denniseckerskorn.services.finance_services.InvoiceService;
+import com.denniseckerskorn.services.finance_services.PaymentService;
+import com.denniseckerskorn.services.user_managment_services.StudentService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Function;
+
+/**
+ * Controller for bulk exports.
+ * Each endpoint streams its records as newline-delimited JSON (one DTO per line) while they are
+ * read from the database, so the response starts immediately and memory use stays constant
+ * regardless of the number of records.
+ */
+@RestController
+@RequestMapping("/api/v1/exports")
+@Tag(name = "Exports", description = "Streaming NDJSON exports of large collections")
+public class ExportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportController.class);
+
+    private final StudentService studentService;
+    private final InvoiceService invoiceService;
+    private final PaymentService paymentService;
+    private final AssistanceService assistanceService;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructor for ExportController.
+     *
+     * @param studentService    Service for handling student records.
+     * @param invoiceService    Service for handling invoice records.
+     * @param paymentService    Service for handling payment records.
+     * @param assistanceService Service for handling assistance records.
+     * @param objectMapper      Mapper used to serialize each record.
+     */
+    public ExportController(StudentService studentService, InvoiceService invoiceService, PaymentService paymentService,
+                            AssistanceService assistanceService, ObjectMapper objectMapper) {
+        this.studentService = studentService;
+        this.invoiceService = invoiceService;
+        this.paymentService = paymentService;
+        this.assistanceService = assistanceService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Exports all students.
+     *
+     * @return ResponseEntity streaming one StudentDTO per line.
+     */
+    @GetMapping("/students")
+    @Operation(summary = "Export all students as NDJSON")
+    public ResponseEntity<StreamingResponseBody> exportStudents() {
+        return export("students", studentService, StudentDTO::fromEntity);
+    }
+
+    /**
+     * Exports all invoices.
+     *
+     * @return ResponseEntity streaming one InvoiceDTO per line.
+     */
+    @GetMapping("/invoices")
+    @Operation(summary = "Export all invoices as NDJSON")
+    public ResponseEntity<StreamingResponseBody> exportInvoices() {
+        return export("invoices", invoiceService, InvoiceDTO::new);
+    }
+
+    /**
+     * Exports all payments.
+     *
+     * @return ResponseEntity streaming one PaymentDTO per line.
+     */
+    @GetMapping("/payments")
+    @Operation(summary = "Export all payments as NDJSON")
+    public ResponseEntity<StreamingResponseBody> exportPayments() {
+        return export("payments", paymentService, PaymentDTO::new);
+    }
+
+    /**
+     * Exports all assistance records.
+     *
+     * @return ResponseEntity streaming one AssistanceDTO per line.
+     */
+    @GetMapping("/assistances")
+    @Operation(summary = "Export all assistance records as NDJSON")
+    public ResponseEntity<StreamingResponseBody> exportAssistances() {
+        return export("assistances", assistanceService, AssistanceDTO::fromEntity);
+    }
+
+    /**
+     * Builds a streaming NDJSON response over all entities of a service.
+     * Entities are converted inside the service transaction, so lazy associations can still be read.
+     *
+     * @param name    Name of the export, used for the file name.
+     * @param service Service providing the entities.
+     * @param mapper  Function converting an entity to its DTO; null results are skipped.
+     * @return ResponseEntity with the streaming body.
+     */
+    private <T> ResponseEntity<StreamingResponseBody> export(String name, AbstractService<T, Integer> service, Function<T, ?> mapper) {
+        StreamingResponseBody body = out -> {
+            try {
+                long count = service.streamAll(entity -> {
+                    Object dto = mapper.apply(entity);
+                    if (dto == null) {
+                        return;
+                    }
+                    try {
+                        out.write(objectMapper.writeValueAsBytes(dto));
+                        out.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                logger.info("Exported {} {}", count, name);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + name + ".ndjson")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+}
@@ -2,6 +2,7 @@ package com.denniseckerskorn.controllers.class_management_controllers;
 
 
 import com.denniseckerskorn.dtos.class_managment_dtos.AssistanceDTO;
+import com.denniseckerskorn.dtos.class_managment_dtos.RollCallDTO;
 import com.denniseckerskorn.entities.class_managment.Assistance;
 import com.denniseckerskorn.entities.class_managment.TrainingSession;
 import com.denniseckerskorn.entities.user_managment.users.Student;
@@ -69,6 +70,24 @@ public class AssistanceController {
         return ResponseEntity.ok(AssistanceDTO.fromEntity(saved));
     }
 
+    /**
+     * Records the attendance of several students to a training session in one request.
+     * Students who already have a record for the session get its date updated instead of a duplicate.
+     * A roll call racing another one for the same students is answered with 409, and can be sent again.
+     *
+     * @param dto The RollCallDTO containing the session ID, the IDs of the students present and an optional date.
+     * @return ResponseEntity containing the AssistanceDTOs of the given students for the session.
+     */
+    @Operation(summary = "Record a roll call", description = "Create or update the assistance records of several students for a training session at once")
+    @PostMapping("/roll-call")
+    public ResponseEntity<List<AssistanceDTO>> rollCall(@RequestBody RollCallDTO dto) {
+        List<AssistanceDTO> list = assistanceService.recordRollCall(dto.getSessionId(), dto.getStudentIds(), dto.getDate())
+                .stream()
+                .map(AssistanceDTO::fromEntity)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(list);
+    }
+
     /**
      * Updates an existing assistance record.
      *
@@ -89,12 +108,17 @@ public class AssistanceController {
     /**
      * Retrieves all assistance records.
      *
+     * @param page  Optional zero-based page index.
+     * @param size  Optional page size.
+     * @param after Optional ID of the last record of the previous page, to continue from.
      * @return ResponseEntity containing a list of AssistanceDTOs.
      */
     @Operation(summary = "Get all assistance records", description = "Retrieve a list of all assistance records")
     @GetMapping("/getAll")
-    public ResponseEntity<List<AssistanceDTO>> getAll() {
-        List<AssistanceDTO> list = assistanceService.findAll()
+    public ResponseEntity<List<AssistanceDTO>> getAll(@RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) Integer after) {
+        List<AssistanceDTO> list = assistanceService.findAll(page, size, after)
                 .stream()
                 .map(AssistanceDTO::fromEntity)
                 .collect(Collectors.toList());
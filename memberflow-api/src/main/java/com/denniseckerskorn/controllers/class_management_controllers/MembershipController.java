@@ -50,12 +50,17 @@ public class MembershipController {
     /**
      * Retrieves all memberships.
      *
+     * @param page  Optional zero-based page index.
+     * @param size  Optional page size.
+     * @param after Optional ID of the last record of the previous page, to continue from.
      * @return ResponseEntity containing a list of MembershipDTOs.
      */
     @Operation(summary = "Get all memberships", description = "Retrieve a list of all memberships")
     @GetMapping("/getAll")
-    public ResponseEntity<List<MembershipDTO>> getAllMemberships() {
-        List<Membership> memberships = membershipService.findAll();
+    public ResponseEntity<List<MembershipDTO>> getAllMemberships(@RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) Integer after) {
+        List<Membership> memberships = membershipService.findAll(page, size, after);
         if (memberships.isEmpty()) return ResponseEntity.noContent().build();
 
         List<MembershipDTO> dtos = memberships.stream()
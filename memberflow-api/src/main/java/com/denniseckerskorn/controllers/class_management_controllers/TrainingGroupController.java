@@ -72,10 +72,7 @@ public class TrainingGroupController {
         group.setTeacher(teacher);
         TrainingGroup createdGroup = trainingGroupService.save(group);
 
-        int months = dto.getRecurrenceMonths() != null && dto.getRecurrenceMonths() > 0
-                ? dto.getRecurrenceMonths()
-                : 1;
-        trainingSessionService.generateRecurringSession(createdGroup, months);
+        trainingSessionService.generateRecurringSessions(createdGroup, dto.toRecurrenceRule(createdGroup.getSchedule()));
 
         return ResponseEntity.status(HttpStatus.CREATED).body(new TrainingGroupDTO(createdGroup));
     }
@@ -160,13 +157,18 @@ public class TrainingGroupController {
     /**
      * Retrieves all training groups.
      *
+     * @param page  Optional zero-based page index.
+     * @param size  Optional page size.
+     * @param after Optional ID of the last record of the previous page, to continue from.
      * @return ResponseEntity containing a list of TrainingGroupDTOs.
      */
     @Operation(summary = "Get all training groups", description = "Retrieve a list of all training groups")
     @GetMapping("/getAll")
-    public ResponseEntity<List<TrainingGroupDTO>> getAll() {
+    public ResponseEntity<List<TrainingGroupDTO>> getAll(@RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) Integer after) {
         return ResponseEntity.ok(
-                trainingGroupService.findAll().stream()
+                trainingGroupService.findAll(page, size, after).stream()
                         .map(TrainingGroupDTO::new)
                         .collect(Collectors.toList())
         );
@@ -213,20 +215,18 @@ public class TrainingGroupController {
     /**
      * Generates recurring training sessions for a group.
      *
+     * Dates that already have a session are skipped, so the endpoint can be called again to extend a series.
+     *
      * @param dto The TrainingGroupDTO containing the group ID and recurrence details.
      * @return ResponseEntity containing the updated TrainingGroupDTO.
      */
-    @Operation(summary = "Generate recurring training sessions for a group", description = "Generates recurring training sessions for a specified number of months")
+    @Operation(summary = "Generate recurring training sessions for a group", description = "Generates weekly, biweekly or weekday-based training sessions up to an end date or for a specified number of months, skipping excluded dates and existing sessions")
     @Transactional
     @PostMapping("/generate-recurring-sessions")
     public ResponseEntity<TrainingGroupDTO> generateRecurringSessions(@RequestBody TrainingGroupDTO dto) {
         TrainingGroup group = trainingGroupService.findById(dto.getId());
 
-        int months = (dto.getRecurrenceMonths() != null && dto.getRecurrenceMonths() > 0)
-                ? dto.getRecurrenceMonths()
-                : 1;
-
-        trainingSessionService.generateRecurringSession(group, months);
+        trainingSessionService.generateRecurringSessions(group, dto.toRecurrenceRule(group.getSchedule()));
 
         return ResponseEntity.ok(new TrainingGroupDTO(group));
     }
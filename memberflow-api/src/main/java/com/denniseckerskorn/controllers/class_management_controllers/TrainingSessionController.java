@@ -53,12 +53,17 @@ public class TrainingSessionController {
     /**
      * Gets all training sessions and returns them as a list of DTOs.
      *
+     * @param page  Optional zero-based page index.
+     * @param size  Optional page size.
+     * @param after Optional ID of the last record of the previous page, to continue from.
      * @return List of TrainingSessionDTOs containing all training sessions.
      */
     @Operation(summary = "Get all training sessions", description = "Retrieve a list of all training sessions")
     @GetMapping("/getAll")
-    public List<TrainingSessionDTO> getAll() {
-        return trainingSessionService.findAll()
+    public List<TrainingSessionDTO> getAll(@RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) Integer after) {
+        return trainingSessionService.findAll(page, size, after)
                 .stream()
                 .map(TrainingSessionDTO::fromEntity)
                 .collect(Collectors.toList());
@@ -0,0 +1,72 @@
+package com.denniseckerskorn.controllers.finance_management;
+
+import com.denniseckerskorn.dtos.finance_management_dtos.BillingRunDTO;
+import com.denniseckerskorn.exceptions.InvalidDataException;
+import com.denniseckerskorn.services.finance_services.BillingRunService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Controller for the monthly membership billing.
+ * Provides endpoints for starting or resuming the billing run of a month and for retrieving past runs.
+ */
+@RestController
+@RequestMapping("/api/v1/billing-runs")
+@Tag(name = "Billing Runs", description = "Operations related to the monthly membership billing")
+public class BillingRunController {
+
+    private final BillingRunService billingRunService;
+
+    /**
+     * Constructor for BillingRunController.
+     *
+     * @param billingRunService Service for running the monthly billing.
+     */
+    public BillingRunController(BillingRunService billingRunService) {
+        this.billingRunService = billingRunService;
+    }
+
+    /**
+     * Invoices every active membership of a month, or resumes the run of that month if it did not complete.
+     * The request returns once the run has finished.
+     *
+     * @param period      Optional month to bill, as yyyy-MM; defaults to the current month.
+     * @param parallelism Optional number of chunks invoiced at the same time.
+     * @return ResponseEntity containing the BillingRunDTO of the run.
+     * @throws InvalidDataException if the parallelism is out of range.
+     */
+    @PostMapping("/run")
+    @Operation(summary = "Run or resume the membership billing of a month")
+    public ResponseEntity<BillingRunDTO> run(@RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth period,
+                                             @RequestParam(required = false) Integer parallelism) throws InvalidDataException {
+        YearMonth billedMonth = period != null ? period : YearMonth.now();
+        int threads = parallelism != null ? parallelism : BillingRunService.DEFAULT_PARALLELISM;
+        return new ResponseEntity<>(new BillingRunDTO(billingRunService.runMonthlyBilling(billedMonth, threads)), HttpStatus.OK);
+    }
+
+    /**
+     * Retrieves all billing runs.
+     *
+     * @param page  Optional zero-based page index.
+     * @param size  Optional page size.
+     * @param after Optional ID of the last record of the previous page, to continue from.
+     * @return ResponseEntity containing a list of BillingRunDTOs.
+     */
+    @GetMapping("/getAll")
+    @Operation(summary = "Get all billing runs")
+    public ResponseEntity<List<BillingRunDTO>> getAll(@RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) Integer after) {
+        List<BillingRunDTO> dtos = billingRunService.findAll(page, size, after)
+                .stream().map(BillingRunDTO::new).collect(Collectors.toList());
+        return new ResponseEntity<>(dtos, HttpStatus.OK);
+    }
+}
@@ -83,12 +83,17 @@ public class IVATypeController {
     /**
      * Retrieves all IVA types.
      *
+     * @param page  Optional zero-based page index.
+     * @param size  Optional page size.
+     * @param after Optional ID of the last record of the previous page, to continue from.
      * @return ResponseEntity containing a list of IVATypeDTOs.
      */
     @GetMapping("/getAll")
     @Operation(summary = "Get all IVA types")
-    public ResponseEntity<List<IVATypeDTO>> getAll() {
-        List<IVATypeDTO> dtos = ivaTypeService.findAll()
+    public ResponseEntity<List<IVATypeDTO>> getAll(@RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) Integer after) {
+        List<IVATypeDTO> dtos = ivaTypeService.findAll(page, size, after)
                 .stream().map(IVATypeDTO::new).collect(Collectors.toList());
         return new ResponseEntity<>(dtos, HttpStatus.OK);
     }
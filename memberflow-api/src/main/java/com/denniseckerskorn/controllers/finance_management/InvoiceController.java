@@ -6,24 +6,35 @@ import com.denniseckerskorn.dtos.finance_management_dtos.CreateInvoiceRequestDTO
 import com.denniseckerskorn.dtos.finance_management_dtos.InvoiceDTO;
 import com.denniseckerskorn.entities.finance.Invoice;
 import com.denniseckerskorn.entities.finance.InvoiceLine;
-import com.denniseckerskorn.entities.finance.ProductService;
 import com.denniseckerskorn.entities.user_managment.users.User;
+import com.denniseckerskorn.enums.StatusValues;
+import com.denniseckerskorn.exceptions.BadRequestException;
 import com.denniseckerskorn.exceptions.DuplicateEntityException;
 import com.denniseckerskorn.exceptions.EntityNotFoundException;
 import com.denniseckerskorn.exceptions.InvalidDataException;
-import com.denniseckerskorn.services.finance_service.InvoicePdfGenerator;
+import com.denniseckerskorn.projections.InvoiceSummary;
+import com.denniseckerskorn.exceptions.TooManyRequestsException;
+import com.denniseckerskorn.services.finance_service.InvoicePdfCache;
+import com.denniseckerskorn.services.finance_service.InvoicePdfExporter;
+import com.denniseckerskorn.services.finance_services.InvoiceLineRequest;
 import com.denniseckerskorn.services.finance_services.InvoiceService;
-import com.denniseckerskorn.services.finance_services.ProductServiceService;
 import com.denniseckerskorn.services.user_managment_services.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -38,22 +49,23 @@ public class InvoiceController {
 
     private final InvoiceService invoiceService;
     private final UserService userService;
-    private final ProductServiceService productServiceService;
-    private final InvoicePdfGenerator invoicePdfGenerator;
+    private final InvoicePdfCache invoicePdfCache;
+    private final InvoicePdfExporter invoicePdfExporter;
 
     /**
      * Constructor for InvoiceController.
      *
      * @param invoiceService        Service for handling invoice records.
      * @param userService           Service for handling user records.
-     * @param productServiceService Service for handling product/service records.
-     * @param invoicePdfGenerator   Service for generating PDF invoices.
+     * @param invoicePdfCache       Cache of the rendered PDF invoices.
+     * @param invoicePdfExporter    Exporter of invoices as a ZIP of PDFs.
      */
-    public InvoiceController(InvoiceService invoiceService, UserService userService, ProductServiceService productServiceService, InvoicePdfGenerator invoicePdfGenerator) {
+    public InvoiceController(InvoiceService invoiceService, UserService userService, InvoicePdfCache invoicePdfCache,
+                             InvoicePdfExporter invoicePdfExporter) {
         this.invoiceService = invoiceService;
         this.userService = userService;
-        this.productServiceService = productServiceService;
-        this.invoicePdfGenerator = invoicePdfGenerator;
+        this.invoicePdfCache = invoicePdfCache;
+        this.invoicePdfExporter = invoicePdfExporter;
     }
 
     /**
@@ -72,43 +84,77 @@ public class InvoiceController {
             throw new EntityNotFoundException("User not found");
         }
 
-        Invoice invoice = dto.toEntity(user);
-        invoiceService.save(invoice);
-
-        if (dto.getLines() != null && !dto.getLines().isEmpty()) {
-            for (CreateInvoiceLineDTO lineDTO : dto.getLines()) {
-                ProductService product = productServiceService.findById(lineDTO.getProductServiceId());
-                if (product == null) {
-                    throw new EntityNotFoundException("Product/Service not found with ID: " + lineDTO.getProductServiceId());
-                }
-                InvoiceLine line = lineDTO.toEntity(invoice, product);
-                invoiceService.addLineToInvoiceById(invoice.getId(), line);
-            }
-        }
-        invoiceService.recalculateTotal(invoice);
+        List<InvoiceLineRequest> lines = dto.getLines() == null ? List.of() : dto.getLines().stream()
+                .map(CreateInvoiceLineDTO::toRequest)
+                .collect(Collectors.toList());
+        Invoice invoice = invoiceService.createInvoiceWithLines(dto.toEntity(user), lines);
         return new ResponseEntity<>(new InvoiceDTO(invoice), HttpStatus.CREATED);
     }
 
     /**
      * Generates a PDF for an invoice by its ID.
+     * The invoice and its lines are read in one read-only transaction, which may be served by the replica.
+     * The response carries an ETag of the rendered content: a request whose {@code If-None-Match} matches it
+     * gets 304 without the PDF, and otherwise the PDF comes from the {@link InvoicePdfCache} when the invoice
+     * has not changed since it was last rendered.
      *
-     * @param id The ID of the invoice to generate the PDF for.
-     * @return ResponseEntity containing the PDF file as a byte array.
+     * @param id      The ID of the invoice to generate the PDF for.
+     * @param request The request, checked for a matching {@code If-None-Match} header.
+     * @return ResponseEntity containing the PDF file as a byte array, or 304 if the client has it already.
      * @throws EntityNotFoundException If the invoice is not found.
      */
+    @Transactional(readOnly = true)
     @GetMapping("/generatePDFById/{id}")
     @Operation(summary = "Generate PDF for invoice by ID")
-    public ResponseEntity<byte[]> downloadInvoicePdf(@PathVariable Integer id) throws EntityNotFoundException {
+    public ResponseEntity<byte[]> downloadInvoicePdf(@PathVariable Integer id, WebRequest request) throws EntityNotFoundException {
         Invoice invoice = invoiceService.findById(id);
+        String etag = invoicePdfCache.etag(invoice);
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .build();
+        }
 
-        byte[] pdf = invoicePdfGenerator.generateInvoicePdf(invoice);
+        byte[] pdf = invoicePdfCache.getPdf(invoice, etag);
 
         return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=factura_" + id + ".pdf")
                 .contentType(MediaType.APPLICATION_PDF)
                 .body(pdf);
     }
 
+    /**
+     * Exports the PDFs of the invoices of a date range, of a user or of both as a ZIP, oldest invoice first.
+     * The ZIP is streamed while the invoices are read and rendered, so the download starts immediately and
+     * memory use does not depend on the number of invoices.
+     *
+     * @param userId Optional ID of the user the invoices belong to.
+     * @param from   Optional first day of the range.
+     * @param to     Optional last day of the range, included.
+     * @param request The current request, which the ZIP is streamed for.
+     * @return ResponseEntity streaming the ZIP, with one factura_{id}.pdf entry per invoice.
+     * @throws InvalidDataException     If neither a user nor a complete date range is given.
+     * @throws TooManyRequestsException If too many exports are already running.
+     */
+    @GetMapping("/exportPDFs")
+    @Operation(summary = "Export the PDFs of the invoices of a date range or user as a ZIP")
+    public ResponseEntity<StreamingResponseBody> exportInvoicePdfs(@RequestParam(required = false) Integer userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            WebRequest request) throws InvalidDataException, TooManyRequestsException {
+        invoiceService.validateInvoiceFilter(userId, from, to);
+        StreamingResponseBody body = invoicePdfExporter.export(request,
+                consumer -> invoiceService.streamInvoicesWithLines(userId, from, to, consumer));
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=facturas.zip")
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .body(body);
+    }
+
     /**
      * Creates a new invoice.
      *
@@ -156,16 +202,38 @@ public class InvoiceController {
     /**
      * Retrieves all invoices.
      *
+     * @param page  Optional zero-based page index.
+     * @param size  Optional page size.
+     * @param after Optional ID of the last record of the previous page, to continue from.
      * @return ResponseEntity containing a list of InvoiceDTOs.
      */
     @GetMapping("/getAll")
     @Operation(summary = "Get all invoices")
-    public ResponseEntity<List<InvoiceDTO>> getAllInvoices() {
-        List<InvoiceDTO> dtos = invoiceService.findAll()
+    public ResponseEntity<List<InvoiceDTO>> getAllInvoices(@RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) Integer after) {
+        List<InvoiceDTO> dtos = invoiceService.findAll(page, size, after)
                 .stream().map(InvoiceDTO::new).collect(Collectors.toList());
         return new ResponseEntity<>(dtos, HttpStatus.OK);
     }
 
+    /**
+     * Retrieves all invoices as lightweight summaries with the name and email of their user,
+     * read in a single query without invoice lines.
+     *
+     * @param page  Optional zero-based page index.
+     * @param size  Optional page size.
+     * @param after Optional ID of the last record of the previous page, to continue from.
+     * @return ResponseEntity containing a list of InvoiceSummary records.
+     */
+    @GetMapping("/getAllSummaries")
+    @Operation(summary = "Get all invoices as summaries")
+    public ResponseEntity<List<InvoiceSummary>> getAllInvoiceSummaries(@RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) Integer after) {
+        return new ResponseEntity<>(invoiceService.findAllSummaries(page, size, after), HttpStatus.OK);
+    }
+
     /**
      * Deletes an invoice by its ID.
      *
@@ -182,16 +250,28 @@ public class InvoiceController {
     }
 
     /**
-     * Retrieves all invoices associated with a specific user ID.
+     * Retrieves the invoices associated with a specific user ID, newest first.
+     * Without a size every matching invoice is returned; with a size the result is a single
+     * page, and the next page is requested by passing the date and ID of its last invoice
+     * as afterDate and afterId.
      *
-     * @param userId The ID of the user whose invoices are to be retrieved.
+     * @param userId    The ID of the user whose invoices are to be retrieved.
+     * @param status    Optional status to filter the invoices by.
+     * @param size      Optional maximum number of invoices to return.
+     * @param afterDate Date of the last invoice of the previous page.
+     * @param afterId   ID of the last invoice of the previous page.
      * @return ResponseEntity containing a list of InvoiceDTOs for the specified user.
-     * @throws InvalidDataException If the provided data is invalid.
+     * @throws InvalidDataException If the user ID is missing.
+     * @throws BadRequestException  If only half of the cursor is given, or the size is out of range.
      */
     @GetMapping("/getAllInvoicesByUserId/{userId}")
     @Operation(summary = "Get all invoices by user ID")
-    public ResponseEntity<List<InvoiceDTO>> getInvoicesByUserId(@PathVariable Integer userId) throws InvalidDataException {
-        List<InvoiceDTO> dtos = invoiceService.findAllInvoicesByUserId(userId)
+    public ResponseEntity<List<InvoiceDTO>> getInvoicesByUserId(@PathVariable Integer userId,
+                                                                @RequestParam(required = false) StatusValues status,
+                                                                @RequestParam(required = false) Integer size,
+                                                                @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime afterDate,
+                                                                @RequestParam(required = false) Integer afterId) throws InvalidDataException {
+        List<InvoiceDTO> dtos = invoiceService.findInvoicesByUserId(userId, status, afterDate, afterId, size)
                 .stream().map(InvoiceDTO::new).collect(Collectors.toList());
         return new ResponseEntity<>(dtos, HttpStatus.OK);
     }
@@ -83,12 +83,17 @@ public class InvoiceLineController {
     /**
      * Retrieves all invoice lines.
      *
+     * @param page  Optional zero-based page index.
+     * @param size  Optional page size.
+     * @param after Optional ID of the last record of the previous page, to continue from.
      * @return ResponseEntity containing a list of InvoiceLineDTOs representing all invoice lines.
      */
     @GetMapping("/getAll")
     @Operation(summary = "Get all invoice lines")
-    public ResponseEntity<List<InvoiceLineDTO>> getAll() {
-        List<InvoiceLineDTO> dtos = invoiceLineService.findAll()
+    public ResponseEntity<List<InvoiceLineDTO>> getAll(@RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) Integer after) {
+        List<InvoiceLineDTO> dtos = invoiceLineService.findAll(page, size, after)
                 .stream().map(InvoiceLineDTO::new).collect(Collectors.toList());
         return new ResponseEntity<>(dtos, HttpStatus.OK);
     }
@@ -107,12 +107,17 @@ public class PaymentController {
     /**
      * Retrieves all payments.
      *
+     * @param page  Optional zero-based page index.
+     * @param size  Optional page size.
+     * @param after Optional ID of the last record of the previous page, to continue from.
      * @return ResponseEntity containing a list of PaymentDTOs.
      */
     @GetMapping("/getAll")
     @Operation(summary = "Get all payments")
-    public ResponseEntity<List<PaymentDTO>> getAll() {
-        List<PaymentDTO> dtos = paymentService.findAll()
+    public ResponseEntity<List<PaymentDTO>> getAll(@RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) Integer after) {
+        List<PaymentDTO> dtos = paymentService.findAllSummaries(page, size, after)
                 .stream().map(PaymentDTO::new).collect(Collectors.toList());
         return new ResponseEntity<>(dtos, HttpStatus.OK);
     }
@@ -141,7 +146,7 @@ public class PaymentController {
     @GetMapping("/getAllByUserId/{userId}")
     @Operation(summary = "Get all payments by user ID")
     public ResponseEntity<List<PaymentDTO>> getAllByUserId(@PathVariable Integer userId) {
-        List<PaymentDTO> dtos = paymentService.findAllByUserId(userId)
+        List<PaymentDTO> dtos = paymentService.findAllSummariesByUserId(userId)
                 .stream().map(PaymentDTO::new).collect(Collectors.toList());
         return new ResponseEntity<>(dtos, HttpStatus.OK);
     }
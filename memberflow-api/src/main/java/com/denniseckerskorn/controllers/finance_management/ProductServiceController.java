@@ -90,12 +90,17 @@ public class ProductServiceController {
     /**
      * Retrieves all products/services.
      *
+     * @param page  Optional zero-based page index.
+     * @param size  Optional page size.
+     * @param after Optional ID of the last record of the previous page, to continue from.
      * @return ResponseEntity containing a list of ProductServiceDTOs.
      */
     @GetMapping("/getAll")
     @Operation(summary = "Get all products/services")
-    public ResponseEntity<List<ProductServiceDTO>> getAll() {
-        List<ProductServiceDTO> dtos = productServiceService.findAll()
+    public ResponseEntity<List<ProductServiceDTO>> getAll(@RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) Integer after) {
+        List<ProductServiceDTO> dtos = productServiceService.findAll(page, size, after)
                 .stream().map(ProductServiceDTO::new).collect(Collectors.toList());
         return new ResponseEntity<>(dtos, HttpStatus.OK);
     }
@@ -50,12 +50,17 @@ public class AdminController {
     /**
      * Gets all administrators and returns them as a list of DTOs.
      *
+     * @param page  Optional zero-based page index.
+     * @param size  Optional page size.
+     * @param after Optional ID of the last record of the previous page, to continue from.
      * @return ResponseEntity containing a list of AdminDTOs or no content if none found.
      */
     @Operation(summary = "Get all administrators")
     @GetMapping("/getAll")
-    public ResponseEntity<List<AdminDTO>> getAllAdmins() {
-        List<Admin> admins = adminService.findAll();
+    public ResponseEntity<List<AdminDTO>> getAllAdmins(@RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) Integer after) {
+        List<Admin> admins = adminService.findAll(page, size, after);
         List<AdminDTO> dtos = admins.stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
@@ -41,12 +41,17 @@ public class NotificationController {
     /**
      * Gets all notifications and returns them as a list of DTOs.
      *
+     * @param page  Optional zero-based page index.
+     * @param size  Optional page size.
+     * @param after Optional ID of the last record of the previous page, to continue from.
      * @return ResponseEntity containing a list of NotificationDTOs or no content if none found.
      */
     @Operation(summary = "Get all notifications", description = "Retrieve a list of all notifications")
     @GetMapping("/getAll")
-    public ResponseEntity<List<NotificationDTO>> getAll() {
-        List<Notification> notifications = notificationService.findAll();
+    public ResponseEntity<List<NotificationDTO>> getAll(@RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) Integer after) {
+        List<Notification> notifications = notificationService.findAll(page, size, after);
         if (notifications.isEmpty()) return ResponseEntity.noContent().build();
 
         List<NotificationDTO> dtos = notifications.stream().map(this::toDTO).collect(Collectors.toList());
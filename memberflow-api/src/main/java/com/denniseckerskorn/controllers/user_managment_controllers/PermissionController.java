@@ -34,12 +34,17 @@ public class PermissionController {
     /**
      * Retrieves all permissions and returns them as a list of DTOs.
      *
+     * @param page  Optional zero-based page index.
+     * @param size  Optional page size.
+     * @param after Optional ID of the last record of the previous page, to continue from.
      * @return ResponseEntity containing a list of PermissionDTOs or no content if none found.
      */
     @Operation(summary = "Get all permissions", description = "Retrieve a list of all permissions")
     @GetMapping("/getAll")
-    public ResponseEntity<List<PermissionDTO>> getAll() {
-        List<Permission> permissions = permissionService.findAll();
+    public ResponseEntity<List<PermissionDTO>> getAll(@RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) Integer after) {
+        List<Permission> permissions = permissionService.findAll(page, size, after);
         if (permissions.isEmpty()) return ResponseEntity.noContent().build();
 
         List<PermissionDTO> dtos = permissions.stream()
@@ -40,12 +40,17 @@ public class RoleController {
     /**
      * Retrieves all roles and returns them as a list of DTOs.
      *
+     * @param page  Optional zero-based page index.
+     * @param size  Optional page size.
+     * @param after Optional ID of the last record of the previous page, to continue from.
      * @return ResponseEntity containing a list of RoleDTOs or no content if none found.
      */
     @Operation(summary = "Get all roles", description = "Retrieve a list of all roles")
     @GetMapping("/getAll")
-    public ResponseEntity<List<RoleDTO>> getAll() {
-        List<Role> roles = roleService.findAll();
+    public ResponseEntity<List<RoleDTO>> getAll(@RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) Integer after) {
+        List<Role> roles = roleService.findAll(page, size, after);
         if (roles.isEmpty()) return ResponseEntity.noContent().build();
 
         List<RoleDTO> dtos = roles.stream().map(this::toDTO).collect(Collectors.toList());
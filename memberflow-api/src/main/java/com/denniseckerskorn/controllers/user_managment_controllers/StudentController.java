@@ -13,6 +13,7 @@ import com.denniseckerskorn.entities.user_managment.users.Student;
 import com.denniseckerskorn.entities.user_managment.users.User;
 import com.denniseckerskorn.enums.StatusValues;
 import com.denniseckerskorn.exceptions.InvalidDataException;
+import com.denniseckerskorn.projections.StudentSummary;
 import com.denniseckerskorn.services.class_managment_services.MembershipService;
 import com.denniseckerskorn.services.class_managment_services.TrainingSessionService;
 import com.denniseckerskorn.services.user_managment_services.RoleService;
@@ -125,12 +126,17 @@ public class StudentController {
     /**
      * Retrieves all students.
      *
+     * @param page  Optional zero-based page index.
+     * @param size  Optional page size.
+     * @param after Optional ID of the last record of the previous page, to continue from.
      * @return ResponseEntity containing a list of StudentDTOs.
      */
     @Operation(summary = "Get all Students", description = "Retrieves a list of all students.")
     @GetMapping("/getAll")
-    public ResponseEntity<List<StudentDTO>> getAllStudents() {
-        List<Student> students = studentService.findAll();
+    public ResponseEntity<List<StudentDTO>> getAllStudents(@RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) Integer after) {
+        List<Student> students = studentService.findAll(page, size, after);
         if (students.isEmpty()) return ResponseEntity.noContent().build();
 
         List<StudentDTO> dtos = students.stream()
@@ -140,6 +146,25 @@ public class StudentController {
         return ResponseEntity.ok(dtos);
     }
 
+    /**
+     * Retrieves the student roster: contact data, belt and membership of every student,
+     * read in a single query without assistances, groups or progress notes.
+     *
+     * @param page  Optional zero-based page index.
+     * @param size  Optional page size.
+     * @param after Optional ID of the last record of the previous page, to continue from.
+     * @return ResponseEntity containing a list of StudentSummary records.
+     */
+    @Operation(summary = "Get all Student summaries", description = "Retrieves the student roster as lightweight summaries.")
+    @GetMapping("/getAllSummaries")
+    public ResponseEntity<List<StudentSummary>> getAllStudentSummaries(@RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) Integer after) {
+        List<StudentSummary> summaries = studentService.findAllSummaries(page, size, after);
+        if (summaries.isEmpty()) return ResponseEntity.noContent().build();
+        return ResponseEntity.ok(summaries);
+    }
+
     /**
      * Creates a new student with the provided details.
      *
@@ -353,6 +378,7 @@ public class StudentController {
             user.setRegisterDate(dto.getUser().getRegisterDate() != null ? dto.getUser().getRegisterDate() : LocalDateTime.now());
         } else {
             Student existing = studentService.findById(dto.getId());
+            studentService.checkVersion(existing, dto.getVersion());
             user = existing.getUser();
         }
 
@@ -39,12 +39,17 @@ public class StudentHistoryController {
     /**
      * Retrieves all student histories and returns them as a list of DTOs.
      *
+     * @param page  Optional zero-based page index.
+     * @param size  Optional page size.
+     * @param after Optional ID of the last record of the previous page, to continue from.
      * @return ResponseEntity containing a list of StudentHistoryDTOs or no content if none found.
      */
     @Operation(summary = "Get all student histories", description = "Retrieve a list of all student histories")
     @GetMapping("/getAll")
-    public ResponseEntity<List<StudentHistoryDTO>> getAll() {
-        List<StudentHistory> histories = studentHistoryService.findAll();
+    public ResponseEntity<List<StudentHistoryDTO>> getAll(@RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) Integer after) {
+        List<StudentHistory> histories = studentHistoryService.findAll(page, size, after);
         if (histories.isEmpty()) return ResponseEntity.noContent().build();
 
         List<StudentHistoryDTO> dtos = histories.stream().map(this::toDTO).collect(Collectors.toList());
@@ -50,12 +50,17 @@ public class TeacherController {
     /**
      * Gets all teachers and returns them as a list of DTOs.
      *
+     * @param page  Optional zero-based page index.
+     * @param size  Optional page size.
+     * @param after Optional ID of the last record of the previous page, to continue from.
      * @return ResponseEntity containing a list of TeacherDTOs or no content if none found.
      */
     @Operation(summary = "Get all teachers", description = "Retrieve a list of all teachers")
     @GetMapping("/getAll")
-    public ResponseEntity<List<TeacherDTO>> getAllTeachers() {
-        List<Teacher> teachers = teacherService.findAll();
+    public ResponseEntity<List<TeacherDTO>> getAllTeachers(@RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) Integer after) {
+        List<Teacher> teachers = teacherService.findAll(page, size, after);
         if (teachers.isEmpty()) {
             return ResponseEntity.noContent().build();
         }
@@ -8,9 +8,11 @@ import com.denniseckerskorn.entities.user_managment.Notification;
 import com.denniseckerskorn.entities.user_managment.users.Student;
 import com.denniseckerskorn.entities.user_managment.users.User;
 import com.denniseckerskorn.exceptions.InvalidDataException;
+import com.denniseckerskorn.security.JwtAuthFilter;
 import com.denniseckerskorn.security.JwtUtil;
 import com.denniseckerskorn.services.user_managment_services.RoleService;
 import com.denniseckerskorn.services.user_managment_services.UserService;
+import io.jsonwebtoken.Claims;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
@@ -60,12 +62,17 @@ public class UserController {
     /**
      * Gets all users and returns them as a list of DTOs.
      *
+     * @param page  Optional zero-based page index.
+     * @param size  Optional page size.
+     * @param after Optional ID of the last record of the previous page, to continue from.
      * @return ResponseEntity containing a list of UserDTOs or no content if none found.
      */
     @Operation(summary = "Get all users", description = "Retrieve a list of all users")
     @GetMapping("/getAll")
-    public ResponseEntity<List<UserDTO>> getAllUsers() {
-        List<User> users = userService.findAll();
+    public ResponseEntity<List<UserDTO>> getAllUsers(@RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) Integer after) {
+        List<User> users = userService.findAll(page, size, after);
         if (users.isEmpty()) {
             return ResponseEntity.noContent().build();
         }
@@ -135,6 +142,7 @@ public class UserController {
 
     /**
      * Retrieves the currently authenticated user based on the JWT token from the request.
+     * The claims verified by the JWT filter are reused, so the token is not parsed again.
      *
      * @param request The HTTP request containing the JWT token.
      * @return ResponseEntity containing the UserDTO of the current user.
@@ -142,8 +150,10 @@ public class UserController {
     @Operation(summary = "Get current user", description = "Retrieve the currently authenticated user")
     @GetMapping("/me")
     public ResponseEntity<UserDTO> getCurrentUser(HttpServletRequest request) {
-        String token = extractTokenFromRequest(request);
-        String email = jwtUtil.extractUsername(token);
+        Claims claims = (Claims) request.getAttribute(JwtAuthFilter.CLAIMS_ATTRIBUTE);
+        String email = claims != null
+                ? claims.getSubject()
+                : jwtUtil.extractUsername(extractTokenFromRequest(request));
 
         User user = userService.findByEmail(email);
         return ResponseEntity.ok(convertToDTO(user));
@@ -167,12 +177,13 @@ public class UserController {
     }
 
     /**
-     * Converts a User entity to a UserDTO.
+     * Converts a User entity to a UserDTO, with its notifications and student histories.
+     * Public so the mapping can be benchmarked on its own.
      *
      * @param user The User entity to convert.
      * @return The converted UserDTO.
      */
-    private UserDTO convertToDTO(User user) {
+    public UserDTO convertToDTO(User user) {
         UserDTO dto = new UserDTO(
                 user.getId(),
                 user.getName(),
@@ -247,6 +258,7 @@ public class UserController {
             user.setRegisterDate(dto.getRegisterDate() != null ? dto.getRegisterDate() : LocalDateTime.now());
         } else {
             user = userService.findById(dto.getId());
+            userService.checkVersion(user, dto.getVersion());
         }
 
         user.setName(dto.getName());
@@ -10,6 +10,8 @@ import java.time.LocalDate;
 public class MembershipDTO {
 
     private Integer id;
+
+    private Long version;
     private LocalDate startDate;
     private LocalDate endDate;
     private MembershipTypeValues type;
@@ -34,6 +36,14 @@ public class MembershipDTO {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public LocalDate getStartDate() {
         return startDate;
     }
@@ -69,6 +79,7 @@ public class MembershipDTO {
     public static MembershipDTO fromEntity(Membership membership) {
         MembershipDTO dto = new MembershipDTO();
         dto.setId(membership.getId());
+        dto.setVersion(membership.getVersion());
         dto.setStartDate(membership.getStartDate());
         dto.setEndDate(membership.getEndDate());
         dto.setType(membership.getType());
@@ -79,6 +90,7 @@ public class MembershipDTO {
     public Membership toEntity() {
         Membership membership = new Membership();
         membership.setId(this.id);
+        membership.setVersion(this.version);
         membership.setStartDate(this.startDate);
         membership.setEndDate(this.endDate);
         membership.setType(this.type);
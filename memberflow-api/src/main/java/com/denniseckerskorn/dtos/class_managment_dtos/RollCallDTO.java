@@ -0,0 +1,45 @@
+package com.denniseckerskorn.dtos.class_managment_dtos;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+public class RollCallDTO {
+
+    private Integer sessionId;
+    private Set<Integer> studentIds = new HashSet<>();
+    private LocalDateTime date;
+
+    public RollCallDTO() {
+    }
+
+    public RollCallDTO(Integer sessionId, Set<Integer> studentIds, LocalDateTime date) {
+        this.sessionId = sessionId;
+        this.studentIds = studentIds;
+        this.date = date;
+    }
+
+    public Integer getSessionId() {
+        return sessionId;
+    }
+
+    public void setSessionId(Integer sessionId) {
+        this.sessionId = sessionId;
+    }
+
+    public Set<Integer> getStudentIds() {
+        return studentIds;
+    }
+
+    public void setStudentIds(Set<Integer> studentIds) {
+        this.studentIds = studentIds;
+    }
+
+    public LocalDateTime getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDateTime date) {
+        this.date = date;
+    }
+}
@@ -4,9 +4,12 @@ import com.denniseckerskorn.entities.class_managment.TrainingGroup;
 import com.denniseckerskorn.entities.user_managment.users.Student;
 import com.denniseckerskorn.entities.user_managment.users.Teacher;
 
+import com.denniseckerskorn.services.class_managment_services.RecurrenceRule;
 import com.fasterxml.jackson.annotation.JsonFormat;
 
 
+import java.time.DayOfWeek;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
@@ -15,18 +18,25 @@ import java.util.stream.Collectors;
 public class TrainingGroupDTO {
 
     private Integer id;
+
+    private Long version;
     private String name;
     private String level;
     private LocalDateTime schedule;
     private Integer teacherId;
     private Set<Integer> studentIds = new HashSet<>();
     private Integer recurrenceMonths;
+    private Integer recurrenceIntervalWeeks;
+    private Set<DayOfWeek> recurrenceDays;
+    private LocalDate recurrenceUntil;
+    private Set<LocalDate> recurrenceExcludedDates;
 
     public TrainingGroupDTO() {
     }
 
     public TrainingGroupDTO(TrainingGroup group) {
         this.id = group.getId();
+        this.version = group.getVersion();
         this.name = group.getName();
         this.level = group.getLevel();
         this.schedule = group.getSchedule();
@@ -37,6 +47,7 @@ public class TrainingGroupDTO {
     public TrainingGroup toEntity(Teacher teacher, Set<Student> students) {
         TrainingGroup group = new TrainingGroup();
         group.setId(this.id);
+        group.setVersion(this.version);
         group.setName(this.name);
         group.setLevel(this.level);
         group.setSchedule(this.schedule);
@@ -45,11 +56,29 @@ public class TrainingGroupDTO {
         return group;
     }
 
+    /**
+     * Builds the recurrence rule described by this DTO, starting at the given date.
+     * Without an explicit end date the series covers four weeks per requested month (one month by default);
+     * without an interval it is weekly, and without days it falls on the day of the start date.
+     *
+     * @param start date and time of the first session, usually the group's schedule
+     * @return the recurrence rule
+     */
+    public RecurrenceRule toRecurrenceRule(LocalDateTime start) {
+        int interval = recurrenceIntervalWeeks != null ? recurrenceIntervalWeeks : 1;
+        if (recurrenceUntil != null) {
+            return new RecurrenceRule(start, recurrenceUntil, interval, recurrenceDays, recurrenceExcludedDates);
+        }
+        int months = recurrenceMonths != null && recurrenceMonths > 0 ? recurrenceMonths : 1;
+        return RecurrenceRule.forWeeks(start, months * 4, interval, recurrenceDays, recurrenceExcludedDates);
+    }
+
     public static TrainingGroupDTO fromEntity(TrainingGroup group) {
         if (group == null) return null;
 
         TrainingGroupDTO dto = new TrainingGroupDTO();
         dto.setId(group.getId());
+        dto.setVersion(group.getVersion());
         dto.setName(group.getName());
         dto.setLevel(group.getLevel());
         dto.setSchedule(group.getSchedule());
@@ -69,6 +98,14 @@ public class TrainingGroupDTO {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getName() {
         return name;
     }
@@ -116,4 +153,36 @@ public class TrainingGroupDTO {
     public void setRecurrenceMonths(Integer recurrenceMonths) {
         this.recurrenceMonths = recurrenceMonths;
     }
+
+    public Integer getRecurrenceIntervalWeeks() {
+        return recurrenceIntervalWeeks;
+    }
+
+    public void setRecurrenceIntervalWeeks(Integer recurrenceIntervalWeeks) {
+        this.recurrenceIntervalWeeks = recurrenceIntervalWeeks;
+    }
+
+    public Set<DayOfWeek> getRecurrenceDays() {
+        return recurrenceDays;
+    }
+
+    public void setRecurrenceDays(Set<DayOfWeek> recurrenceDays) {
+        this.recurrenceDays = recurrenceDays;
+    }
+
+    public LocalDate getRecurrenceUntil() {
+        return recurrenceUntil;
+    }
+
+    public void setRecurrenceUntil(LocalDate recurrenceUntil) {
+        this.recurrenceUntil = recurrenceUntil;
+    }
+
+    public Set<LocalDate> getRecurrenceExcludedDates() {
+        return recurrenceExcludedDates;
+    }
+
+    public void setRecurrenceExcludedDates(Set<LocalDate> recurrenceExcludedDates) {
+        this.recurrenceExcludedDates = recurrenceExcludedDates;
+    }
 }
@@ -0,0 +1,101 @@
+package com.denniseckerskorn.dtos.finance_management_dtos;
+
+import com.denniseckerskorn.entities.finance.BillingRun;
+import com.denniseckerskorn.enums.BillingRunStatusValues;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public class BillingRunDTO {
+
+    private Integer id;
+    private LocalDate billingPeriod;
+    private BillingRunStatusValues status;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private int invoicesCreated;
+    private int membersSkipped;
+    private int failedChunks;
+
+    public BillingRunDTO() {
+    }
+
+    public BillingRunDTO(BillingRun entity) {
+        this.id = entity.getId();
+        this.billingPeriod = entity.getBillingPeriod();
+        this.status = entity.getStatus();
+        this.startedAt = entity.getStartedAt();
+        this.finishedAt = entity.getFinishedAt();
+        this.invoicesCreated = entity.getInvoicesCreated();
+        this.membersSkipped = entity.getMembersSkipped();
+        this.failedChunks = entity.getFailedChunks();
+    }
+
+    public static BillingRunDTO fromEntity(BillingRun entity) {
+        return new BillingRunDTO(entity);
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public LocalDate getBillingPeriod() {
+        return billingPeriod;
+    }
+
+    public void setBillingPeriod(LocalDate billingPeriod) {
+        this.billingPeriod = billingPeriod;
+    }
+
+    public BillingRunStatusValues getStatus() {
+        return status;
+    }
+
+    public void setStatus(BillingRunStatusValues status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public int getInvoicesCreated() {
+        return invoicesCreated;
+    }
+
+    public void setInvoicesCreated(int invoicesCreated) {
+        this.invoicesCreated = invoicesCreated;
+    }
+
+    public int getMembersSkipped() {
+        return membersSkipped;
+    }
+
+    public void setMembersSkipped(int membersSkipped) {
+        this.membersSkipped = membersSkipped;
+    }
+
+    public int getFailedChunks() {
+        return failedChunks;
+    }
+
+    public void setFailedChunks(int failedChunks) {
+        this.failedChunks = failedChunks;
+    }
+}
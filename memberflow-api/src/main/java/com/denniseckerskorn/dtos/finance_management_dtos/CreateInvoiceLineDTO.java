@@ -3,6 +3,7 @@ package com.denniseckerskorn.dtos.finance_management_dtos;
 import com.denniseckerskorn.entities.finance.Invoice;
 import com.denniseckerskorn.entities.finance.InvoiceLine;
 import com.denniseckerskorn.entities.finance.ProductService;
+import com.denniseckerskorn.services.finance_services.InvoiceLineRequest;
 
 import java.math.BigDecimal;
 
@@ -50,6 +51,10 @@ public class CreateInvoiceLineDTO {
         return entity;
     }
 
+    public InvoiceLineRequest toRequest() {
+        return new InvoiceLineRequest(this.productServiceId, this.quantity, this.unitPrice);
+    }
+
     public static CreateInvoiceLineDTO fromEntity(InvoiceLine entity) {
         CreateInvoiceLineDTO dto = new CreateInvoiceLineDTO();
         dto.setProductServiceId(entity.getProductService() != null ? entity.getProductService().getId() : null);
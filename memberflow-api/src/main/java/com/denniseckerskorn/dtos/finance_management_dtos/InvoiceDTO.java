@@ -14,6 +14,8 @@ public class InvoiceDTO {
 
     private Integer id;
 
+    private Long version;
+
     @NotNull
     private Integer userId;
 
@@ -38,6 +40,7 @@ public class InvoiceDTO {
 
     public InvoiceDTO(Invoice invoice) {
         this.id = invoice.getId();
+        this.version = invoice.getVersion();
         this.userId = invoice.getUser() != null ? invoice.getUser().getId() : null;
         this.user = invoice.getUser() != null ? new UserDTO(invoice.getUser()) : null;
         this.date = invoice.getDate();
@@ -57,6 +60,7 @@ public class InvoiceDTO {
     public Invoice toEntity() {
         Invoice invoice = new Invoice();
         invoice.setId(this.id);
+        invoice.setVersion(this.version);
         invoice.setDate(this.date);
         invoice.setTotal(this.total);
         invoice.setStatus(this.status);
@@ -71,6 +75,14 @@ public class InvoiceDTO {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public Integer getUserId() {
         return userId;
     }
@@ -4,6 +4,7 @@ import com.denniseckerskorn.entities.finance.Invoice;
 import com.denniseckerskorn.entities.finance.Payment;
 import com.denniseckerskorn.enums.PaymentMethodValues;
 import com.denniseckerskorn.enums.StatusValues;
+import com.denniseckerskorn.projections.PaymentSummary;
 import jakarta.validation.constraints.NotNull;
 
 import java.math.BigDecimal;
@@ -13,6 +14,8 @@ public class PaymentDTO {
 
     private Integer id;
 
+    private Long version;
+
     @NotNull
     private Integer invoiceId;
 
@@ -33,6 +36,7 @@ public class PaymentDTO {
 
     public PaymentDTO(Payment entity) {
         this.id = entity.getId();
+        this.version = entity.getVersion();
         this.invoiceId = entity.getInvoice() != null ? entity.getInvoice().getId() : null;
         this.paymentDate = entity.getPaymentDate();
         this.amount = entity.getAmount();
@@ -40,6 +44,16 @@ public class PaymentDTO {
         this.status = entity.getStatus();
     }
 
+    public PaymentDTO(PaymentSummary summary) {
+        this.id = summary.id();
+        this.version = summary.version();
+        this.invoiceId = summary.invoiceId();
+        this.paymentDate = summary.paymentDate();
+        this.amount = summary.amount();
+        this.paymentMethod = summary.paymentMethod();
+        this.status = summary.status();
+    }
+
     public static PaymentDTO fromEntity(Payment entity) {
         return new PaymentDTO(entity);
     }
@@ -50,6 +64,7 @@ public class PaymentDTO {
             payment.setId(this.id);
         }
         payment.setId(this.id);
+        payment.setVersion(this.version);
         payment.setPaymentDate(this.paymentDate);
         payment.setAmount(this.amount);
         payment.setPaymentMethod(this.paymentMethod);
@@ -59,6 +74,8 @@ public class PaymentDTO {
 
     public Payment toEntityWithInvoice(Invoice invoice) {
         Payment payment = new Payment();
+        payment.setId(this.id);
+        payment.setVersion(this.version);
         payment.setPaymentDate(this.paymentDate);
         payment.setAmount(this.amount);
         payment.setPaymentMethod(this.paymentMethod);
@@ -75,6 +92,14 @@ public class PaymentDTO {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public Integer getInvoiceId() {
         return invoiceId;
     }
@@ -2,6 +2,7 @@ package com.denniseckerskorn.dtos.finance_management_dtos;
 
 import com.denniseckerskorn.entities.finance.IVAType;
 import com.denniseckerskorn.entities.finance.ProductService;
+import com.denniseckerskorn.enums.MembershipTypeValues;
 import com.denniseckerskorn.enums.StatusValues;
 import jakarta.validation.constraints.NotNull;
 
@@ -30,6 +31,8 @@ public class ProductServiceDTO {
     @NotNull
     private StatusValues status;
 
+    private MembershipTypeValues membershipType;
+
     public ProductServiceDTO() {
     }
 
@@ -42,6 +45,7 @@ public class ProductServiceDTO {
         this.price = entity.getPrice();
         this.type = entity.getType();
         this.status = entity.getStatus();
+        this.membershipType = entity.getMembershipType();
     }
 
     public static ProductServiceDTO fromEntity(ProductService entity) {
@@ -56,6 +60,7 @@ public class ProductServiceDTO {
         ps.setPrice(this.price);
         ps.setType(this.type);
         ps.setStatus(this.status);
+        ps.setMembershipType(this.membershipType);
         return ps;
     }
 
@@ -66,6 +71,7 @@ public class ProductServiceDTO {
         entity.setPrice(this.price);
         entity.setType(this.type);
         entity.setStatus(this.status);
+        entity.setMembershipType(this.membershipType);
         entity.setIvaType(ivaType);
         return entity;
     }
@@ -133,4 +139,12 @@ public class ProductServiceDTO {
     public void setStatus(StatusValues status) {
         this.status = status;
     }
+
+    public MembershipTypeValues getMembershipType() {
+        return membershipType;
+    }
+
+    public void setMembershipType(MembershipTypeValues membershipType) {
+        this.membershipType = membershipType;
+    }
 }
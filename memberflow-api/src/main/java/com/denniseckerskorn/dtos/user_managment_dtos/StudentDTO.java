@@ -16,6 +16,8 @@ import java.util.stream.Collectors;
 public class StudentDTO {
 
     private Integer id;
+
+    private Long version;
     private UserDTO user;
     private String dni;
     private LocalDate birthdate;
@@ -85,7 +87,8 @@ public class StudentDTO {
                 assistanceDTOs,
                 groupDTOs,
                 sessionDTOs
-        ).withMembership(student.getMembership() != null ? MembershipDTO.fromEntity(student.getMembership()) : null);
+        ).withMembership(student.getMembership() != null ? MembershipDTO.fromEntity(student.getMembership()) : null)
+                .withVersion(student.getVersion());
     }
 
     public StudentDTO withMembership(MembershipDTO membership) {
@@ -93,10 +96,16 @@ public class StudentDTO {
         return this;
     }
 
+    public StudentDTO withVersion(Long version) {
+        this.version = version;
+        return this;
+    }
+
 
     public Student toEntity() {
         Student student = new Student();
         student.setId(this.id);
+        student.setVersion(this.version);
         if (this.user != null) {
             student.setUser(this.user.toEntity());
         }
@@ -117,6 +126,14 @@ public class StudentDTO {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public UserDTO getUser() {
         return user;
     }
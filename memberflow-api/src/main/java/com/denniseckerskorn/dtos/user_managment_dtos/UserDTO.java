@@ -9,6 +9,8 @@ import java.util.Set;
 
 public class UserDTO {
     private Integer id;
+
+    private Long version;
     private String name;
     private String surname;
     private String email;
@@ -42,6 +44,7 @@ public class UserDTO {
 
     public UserDTO(User user) {
         this.id = user.getId();
+        this.version = user.getVersion();
         this.name = user.getName();
         this.surname = user.getSurname();
         this.email = user.getEmail();
@@ -60,6 +63,14 @@ public class UserDTO {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getName() {
         return name;
     }
@@ -162,12 +173,18 @@ public class UserDTO {
                 user.getRegisterDate(),
                 user.getRole() != null ? user.getRole().getName() : null,
                 user.getStatus()
-        );
+        ).withVersion(user.getVersion());
+    }
+
+    public UserDTO withVersion(Long version) {
+        this.version = version;
+        return this;
     }
 
     public User toEntity() {
         User user = new User();
         user.setId(this.id);
+        user.setVersion(this.version);
         user.setName(this.name);
         user.setSurname(this.surname);
         user.setEmail(this.email);
@@ -7,6 +7,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.TypeMismatchException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -18,6 +20,7 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
 
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.OptimisticLockException;
 import jakarta.persistence.PersistenceException;
 import org.springframework.web.servlet.resource.NoResourceFoundException;
 
@@ -45,6 +48,11 @@ public class GlobalExceptionHandler {
         return buildErrorResponse("Duplicate entity: " + ex.getMessage(), HttpStatus.CONFLICT);
     }
 
+    @ExceptionHandler(StaleEntityException.class)
+    public ResponseEntity<Object> handleStaleEntity(StaleEntityException ex, WebRequest request) {
+        return buildErrorResponse("Concurrent modification: " + ex.getMessage(), HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(BadRequestException.class)
     public ResponseEntity<Object> handleBadRequest(BadRequestException ex, WebRequest request) {
         return buildErrorResponse("Bad request: " + ex.getMessage(), HttpStatus.BAD_REQUEST);
@@ -60,6 +68,14 @@ public class GlobalExceptionHandler {
         return buildErrorResponse("Unauthorized: " + ex.getMessage(), HttpStatus.UNAUTHORIZED);
     }
 
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<Object> handleTooManyRequests(TooManyRequestsException ex, WebRequest request) {
+        ResponseEntity<Object> response = buildErrorResponse(ex.getMessage(), HttpStatus.TOO_MANY_REQUESTS);
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response.getBody());
+    }
+
     // 🔹 Validation errors
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
@@ -108,6 +124,11 @@ public class GlobalExceptionHandler {
         return buildErrorResponse("Database constraint violation: " + ex.getConstraintName(), HttpStatus.CONFLICT);
     }
 
+    @ExceptionHandler({OptimisticLockException.class, OptimisticLockingFailureException.class})
+    public ResponseEntity<Object> handleOptimisticLock(Exception ex) {
+        return buildErrorResponse("Concurrent modification: the record was changed by another user, reload it and try again", HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(PersistenceException.class)
     public ResponseEntity<Object> handlePersistenceException(PersistenceException ex) {
         return buildErrorResponse("Persistence error: " + ex.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
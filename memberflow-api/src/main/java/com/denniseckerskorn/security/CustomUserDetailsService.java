@@ -2,16 +2,22 @@ package com.denniseckerskorn.security;
 
 import com.denniseckerskorn.entities.user_managment.users.User;
 import com.denniseckerskorn.repositories.user_managment_repositories.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 /**
  * Custom implementation of UserDetailsService to load user-specific data.
+ * It also stores the new hash when a password is rehashed on login, which happens when the stored hash
+ * was made with a lower BCrypt strength than the configured one.
  */
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
+    private static final Logger logger = LoggerFactory.getLogger(CustomUserDetailsService.class);
     private final UserRepository userRepository;
 
     /**
@@ -38,4 +44,20 @@ public class CustomUserDetailsService implements UserDetailsService {
         }
         return new CustomUserDetails(user);
     }
+
+    /**
+     * Replaces the password hash of a user that has just logged in.
+     *
+     * @param userDetails the authenticated user
+     * @param newPassword the new password hash
+     * @return the user with the new password hash
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = ((CustomUserDetails) userDetails).getUser();
+        userRepository.updatePassword(user.getId(), newPassword);
+        logger.info("Rehashed the password of user ID {}", user.getId());
+        user.setPassword(newPassword);
+        return new CustomUserDetails(user);
+    }
 }
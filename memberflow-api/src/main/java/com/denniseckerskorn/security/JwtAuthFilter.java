@@ -1,8 +1,11 @@
 package com.denniseckerskorn.security;
 
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -18,21 +21,45 @@ import java.io.IOException;
 /**
  * JwtAuthFilter is a filter that checks for the presence of a JWT token in the request header.
  * If a valid token is found, it sets the authentication in the security context.
+ * The principal of the token is taken from the {@link PrincipalCache}, so the database is only read
+ * the first time a token is seen. The verified claims are stored in the {@link #CLAIMS_ATTRIBUTE} request
+ * attribute, so controllers do not parse the token again. Tokens of users that are no longer active are rejected.
+ * The time spent checking tokens is recorded in the {@value #METRIC_NAME} timer, tagged with the outcome of the check.
  */
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
+
+    /**
+     * Name of the request attribute holding the {@link Claims} of the verified token.
+     */
+    public static final String CLAIMS_ATTRIBUTE = JwtAuthFilter.class.getName() + ".claims";
+
+    /**
+     * Name of the timer recording the token checks.
+     */
+    public static final String METRIC_NAME = "memberflow.security.jwt";
+
     private final JwtUtil jwtUtil;
-    private final CustomUserDetailsService customUserDetailsService;
+    private final PrincipalCache principalCache;
+    private final MeterRegistry meterRegistry;
+    private final Timer validTokens;
+    private final Timer expiredTokens;
+    private final Timer invalidTokens;
 
     /**
-     * Constructor to initialize JwtUtil and CustomUserDetailsService.
+     * Constructor to initialize JwtUtil, PrincipalCache and the token check timers.
      *
-     * @param jwtUtil                  the JWT utility class
-     * @param customUserDetailsService the custom user details service
+     * @param jwtUtil        the JWT utility class
+     * @param principalCache the cache of the principals resolved from tokens
+     * @param meterRegistry  the registry the token check timers are recorded in
      */
-    public JwtAuthFilter(JwtUtil jwtUtil, CustomUserDetailsService customUserDetailsService) {
+    public JwtAuthFilter(JwtUtil jwtUtil, PrincipalCache principalCache, MeterRegistry meterRegistry) {
         this.jwtUtil = jwtUtil;
-        this.customUserDetailsService = customUserDetailsService;
+        this.principalCache = principalCache;
+        this.meterRegistry = meterRegistry;
+        this.validTokens = tokenCheckTimer("valid", meterRegistry);
+        this.expiredTokens = tokenCheckTimer("expired", meterRegistry);
+        this.invalidTokens = tokenCheckTimer("invalid", meterRegistry);
     }
 
     /**
@@ -57,33 +84,44 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         }
 
         String token = authHeader.substring(7);
+        Timer.Sample sample = Timer.start(meterRegistry);
 
         try {
-            String username = jwtUtil.extractUsername(token);
+            Claims claims = jwtUtil.getAllClaimsFromToken(token);
+            request.setAttribute(CLAIMS_ATTRIBUTE, claims);
+            String username = claims.getSubject();
 
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                var userDetails = customUserDetailsService.loadUserByUsername(username);
-
-                if (jwtUtil.validateToken(token)) {
-                    var authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails, null, userDetails.getAuthorities()
-                    );
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                var userDetails = principalCache.get(username, claims.getIssuedAt());
+                if (!userDetails.isEnabled()) {
+                    sample.stop(invalidTokens);
+                    response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                    response.setContentType("application/json");
+                    response.getWriter().write("{\"message\": \"Account is disabled.\"}");
+                    return;
                 }
+                var authToken = new UsernamePasswordAuthenticationToken(
+                        userDetails, null, userDetails.getAuthorities()
+                );
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authToken);
             }
-
-            filterChain.doFilter(request, response);
-
         } catch (ExpiredJwtException e) {
+            sample.stop(expiredTokens);
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
             response.setContentType("application/json");
             response.getWriter().write("{\"message\": \"Session expired. Please Login again\"}");
+            return;
         } catch (JwtException e) {
+            sample.stop(invalidTokens);
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
             response.setContentType("application/json");
             response.getWriter().write("{\"message\": \"Token is invalid or corrupt.\"}");
+            return;
         }
+        sample.stop(validTokens);
+
+        filterChain.doFilter(request, response);
     }
 
 
@@ -102,4 +140,18 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                 || path.startsWith("/swagger-ui")
                 || path.equals("/swagger-ui.html");
     }
+
+    /**
+     * Creates the timer of the token checks with the given outcome.
+     *
+     * @param outcome       valid, expired or invalid
+     * @param meterRegistry the registry to register the timer in
+     * @return the timer
+     */
+    private static Timer tokenCheckTimer(String outcome, MeterRegistry meterRegistry) {
+        return Timer.builder(METRIC_NAME)
+                .description("Time spent verifying the JWT of a request and resolving its principal")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
 }
@@ -1,5 +1,8 @@
 package com.denniseckerskorn.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -7,26 +10,42 @@ import org.springframework.stereotype.Component;
 
 import java.security.Key;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Utility class for generating and validating JWT tokens.
+ * The signing key and the parser are built once. Verified tokens are kept in a small bounded cache until
+ * they expire, so a token that is used again is not verified again.
  */
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String secretKey;
-
-    @Value("${jwt.expiration}")
-    private long expirationTime;
+    private final Key signingKey;
+    private final JwtParser parser;
+    private final long expirationTime;
+    private final Cache<String, Claims> verifiedTokens;
 
     /**
-     * Generates a signing key using the secret key.
+     * Constructor for JwtUtil.
      *
-     * @return the signing key
+     * @param secretKey          the secret the tokens are signed with
+     * @param expirationTime     the validity of a generated token in milliseconds
+     * @param verifiedTokensSize the maximum number of verified tokens to keep, 0 to verify every token again
      */
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(secretKey.getBytes());
+    public JwtUtil(@Value("${jwt.secret}") String secretKey,
+                   @Value("${jwt.expiration}") long expirationTime,
+                   @Value("${jwt.verified-cache.max-size:10000}") long verifiedTokensSize) {
+        this.signingKey = Keys.hmacShaKeyFor(secretKey.getBytes());
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        this.expirationTime = expirationTime;
+        this.verifiedTokens = verifiedTokensSize > 0
+                ? Caffeine.newBuilder()
+                        .maximumSize(verifiedTokensSize)
+                        .expireAfter(new UntilTokenExpires())
+                        .build()
+                : null;
     }
 
     /**
@@ -44,7 +63,7 @@ public class JwtUtil {
                 .claim("role", authority)
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
@@ -55,12 +74,7 @@ public class JwtUtil {
      * @return the username extracted from the token
      */
     public String extractUsername(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        return getAllClaimsFromToken(token).getSubject();
     }
 
     /**
@@ -71,7 +85,7 @@ public class JwtUtil {
      */
     public boolean validateToken(String token) {
         try {
-            extractUsername(token);
+            getAllClaimsFromToken(token);
             return true;
         } catch (JwtException e) {
             return false;
@@ -79,17 +93,49 @@ public class JwtUtil {
     }
 
     /**
-     * Checks if the given JWT token is expired.
+     * Verifies the given JWT token and returns its claims.
+     * A token verified before is served from the cache until it expires; the returned claims are shared
+     * and must not be modified.
      *
-     * @param token the JWT token to check
-     * @return true if the token is expired, false otherwise
+     * @param token the JWT token
+     * @return the claims of the token
+     * @throws ExpiredJwtException if the token is expired
+     * @throws JwtException        if the token is invalid
      */
     public Claims getAllClaimsFromToken(String token) throws ExpiredJwtException {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        if (verifiedTokens == null) {
+            return parser.parseClaimsJws(token).getBody();
+        }
+        Claims claims = verifiedTokens.getIfPresent(token);
+        if (claims == null) {
+            claims = parser.parseClaimsJws(token).getBody();
+            verifiedTokens.put(token, claims);
+        }
+        return claims;
     }
 
+    /**
+     * Keeps a verified token until its expiration time, so the cache never returns an expired token.
+     */
+    private static final class UntilTokenExpires implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String token, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                return Long.MAX_VALUE;
+            }
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, expiration.getTime() - System.currentTimeMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(token, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String token, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
@@ -0,0 +1,68 @@
+package com.denniseckerskorn.security;
+
+import com.denniseckerskorn.exceptions.TooManyRequestsException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs the password checks of logins on a small bounded pool instead of on request threads.
+ * BCrypt is deliberately slow, so a burst of logins would otherwise hold every request thread and slow down
+ * all other endpoints. When all login threads are busy and the queue is full, new logins are rejected
+ * straight away instead of piling up.
+ */
+@Component
+public class LoginExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginExecutor.class);
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Constructor for LoginExecutor.
+     *
+     * @param threads       the number of logins checked at the same time, by default one per processor
+     * @param queueCapacity the number of logins that may wait for a thread
+     */
+    public LoginExecutor(@Value("${security.login.threads:0}") int threads,
+                         @Value("${security.login.queue-capacity:100}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("login-", 0).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Queues a login.
+     *
+     * @param login the login to run
+     * @param <T>   the result type of the login
+     * @return a future completed with the result of the login
+     * @throws TooManyRequestsException if the queue is full
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> login) throws TooManyRequestsException {
+        try {
+            return CompletableFuture.supplyAsync(login, executor);
+        } catch (RejectedExecutionException e) {
+            logger.warn("Login rejected, {} logins already queued", executor.getQueue().size());
+            throw new TooManyRequestsException("Too many logins in progress, please try again shortly", e);
+        }
+    }
+
+    /**
+     * Stops accepting logins and lets the queued ones finish.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,101 @@
+package com.denniseckerskorn.security;
+
+import com.denniseckerskorn.services.user_managment_services.AuthorizationChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Date;
+
+/**
+ * Caches the principals resolved from JWTs, so that authenticated requests do not load the user,
+ * its role and its permissions from the database every time.
+ * Entries are keyed by the subject and issue time of the token, hold only the username, authorities and
+ * enabled flag (never the entity or the password hash), and expire after a bounded TTL.
+ * Whenever a role, a permission or a user changes, the affected entries are evicted once the change commits,
+ * so the next request sees the new authorities.
+ */
+@Component
+public class PrincipalCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(PrincipalCache.class);
+    private final CustomUserDetailsService customUserDetailsService;
+    private final Cache<TokenKey, CachedPrincipal> principals;
+
+    /**
+     * Constructor for PrincipalCache.
+     *
+     * @param customUserDetailsService the service loading users from the database
+     * @param ttl                      how long a resolved principal is kept
+     * @param maxSize                  the maximum number of cached principals
+     */
+    public PrincipalCache(CustomUserDetailsService customUserDetailsService,
+                          @Value("${security.principal-cache.ttl:PT5M}") Duration ttl,
+                          @Value("${security.principal-cache.max-size:10000}") long maxSize) {
+        this.customUserDetailsService = customUserDetailsService;
+        this.principals = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    /**
+     * Returns the principal of a token, loading it from the database if it is not cached.
+     *
+     * @param username the subject of the token
+     * @param issuedAt the issue time of the token, or null if it has none
+     * @return the principal
+     * @throws UsernameNotFoundException if the user does not exist
+     */
+    public UserDetails get(String username, Date issuedAt) throws UsernameNotFoundException {
+        TokenKey key = new TokenKey(username, issuedAt == null ? 0L : issuedAt.getTime());
+        return principals.get(key, this::load).principal();
+    }
+
+    /**
+     * Evicts the principals affected by an authorization change once the change has committed,
+     * or right away if it was made outside a transaction.
+     *
+     * @param event the authorization change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorizationChanged(AuthorizationChangedEvent event) {
+        if (event.affectsAllUsers()) {
+            logger.info("Authorization changed, evicting all cached principals");
+            principals.invalidateAll();
+        } else {
+            logger.info("Authorization of user ID {} changed, evicting its cached principals", event.userId());
+            principals.asMap().values().removeIf(cached -> cached.userId().equals(event.userId()));
+        }
+    }
+
+    /**
+     * Loads the user of a token and copies what authentication needs into an immutable principal.
+     *
+     * @param key the token key
+     * @return the cached principal
+     */
+    private CachedPrincipal load(TokenKey key) {
+        CustomUserDetails userDetails = (CustomUserDetails) customUserDetailsService.loadUserByUsername(key.username());
+        UserDetails principal = User.withUsername(userDetails.getUsername())
+                .password("")
+                .authorities(userDetails.getAuthorities())
+                .disabled(!userDetails.isEnabled())
+                .build();
+        return new CachedPrincipal(userDetails.getUser().getId(), principal);
+    }
+
+    private record TokenKey(String username, long issuedAt) {
+    }
+
+    private record CachedPrincipal(Integer userId, UserDetails principal) {
+    }
+}
@@ -0,0 +1,34 @@
+package com.denniseckerskorn.services.finance_service;
+
+import com.denniseckerskorn.services.finance_services.BillingRunService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+
+/**
+ * BillingRunScheduler starts the membership billing of the current month on the schedule set by the
+ * {@code memberflow.billing.cron} property. Scheduling is disabled when the property is not set, and
+ * since a run resumes an unfinished billing, scheduling it again after a failure is safe.
+ */
+@Service
+public class BillingRunScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(BillingRunScheduler.class);
+    private final BillingRunService billingRunService;
+
+    public BillingRunScheduler(BillingRunService billingRunService) {
+        this.billingRunService = billingRunService;
+    }
+
+    @Scheduled(cron = "${memberflow.billing.cron:-}")
+    public void runCurrentMonth() {
+        try {
+            billingRunService.runMonthlyBilling(YearMonth.now());
+        } catch (RuntimeException e) {
+            logger.error("Scheduled billing run failed", e);
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.denniseckerskorn.services.finance_service;
+
+import com.denniseckerskorn.entities.finance.Invoice;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Caches rendered invoice PDFs, so that downloading an invoice that has not changed does not render it again.
+ * <p>
+ * Entries are keyed by invoice ID and hold the {@link InvoicePdfGenerator#fingerprint(Invoice) fingerprint} of
+ * the rendered content, which also serves as ETag. A cached document is only served while the fingerprint of
+ * the invoice still matches, so a change to its lines, total, status or client data replaces it on the next
+ * download, whichever instance made the change. The memory used is bounded by the size of the documents.
+ * <p>
+ * When a spill directory is configured, documents evicted for lack of memory are written there, up to a bounded
+ * number of bytes, and read back instead of being rendered again. The directory is a cache too: it is emptied
+ * on startup.
+ */
+@Component
+public class InvoicePdfCache implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(InvoicePdfCache.class);
+    private final InvoicePdfGenerator invoicePdfGenerator;
+    private final Cache<Integer, RenderedPdf> documents;
+    private final Path spillDirectory;
+    private final long spillMaxBytes;
+    private final Map<Integer, SpilledPdf> spilled = new ConcurrentHashMap<>();
+    private final AtomicLong spilledBytes = new AtomicLong();
+
+    /**
+     * A rendered invoice document.
+     *
+     * @param etag    the fingerprint of the content
+     * @param content the PDF document
+     */
+    private record RenderedPdf(String etag, byte[] content) {
+    }
+
+    /**
+     * A document written to the spill directory.
+     *
+     * @param etag the fingerprint of the content
+     * @param size the size of the file
+     */
+    private record SpilledPdf(String etag, long size) {
+    }
+
+    /**
+     * Constructor for InvoicePdfCache.
+     *
+     * @param invoicePdfGenerator the generator rendering the documents
+     * @param maxBytes            the maximum size of the documents kept in memory, 0 to disable the cache
+     * @param spillDirectory      the directory evicted documents are written to, or blank to discard them
+     * @param spillMaxBytes       the maximum size of the documents written to the spill directory
+     */
+    @Autowired
+    public InvoicePdfCache(InvoicePdfGenerator invoicePdfGenerator,
+                           @Value("${memberflow.invoice-pdf-cache.max-bytes:67108864}") long maxBytes,
+                           @Value("${memberflow.invoice-pdf-cache.spill-directory:}") String spillDirectory,
+                           @Value("${memberflow.invoice-pdf-cache.spill-max-bytes:1073741824}") long spillMaxBytes) {
+        this(invoicePdfGenerator, maxBytes, spillDirectory, spillMaxBytes, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor for InvoicePdfCache, with the executor evicting and spilling documents.
+     */
+    InvoicePdfCache(InvoicePdfGenerator invoicePdfGenerator, long maxBytes, String spillDirectory, long spillMaxBytes,
+                    Executor executor) {
+        this.invoicePdfGenerator = invoicePdfGenerator;
+        this.spillDirectory = spillDirectory.isBlank() ? null : prepare(Path.of(spillDirectory));
+        this.spillMaxBytes = spillMaxBytes;
+        this.documents = maxBytes > 0
+                ? Caffeine.newBuilder()
+                        .maximumWeight(maxBytes)
+                        .weigher((Integer id, RenderedPdf pdf) -> pdf.content().length)
+                        .removalListener(this::onRemoval)
+                        .executor(executor)
+                        .recordStats()
+                        .<Integer, RenderedPdf>build()
+                : null;
+    }
+
+    /**
+     * Returns the ETag of the document of an invoice, without rendering it.
+     *
+     * @param invoice the invoice, with its lines loaded
+     * @return the ETag
+     */
+    public String etag(Invoice invoice) {
+        return invoice.getId() + "-" + invoicePdfGenerator.fingerprint(invoice);
+    }
+
+    /**
+     * Returns the document of an invoice, from memory, from the spill directory or rendered and cached.
+     *
+     * @param invoice the invoice, with its lines loaded
+     * @param etag    the ETag of the invoice, as returned by {@link #etag(Invoice)}
+     * @return the PDF document
+     */
+    public byte[] getPdf(Invoice invoice, String etag) {
+        if (documents == null) {
+            return invoicePdfGenerator.generateInvoicePdf(invoice);
+        }
+        RenderedPdf cached = documents.getIfPresent(invoice.getId());
+        if (cached != null && cached.etag().equals(etag)) {
+            return cached.content();
+        }
+
+        byte[] content = readSpilled(invoice.getId(), etag);
+        if (content == null) {
+            content = invoicePdfGenerator.generateInvoicePdf(invoice);
+        }
+        documents.put(invoice.getId(), new RenderedPdf(etag, content));
+        return content;
+    }
+
+    /**
+     * Publishes the hit, miss and eviction counts of the cache, and the size of the spilled documents.
+     *
+     * @param registry the meter registry
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (documents != null) {
+            CaffeineCacheMetrics.monitor(registry, documents, "invoice-pdf");
+        }
+        Gauge.builder("memberflow.invoice-pdf-cache.spilled.bytes", spilledBytes, AtomicLong::get)
+                .description("Size of the invoice PDFs written to the spill directory")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    /**
+     * Writes documents evicted for lack of memory to the spill directory, if there is one and it has room.
+     * The entry of the invoice is locked while its file is written, so spilling and reading back the same
+     * invoice never interleave, and the room is reserved before writing, so concurrent spills of different
+     * invoices cannot overshoot the budget together.
+     */
+    private void onRemoval(Integer id, RenderedPdf pdf, RemovalCause cause) {
+        if (spillDirectory == null || cause != RemovalCause.SIZE || id == null || pdf == null) {
+            return;
+        }
+        spilled.compute(id, (key, previous) -> {
+            if (previous != null && previous.etag().equals(pdf.etag())) {
+                return previous;
+            }
+            long growth = pdf.content().length - (previous == null ? 0 : previous.size());
+            if (!reserve(growth)) {
+                return previous;
+            }
+            try {
+                Path temporary = Files.createTempFile(spillDirectory, key + "-", ".tmp");
+                Files.write(temporary, pdf.content());
+                Files.move(temporary, file(key), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                return new SpilledPdf(pdf.etag(), pdf.content().length);
+            } catch (IOException e) {
+                spilledBytes.addAndGet(-growth);
+                logger.warn("Could not spill the PDF of invoice ID {}: {}", key, e.getMessage());
+                return previous;
+            }
+        });
+    }
+
+    /**
+     * Adds to the size of the spilled documents, unless a growth would take it over the budget.
+     *
+     * @param growth the change in size, negative when a document is replaced by a smaller one
+     * @return true if the size was changed
+     */
+    private boolean reserve(long growth) {
+        long current;
+        do {
+            current = spilledBytes.get();
+            if (growth > 0 && current + growth > spillMaxBytes) {
+                return false;
+            }
+        } while (!spilledBytes.compareAndSet(current, current + growth));
+        return true;
+    }
+
+    /**
+     * Reads a spilled document if it is the current one, and drops it if it is outdated or unreadable.
+     */
+    private byte[] readSpilled(Integer id, String etag) {
+        AtomicReference<byte[]> content = new AtomicReference<>();
+        spilled.computeIfPresent(id, (key, spilledPdf) -> {
+            try {
+                if (spilledPdf.etag().equals(etag)) {
+                    content.set(Files.readAllBytes(file(key)));
+                    return spilledPdf;
+                }
+                Files.deleteIfExists(file(key));
+            } catch (IOException e) {
+                logger.warn("Could not read the spilled PDF of invoice ID {}: {}", key, e.getMessage());
+            }
+            spilledBytes.addAndGet(-spilledPdf.size());
+            return null;
+        });
+        return content.get();
+    }
+
+    private Path file(Integer id) {
+        return spillDirectory.resolve(id + ".pdf");
+    }
+
+    private static Path prepare(Path directory) {
+        try {
+            Files.createDirectories(directory);
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.{pdf,tmp}")) {
+                for (Path file : files) {
+                    Files.delete(file);
+                }
+            }
+            return directory;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot use " + directory + " as invoice PDF spill directory", e);
+        }
+    }
+}
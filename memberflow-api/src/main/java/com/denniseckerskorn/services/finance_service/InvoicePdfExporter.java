@@ -0,0 +1,169 @@
+package com.denniseckerskorn.services.finance_service;
+
+import com.denniseckerskorn.entities.finance.Invoice;
+import com.denniseckerskorn.exceptions.TooManyRequestsException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Exports invoices as a ZIP of their PDFs, streamed while the invoices are read.
+ * <p>
+ * The documents are rendered by {@link InvoicePdfGenerator} on a small bounded pool, several at a time, and
+ * written to the ZIP in the order the invoices are read, each one as soon as it and the ones before it are
+ * ready. Each export renders at most a fixed number of documents ahead of the one being written, and stops
+ * reading invoices until that one is written, so memory use does not depend on the number of invoices.
+ * Only a bounded number of exports run at the same time; further ones are rejected straight away.
+ */
+@Component
+public class InvoicePdfExporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(InvoicePdfExporter.class);
+    private final InvoicePdfGenerator invoicePdfGenerator;
+    private final ExecutorService executor;
+    private final Semaphore exports;
+    private final int renderAhead;
+
+    /**
+     * Constructor for InvoicePdfExporter.
+     *
+     * @param invoicePdfGenerator the generator rendering the documents
+     * @param threads             the number of documents rendered at the same time, by default one per processor
+     * @param maxExports          the number of exports that may run at the same time
+     */
+    public InvoicePdfExporter(InvoicePdfGenerator invoicePdfGenerator,
+                              @Value("${memberflow.invoice-pdf-export.threads:0}") int threads,
+                              @Value("${memberflow.invoice-pdf-export.max-exports:2}") int maxExports) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.invoicePdfGenerator = invoicePdfGenerator;
+        this.executor = Executors.newFixedThreadPool(poolSize, Thread.ofPlatform().name("invoice-pdf-", 0).factory());
+        this.exports = new Semaphore(maxExports);
+        this.renderAhead = 2 * poolSize;
+    }
+
+    /**
+     * Reserves an export and returns the body writing its ZIP.
+     * The invoices are read when the body is written, by the given source, which must hand each invoice to its
+     * consumer with everything the document shows already loaded, since the documents are rendered on other threads.
+     * The export is released once the body has been written, or once the asynchronous processing of the request
+     * completes, times out or fails, so a body that is never written does not keep it reserved.
+     *
+     * @param request the request the body is written for
+     * @param source  the source of the invoices: hands them to the consumer and returns their number
+     * @return the body writing one {@code factura_<id>.pdf} entry per invoice
+     * @throws TooManyRequestsException if the maximum number of exports is already running
+     */
+    public StreamingResponseBody export(WebRequest request, ToLongFunction<Consumer<Invoice>> source)
+            throws TooManyRequestsException {
+        if (!exports.tryAcquire()) {
+            logger.warn("Invoice PDF export rejected, the maximum number of exports is already running");
+            throw new TooManyRequestsException("Too many invoice exports in progress, please try again later");
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                exports.release();
+            }
+        };
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(InvoicePdfExporter.class.getName(),
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void afterCompletion(NativeWebRequest completed, Callable<T> task) {
+                        release.run();
+                    }
+                });
+
+        return out -> {
+            Deque<CompletableFuture<RenderedEntry>> pending = new ArrayDeque<>();
+            // Not closed on failure: an unfinished ZIP fails to open instead of silently missing invoices
+            ZipOutputStream zip = new ZipOutputStream(out);
+            zip.setLevel(Deflater.BEST_SPEED);
+            try {
+                long count = source.applyAsLong(invoice -> {
+                    pending.add(CompletableFuture.supplyAsync(() -> render(invoice), executor));
+                    if (pending.size() >= renderAhead) {
+                        writeNext(zip, pending);
+                    }
+                });
+                while (!pending.isEmpty()) {
+                    writeNext(zip, pending);
+                }
+                zip.finish();
+                logger.info("Exported {} invoice PDFs", count);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            } finally {
+                pending.forEach(future -> future.cancel(false));
+                release.run();
+            }
+        };
+    }
+
+    /**
+     * Stops rendering once the documents already queued are done.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * A rendered document and the ZIP entry it goes into.
+     *
+     * @param entry   the ZIP entry
+     * @param content the PDF document
+     */
+    private record RenderedEntry(ZipEntry entry, byte[] content) {
+    }
+
+    private RenderedEntry render(Invoice invoice) {
+        ZipEntry entry = new ZipEntry("factura_" + invoice.getId() + ".pdf");
+        entry.setTimeLocal(invoice.getDate());
+        return new RenderedEntry(entry, invoicePdfGenerator.generateInvoicePdf(invoice));
+    }
+
+    /**
+     * Waits for the oldest pending document and writes it to the ZIP.
+     */
+    private static void writeNext(ZipOutputStream zip, Deque<CompletableFuture<RenderedEntry>> pending) {
+        RenderedEntry rendered;
+        try {
+            rendered = pending.peekFirst().join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+        pending.removeFirst();
+        try {
+            zip.putNextEntry(rendered.entry());
+            zip.write(rendered.content());
+            zip.closeEntry();
+            zip.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -12,6 +12,11 @@ import org.springframework.stereotype.Service;
 
 import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
 
 /**
  * InvoicePdfGenerator is a service that generates a PDF representation of an Invoice.
@@ -20,6 +25,59 @@ import java.math.BigDecimal;
 @Service
 public class InvoicePdfGenerator {
 
+    /**
+     * Version of the document layout; raise it whenever the rendering changes, so cached documents are replaced.
+     */
+    private static final int LAYOUT_VERSION = 1;
+
+    /**
+     * Computes a fingerprint of everything {@link #generateInvoicePdf(Invoice)} renders: the invoice, its client
+     * and student data, and the product, quantity, price and IVA of every line. Two invoices with the same
+     * fingerprint render the same document, so it identifies a rendered PDF in caches and ETags.
+     * It must be kept in line with the fields the document shows.
+     *
+     * @param invoice the invoice, with its lines loaded
+     * @return the fingerprint, as 32 hexadecimal characters
+     */
+    public String fingerprint(Invoice invoice) {
+        StringBuilder content = new StringBuilder(256)
+                .append(LAYOUT_VERSION).append('|')
+                .append(invoice.getId()).append('|')
+                .append(invoice.getDate()).append('|')
+                .append(invoice.getStatus()).append('|')
+                .append(invoice.getTotal()).append('|');
+        var user = invoice.getUser();
+        content.append(user.getName()).append('|')
+                .append(user.getSurname()).append('|')
+                .append(user.getEmail()).append('|')
+                .append(user.getPhoneNumber()).append('|')
+                .append(user.getAddress()).append('|');
+        Student student = user.getStudent();
+        if (student != null) {
+            content.append(student.getDni()).append('|').append(student.getBirthdate()).append('|');
+        }
+        invoice.getInvoiceLines().stream()
+                .sorted(Comparator.comparing(InvoiceLine::getId, Comparator.nullsLast(Comparator.naturalOrder())))
+                .forEach(line -> content.append('\n')
+                        .append(line.getProductService().getName()).append('|')
+                        .append(line.getQuantity()).append('|')
+                        .append(line.getUnitPrice()).append('|')
+                        .append(line.getProductService().getIvaType().getPercentage()));
+
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Renders an invoice as a PDF document.
+     *
+     * @param invoice the invoice, with its lines loaded
+     * @return the PDF document
+     */
     public byte[] generateInvoicePdf(Invoice invoice) {
         ByteArrayOutputStream out = new ByteArrayOutputStream();
 
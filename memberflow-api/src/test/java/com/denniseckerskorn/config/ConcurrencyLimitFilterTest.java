@@ -0,0 +1,77 @@
+package com.denniseckerskorn.config;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the concurrency limit keeps the slot of an asynchronous request until it ends.
+ */
+class ConcurrencyLimitFilterTest {
+
+    private static final FilterChain SYNC = (request, response) -> {
+    };
+    private static final FilterChain ASYNC = (request, response) -> request.startAsync();
+
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new ConcurrencyLimitFilter(1, Duration.ZERO);
+    }
+
+    @Test
+    void doFilter_SyncRequest_FreesSlotWhenItReturns() throws Exception {
+        assertEquals(HttpServletResponse.SC_OK, filter(SYNC).getStatus());
+        assertEquals(HttpServletResponse.SC_OK, filter(SYNC).getStatus());
+    }
+
+    @Test
+    void doFilter_AsyncRequest_KeepsSlotUntilItCompletes() throws Exception {
+        MockHttpServletRequest streaming = request();
+        filter.doFilter(streaming, new MockHttpServletResponse(), ASYNC);
+
+        assertEquals(HttpServletResponse.SC_SERVICE_UNAVAILABLE, filter(SYNC).getStatus());
+
+        streaming.getAsyncContext().complete();
+
+        assertEquals(HttpServletResponse.SC_OK, filter(SYNC).getStatus());
+    }
+
+    @Test
+    void doFilter_AsyncRequestTimesOutThenCompletes_FreesSlotOnce() throws Exception {
+        MockHttpServletRequest streaming = request();
+        filter.doFilter(streaming, new MockHttpServletResponse(), ASYNC);
+        MockAsyncContext asyncContext = (MockAsyncContext) streaming.getAsyncContext();
+
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(new AsyncEvent(asyncContext));
+        }
+        asyncContext.complete();
+
+        filter.doFilter(request(), new MockHttpServletResponse(), ASYNC);
+        assertEquals(HttpServletResponse.SC_SERVICE_UNAVAILABLE, filter(SYNC).getStatus());
+    }
+
+    private MockHttpServletResponse filter(FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(), response, chain);
+        return response;
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/invoices/exportPDFs");
+        request.setAsyncSupported(true);
+        return request;
+    }
+}
@@ -0,0 +1,345 @@
+package com.denniseckerskorn.controllers;
+
+import com.denniseckerskorn.enums.PermissionValues;
+import com.denniseckerskorn.security.JwtUtil;
+import com.denniseckerskorn.security.PrincipalCache;
+import com.denniseckerskorn.seeder.SyntheticDataGenerator;
+import com.denniseckerskorn.seeder.SyntheticDataOptions;
+import com.denniseckerskorn.services.QueryCountingDataSource;
+import com.denniseckerskorn.services.user_managment_services.AuthorizationChangedEvent;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+
+import static com.denniseckerskorn.services.QueryCountingDataSource.batches;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Statement and row budgets for the read endpoints of the API, at the size of a busy school.
+ * Each check performs a request against the real endpoint, through the security filters, the open entity
+ * manager in view interceptor and the DTO mapping of the controller, and counts at the JDBC level the
+ * statements executed and the rows fetched. A change that adds a lazy traversal per row, or that fetches far
+ * more rows than the endpoint returns, goes over the budget. List endpoints are called without page arguments,
+ * as the frontend calls them, so they return whole tables and their row budgets grow with the data set.
+ * Users are read joined with the permissions of their role, so each user read costs up to {@code userRows} rows.
+ * The principal of the token is cached before the checks, so they cost what the endpoint costs; the lookup of
+ * an uncached principal is checked on its own.
+ * The school is generated once into its own database, with the second-level cache off: the JCache regions are
+ * shared by every context of the JVM, and the budgets are those of a cold cache anyway.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:endpoint_budgets;MODE=MySQL;DB_CLOSE_DELAY=-1;NON_KEYWORDS=DATE,TYPE,VALUE,USER",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EndpointQueryBudgetTest {
+
+    private static final int STUDENTS = 500;
+    private static final int ASSISTANCES_PER_STUDENT = 6;
+    private static final int INVOICES_PER_STUDENT = 6;
+    private static final String STUDENT_EMAIL = "student@example.com";
+    private static final String ADMIN_EMAIL = "admin@example.com";
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        public static BeanPostProcessor queryCountingDataSourceWrapper() {
+            return QueryCountingDataSource.wrapper();
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private SyntheticDataGenerator generator;
+
+    @Autowired
+    private QueryCountingDataSource queryCounter;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private String adminToken;
+    private long userRows;
+    private long users;
+    private long students;
+    private long teachers;
+    private long admins;
+    private long roles;
+    private long groups;
+    private long groupMembers;
+    private long sessions;
+    private long assistances;
+    private long invoices;
+    private long lines;
+    private long payments;
+    private long products;
+    private long notifications;
+    private long recipients;
+    private long histories;
+    private long billingRuns;
+    private Integer studentId;
+    private Integer studentUserId;
+    private long studentAssistances;
+    private long studentGroups;
+    private long studentGroupMembers;
+    private long studentNotifications;
+    private long studentHistories;
+    private long studentInvoices;
+    private long studentLines;
+    private Integer invoiceId;
+    private long invoiceLines;
+    private Integer groupId;
+    private long groupStudents;
+    private Integer notificationId;
+    private long notificationRecipients;
+
+    @BeforeAll
+    void setUpSchool() throws Exception {
+        generator.generate(SyntheticDataOptions.of(STUDENTS,
+                (long) STUDENTS * ASSISTANCES_PER_STUDENT, (long) STUDENTS * INVOICES_PER_STUDENT));
+
+        userRows = entityManager.createQuery("SELECT COUNT(p) FROM Role r JOIN r.permissions p GROUP BY r", Long.class)
+                .getResultList().stream().max(Long::compare).orElse(1L);
+        users = count("SELECT COUNT(u) FROM User u");
+        students = count("SELECT COUNT(s) FROM Student s");
+        teachers = count("SELECT COUNT(t) FROM Teacher t");
+        admins = count("SELECT COUNT(a) FROM Admin a");
+        roles = count("SELECT COUNT(r) FROM Role r");
+        groups = count("SELECT COUNT(g) FROM TrainingGroup g");
+        groupMembers = count("SELECT COUNT(s) FROM TrainingGroup g JOIN g.students s");
+        sessions = count("SELECT COUNT(s) FROM TrainingSession s");
+        assistances = count("SELECT COUNT(a) FROM Assistance a");
+        invoices = count("SELECT COUNT(i) FROM Invoice i");
+        lines = count("SELECT COUNT(l) FROM InvoiceLine l");
+        payments = count("SELECT COUNT(p) FROM Payment p");
+        products = count("SELECT COUNT(p) FROM ProductService p");
+        notifications = count("SELECT COUNT(n) FROM Notification n");
+        recipients = count("SELECT COUNT(u) FROM Notification n JOIN n.users u");
+        histories = count("SELECT COUNT(h) FROM StudentHistory h");
+        billingRuns = count("SELECT COUNT(b) FROM BillingRun b");
+
+        studentId = id("SELECT s.id FROM Student s WHERE s.user.email = ?1", STUDENT_EMAIL);
+        studentUserId = id("SELECT u.id FROM User u WHERE u.email = ?1", STUDENT_EMAIL);
+        studentAssistances = count("SELECT COUNT(a) FROM Assistance a WHERE a.student.id = ?1", studentId);
+        studentGroups = count("SELECT COUNT(g) FROM Student s JOIN s.trainingGroups g WHERE s.id = ?1", studentId);
+        studentGroupMembers = count("SELECT COUNT(m) FROM Student s JOIN s.trainingGroups g JOIN g.students m WHERE s.id = ?1", studentId);
+        studentNotifications = count("SELECT COUNT(n) FROM Notification n JOIN n.users u WHERE u.id = ?1", studentUserId);
+        studentHistories = count("SELECT COUNT(h) FROM StudentHistory h WHERE h.student.id = ?1", studentId);
+        studentInvoices = count("SELECT COUNT(i) FROM Invoice i WHERE i.user.id = ?1", studentUserId);
+        studentLines = count("SELECT COUNT(l) FROM InvoiceLine l WHERE l.invoice.user.id = ?1", studentUserId);
+        invoiceId = id("SELECT MIN(i.id) FROM Invoice i WHERE i.user.id = ?1", studentUserId);
+        invoiceLines = count("SELECT COUNT(l) FROM InvoiceLine l WHERE l.invoice.id = ?1", invoiceId);
+        groupId = id("SELECT MIN(g.id) FROM Student s JOIN s.trainingGroups g WHERE s.id = ?1", studentId);
+        groupStudents = count("SELECT COUNT(s) FROM TrainingGroup g JOIN g.students s WHERE g.id = ?1", groupId);
+        notificationId = id("SELECT MIN(n.id) FROM Notification n");
+        notificationRecipients = count("SELECT COUNT(u) FROM Notification n JOIN n.users u WHERE n.id = ?1", notificationId);
+
+        adminToken = "Bearer " + jwtUtil.generateToken(ADMIN_EMAIL, "FULL_ACCESS");
+        perform("/api/v1/users/me");
+    }
+
+    @Test
+    void userEndpoints_StayWithinBudget() throws Exception {
+        assertWithinBudget("/api/v1/users/getAll", 1 + batches(users) + batches(students),
+                users + recipients + histories);
+        assertWithinBudget("/api/v1/users/getById/" + studentUserId, 3,
+                1 + studentNotifications + studentHistories);
+        assertWithinBudget("/api/v1/users/me", 3, 1 + adminNotifications());
+    }
+
+    @Test
+    void principalLookup_UncachedToken_StaysWithinBudget() throws Exception {
+        principalCache.onAuthorizationChanged(AuthorizationChangedEvent.allUsers());
+        Integer permissionId = id("SELECT MIN(p.id) FROM Permission p");
+
+        assertWithinBudget("/api/v1/permissions/getById/" + permissionId, 1 + 1,
+                adminPermissions() + 1);
+    }
+
+    @Test
+    void studentEndpoints_StayWithinBudget() throws Exception {
+        // The members of the groups are loaded with each batch of students, since classmates are consecutive
+        assertWithinBudget("/api/v1/students/getAll", 1 + 3 * batches(students),
+                (students + assistances + 2 * groupMembers) * userRows);
+        assertWithinBudget("/api/v1/students/getAllSummaries", 1, students);
+        assertWithinBudget("/api/v1/students/findById/" + studentId, 4,
+                (1 + studentAssistances + studentGroups + studentGroupMembers) * userRows);
+    }
+
+    @Test
+    void teacherAndAdminEndpoints_StayWithinBudget() throws Exception {
+        Integer teacherId = id("SELECT MIN(t.id) FROM Teacher t");
+        Integer adminId = id("SELECT a.id FROM Admin a WHERE a.user.email = ?1", ADMIN_EMAIL);
+
+        assertWithinBudget("/api/v1/teachers/getAll", 1, teachers);
+        assertWithinBudget("/api/v1/teachers/findById/" + teacherId, 1, userRows);
+        assertWithinBudget("/api/v1/admins/getAll", 1, admins);
+        assertWithinBudget("/api/v1/admins/getById/" + adminId, 1, adminPermissions());
+    }
+
+    @Test
+    void roleAndPermissionEndpoints_StayWithinBudget() throws Exception {
+        Integer roleId = id("SELECT u.role.id FROM User u WHERE u.email = ?1", ADMIN_EMAIL);
+        Integer permissionId = id("SELECT MIN(p.id) FROM Permission p");
+        long permissions = PermissionValues.values().length;
+
+        assertWithinBudget("/api/v1/roles/getAll", 2, roles + count("SELECT COUNT(p) FROM Role r JOIN r.permissions p") + 1);
+        assertWithinBudget("/api/v1/roles/getById/" + roleId, 1, adminPermissions());
+        assertWithinBudget("/api/v1/permissions/getAll", 1, permissions);
+        assertWithinBudget("/api/v1/permissions/getById/" + permissionId, 1, 1);
+    }
+
+    @Test
+    void notificationAndHistoryEndpoints_StayWithinBudget() throws Exception {
+        Integer historyId = id("SELECT MIN(h.id) FROM StudentHistory h");
+
+        assertWithinBudget("/api/v1/notifications/getAll", 2, notifications + recipients * userRows);
+        assertWithinBudget("/api/v1/notifications/getById/" + notificationId, 2, 1 + notificationRecipients * userRows);
+        assertWithinBudget("/api/v1/student-history/getAll", 1, histories);
+        assertWithinBudget("/api/v1/student-history/findById/" + historyId, 1, 1);
+    }
+
+    @Test
+    void classManagementEndpoints_StayWithinBudget() throws Exception {
+        Integer membershipId = id("SELECT MIN(m.id) FROM Membership m");
+        Integer assistanceId = id("SELECT MIN(a.id) FROM Assistance a");
+        Integer sessionId = id("SELECT MIN(s.id) FROM TrainingSession s");
+
+        assertWithinBudget("/api/v1/memberships/getAll", 1, count("SELECT COUNT(m) FROM Membership m"));
+        assertWithinBudget("/api/v1/memberships/getById/" + membershipId, 1, 1);
+        assertWithinBudget("/api/v1/assistances/getAll", 1, assistances);
+        assertWithinBudget("/api/v1/assistances/getById/" + assistanceId, 1, userRows * userRows);
+        assertWithinBudget("/api/v1/training-groups/getAll", 2, (groups + groupMembers) * userRows);
+        assertWithinBudget("/api/v1/training-groups/findById/" + groupId, 2, (1 + groupStudents) * userRows);
+        assertWithinBudget("/api/v1/training-sessions/getAll", 1, sessions * userRows);
+        assertWithinBudget("/api/v1/training-sessions/findById/" + sessionId, 1, userRows);
+    }
+
+    @Test
+    void invoiceEndpoints_StayWithinBudget() throws Exception {
+        Integer lineId = id("SELECT MIN(l.id) FROM InvoiceLine l");
+
+        assertWithinBudget("/api/v1/invoices/getAll", 1 + batches(invoices), invoices + lines);
+        assertWithinBudget("/api/v1/invoices/getAllSummaries", 1, invoices);
+        assertWithinBudget("/api/v1/invoices/getById/" + invoiceId, 2, 1 + invoiceLines);
+        assertWithinBudget("/api/v1/invoices/getAllInvoicesByUserId/" + studentUserId, 2, studentInvoices + studentLines);
+        assertWithinBudget("/api/v1/invoices/generatePDFById/" + invoiceId, 2, 1 + invoiceLines);
+        assertWithinBudget("/api/v1/invoice-lines/getAll", 1, lines);
+        assertWithinBudget("/api/v1/invoice-lines/getById/" + lineId, 1, 1);
+    }
+
+    @Test
+    void paymentAndCatalogEndpoints_StayWithinBudget() throws Exception {
+        Integer paymentId = id("SELECT MIN(p.id) FROM Payment p");
+        Integer productId = id("SELECT MIN(p.id) FROM ProductService p");
+        Integer ivaTypeId = id("SELECT MIN(i.id) FROM IVAType i");
+
+        assertWithinBudget("/api/v1/payments/getAll", 1, payments);
+        assertWithinBudget("/api/v1/payments/getById/" + paymentId, 1, 1);
+        assertWithinBudget("/api/v1/payments/getAllByUserId/" + studentUserId, 1, studentInvoices);
+        assertWithinBudget("/api/v1/products-services/getAll", 2, products + 1);
+        assertWithinBudget("/api/v1/products-services/getById/" + productId, 1, 1);
+        assertWithinBudget("/api/v1/iva-types/getAll", 1, count("SELECT COUNT(i) FROM IVAType i"));
+        assertWithinBudget("/api/v1/iva-types/getById/" + ivaTypeId, 1, 1);
+        assertWithinBudget("/api/v1/billing-runs/getAll", 1, billingRuns);
+    }
+
+    @Test
+    void exportEndpoints_StayWithinBudget() throws Exception {
+        assertWithinBudget("/api/v1/exports/students", 1 + 3 * batches(students),
+                (students + assistances + 2 * groupMembers) * userRows);
+        assertWithinBudget("/api/v1/exports/invoices", 1 + batches(invoices), invoices + lines);
+        assertWithinBudget("/api/v1/exports/payments", 1, payments);
+        assertWithinBudget("/api/v1/exports/assistances", 1, assistances);
+        assertWithinBudget("/api/v1/invoices/exportPDFs?userId=" + studentUserId + "&from=" + LocalDate.now().minusYears(1)
+                + "&to=" + LocalDate.now(), 1 + batches(studentInvoices), studentInvoices + studentLines);
+    }
+
+    /**
+     * Performs a GET request as the admin and checks what it cost.
+     *
+     * @param uri           the URI of the endpoint
+     * @param maxStatements the largest number of statements the request may execute
+     * @param maxRows       the largest number of rows the request may fetch
+     */
+    private void assertWithinBudget(String uri, long maxStatements, long maxRows) throws Exception {
+        queryCounter.reset();
+        perform(uri);
+
+        int statements = queryCounter.statementCount();
+        long rows = queryCounter.rowCount();
+        assertTrue(statements <= maxStatements,
+                () -> uri + ": expected at most " + maxStatements + " statements but got " + statements
+                        + ":\n" + String.join("\n", queryCounter.statements()));
+        assertTrue(rows <= maxRows,
+                () -> uri + ": expected at most " + maxRows + " rows but fetched " + rows
+                        + ":\n" + String.join("\n", queryCounter.statements()));
+    }
+
+    /**
+     * Performs a GET request as the admin, waits for streamed bodies to be written and checks it succeeded.
+     */
+    private void perform(String uri) throws Exception {
+        MvcResult result = mockMvc.perform(get(uri).header(HttpHeaders.AUTHORIZATION, adminToken)).andReturn();
+        if (result.getRequest().isAsyncStarted()) {
+            result = mockMvc.perform(asyncDispatch(result)).andReturn();
+        }
+        int status = result.getResponse().getStatus();
+        assertEquals(200, status, () -> uri + " answered " + status);
+    }
+
+    private long adminPermissions() {
+        return count("SELECT COUNT(p) FROM User u JOIN u.role.permissions p WHERE u.email = ?1", ADMIN_EMAIL);
+    }
+
+    private long adminNotifications() {
+        return count("SELECT COUNT(n) FROM Notification n JOIN n.users u WHERE u.email = ?1", ADMIN_EMAIL);
+    }
+
+    private long count(String jpql, Object... parameters) {
+        return query(jpql, Long.class, parameters);
+    }
+
+    private Integer id(String jpql, Object... parameters) {
+        return query(jpql, Integer.class, parameters);
+    }
+
+    private <T> T query(String jpql, Class<T> type, Object... parameters) {
+        TypedQuery<T> query = entityManager.createQuery(jpql, type);
+        for (int i = 0; i < parameters.length; i++) {
+            query.setParameter(i + 1, parameters[i]);
+        }
+        return query.getSingleResult();
+    }
+}
@@ -0,0 +1,78 @@
+package com.denniseckerskorn.controllers.finance_management;
+
+import com.denniseckerskorn.security.JwtUtil;
+import com.denniseckerskorn.seeder.SyntheticDataGenerator;
+import com.denniseckerskorn.seeder.SyntheticDataOptions;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that downloading an invoice PDF the client already has answers 304 with the same ETag, without a body.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:invoice_pdf_download;MODE=MySQL;DB_CLOSE_DELAY=-1;NON_KEYWORDS=DATE,TYPE,VALUE,USER")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class InvoicePdfDownloadTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private SyntheticDataGenerator generator;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private String adminToken;
+    private Integer invoiceId;
+
+    @BeforeAll
+    void createInvoice() {
+        generator.generate(SyntheticDataOptions.of(1, 0, 1));
+        adminToken = "Bearer " + jwtUtil.generateToken("admin@example.com", "FULL_ACCESS");
+        invoiceId = entityManager.createQuery("SELECT MIN(i.id) FROM Invoice i", Integer.class).getSingleResult();
+    }
+
+    @Test
+    void downloadInvoicePdf_MatchingEtag_NotModified() throws Exception {
+        String etag = mockMvc.perform(get("/api/v1/invoices/generatePDFById/{id}", invoiceId)
+                        .header(HttpHeaders.AUTHORIZATION, adminToken))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        mockMvc.perform(get("/api/v1/invoices/generatePDFById/{id}", invoiceId)
+                        .header(HttpHeaders.AUTHORIZATION, adminToken)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+    }
+
+    @Test
+    void downloadInvoicePdf_StaleEtag_SendsDocument() throws Exception {
+        mockMvc.perform(get("/api/v1/invoices/generatePDFById/{id}", invoiceId)
+                        .header(HttpHeaders.AUTHORIZATION, adminToken)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"" + invoiceId + "-outdated\""))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG));
+    }
+}
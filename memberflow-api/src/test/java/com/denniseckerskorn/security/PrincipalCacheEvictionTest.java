@@ -0,0 +1,83 @@
+package com.denniseckerskorn.security;
+
+import com.denniseckerskorn.seeder.SyntheticDataGenerator;
+import com.denniseckerskorn.seeder.SyntheticDataOptions;
+import com.denniseckerskorn.services.user_managment_services.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that changing a user through the student endpoints evicts its cached principal, so the change applies
+ * to the very next request made with a token issued before it.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PrincipalCacheEvictionTest {
+
+    private static final String STUDENT_EMAIL = "student@example.com";
+    private static final String ADMIN_EMAIL = "admin@example.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private SyntheticDataGenerator generator;
+
+    @BeforeAll
+    void createDemoAccounts() {
+        generator.generate(SyntheticDataOptions.of(1, 0, 0));
+    }
+
+    @Test
+    void deactivatingStudent_RejectsItsNextRequest() throws Exception {
+        Integer studentId = userService.findByEmail(STUDENT_EMAIL).getStudent().getId();
+        String studentToken = bearer(jwtUtil.generateToken(STUDENT_EMAIL, "VIEW_OWN_DATA"));
+        String adminToken = bearer(jwtUtil.generateToken(ADMIN_EMAIL, "FULL_ACCESS"));
+
+        mockMvc.perform(get("/api/v1/students/findById/{id}", studentId).header(HttpHeaders.AUTHORIZATION, studentToken))
+                .andExpect(status().isOk());
+
+        String body = mockMvc.perform(get("/api/v1/students/findById/{id}", studentId).header(HttpHeaders.AUTHORIZATION, adminToken))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        ObjectNode student = (ObjectNode) objectMapper.readTree(body);
+        ((ObjectNode) student.get("user")).put("status", "INACTIVE");
+        mockMvc.perform(put("/api/v1/students/update/{id}", studentId)
+                        .header(HttpHeaders.AUTHORIZATION, adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(student)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/students/findById/{id}", studentId).header(HttpHeaders.AUTHORIZATION, studentToken))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private static String bearer(String token) {
+        return "Bearer " + token;
+    }
+}
@@ -0,0 +1,126 @@
+package com.denniseckerskorn.services.finance_service;
+
+import com.denniseckerskorn.entities.finance.Invoice;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Checks that cached invoice PDFs are replaced when their invoice changes, and are read back from the spill
+ * directory instead of being rendered again once evicted from memory.
+ */
+class InvoicePdfCacheTest {
+
+    private static final int PDF_SIZE = 100;
+
+    @TempDir
+    private Path spillDirectory;
+
+    private InvoicePdfGenerator generator;
+
+    @BeforeEach
+    void setUp() {
+        generator = mock(InvoicePdfGenerator.class);
+        when(generator.fingerprint(any())).thenReturn("v1");
+        when(generator.generateInvoicePdf(any())).thenAnswer(invocation -> pdf(invocation.getArgument(0)));
+    }
+
+    @Test
+    void getPdf_UnchangedInvoice_RenderedOnce() {
+        InvoicePdfCache cache = new InvoicePdfCache(generator, 10 * PDF_SIZE, "", 0, Runnable::run);
+        Invoice invoice = invoice(1);
+
+        byte[] first = cache.getPdf(invoice, cache.etag(invoice));
+        byte[] second = cache.getPdf(invoice, cache.etag(invoice));
+
+        assertArrayEquals(first, second);
+        verify(generator, times(1)).generateInvoicePdf(invoice);
+    }
+
+    @Test
+    void getPdf_FingerprintChanged_ReplacesCachedDocument() {
+        InvoicePdfCache cache = new InvoicePdfCache(generator, 10 * PDF_SIZE, "", 0, Runnable::run);
+        Invoice invoice = invoice(1);
+        String oldEtag = cache.etag(invoice);
+        cache.getPdf(invoice, oldEtag);
+
+        when(generator.fingerprint(invoice)).thenReturn("v2");
+        String newEtag = cache.etag(invoice);
+        cache.getPdf(invoice, newEtag);
+        cache.getPdf(invoice, newEtag);
+
+        assertNotEquals(oldEtag, newEtag);
+        verify(generator, times(2)).generateInvoicePdf(invoice);
+    }
+
+    @Test
+    void getPdf_EvictedForSize_ReadBackFromSpillDirectory() throws Exception {
+        InvoicePdfCache cache = new InvoicePdfCache(generator, PDF_SIZE, spillDirectory.toString(), 10 * PDF_SIZE, Runnable::run);
+        List<Invoice> invoices = List.of(invoice(1), invoice(2));
+        for (Invoice invoice : invoices) {
+            cache.getPdf(invoice, cache.etag(invoice));
+        }
+
+        Integer spilledId = spilledId();
+        Invoice evicted = invoices.stream()
+                .filter(invoice -> invoice.getId().equals(spilledId))
+                .findFirst().orElseThrow();
+        byte[] content = cache.getPdf(evicted, cache.etag(evicted));
+
+        assertArrayEquals(pdf(evicted), content);
+        verify(generator, times(1)).generateInvoicePdf(evicted);
+    }
+
+    @Test
+    void getPdf_SpilledDocumentOutdated_RenderedAgain() throws Exception {
+        InvoicePdfCache cache = new InvoicePdfCache(generator, PDF_SIZE, spillDirectory.toString(), 10 * PDF_SIZE, Runnable::run);
+        List<Invoice> invoices = List.of(invoice(1), invoice(2));
+        for (Invoice invoice : invoices) {
+            cache.getPdf(invoice, cache.etag(invoice));
+        }
+
+        Integer spilledId = spilledId();
+        Invoice evicted = invoices.stream()
+                .filter(invoice -> invoice.getId().equals(spilledId))
+                .findFirst().orElseThrow();
+        when(generator.fingerprint(evicted)).thenReturn("v2");
+        cache.getPdf(evicted, cache.etag(evicted));
+
+        verify(generator, times(2)).generateInvoicePdf(evicted);
+        assertFalse(Files.exists(spillDirectory.resolve(evicted.getId() + ".pdf")));
+    }
+
+    /**
+     * Returns the ID of the invoice whose document was evicted to the spill directory.
+     */
+    private Integer spilledId() throws IOException {
+        try (Stream<Path> files = Files.list(spillDirectory)) {
+            String name = files.map(file -> file.getFileName().toString())
+                    .filter(file -> file.endsWith(".pdf"))
+                    .findFirst().orElseThrow(() -> new AssertionError("No document was spilled"));
+            return Integer.valueOf(name.substring(0, name.length() - ".pdf".length()));
+        }
+    }
+
+    private static Invoice invoice(int id) {
+        Invoice invoice = new Invoice();
+        invoice.setId(id);
+        return invoice;
+    }
+
+    private static byte[] pdf(Invoice invoice) {
+        byte[] content = new byte[PDF_SIZE];
+        content[0] = invoice.getId().byteValue();
+        return content;
+    }
+}
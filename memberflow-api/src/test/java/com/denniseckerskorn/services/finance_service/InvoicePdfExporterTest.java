@@ -0,0 +1,81 @@
+package com.denniseckerskorn.services.finance_service;
+
+import com.denniseckerskorn.exceptions.TooManyRequestsException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Checks that an invoice PDF export is released exactly once, whether its body is written or not.
+ */
+class InvoicePdfExporterTest {
+
+    private InvoicePdfExporter exporter;
+
+    @BeforeEach
+    void setUp() {
+        exporter = new InvoicePdfExporter(mock(InvoicePdfGenerator.class), 1, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        exporter.shutdown();
+    }
+
+    @Test
+    void export_BodyNeverWritten_ReleasedWhenRequestCompletes() throws Exception {
+        ServletWebRequest request = asyncRequest();
+        exporter.export(request, consumer -> 0);
+        startWithoutRunning(request);
+
+        assertThrows(TooManyRequestsException.class, () -> exporter.export(asyncRequest(), consumer -> 0));
+
+        request.getRequest().getAsyncContext().complete();
+
+        assertDoesNotThrow(() -> exporter.export(asyncRequest(), consumer -> 0));
+    }
+
+    @Test
+    void export_BodyWrittenThenRequestCompletes_ReleasedOnce() throws Exception {
+        ServletWebRequest request = asyncRequest();
+        StreamingResponseBody body = exporter.export(request, consumer -> 0);
+        startWithoutRunning(request);
+
+        body.writeTo(new ByteArrayOutputStream());
+        request.getRequest().getAsyncContext().complete();
+
+        assertDoesNotThrow(() -> exporter.export(asyncRequest(), consumer -> 0));
+        assertThrows(TooManyRequestsException.class, () -> exporter.export(asyncRequest(), consumer -> 0));
+    }
+
+    private static ServletWebRequest asyncRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/invoices/exportPDFs");
+        request.setAsyncSupported(true);
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+
+    /**
+     * Starts the asynchronous processing of the request on an executor that never runs the task,
+     * as when the client goes away before the body is written.
+     */
+    private static void startWithoutRunning(ServletWebRequest request) throws Exception {
+        WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(request);
+        asyncManager.setAsyncWebRequest(new StandardServletAsyncWebRequest(request.getRequest(), request.getResponse()));
+        asyncManager.setTaskExecutor((AsyncTaskExecutor) task -> {
+        });
+        asyncManager.startCallableProcessing(() -> null);
+    }
+}
@@ -0,0 +1,281 @@
+package com.denniseckerskorn.bench;
+
+import com.denniseckerskorn.entities.class_managment.Assistance;
+import com.denniseckerskorn.entities.class_managment.Membership;
+import com.denniseckerskorn.entities.class_managment.TrainingGroup;
+import com.denniseckerskorn.entities.class_managment.TrainingSession;
+import com.denniseckerskorn.entities.finance.IVAType;
+import com.denniseckerskorn.entities.finance.Invoice;
+import com.denniseckerskorn.entities.finance.InvoiceLine;
+import com.denniseckerskorn.entities.finance.Payment;
+import com.denniseckerskorn.entities.finance.ProductService;
+import com.denniseckerskorn.entities.user_managment.Notification;
+import com.denniseckerskorn.entities.user_managment.Role;
+import com.denniseckerskorn.entities.user_managment.StudentHistory;
+import com.denniseckerskorn.entities.user_managment.users.Student;
+import com.denniseckerskorn.entities.user_managment.users.Teacher;
+import com.denniseckerskorn.entities.user_managment.users.User;
+import com.denniseckerskorn.enums.MembershipTypeValues;
+import com.denniseckerskorn.enums.PaymentMethodValues;
+import com.denniseckerskorn.enums.StatusValues;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds detached entity graphs shaped like the data of a school, so the benchmarks measure the mapping and
+ * rendering code without a database. Every entity gets an ID, since the entities compare by ID in their sets.
+ * The graphs are deterministic: the same arguments always build the same data.
+ */
+public final class BenchmarkFixtures {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 15, 18, 0);
+    private static final int PRODUCTS = 8;
+    private static final int GROUPS = 20;
+    private static final int TEACHERS = 10;
+    private static final int SESSIONS_PER_GROUP = 8;
+    private static final int GROUPS_PER_STUDENT = 2;
+    private static final int ASSISTANCES_PER_STUDENT = 6;
+    private static final int HISTORIES_PER_STUDENT = 3;
+    private static final int NOTIFICATIONS = 5;
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Builds an invoice of a student with the given number of lines, spread over products with 21%, 10% and 4% IVA.
+     *
+     * @param id    the ID of the invoice
+     * @param lines the number of invoice lines
+     * @return the invoice with its user, payment and lines
+     */
+    public static Invoice invoice(int id, int lines) {
+        return invoice(id, student(id).getUser(), lines, products());
+    }
+
+    /**
+     * Builds the invoices of a school, {@code perStudent} for each of {@code students} students.
+     *
+     * @param students   the number of students
+     * @param perStudent the number of invoices of each student
+     * @param lines      the number of lines of each invoice
+     * @return the invoices
+     */
+    public static List<Invoice> invoices(int students, int perStudent, int lines) {
+        List<ProductService> products = products();
+        List<Invoice> invoices = new ArrayList<>(students * perStudent);
+        for (Student student : students(students)) {
+            for (int i = 0; i < perStudent; i++) {
+                invoices.add(invoice(invoices.size() + 1, student.getUser(), lines, products));
+            }
+        }
+        return invoices;
+    }
+
+    /**
+     * Builds the students of a school, with their users, notifications, histories, groups, sessions and assistances.
+     *
+     * @param count the number of students
+     * @return the students
+     */
+    public static List<Student> students(int count) {
+        Role role = new Role("STUDENT");
+        role.setId(1);
+        Membership membership = membership();
+        List<Notification> notifications = notifications();
+        List<TrainingSession> sessions = new ArrayList<>();
+        List<TrainingGroup> groups = groups(sessions);
+
+        int historyId = 0;
+        int assistanceId = 0;
+        List<Student> students = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            User user = user(i, role);
+            for (Notification notification : notifications) {
+                user.getNotifications().add(notification);
+            }
+
+            Student student = new Student();
+            student.setId(i);
+            student.setVersion(0L);
+            student.setUser(user);
+            user.setStudent(student);
+            student.setDni(String.format("%08dX", i));
+            student.setBirthdate(LocalDate.of(2000, 1, 1).plusDays(i));
+            student.setBelt("BLUE");
+            student.setProgress("Stripe " + (i % 4));
+            student.setMembership(membership);
+
+            for (int h = 0; h < HISTORIES_PER_STUDENT; h++) {
+                StudentHistory history = new StudentHistory();
+                history.setId(++historyId);
+                history.setStudent(student);
+                history.setEventDate(LocalDate.of(2024, 1, 1).plusMonths(h));
+                history.setEventType("BELT_PROMOTION");
+                history.setDescription("Promotion " + h);
+                student.getHistories().add(history);
+            }
+            for (int g = 0; g < GROUPS_PER_STUDENT; g++) {
+                TrainingGroup group = groups.get((i + g) % groups.size());
+                student.getTrainingGroups().add(group);
+                group.getStudents().add(student);
+            }
+            for (int a = 0; a < ASSISTANCES_PER_STUDENT; a++) {
+                Assistance assistance = new Assistance();
+                assistance.setId(++assistanceId);
+                assistance.setStudent(student);
+                assistance.setTrainingSession(sessions.get((i + a) % sessions.size()));
+                assistance.setDate(NOW.minusDays(a));
+                student.getAssistances().add(assistance);
+            }
+            students.add(student);
+        }
+        return students;
+    }
+
+    /**
+     * Builds a single student with the same associations as {@link #students(int)}.
+     *
+     * @param id the ID of the student and its user
+     * @return the student
+     */
+    public static Student student(int id) {
+        Student student = students(1).get(0);
+        student.setId(id);
+        student.getUser().setId(id);
+        return student;
+    }
+
+    private static Invoice invoice(int id, User user, int lines, List<ProductService> products) {
+        Invoice invoice = new Invoice();
+        invoice.setId(id);
+        invoice.setVersion(0L);
+        invoice.setUser(user);
+        invoice.setDate(NOW.minusDays(id % 365));
+        invoice.setBillingPeriod(LocalDate.of(2025, 1, 1));
+        invoice.setStatus(StatusValues.PAID);
+        for (int l = 0; l < lines; l++) {
+            ProductService product = products.get(l % products.size());
+            InvoiceLine line = new InvoiceLine();
+            line.setId(id * 1000 + l);
+            line.setInvoice(invoice);
+            line.setProductService(product);
+            line.setDescription(product.getName());
+            line.setQuantity(1 + l % 3);
+            line.setUnitPrice(product.getPrice());
+            line.setSubtotal(product.getPrice().multiply(BigDecimal.valueOf(line.getQuantity())));
+            invoice.getInvoiceLines().add(line);
+        }
+        invoice.setTotal(new BigDecimal("150.00"));
+
+        Payment payment = new Payment();
+        payment.setId(id);
+        payment.setInvoice(invoice);
+        payment.setAmount(invoice.getTotal());
+        payment.setPaymentDate(invoice.getDate());
+        payment.setPaymentMethod(PaymentMethodValues.CREDIT_CARD);
+        payment.setStatus(StatusValues.PAID);
+        invoice.setPayment(payment);
+        return invoice;
+    }
+
+    private static List<ProductService> products() {
+        String[] percentages = {"21.00", "10.00", "4.00"};
+        List<IVAType> ivaTypes = new ArrayList<>();
+        for (int i = 0; i < percentages.length; i++) {
+            IVAType ivaType = new IVAType();
+            ivaType.setId(i + 1);
+            ivaType.setPercentage(new BigDecimal(percentages[i]));
+            ivaType.setDescription("IVA " + percentages[i]);
+            ivaTypes.add(ivaType);
+        }
+
+        List<ProductService> products = new ArrayList<>(PRODUCTS);
+        for (int p = 0; p < PRODUCTS; p++) {
+            ProductService product = new ProductService();
+            product.setId(p + 1);
+            product.setName("Product " + p);
+            product.setPrice(new BigDecimal("49.95").add(BigDecimal.valueOf(p)));
+            product.setType("SERVICE");
+            product.setStatus(StatusValues.ACTIVE);
+            product.setIvaType(ivaTypes.get(p % ivaTypes.size()));
+            products.add(product);
+        }
+        return products;
+    }
+
+    private static List<TrainingGroup> groups(List<TrainingSession> sessions) {
+        Role role = new Role("TEACHER");
+        role.setId(2);
+        List<TrainingGroup> groups = new ArrayList<>(GROUPS);
+        for (int g = 0; g < GROUPS; g++) {
+            Teacher teacher = new Teacher();
+            teacher.setId(g % TEACHERS + 1);
+            teacher.setUser(user(1_000_000 + g % TEACHERS, role));
+            teacher.setDiscipline("BJJ");
+
+            TrainingGroup group = new TrainingGroup();
+            group.setId(g + 1);
+            group.setVersion(0L);
+            group.setName("Group " + g);
+            group.setLevel("ALL");
+            group.setSchedule(NOW.plusHours(g));
+            group.setTeacher(teacher);
+            groups.add(group);
+
+            for (int s = 0; s < SESSIONS_PER_GROUP; s++) {
+                TrainingSession session = new TrainingSession();
+                session.setId(sessions.size() + 1);
+                session.setTrainingGroup(group);
+                session.setDate(NOW.minusDays(s));
+                session.setStatus(StatusValues.ACTIVE);
+                sessions.add(session);
+            }
+        }
+        return groups;
+    }
+
+    private static List<Notification> notifications() {
+        List<Notification> notifications = new ArrayList<>(NOTIFICATIONS);
+        for (int n = 0; n < NOTIFICATIONS; n++) {
+            Notification notification = new Notification();
+            notification.setId(n + 1);
+            notification.setTitle("Notice " + n);
+            notification.setMessage("The school is closed on day " + n);
+            notification.setShippingDate(NOW.minusDays(n));
+            notification.setType("INFO");
+            notification.setStatus(StatusValues.ACTIVE);
+            notifications.add(notification);
+        }
+        return notifications;
+    }
+
+    private static Membership membership() {
+        Membership membership = new Membership();
+        membership.setId(1);
+        membership.setVersion(0L);
+        membership.setType(MembershipTypeValues.BASIC);
+        membership.setStartDate(LocalDate.of(2025, 1, 1));
+        membership.setEndDate(LocalDate.of(2025, 12, 31));
+        membership.setStatus(StatusValues.ACTIVE);
+        return membership;
+    }
+
+    private static User user(int id, Role role) {
+        User user = new User();
+        user.setId(id);
+        user.setVersion(0L);
+        user.setName("Name" + id);
+        user.setSurname("Surname" + id);
+        user.setEmail("user" + id + "@memberflow.test");
+        user.setPhoneNumber("600000000");
+        user.setAddress("Street " + id);
+        user.setStatus(StatusValues.ACTIVE);
+        user.setRegisterDate(NOW.minusYears(1));
+        user.setRole(role);
+        return user;
+    }
+}
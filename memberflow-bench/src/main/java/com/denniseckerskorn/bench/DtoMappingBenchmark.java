@@ -0,0 +1,47 @@
+package com.denniseckerskorn.bench;
+
+import com.denniseckerskorn.controllers.user_managment_controllers.UserController;
+import com.denniseckerskorn.dtos.finance_management_dtos.InvoiceDTO;
+import com.denniseckerskorn.dtos.user_managment_dtos.StudentDTO;
+import com.denniseckerskorn.dtos.user_managment_dtos.UserDTO;
+import com.denniseckerskorn.entities.finance.Invoice;
+import com.denniseckerskorn.entities.user_managment.users.Student;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maps single entities to the DTOs the controllers return, with the associations of a typical student:
+ * six assistances, two groups, three history events and five notifications, and invoices of three lines.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class DtoMappingBenchmark {
+
+    private Student student;
+    private Invoice invoice;
+    private UserController userController;
+
+    @Setup
+    public void setUp() {
+        student = BenchmarkFixtures.student(1);
+        invoice = BenchmarkFixtures.invoice(1, 3);
+        userController = new UserController(null, null, null);
+    }
+
+    @Benchmark
+    public StudentDTO studentDto() {
+        return StudentDTO.fromEntity(student);
+    }
+
+    @Benchmark
+    public InvoiceDTO invoiceDto() {
+        return InvoiceDTO.fromEntity(invoice);
+    }
+
+    @Benchmark
+    public UserDTO userDto() {
+        return userController.convertToDTO(student.getUser());
+    }
+}
@@ -0,0 +1,60 @@
+package com.denniseckerskorn.bench;
+
+import com.denniseckerskorn.entities.finance.Invoice;
+import com.denniseckerskorn.services.AbstractService;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads the ID of an entity as the services do before saving, updating or deleting it, through the accessor
+ * cached per entity class, against the previous reflective lookup (getDeclaredField and setAccessible on every
+ * call) and a plain getter call as baseline.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class EntityIdAccessorBenchmark {
+
+    private Invoice invoice;
+    private InvoiceIds invoiceIds;
+
+    /**
+     * A service without repository, only used to reach the ID accessor the services share.
+     */
+    private static final class InvoiceIds extends AbstractService<Invoice, Integer> {
+
+        InvoiceIds() {
+            super(null);
+        }
+
+        Integer idOf(Invoice invoice) {
+            return getEntityId(invoice);
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        invoice = new Invoice();
+        invoice.setId(42);
+        invoiceIds = new InvoiceIds();
+    }
+
+    @Benchmark
+    public Object reflectiveLookup() throws ReflectiveOperationException {
+        Field idField = invoice.getClass().getDeclaredField("id");
+        idField.setAccessible(true);
+        return idField.get(invoice);
+    }
+
+    @Benchmark
+    public Object directGetter() {
+        return invoice.getId();
+    }
+
+    @Benchmark
+    public Object cachedAccessor() {
+        return invoiceIds.idOf(invoice);
+    }
+}
@@ -0,0 +1,33 @@
+package com.denniseckerskorn.bench;
+
+import com.denniseckerskorn.entities.finance.Invoice;
+import com.denniseckerskorn.services.finance_service.InvoicePdfGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders the PDF of an invoice, as served by the invoice PDF endpoint.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class InvoicePdfBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int lines;
+
+    private InvoicePdfGenerator generator;
+    private Invoice invoice;
+
+    @Setup
+    public void setUp() {
+        generator = new InvoicePdfGenerator();
+        invoice = BenchmarkFixtures.invoice(1, lines);
+    }
+
+    @Benchmark
+    public byte[] generateInvoicePdf() {
+        return generator.generateInvoicePdf(invoice);
+    }
+}
@@ -0,0 +1,36 @@
+package com.denniseckerskorn.bench;
+
+import com.denniseckerskorn.entities.finance.Invoice;
+import com.denniseckerskorn.services.finance_services.InvoiceService;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recomputes the total of an invoice from its lines, as {@link InvoiceService} does after every line change.
+ * The method only reads the invoice, so the service is built without repositories.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class InvoiceTotalBenchmark {
+
+    @Param({"1", "10", "100", "500"})
+    public int lines;
+
+    private InvoiceService invoiceService;
+    private Invoice invoice;
+
+    @Setup
+    public void setUp() {
+        invoiceService = new InvoiceService(null, null, null, null);
+        invoice = BenchmarkFixtures.invoice(1, lines);
+    }
+
+    @Benchmark
+    public BigDecimal updateInvoiceTotal() {
+        invoiceService.updateInvoiceTotal(invoice);
+        return invoice.getTotal();
+    }
+}
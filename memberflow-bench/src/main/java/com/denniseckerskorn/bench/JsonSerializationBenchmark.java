@@ -0,0 +1,63 @@
+package com.denniseckerskorn.bench;
+
+import com.denniseckerskorn.controllers.user_managment_controllers.UserController;
+import com.denniseckerskorn.dtos.finance_management_dtos.InvoiceDTO;
+import com.denniseckerskorn.dtos.user_managment_dtos.StudentDTO;
+import com.denniseckerskorn.dtos.user_managment_dtos.UserDTO;
+import com.denniseckerskorn.entities.user_managment.users.Student;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializes the largest list responses of the API (students, users and invoices) with an ObjectMapper built
+ * like the one of Spring Boot. The DTOs are mapped once in the setup, so only Jackson is measured.
+ * {@code students} is the number of students of the school; each one has six invoices.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    private static final int INVOICES_PER_STUDENT = 6;
+    private static final int LINES_PER_INVOICE = 3;
+
+    @Param({"100", "500", "2000"})
+    public int students;
+
+    private ObjectMapper objectMapper;
+    private List<StudentDTO> studentDtos;
+    private List<UserDTO> userDtos;
+    private List<InvoiceDTO> invoiceDtos;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        UserController userController = new UserController(null, null, null);
+        List<Student> school = BenchmarkFixtures.students(students);
+        studentDtos = school.stream().map(StudentDTO::fromEntity).toList();
+        userDtos = school.stream().map(student -> userController.convertToDTO(student.getUser())).toList();
+        invoiceDtos = BenchmarkFixtures.invoices(students, INVOICES_PER_STUDENT, LINES_PER_INVOICE).stream()
+                .map(InvoiceDTO::fromEntity)
+                .toList();
+    }
+
+    @Benchmark
+    public byte[] studentList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(studentDtos);
+    }
+
+    @Benchmark
+    public byte[] userList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(userDtos);
+    }
+
+    @Benchmark
+    public byte[] invoiceList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(invoiceDtos);
+    }
+}
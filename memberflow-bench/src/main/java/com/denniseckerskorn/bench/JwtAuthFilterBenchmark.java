@@ -0,0 +1,114 @@
+package com.denniseckerskorn.bench;
+
+import com.denniseckerskorn.entities.user_managment.Permission;
+import com.denniseckerskorn.entities.user_managment.Role;
+import com.denniseckerskorn.entities.user_managment.users.User;
+import com.denniseckerskorn.enums.PermissionValues;
+import com.denniseckerskorn.security.CustomUserDetails;
+import com.denniseckerskorn.security.CustomUserDetailsService;
+import com.denniseckerskorn.security.JwtAuthFilter;
+import com.denniseckerskorn.security.JwtUtil;
+import com.denniseckerskorn.security.PrincipalCache;
+import com.denniseckerskorn.services.user_managment_services.AuthorizationChangedEvent;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a request with a bearer token through {@link JwtAuthFilter} and the next filter, which reads the subject
+ * of the token as {@code /users/me} does.
+ * {@code cachedPrincipal} is the usual case of a token sent again, whose principal comes from the {@link PrincipalCache};
+ * {@code uncachedPrincipal} resolves the principal on every request, from a user held in memory, so the database
+ * read of the first request of a token is not included. Both read the subject from the claims request attribute;
+ * {@code reparsedClaims} verifies the token again instead, as the controllers did before the attribute.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class JwtAuthFilterBenchmark {
+
+    private static final String SECRET = "c2VjdXJlc2VjdXJlc2VjdXJlc2VjdXJlMTIzNDU2";
+    private static final long EXPIRATION = 7_200_000L;
+
+    private JwtUtil jwtUtil;
+    private PrincipalCache principalCache;
+    private JwtAuthFilter jwtAuthFilter;
+    private String token;
+
+    @Setup
+    public void setUp() throws ServletException, IOException {
+        Role role = new Role("ADMIN");
+        role.setId(1);
+        for (PermissionValues value : PermissionValues.values()) {
+            Permission permission = new Permission();
+            permission.setId(value.ordinal() + 1);
+            permission.setPermissionName(value);
+            role.getPermissions().add(permission);
+        }
+        User user = BenchmarkFixtures.student(1).getUser();
+        user.setRole(role);
+        CustomUserDetailsService userDetailsService = new CustomUserDetailsService(null) {
+            @Override
+            public UserDetails loadUserByUsername(String username) {
+                return new CustomUserDetails(user);
+            }
+        };
+
+        jwtUtil = new JwtUtil(SECRET, EXPIRATION, 10_000);
+        principalCache = new PrincipalCache(userDetailsService, Duration.ofMinutes(5), 10_000);
+        jwtAuthFilter = new JwtAuthFilter(jwtUtil, principalCache, new SimpleMeterRegistry());
+        token = jwtUtil.generateToken(user.getEmail(), "FULL_ACCESS");
+        filter((request, response) -> {
+        });
+    }
+
+    @Benchmark
+    public Object cachedPrincipal() throws ServletException, IOException {
+        return filter(JwtAuthFilterBenchmark::readClaimsAttribute);
+    }
+
+    @Benchmark
+    public Object uncachedPrincipal() throws ServletException, IOException {
+        principalCache.onAuthorizationChanged(AuthorizationChangedEvent.allUsers());
+        return filter(JwtAuthFilterBenchmark::readClaimsAttribute);
+    }
+
+    @Benchmark
+    public Object reparsedClaims() throws ServletException, IOException {
+        return filter((request, response) -> request.setAttribute("subject", jwtUtil.extractUsername(token)));
+    }
+
+    private static void readClaimsAttribute(ServletRequest request, ServletResponse response) {
+        request.setAttribute("subject", ((Claims) request.getAttribute(JwtAuthFilter.CLAIMS_ATTRIBUTE)).getSubject());
+    }
+
+    /**
+     * Sends a request through the filter, with a fresh security context as the security filter chain gives each request.
+     *
+     * @param next the rest of the chain
+     * @return the subject the rest of the chain read
+     */
+    private Object filter(FilterChain next) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/users/me");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        try {
+            jwtAuthFilter.doFilter(request, new MockHttpServletResponse(), next);
+            return request.getAttribute("subject");
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
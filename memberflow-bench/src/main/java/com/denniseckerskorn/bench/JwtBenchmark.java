@@ -0,0 +1,48 @@
+package com.denniseckerskorn.bench;
+
+import com.denniseckerskorn.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signs and verifies JWTs with the settings of {@code application.properties}.
+ * {@code parseToken} verifies the signature on every call, through a {@link JwtUtil} with the verified-token cache
+ * disabled; {@code parseCachedToken} is the usual case of a token sent again, served from the cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private static final String SECRET = "c2VjdXJlc2VjdXJlc2VjdXJlc2VjdXJlMTIzNDU2";
+    private static final long EXPIRATION = 7_200_000L;
+
+    private JwtUtil jwtUtil;
+    private JwtUtil uncachedJwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(SECRET, EXPIRATION, 10_000);
+        uncachedJwtUtil = new JwtUtil(SECRET, EXPIRATION, 0);
+        token = jwtUtil.generateToken("student1@memberflow.test", "ROLE_STUDENT");
+        jwtUtil.getAllClaimsFromToken(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("student1@memberflow.test", "ROLE_STUDENT");
+    }
+
+    @Benchmark
+    public Claims parseToken() {
+        return uncachedJwtUtil.getAllClaimsFromToken(token);
+    }
+
+    @Benchmark
+    public Claims parseCachedToken() {
+        return jwtUtil.getAllClaimsFromToken(token);
+    }
+}
@@ -1,6 +1,11 @@
 package com.denniseckerskorn.config;
 
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
 import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.MissingCacheStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.env.Environment;
@@ -10,17 +15,56 @@ import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
+import javax.cache.CacheManager;
+import javax.cache.Caching;
 import javax.sql.DataSource;
+import java.net.URI;
+import java.time.Duration;
 import java.util.Properties;
 
 /**
  * Hibernate configuration class for setting up the EntityManagerFactory and DataSource.
  * It uses HikariCP for connection pooling and configures JPA properties.
+ * Reference data entities marked {@code @Cacheable} are kept in a second-level cache backed by Caffeine
+ * through JCache, together with the results of the queries hinted as cacheable.
  */
 @Configuration
 @EnableTransactionManagement
 public class HibernateConfig {
 
+    /**
+     * Number of lazy collections or proxies of the same type Hibernate initializes with one query
+     * when no other value is configured.
+     */
+    public static final int DEFAULT_BATCH_FETCH_SIZE = 50;
+
+    /**
+     * Number of inserts, updates or deletes of the same statement sent to the database in one JDBC batch
+     * when no other value is configured. It matches the allocation size of the entity ID generators,
+     * so a full batch needs a single ID block.
+     */
+    public static final int DEFAULT_JDBC_BATCH_SIZE = 50;
+
+    /**
+     * Maximum number of pooled connections when no other value is configured.
+     */
+    public static final int DEFAULT_MAXIMUM_POOL_SIZE = 10;
+
+    /**
+     * Largest replication lag at which read-only transactions still use the replica, when no other value is configured.
+     */
+    public static final Duration DEFAULT_REPLICA_MAX_LAG = Duration.ofSeconds(5);
+
+    /**
+     * Time between two checks of the replication lag when no other value is configured.
+     */
+    public static final Duration DEFAULT_REPLICA_CHECK_INTERVAL = Duration.ofSeconds(5);
+
+    /**
+     * Classpath resource holding the Caffeine settings of the second-level cache regions.
+     */
+    public static final String CACHE_CONFIG = "memberflow-cache.conf";
+
     private final Environment env;
 
     /**
@@ -34,28 +78,80 @@ public class HibernateConfig {
 
     /**
      * Bean definition for DataSource using HikariCP.
-     * Reads properties from the application environment.
+     * Reads properties from the application environment, including the pool size from
+     * {@code spring.datasource.hikari.maximum-pool-size}.
+     * When {@code memberflow.datasource.replica.url} is set, a second pool of the same size is opened on the
+     * replica and read-only transactions are routed to it, see {@link ReadWriteRoutingDataSource}. A second
+     * database that is not replicating is only used with {@code memberflow.datasource.replica.allow-unreplicated=true}.
      *
      * @return a configured DataSource instance
      */
     @Bean
     public DataSource dataSource() {
+        HikariDataSource primary = createPool("memberflow-primary",
+                env.getProperty("spring.datasource.url"),
+                env.getProperty("spring.datasource.username"),
+                env.getProperty("spring.datasource.password"));
+
+        String replicaUrl = env.getProperty("memberflow.datasource.replica.url");
+        if (replicaUrl == null || replicaUrl.isBlank()) {
+            return primary;
+        }
+        HikariDataSource replica = createPool("memberflow-replica", replicaUrl,
+                env.getProperty("memberflow.datasource.replica.username", primary.getUsername()),
+                env.getProperty("memberflow.datasource.replica.password", primary.getPassword()));
+        ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource(primary, replica,
+                Duration.parse(env.getProperty("memberflow.datasource.replica.max-lag", DEFAULT_REPLICA_MAX_LAG.toString())),
+                Duration.parse(env.getProperty("memberflow.datasource.replica.check-interval", DEFAULT_REPLICA_CHECK_INTERVAL.toString())),
+                env.getProperty("memberflow.datasource.replica.allow-unreplicated", Boolean.class, false));
+        routingDataSource.startLagChecks();
+        return routingDataSource;
+    }
+
+    /**
+     * Creates a HikariCP pool with the configured driver and pool size.
+     *
+     * @param poolName the name of the pool
+     * @param url      the JDBC URL of the database
+     * @param username the database user
+     * @param password the password of the database user
+     * @return the pool
+     */
+    private HikariDataSource createPool(String poolName, String url, String username, String password) {
         HikariDataSource dataSource = new HikariDataSource();
-        dataSource.setJdbcUrl(env.getProperty("spring.datasource.url"));
-        dataSource.setUsername(env.getProperty("spring.datasource.username"));
-        dataSource.setPassword(env.getProperty("spring.datasource.password"));
+        dataSource.setPoolName(poolName);
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
         dataSource.setDriverClassName(env.getProperty("spring.datasource.driver-class-name"));
+        dataSource.setMaximumPoolSize(env.getProperty("spring.datasource.hikari.maximum-pool-size",
+                Integer.class, DEFAULT_MAXIMUM_POOL_SIZE));
         return dataSource;
     }
 
+    /**
+     * Bean definition for the JCache CacheManager holding the second-level cache regions.
+     * Regions are configured in {@link #CACHE_CONFIG}, and regions missing from it are created
+     * with its default settings.
+     *
+     * @return a Caffeine-backed CacheManager
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager() {
+        ClassLoader classLoader = HibernateConfig.class.getClassLoader();
+        return Caching.getCachingProvider(CaffeineCachingProvider.class.getName(), classLoader)
+                .getCacheManager(URI.create("classpath:" + CACHE_CONFIG), classLoader);
+    }
+
     /**
      * Bean definition for LocalContainerEntityManagerFactoryBean.
      *
-     * @param dataSource the DataSource to be used by the EntityManagerFactory
+     * @param dataSource   the DataSource to be used by the EntityManagerFactory
+     * @param cacheManager the CacheManager holding the second-level cache regions
      * @return a configured LocalContainerEntityManagerFactoryBean instance
      */
     @Bean
-    public LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+    public LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource, CacheManager cacheManager) {
         LocalContainerEntityManagerFactoryBean emf = new LocalContainerEntityManagerFactoryBean();
         emf.setDataSource(dataSource);
         emf.setPackagesToScan("com.denniseckerskorn.entities");
@@ -66,6 +162,22 @@ public class HibernateConfig {
         jpaProperties.put("hibernate.hbm2ddl.auto", env.getProperty("spring.jpa.hibernate.ddl-auto"));
         jpaProperties.put("hibernate.show_sql", env.getProperty("spring.jpa.show-sql"));
         jpaProperties.put("hibernate.current_session_context_class", env.getProperty("spring.jpa.properties.hibernate.current_session_context_class"));
+        jpaProperties.put("hibernate.default_batch_fetch_size", env.getProperty("spring.jpa.properties.hibernate.default_batch_fetch_size", String.valueOf(DEFAULT_BATCH_FETCH_SIZE)));
+        jpaProperties.put("hibernate.jdbc.batch_size", env.getProperty("spring.jpa.properties.hibernate.jdbc.batch_size", String.valueOf(DEFAULT_JDBC_BATCH_SIZE)));
+        jpaProperties.put("hibernate.order_inserts", "true");
+        jpaProperties.put("hibernate.order_updates", "true");
+        jpaProperties.put("hibernate.cache.use_second_level_cache", env.getProperty("spring.jpa.properties.hibernate.cache.use_second_level_cache", "true"));
+        jpaProperties.put("hibernate.cache.use_query_cache", env.getProperty("spring.jpa.properties.hibernate.cache.use_query_cache", "true"));
+        jpaProperties.put("hibernate.generate_statistics", env.getProperty("spring.jpa.properties.hibernate.generate_statistics", "false"));
+        jpaProperties.put("hibernate.cache.region.factory_class", ConfigSettings.SIMPLE_FACTORY_NAME);
+        jpaProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+        jpaProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, MissingCacheStrategy.CREATE.getExternalRepresentation());
+        if (dataSource instanceof ReadWriteRoutingDataSource routingDataSource) {
+            // A session must not keep the connection it got for one transaction, since the next one may go elsewhere
+            jpaProperties.put(AvailableSettings.CONNECTION_HANDLING,
+                    PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+            emf.setJpaDialect(new ReplicaRoutingJpaDialect(routingDataSource));
+        }
         emf.setJpaProperties(jpaProperties);
 
         return emf;
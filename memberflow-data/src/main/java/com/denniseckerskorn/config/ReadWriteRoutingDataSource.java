@@ -0,0 +1,208 @@
+package com.denniseckerskorn.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DataSource sending read-only transactions to a replica and everything else to the primary.
+ * Connections are handed out lazily: the physical connection is only fetched when the first statement runs,
+ * by which time the transaction manager has published the transaction as read-only, so
+ * {@code @Transactional(readOnly = true)} work reads from the replica. The route follows
+ * {@link TransactionSynchronizationManager#isCurrentTransactionReadOnly()} rather than the read-only flag of the
+ * connection, which {@code JpaTransactionManager} does not set when sessions release their connection after
+ * each transaction. JPA transactions pin their route when they begin, through {@link ReplicaRoutingJpaDialect},
+ * so the route does not change halfway through when the replica is accepted or dropped, and the dialect knows
+ * which transactions read from the replica.
+ * The replication lag is checked every {@code checkInterval}; while the replica is unreachable, not replicating
+ * or more than {@code maxLag} behind, read-only work falls back to the primary.
+ */
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+    private final HikariDataSource primary;
+    private final HikariDataSource replica;
+    private final Duration maxLag;
+    private final Duration checkInterval;
+    private final boolean allowUnreplicated;
+    private final ScheduledExecutorService lagMonitor;
+    private final ThreadLocal<Deque<Route>> pinnedRoutes = new ThreadLocal<>();
+    private volatile boolean replicaUsable;
+
+    /**
+     * Constructor for ReadWriteRoutingDataSource.
+     * The replica is not used until its first lag check succeeds; checks start with {@link #startLagChecks()}.
+     *
+     * @param primary           the pool of the primary database
+     * @param replica           the pool of the replica
+     * @param maxLag            the largest replication lag at which the replica is still used
+     * @param checkInterval     the time between two lag checks
+     * @param allowUnreplicated whether a second database that is not replicating at all is used as the replica,
+     *                          for local testing only
+     */
+    public ReadWriteRoutingDataSource(HikariDataSource primary, HikariDataSource replica,
+                                      Duration maxLag, Duration checkInterval, boolean allowUnreplicated) {
+        this.primary = primary;
+        this.replica = replica;
+        this.maxLag = maxLag;
+        this.checkInterval = checkInterval;
+        this.allowUnreplicated = allowUnreplicated;
+        TransactionRouter router = new TransactionRouter();
+        router.setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        router.afterPropertiesSet();
+        setTargetDataSource(router);
+        afterPropertiesSet();
+        this.lagMonitor = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("replica-lag-monitor").daemon().factory());
+    }
+
+    /**
+     * Starts the periodic lag checks, the first one right away.
+     */
+    public void startLagChecks() {
+        lagMonitor.scheduleWithFixedDelay(this::checkReplica, 0, checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns the pool of the replica, for instance to publish its metrics.
+     *
+     * @return the replica pool
+     */
+    public HikariDataSource getReplicaDataSource() {
+        return replica;
+    }
+
+    /**
+     * Tells whether read-only work currently goes to the replica.
+     *
+     * @return true if the last lag check accepted the replica
+     */
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    /**
+     * Decides where a transaction that is beginning on the current thread reads from, and keeps that route until
+     * {@link #unpinRoute()} is called. Transactions suspended by the new one get their own route back afterwards.
+     *
+     * @param readOnly whether the transaction is read-only
+     * @return true if the transaction reads from the replica
+     */
+    public boolean pinRoute(boolean readOnly) {
+        Route route = readOnly && replicaUsable ? Route.REPLICA : Route.PRIMARY;
+        Deque<Route> routes = pinnedRoutes.get();
+        if (routes == null) {
+            routes = new ArrayDeque<>();
+            pinnedRoutes.set(routes);
+        }
+        routes.push(route);
+        return route == Route.REPLICA;
+    }
+
+    /**
+     * Releases the route pinned by the last {@link #pinRoute(boolean)} of the current thread, once its transaction ended.
+     */
+    public void unpinRoute() {
+        Deque<Route> routes = pinnedRoutes.get();
+        if (routes != null) {
+            routes.poll();
+            if (routes.isEmpty()) {
+                pinnedRoutes.remove();
+            }
+        }
+    }
+
+    /**
+     * Checks the replication lag and decides whether read-only work may use the replica.
+     */
+    void checkReplica() {
+        boolean usable;
+        try (Connection connection = replica.getConnection()) {
+            Duration lag = replicationLag(connection);
+            usable = lag != null && lag.compareTo(maxLag) <= 0;
+            if (!usable && replicaUsable) {
+                logger.warn("Replica lag is {}, over the {} limit, reading from the primary",
+                        lag == null ? "unknown" : lag, maxLag);
+            }
+        } catch (SQLException | RuntimeException e) {
+            usable = false;
+            if (replicaUsable) {
+                logger.warn("Replica check failed, reading from the primary: {}", e.getMessage());
+            }
+        }
+        if (usable && !replicaUsable) {
+            logger.info("Replica is in sync, read-only transactions read from it");
+        }
+        replicaUsable = usable;
+    }
+
+    /**
+     * Reads the replication lag of the replica.
+     * A server that is not replicating at all, such as the primary itself after a wrong URL, reports no
+     * replication status and is unusable, unless a plain second database was allowed for local testing.
+     *
+     * @param connection a connection to the replica
+     * @return the lag, or null if the server is not replicating or replication is not running
+     * @throws SQLException if the replication status cannot be read
+     */
+    protected Duration replicationLag(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet status = statement.executeQuery("SHOW REPLICA STATUS")) {
+            if (!status.next()) {
+                return allowUnreplicated ? Duration.ZERO : null;
+            }
+            long seconds = status.getLong("Seconds_Behind_Source");
+            return status.wasNull() ? null : Duration.ofSeconds(seconds);
+        }
+    }
+
+    /**
+     * Stops the lag checks and closes both pools.
+     */
+    @Override
+    public void close() {
+        lagMonitor.shutdownNow();
+        replica.close();
+        primary.close();
+    }
+
+    /**
+     * The database a connection is fetched from.
+     */
+    private enum Route {
+        PRIMARY, REPLICA
+    }
+
+    /**
+     * Hands out connections on the route pinned by the current transaction. Without one, as for transactions
+     * not managed through JPA, replica connections are handed out inside read-only transactions while the
+     * replica is usable, and primary connections otherwise.
+     */
+    private final class TransactionRouter extends AbstractRoutingDataSource {
+
+        @Override
+        protected Object determineCurrentLookupKey() {
+            Deque<Route> routes = pinnedRoutes.get();
+            if (routes != null && !routes.isEmpty()) {
+                return routes.peek();
+            }
+            return replicaUsable && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                    ? Route.REPLICA : Route.PRIMARY;
+        }
+    }
+}
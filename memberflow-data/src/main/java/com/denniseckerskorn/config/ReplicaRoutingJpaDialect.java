@@ -0,0 +1,74 @@
+package com.denniseckerskorn.config;
+
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+
+import java.sql.SQLException;
+
+/**
+ * Hibernate dialect pinning the route of each JPA transaction on a {@link ReadWriteRoutingDataSource} when it
+ * begins. Transactions reading from the replica only read the second-level and query caches and never put into
+ * them: the replica may lag behind the primary, and the cache regions do not expire, so a copy read from it
+ * right after a change committed on the primary would be served to every later transaction, writes included.
+ */
+public class ReplicaRoutingJpaDialect extends HibernateJpaDialect {
+
+    private final ReadWriteRoutingDataSource dataSource;
+
+    /**
+     * Constructor for ReplicaRoutingJpaDialect.
+     *
+     * @param dataSource the data source the transactions are routed on
+     */
+    public ReplicaRoutingJpaDialect(ReadWriteRoutingDataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws SQLException, TransactionException {
+        boolean replica = dataSource.pinRoute(definition.isReadOnly());
+        Object transactionData;
+        try {
+            transactionData = super.beginTransaction(entityManager, definition);
+        } catch (SQLException | RuntimeException e) {
+            dataSource.unpinRoute();
+            throw e;
+        }
+        Session session = entityManager.unwrap(Session.class);
+        CacheStoreMode previousStoreMode = session.getCacheStoreMode();
+        if (replica) {
+            // EntityManager#find reads the store mode of the session properties rather than its CacheMode
+            session.setProperty(SpecHints.HINT_SPEC_CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+            session.setCacheMode(CacheMode.GET);
+        }
+        return new RoutedTransactionData(transactionData, session, previousStoreMode);
+    }
+
+    @Override
+    public void cleanupTransaction(Object transactionData) {
+        RoutedTransactionData routed = (RoutedTransactionData) transactionData;
+        try {
+            routed.session().setProperty(SpecHints.HINT_SPEC_CACHE_STORE_MODE, routed.previousStoreMode());
+            super.cleanupTransaction(routed.transactionData());
+        } finally {
+            dataSource.unpinRoute();
+        }
+    }
+
+    /**
+     * What is restored once a transaction ends.
+     *
+     * @param transactionData   the transaction data of {@link HibernateJpaDialect}
+     * @param session           the session of the transaction
+     * @param previousStoreMode the cache store mode of the session before the transaction
+     */
+    private record RoutedTransactionData(Object transactionData, Session session, CacheStoreMode previousStoreMode) {
+    }
+}
@@ -7,10 +7,13 @@ import java.time.LocalDateTime;
 import java.util.Objects;
 
 @Entity
-@Table(name = "ASSISTANCE")
+@Table(name = "ASSISTANCE",
+        uniqueConstraints = @UniqueConstraint(name = "uk_assistance_session_student", columnNames = {"fk_training_session", "fk_student"}))
+@NamedEntityGraph(name = "Assistance.list")
 public class Assistance {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "assistance_seq")
+    @SequenceGenerator(name = "assistance_seq", sequenceName = "ASSISTANCE_SEQ", allocationSize = 50)
     private Integer id;
 
     @ManyToOne
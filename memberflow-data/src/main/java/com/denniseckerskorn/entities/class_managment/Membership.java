@@ -4,6 +4,8 @@ import com.denniseckerskorn.entities.user_managment.users.Student;
 import com.denniseckerskorn.enums.MembershipTypeValues;
 import com.denniseckerskorn.enums.StatusValues;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 import java.util.HashSet;
@@ -12,11 +14,18 @@ import java.util.Set;
 
 @Entity
 @Table(name = "MEMBERSHIPS")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "memberships")
 public class Membership {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "memberships_seq")
+    @SequenceGenerator(name = "memberships_seq", sequenceName = "MEMBERSHIPS_SEQ", allocationSize = 50)
     private Integer id;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "type", nullable = false, length = 50)
     private MembershipTypeValues type;
@@ -38,6 +47,10 @@ public class Membership {
         return id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public MembershipTypeValues getType() {
         return type;
     }
@@ -62,6 +75,10 @@ public class Membership {
         this.id = id;
     }
 
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public void setType(MembershipTypeValues type) {
         this.type = type;
     }
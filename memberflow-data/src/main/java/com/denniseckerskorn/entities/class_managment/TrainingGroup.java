@@ -11,11 +11,17 @@ import java.util.Set;
 
 @Entity
 @Table(name = "TRAINING_GROUPS")
+@NamedEntityGraph(name = "TrainingGroup.list")
 public class TrainingGroup {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "training_groups_seq")
+    @SequenceGenerator(name = "training_groups_seq", sequenceName = "TRAINING_GROUPS_SEQ", allocationSize = 50)
     private Integer id;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @ManyToOne
     @JoinColumn(name = "fk_teacher", nullable = false)
     private Teacher teacher;
@@ -43,6 +49,10 @@ public class TrainingGroup {
         return id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public Teacher getTeacher() {
         return teacher;
     }
@@ -71,6 +81,10 @@ public class TrainingGroup {
         this.id = id;
     }
 
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public void setTeacher(Teacher teacher) {
         this.teacher = teacher;
     }
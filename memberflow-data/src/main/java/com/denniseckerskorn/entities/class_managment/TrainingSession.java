@@ -10,10 +10,12 @@ import java.util.Set;
 
 @Entity
 @Table(name = "TRAINING_SESSIONS")
+@NamedEntityGraph(name = "TrainingSession.list")
 public class TrainingSession {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "training_sessions_seq")
+    @SequenceGenerator(name = "training_sessions_seq", sequenceName = "TRAINING_SESSIONS_SEQ", allocationSize = 50)
     private Integer id;
 
     @ManyToOne
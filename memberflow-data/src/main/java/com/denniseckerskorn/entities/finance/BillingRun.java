@@ -0,0 +1,147 @@
+package com.denniseckerskorn.entities.finance;
+
+import com.denniseckerskorn.enums.BillingRunStatusValues;
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Entity
+@Table(name = "BILLING_RUNS")
+public class BillingRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "billing_runs_seq")
+    @SequenceGenerator(name = "billing_runs_seq", sequenceName = "BILLING_RUNS_SEQ", allocationSize = 50)
+    private Integer id;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @Column(name = "billing_period", nullable = false, unique = true)
+    private LocalDate billingPeriod;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private BillingRunStatusValues status;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "invoices_created", nullable = false)
+    private int invoicesCreated;
+
+    @Column(name = "members_skipped", nullable = false)
+    private int membersSkipped;
+
+    @Column(name = "failed_chunks", nullable = false)
+    private int failedChunks;
+
+    public BillingRun() {
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public LocalDate getBillingPeriod() {
+        return billingPeriod;
+    }
+
+    public BillingRunStatusValues getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public int getInvoicesCreated() {
+        return invoicesCreated;
+    }
+
+    public int getMembersSkipped() {
+        return membersSkipped;
+    }
+
+    public int getFailedChunks() {
+        return failedChunks;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public void setBillingPeriod(LocalDate billingPeriod) {
+        this.billingPeriod = billingPeriod;
+    }
+
+    public void setStatus(BillingRunStatusValues status) {
+        this.status = status;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public void setInvoicesCreated(int invoicesCreated) {
+        this.invoicesCreated = invoicesCreated;
+    }
+
+    public void setMembersSkipped(int membersSkipped) {
+        this.membersSkipped = membersSkipped;
+    }
+
+    public void setFailedChunks(int failedChunks) {
+        this.failedChunks = failedChunks;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        BillingRun that = (BillingRun) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(id);
+    }
+
+    @Override
+    public String toString() {
+        return "BillingRun{" +
+                "id=" + id +
+                ", billingPeriod=" + billingPeriod +
+                ", status='" + status + '\'' +
+                ", startedAt=" + startedAt +
+                ", finishedAt=" + finishedAt +
+                ", invoicesCreated=" + invoicesCreated +
+                ", membersSkipped=" + membersSkipped +
+                ", failedChunks=" + failedChunks +
+                '}';
+    }
+}
@@ -1,16 +1,21 @@
 package com.denniseckerskorn.entities.finance;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.util.Objects;
 
 @Entity
 @Table(name = "IVA_TYPE")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "iva-types")
 public class IVAType {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "iva_type_seq")
+    @SequenceGenerator(name = "iva_type_seq", sequenceName = "IVA_TYPE_SEQ", allocationSize = 50)
     private Integer id;
 
     @Column(name = "percentage", nullable = false)
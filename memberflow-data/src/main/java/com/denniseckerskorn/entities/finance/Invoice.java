@@ -5,19 +5,31 @@ import com.denniseckerskorn.enums.StatusValues;
 import jakarta.persistence.*;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
 
 @Entity
-@Table(name = "INVOICES")
+@Table(name = "INVOICES", indexes = @Index(name = "idx_invoices_user_date", columnList = "fk_user, date"),
+        uniqueConstraints = @UniqueConstraint(name = "uk_invoices_user_billing_period", columnNames = {"fk_user", "billing_period"}))
+@NamedEntityGraph(name = "Invoice.list",
+        attributeNodes = {@NamedAttributeNode(value = "user", subgraph = "user"), @NamedAttributeNode("payment")},
+        subgraphs = @NamedSubgraph(name = "user", attributeNodes = {
+                @NamedAttributeNode("role"), @NamedAttributeNode("student"),
+                @NamedAttributeNode("teacher"), @NamedAttributeNode("admin")}))
 public class Invoice {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "invoices_seq")
+    @SequenceGenerator(name = "invoices_seq", sequenceName = "INVOICES_SEQ", allocationSize = 50)
     private Integer id;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @ManyToOne
     @JoinColumn(name = "fk_user", nullable = false)
     private User user;
@@ -32,6 +44,9 @@ public class Invoice {
     @Column(name = "status", nullable = false)
     private StatusValues status;
 
+    @Column(name = "billing_period")
+    private LocalDate billingPeriod;
+
     @OneToOne(mappedBy = "invoice", cascade = CascadeType.ALL, orphanRemoval = false)
     private Payment payment;
 
@@ -45,6 +60,10 @@ public class Invoice {
         return id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public User getUser() {
         return user;
     }
@@ -61,6 +80,10 @@ public class Invoice {
         return status;
     }
 
+    public LocalDate getBillingPeriod() {
+        return billingPeriod;
+    }
+
     public Payment getPayment() {
         return payment;
     }
@@ -73,6 +96,10 @@ public class Invoice {
         this.id = id;
     }
 
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public void setUser(User user) {
         this.user = user;
     }
@@ -89,6 +116,10 @@ public class Invoice {
         this.status = status;
     }
 
+    public void setBillingPeriod(LocalDate billingPeriod) {
+        this.billingPeriod = billingPeriod;
+    }
+
     public void setPayment(Payment payment) {
         this.payment = payment;
     }
@@ -119,6 +150,7 @@ public class Invoice {
                 ", date=" + date +
                 ", total=" + total +
                 ", status='" + status + '\'' +
+                ", billingPeriod=" + billingPeriod +
                 ", paymentId=" + (payment != null ? payment.getId() : "null") +
                 ", invoiceLines= [size hidden for lazy loading safety]" +
                 '}';
@@ -7,10 +7,12 @@ import java.util.Objects;
 
 @Entity
 @Table(name = "INVOICE_LINES")
+@NamedEntityGraph(name = "InvoiceLine.list")
 public class InvoiceLine {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "invoice_lines_seq")
+    @SequenceGenerator(name = "invoice_lines_seq", sequenceName = "INVOICE_LINES_SEQ", allocationSize = 50)
     private Integer id;
 
     @ManyToOne
@@ -10,12 +10,18 @@ import java.util.Objects;
 
 @Entity
 @Table(name = "PAYMENTS")
+@NamedEntityGraph(name = "Payment.list")
 public class Payment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payments_seq")
+    @SequenceGenerator(name = "payments_seq", sequenceName = "PAYMENTS_SEQ", allocationSize = 50)
     private Integer id;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @OneToOne
     @JoinColumn(name = "fk_invoice", nullable = false)
     private Invoice invoice;
@@ -42,6 +48,10 @@ public class Payment {
         return id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public Invoice getInvoice() {
         return invoice;
     }
@@ -66,6 +76,10 @@ public class Payment {
         this.id = id;
     }
 
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public void setInvoice(Invoice invoice) {
         this.invoice = invoice;
     }
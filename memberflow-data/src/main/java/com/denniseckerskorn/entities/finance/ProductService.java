@@ -1,17 +1,23 @@
 package com.denniseckerskorn.entities.finance;
 
+import com.denniseckerskorn.enums.MembershipTypeValues;
 import com.denniseckerskorn.enums.StatusValues;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.util.Objects;
 
 @Entity
 @Table(name = "PRODUCTS_SERVICES")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "products-services")
 public class ProductService {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "products_services_seq")
+    @SequenceGenerator(name = "products_services_seq", sequenceName = "PRODUCTS_SERVICES_SEQ", allocationSize = 50)
     private Integer id;
 
     @ManyToOne
@@ -34,6 +40,10 @@ public class ProductService {
     @Column(name = "status", nullable = false, length = 20)
     private StatusValues status;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "membership_type", unique = true, length = 50)
+    private MembershipTypeValues membershipType;
+
     public ProductService() {
 
     }
@@ -66,6 +76,10 @@ public class ProductService {
         return status;
     }
 
+    public MembershipTypeValues getMembershipType() {
+        return membershipType;
+    }
+
     public void setId(Integer id) {
         this.id = id;
     }
@@ -94,6 +108,10 @@ public class ProductService {
         this.status = status;
     }
 
+    public void setMembershipType(MembershipTypeValues membershipType) {
+        this.membershipType = membershipType;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -117,6 +135,7 @@ public class ProductService {
                 ", price=" + price +
                 ", type='" + type + '\'' +
                 ", status='" + status + '\'' +
+                ", membershipType=" + membershipType +
                 '}';
     }
 }
@@ -13,7 +13,8 @@ import java.util.Set;
 @Table(name = "NOTIFICATIONS")
 public class Notification {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notifications_seq")
+    @SequenceGenerator(name = "notifications_seq", sequenceName = "NOTIFICATIONS_SEQ", allocationSize = 50)
     private Integer id;
 
     @Column(name = "title", length = 200, nullable = false)
@@ -2,6 +2,8 @@ package com.denniseckerskorn.entities.user_managment;
 
 import com.denniseckerskorn.enums.PermissionValues;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.HashSet;
 import java.util.Objects;
@@ -9,9 +11,12 @@ import java.util.Set;
 
 @Entity
 @Table(name = "PERMISSIONS")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "permissions")
 public class Permission {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "permissions_seq")
+    @SequenceGenerator(name = "permissions_seq", sequenceName = "PERMISSIONS_SEQ", allocationSize = 50)
     private Integer id;
 
     @Enumerated(EnumType.STRING)
@@ -19,6 +24,7 @@ public class Permission {
     private PermissionValues permissionName;
 
     @ManyToMany(mappedBy = "permissions", fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "permission-roles")
     private Set<Role> roles = new HashSet<>();
 
     public Permission() {
@@ -1,6 +1,8 @@
 package com.denniseckerskorn.entities.user_managment;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.Fetch;
 import org.hibernate.annotations.FetchMode;
 
@@ -10,10 +12,13 @@ import java.util.Set;
 
 @Entity
 @Table(name = "ROLES")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "roles")
 public class Role {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "roles_seq")
+    @SequenceGenerator(name = "roles_seq", sequenceName = "ROLES_SEQ", allocationSize = 50)
     private Integer id;
 
     @Column(name = "name", nullable = false, length = 45)
@@ -30,6 +35,7 @@ public class Role {
                     columnNames = {"fk_role", "fk_permission"}
             )
     )
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "role-permissions")
     private Set<Permission> permissions = new HashSet<>();
 
     public Role() {
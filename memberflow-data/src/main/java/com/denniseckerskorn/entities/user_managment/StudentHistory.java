@@ -8,10 +8,12 @@ import java.util.Objects;
 
 @Entity
 @Table(name = "STUDENT_HISTORY")
+@NamedEntityGraph(name = "StudentHistory.list")
 public class StudentHistory {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "student_history_seq")
+    @SequenceGenerator(name = "student_history_seq", sequenceName = "STUDENT_HISTORY_SEQ", allocationSize = 50)
     private Integer id;
 
     @ManyToOne
@@ -6,9 +6,14 @@ import java.util.Objects;
 
 @Entity
 @Table(name = "ADMINS")
+@NamedEntityGraph(name = "Admin.list",
+        attributeNodes = @NamedAttributeNode(value = "user", subgraph = "user"),
+        subgraphs = @NamedSubgraph(name = "user", attributeNodes = {
+                @NamedAttributeNode("role"), @NamedAttributeNode("student"), @NamedAttributeNode("teacher")}))
 public class Admin {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "admins_seq")
+    @SequenceGenerator(name = "admins_seq", sequenceName = "ADMINS_SEQ", allocationSize = 50)
     private Integer id;
 
     @OneToOne
@@ -13,12 +13,21 @@ import java.util.Set;
 
 @Entity
 @Table(name = "STUDENTS")
+@NamedEntityGraph(name = "Student.list",
+        attributeNodes = {@NamedAttributeNode(value = "user", subgraph = "user"), @NamedAttributeNode("membership")},
+        subgraphs = @NamedSubgraph(name = "user", attributeNodes = {
+                @NamedAttributeNode("role"), @NamedAttributeNode("teacher"), @NamedAttributeNode("admin")}))
 public class Student {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "students_seq")
+    @SequenceGenerator(name = "students_seq", sequenceName = "STUDENTS_SEQ", allocationSize = 50)
     private Integer id;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @OneToOne
     @JoinColumn(name = "fk_user", nullable = false, unique = true)
     private User user;
@@ -62,6 +71,10 @@ public class Student {
         return id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public User getUser() {
         return user;
     }
@@ -110,6 +123,10 @@ public class Student {
         this.id = id;
     }
 
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public void setUser(User user) {
         this.user = user;
     }
@@ -10,10 +10,15 @@ import java.util.Set;
 
 @Entity
 @Table(name = "TEACHERS")
+@NamedEntityGraph(name = "Teacher.list",
+        attributeNodes = @NamedAttributeNode(value = "user", subgraph = "user"),
+        subgraphs = @NamedSubgraph(name = "user", attributeNodes = {
+                @NamedAttributeNode("role"), @NamedAttributeNode("student"), @NamedAttributeNode("admin")}))
 public class Teacher {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "teachers_seq")
+    @SequenceGenerator(name = "teachers_seq", sequenceName = "TEACHERS_SEQ", allocationSize = 50)
     private Integer id;
 
     @OneToOne
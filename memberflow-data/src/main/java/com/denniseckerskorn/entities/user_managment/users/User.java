@@ -15,11 +15,23 @@ import java.util.Set;
 
 @Entity
 @Table(name = "USERS")
+@NamedEntityGraph(name = "User.list", attributeNodes = {
+        @NamedAttributeNode("role"), @NamedAttributeNode("student"),
+        @NamedAttributeNode("teacher"), @NamedAttributeNode("admin")})
+@NamedEntityGraph(name = "User.principal", attributeNodes = {
+        @NamedAttributeNode(value = "role", subgraph = "role"), @NamedAttributeNode("student"),
+        @NamedAttributeNode("teacher"), @NamedAttributeNode("admin")},
+        subgraphs = @NamedSubgraph(name = "role", attributeNodes = @NamedAttributeNode("permissions")))
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "USERS_SEQ", allocationSize = 50)
     private Integer id;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @OneToOne(mappedBy = "user", cascade = CascadeType.ALL)
     @JsonIgnore
     private Student student;
@@ -74,6 +86,10 @@ public class User {
         return id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public Student getStudent() {
         return student;
     }
@@ -134,6 +150,10 @@ public class User {
         this.id = id;
     }
 
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public void setStudent(Student student) {
         this.student = student;
     }
@@ -0,0 +1,7 @@
+package com.denniseckerskorn.enums;
+
+public enum BillingRunStatusValues {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
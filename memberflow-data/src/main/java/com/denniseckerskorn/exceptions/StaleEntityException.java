@@ -0,0 +1,19 @@
+package com.denniseckerskorn.exceptions;
+
+public class StaleEntityException extends RuntimeException {
+    public StaleEntityException(String message) {
+        super(message);
+    }
+
+    public StaleEntityException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public StaleEntityException(Throwable cause) {
+        super(cause);
+    }
+
+    public StaleEntityException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
+}
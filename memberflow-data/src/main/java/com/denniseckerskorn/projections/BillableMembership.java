@@ -0,0 +1,12 @@
+package com.denniseckerskorn.projections;
+
+import com.denniseckerskorn.enums.MembershipTypeValues;
+
+/**
+ * A student with an active membership that still has to be invoiced for a billing period.
+ */
+public record BillableMembership(
+        Integer studentId,
+        Integer userId,
+        MembershipTypeValues membershipType) {
+}
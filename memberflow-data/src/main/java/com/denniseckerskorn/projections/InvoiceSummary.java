@@ -0,0 +1,23 @@
+package com.denniseckerskorn.projections;
+
+import com.denniseckerskorn.enums.StatusValues;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only view of an invoice together with the user it belongs to,
+ * built directly from a query without loading the entities.
+ */
+public record InvoiceSummary(
+        Integer id,
+        Long version,
+        Integer userId,
+        String userName,
+        String userSurname,
+        String userEmail,
+        LocalDateTime date,
+        BigDecimal total,
+        StatusValues status,
+        Integer paymentId) {
+}
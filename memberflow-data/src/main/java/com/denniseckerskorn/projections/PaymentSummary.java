@@ -0,0 +1,20 @@
+package com.denniseckerskorn.projections;
+
+import com.denniseckerskorn.enums.PaymentMethodValues;
+import com.denniseckerskorn.enums.StatusValues;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only view of a payment, built directly from a query without loading the entity.
+ */
+public record PaymentSummary(
+        Integer id,
+        Long version,
+        Integer invoiceId,
+        LocalDateTime paymentDate,
+        BigDecimal amount,
+        PaymentMethodValues paymentMethod,
+        StatusValues status) {
+}
@@ -0,0 +1,28 @@
+package com.denniseckerskorn.projections;
+
+import com.denniseckerskorn.enums.MembershipTypeValues;
+import com.denniseckerskorn.enums.StatusValues;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only roster entry of a student, with the contact data of its user and its membership,
+ * built directly from a query without loading the entities. Large text columns such as the
+ * progress notes are not read.
+ */
+public record StudentSummary(
+        Integer id,
+        Long version,
+        Integer userId,
+        String name,
+        String surname,
+        String email,
+        String phoneNumber,
+        StatusValues status,
+        String dni,
+        LocalDate birthdate,
+        String belt,
+        Integer membershipId,
+        MembershipTypeValues membershipType,
+        LocalDate membershipEndDate) {
+}
@@ -1,11 +1,13 @@
 package com.denniseckerskorn.repositories.class_managment_repositories;
 
 import com.denniseckerskorn.entities.class_managment.Assistance;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -14,6 +16,10 @@ import java.util.List;
  * and date range, as well as a method to find assistance by both training session ID and student ID.
  */
 public interface AssistanceRepository extends JpaRepository<Assistance, Integer> {
+    @Override
+    @EntityGraph("Assistance.list")
+    List<Assistance> findAll();
+
     Assistance findByTrainingSessionId(Integer trainingSessionId);
 
     Assistance findByStudentId(Integer studentId);
@@ -22,4 +28,7 @@ public interface AssistanceRepository extends JpaRepository<Assistance, Integer>
     List<Assistance> findAllByDateRange(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
 
     Assistance findByTrainingSessionIdAndStudentId(Integer trainingSessionId, Integer studentId);
+
+    @EntityGraph("Assistance.list")
+    List<Assistance> findAllByTrainingSessionIdAndStudentIdIn(Integer trainingSessionId, Collection<Integer> studentIds);
 }
@@ -1,11 +1,17 @@
 package com.denniseckerskorn.repositories.class_managment_repositories;
 
 import com.denniseckerskorn.entities.class_managment.TrainingGroup;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
+
 /**
  * Repository interface for managing TrainingGroup entities.
  * Provides methods to perform CRUD operations on TrainingGroup entities.
  */
 public interface TrainingGroupRepository extends JpaRepository<TrainingGroup, Integer> {
+    @Override
+    @EntityGraph("TrainingGroup.list")
+    List<TrainingGroup> findAll();
 }
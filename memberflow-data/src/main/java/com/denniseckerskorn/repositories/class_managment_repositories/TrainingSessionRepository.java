@@ -1,10 +1,14 @@
 package com.denniseckerskorn.repositories.class_managment_repositories;
 
 import com.denniseckerskorn.entities.class_managment.TrainingSession;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -12,9 +16,37 @@ import java.util.List;
  * Provides methods to find training sessions by date and date range.
  */
 public interface TrainingSessionRepository extends JpaRepository<TrainingSession, Integer> {
+    @Override
+    @EntityGraph("TrainingSession.list")
+    List<TrainingSession> findAll();
+
     TrainingSession findByDate(LocalDateTime date);
 
     List<TrainingSession> findAllByDateBetween(LocalDateTime start, LocalDateTime end);
 
+    /**
+     * Finds the dates of the sessions a training group already has within a range, without loading the sessions.
+     *
+     * @param groupId the ID of the training group
+     * @param start   the first date and time of the range, inclusive
+     * @param end     the last date and time of the range, inclusive
+     * @return the session dates
+     */
+    @Query("SELECT s.date FROM TrainingSession s WHERE s.trainingGroup.id = :groupId AND s.date BETWEEN :start AND :end")
+    List<LocalDateTime> findDatesByGroupIdBetween(@Param("groupId") Integer groupId,
+                                                  @Param("start") LocalDateTime start,
+                                                  @Param("end") LocalDateTime end);
+
+    /**
+     * Filters a set of student IDs down to those enrolled in the training group of a session.
+     *
+     * @param sessionId  the ID of the training session
+     * @param studentIds the student IDs to check
+     * @return the IDs of the given students that belong to the session's group
+     */
+    @Query("SELECT s.id FROM TrainingSession ts JOIN ts.trainingGroup g JOIN g.students s " +
+            "WHERE ts.id = :sessionId AND s.id IN :studentIds")
+    List<Integer> findRosterStudentIds(@Param("sessionId") Integer sessionId,
+                                       @Param("studentIds") Collection<Integer> studentIds);
 
 }
@@ -0,0 +1,24 @@
+package com.denniseckerskorn.repositories.finance_repositories;
+
+import com.denniseckerskorn.entities.finance.BillingRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Repository interface for managing BillingRun entities.
+ * Provides methods to find the run of a billing period and to record the progress of a run.
+ */
+public interface BillingRunRepository extends JpaRepository<BillingRun, Integer> {
+    Optional<BillingRun> findByBillingPeriod(LocalDate billingPeriod);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE BillingRun r SET r.invoicesCreated = r.invoicesCreated + :invoices WHERE r.id = :id")
+    int addInvoicesCreated(@Param("id") Integer id, @Param("invoices") int invoices);
+}
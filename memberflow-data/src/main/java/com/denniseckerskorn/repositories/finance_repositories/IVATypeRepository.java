@@ -1,15 +1,23 @@
 package com.denniseckerskorn.repositories.finance_repositories;
 
 import com.denniseckerskorn.entities.finance.IVAType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 /**
  * Repository interface for managing IVAType entities.
  * Provides methods to perform CRUD operations on IVAType entities.
+ * The list of IVA types is served from the query cache until the IVA_TYPE table changes.
  */
 public interface IVATypeRepository extends JpaRepository<IVAType, Integer> {
-    boolean existsByPercentage(BigDecimal percentage);
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<IVAType> findAll();
 
+    boolean existsByPercentage(BigDecimal percentage);
 }
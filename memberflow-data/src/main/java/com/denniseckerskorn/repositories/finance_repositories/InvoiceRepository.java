@@ -1,11 +1,74 @@
 package com.denniseckerskorn.repositories.finance_repositories;
 
 import com.denniseckerskorn.entities.finance.Invoice;
+import com.denniseckerskorn.enums.StatusValues;
+import com.denniseckerskorn.projections.InvoiceSummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for managing Invoice entities.
- * Provides methods to perform CRUD operations on Invoice entities.
+ * Provides methods to perform CRUD operations on Invoice entities and to page through
+ * the invoices of a user, newest first, using the (fk_user, date) index. Invoices can also be read
+ * as {@link InvoiceSummary} projections, which never enter the persistence context, and counted per billing period.
+ * Invoices of a date range or user can be streamed through a cursor for bulk exports.
  */
 public interface InvoiceRepository extends JpaRepository<Invoice, Integer> {
+    @Override
+    @EntityGraph("Invoice.list")
+    List<Invoice> findAll();
+
+    @EntityGraph("Invoice.list")
+    @Query("SELECT i FROM Invoice i WHERE i.user.id = :userId " +
+            "AND (:status IS NULL OR i.status = :status) " +
+            "ORDER BY i.date DESC, i.id DESC")
+    List<Invoice> findPageByUserId(@Param("userId") Integer userId,
+                                   @Param("status") StatusValues status,
+                                   Limit limit);
+
+    @EntityGraph("Invoice.list")
+    @Query("SELECT i FROM Invoice i WHERE i.user.id = :userId " +
+            "AND (:status IS NULL OR i.status = :status) " +
+            "AND (i.date < :afterDate OR (i.date = :afterDate AND i.id < :afterId)) " +
+            "ORDER BY i.date DESC, i.id DESC")
+    List<Invoice> findPageByUserIdAfter(@Param("userId") Integer userId,
+                                        @Param("status") StatusValues status,
+                                        @Param("afterDate") LocalDateTime afterDate,
+                                        @Param("afterId") Integer afterId,
+                                        Limit limit);
+
+    @Query("SELECT new com.denniseckerskorn.projections.InvoiceSummary(" +
+            "i.id, i.version, u.id, u.name, u.surname, u.email, i.date, i.total, i.status, p.id) " +
+            "FROM Invoice i JOIN i.user u LEFT JOIN i.payment p ORDER BY i.id")
+    List<InvoiceSummary> findSummaries(Pageable pageable);
+
+    @Query("SELECT new com.denniseckerskorn.projections.InvoiceSummary(" +
+            "i.id, i.version, u.id, u.name, u.surname, u.email, i.date, i.total, i.status, p.id) " +
+            "FROM Invoice i JOIN i.user u LEFT JOIN i.payment p WHERE i.id > :after ORDER BY i.id")
+    List<InvoiceSummary> findSummariesAfter(@Param("after") Integer after, Limit limit);
+
+    long countByBillingPeriod(LocalDate billingPeriod);
+
+    @EntityGraph("Invoice.list")
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT i FROM Invoice i WHERE (:userId IS NULL OR i.user.id = :userId) " +
+            "AND (:from IS NULL OR i.date >= :from) " +
+            "AND (:to IS NULL OR i.date < :to) " +
+            "ORDER BY i.date, i.id")
+    Stream<Invoice> streamByUserIdAndDate(@Param("userId") Integer userId,
+                                          @Param("from") LocalDateTime from,
+                                          @Param("to") LocalDateTime to);
 }
@@ -2,15 +2,43 @@ package com.denniseckerskorn.repositories.finance_repositories;
 
 import com.denniseckerskorn.entities.finance.Invoice;
 import com.denniseckerskorn.entities.finance.Payment;
+import com.denniseckerskorn.projections.PaymentSummary;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
 import java.util.List;
 
 /**
  * Repository interface for managing Payment entities.
- * Provides methods to check if a payment exists by invoice ID and to find payments by user ID.
+ * Provides methods to check if a payment exists by invoice ID and to find payments by user ID,
+ * as entities or as read-only {@link PaymentSummary} projections.
  */
 public interface PaymentRepository extends JpaRepository<Payment, Integer> {
+    @Override
+    @EntityGraph("Payment.list")
+    List<Payment> findAll();
+
     boolean existsByInvoiceId(Integer invoiceId);
 
+    @EntityGraph("Payment.list")
     List<Payment> findByInvoice_User_Id(Integer userId);
+
+    @Query("SELECT new com.denniseckerskorn.projections.PaymentSummary(" +
+            "p.id, p.version, p.invoice.id, p.paymentDate, p.amount, p.paymentMethod, p.status) " +
+            "FROM Payment p ORDER BY p.id")
+    List<PaymentSummary> findSummaries(Pageable pageable);
+
+    @Query("SELECT new com.denniseckerskorn.projections.PaymentSummary(" +
+            "p.id, p.version, p.invoice.id, p.paymentDate, p.amount, p.paymentMethod, p.status) " +
+            "FROM Payment p WHERE p.id > :after ORDER BY p.id")
+    List<PaymentSummary> findSummariesAfter(@Param("after") Integer after, Limit limit);
+
+    @Query("SELECT new com.denniseckerskorn.projections.PaymentSummary(" +
+            "p.id, p.version, p.invoice.id, p.paymentDate, p.amount, p.paymentMethod, p.status) " +
+            "FROM Payment p WHERE p.invoice.user.id = :userId ORDER BY p.id")
+    List<PaymentSummary> findSummariesByUserId(@Param("userId") Integer userId);
 }
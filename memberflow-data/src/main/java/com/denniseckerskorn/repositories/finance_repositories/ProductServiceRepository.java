@@ -1,16 +1,37 @@
 package com.denniseckerskorn.repositories.finance_repositories;
 
 import com.denniseckerskorn.entities.finance.ProductService;
+import com.denniseckerskorn.enums.MembershipTypeValues;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.Collection;
+import java.util.List;
 
 /**
  * Repository interface for managing ProductService entities.
  * Provides methods to perform CRUD operations on ProductService entities.
+ * The products billing each membership type are served from the query cache until the PRODUCTS_SERVICES table changes.
  */
 public interface ProductServiceRepository extends JpaRepository<ProductService, Integer> {
+    @Override
+    @EntityGraph(attributePaths = "ivaType")
+    List<ProductService> findAllById(Iterable<Integer> ids);
+
     boolean existsByName(String name);
 
     boolean existsByIvaTypeId(Integer ivaTypeId);
 
     ProductService findByName(String name);
+
+    @EntityGraph(attributePaths = "ivaType")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<ProductService> findAllByMembershipTypeIn(Collection<MembershipTypeValues> membershipTypes);
+
+    boolean existsByMembershipType(MembershipTypeValues membershipType);
+
+    boolean existsByMembershipTypeAndIdNot(MembershipTypeValues membershipType, Integer id);
 }
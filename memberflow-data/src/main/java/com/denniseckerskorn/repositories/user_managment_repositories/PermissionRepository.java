@@ -2,14 +2,25 @@ package com.denniseckerskorn.repositories.user_managment_repositories;
 
 import com.denniseckerskorn.entities.user_managment.Permission;
 import com.denniseckerskorn.enums.PermissionValues;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.List;
 
 /**
  * Repository interface for managing Permission entities.
  * Provides methods to perform CRUD operations on Permission entities.
+ * Permission lookups are served from the query cache until the PERMISSIONS table changes.
  */
 public interface PermissionRepository extends JpaRepository<Permission, Integer> {
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Permission> findAll();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Permission findByPermissionName(PermissionValues permissionName);
-    boolean existsByPermissionName(PermissionValues permissionName);
 
+    boolean existsByPermissionName(PermissionValues permissionName);
 }
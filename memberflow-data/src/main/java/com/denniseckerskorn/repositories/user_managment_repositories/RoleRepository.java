@@ -1,12 +1,23 @@
 package com.denniseckerskorn.repositories.user_managment_repositories;
 
 import com.denniseckerskorn.entities.user_managment.Role;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.List;
 
 /**
  * Repository interface for managing Role entities.
  * Provides methods to perform CRUD operations on Role entities.
+ * Role lookups are served from the query cache until the ROLES table changes.
  */
 public interface RoleRepository extends JpaRepository<Role, Integer> {
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Role> findAll();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Role findByName(String name);
 }
@@ -1,13 +1,20 @@
 package com.denniseckerskorn.repositories.user_managment_repositories;
 
 import com.denniseckerskorn.entities.user_managment.StudentHistory;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
+
 /**
  * Repository interface for managing StudentHistory entities.
  * Provides methods to perform CRUD operations on StudentHistory entities.
  */
 public interface StudentHistoryRepository extends JpaRepository<StudentHistory, Integer> {
+    @Override
+    @EntityGraph("StudentHistory.list")
+    List<StudentHistory> findAll();
+
     boolean existsByEventType(String eventType);
 
 }
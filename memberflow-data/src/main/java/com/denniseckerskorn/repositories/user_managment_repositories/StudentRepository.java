@@ -1,15 +1,52 @@
 package com.denniseckerskorn.repositories.user_managment_repositories;
 
 import com.denniseckerskorn.entities.user_managment.users.Student;
+import com.denniseckerskorn.enums.StatusValues;
+import com.denniseckerskorn.projections.BillableMembership;
+import com.denniseckerskorn.projections.StudentSummary;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
 
 /**
  * Repository interface for managing Student entities.
- * Provides methods to perform CRUD operations on Student entities.
+ * Provides methods to perform CRUD operations on Student entities and to read the student roster
+ * as {@link StudentSummary} projections.
  */
 public interface StudentRepository extends JpaRepository<Student, Integer> {
+    @Override
+    @EntityGraph("Student.list")
+    List<Student> findAll();
+
     boolean existsByDni(String dni);
     Student findByDni(String dni);
     boolean existsByUserEmail(String email);
     Student findByUserEmail(String email);
+
+    @Query("SELECT new com.denniseckerskorn.projections.StudentSummary(" +
+            "s.id, s.version, u.id, u.name, u.surname, u.email, u.phoneNumber, u.status, " +
+            "s.dni, s.birthdate, s.belt, m.id, m.type, m.endDate) " +
+            "FROM Student s JOIN s.user u LEFT JOIN s.membership m ORDER BY s.id")
+    List<StudentSummary> findSummaries(Pageable pageable);
+
+    @Query("SELECT new com.denniseckerskorn.projections.StudentSummary(" +
+            "s.id, s.version, u.id, u.name, u.surname, u.email, u.phoneNumber, u.status, " +
+            "s.dni, s.birthdate, s.belt, m.id, m.type, m.endDate) " +
+            "FROM Student s JOIN s.user u LEFT JOIN s.membership m WHERE s.id > :after ORDER BY s.id")
+    List<StudentSummary> findSummariesAfter(@Param("after") Integer after, Limit limit);
+
+    @Query("SELECT new com.denniseckerskorn.projections.BillableMembership(s.id, u.id, m.type) " +
+            "FROM Student s JOIN s.user u JOIN s.membership m " +
+            "WHERE m.status = :status AND m.startDate <= :periodEnd AND m.endDate >= :periodStart " +
+            "AND NOT EXISTS (SELECT i.id FROM Invoice i WHERE i.user = u AND i.billingPeriod = :periodStart) " +
+            "ORDER BY s.id")
+    List<BillableMembership> findBillableMemberships(@Param("periodStart") LocalDate periodStart,
+                                                     @Param("periodEnd") LocalDate periodEnd,
+                                                     @Param("status") StatusValues status);
 }
@@ -1,13 +1,19 @@
 package com.denniseckerskorn.repositories.user_managment_repositories;
 
 import com.denniseckerskorn.entities.user_managment.users.Teacher;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
+
 /**
  * Repository interface for managing Teacher entities.
  * Provides methods to perform CRUD operations on Teacher entities.
  */
 public interface TeacherRepository extends JpaRepository<Teacher, Integer> {
+    @Override
+    @EntityGraph("Teacher.list")
+    List<Teacher> findAll();
 
     boolean existsByUserEmail(String mail);
 
@@ -2,19 +2,39 @@ package com.denniseckerskorn.repositories.user_managment_repositories;
 
 import com.denniseckerskorn.entities.user_managment.Notification;
 import com.denniseckerskorn.entities.user_managment.users.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 /**
  * Repository interface for managing User entities.
  * Provides methods to check if a user exists by email, find a user by email,
- * and retrieve all users with a specific role.
+ * retrieve all users with a specific role, and replace the password hash of a user.
  */
 public interface UserRepository extends JpaRepository<User, Integer> {
+    @Override
+    @EntityGraph("User.list")
+    List<User> findAll();
+
     boolean existsByEmail(String email);
 
+    /**
+     * Finds a user by email together with the permissions of its role, which authentication reads
+     * after the session is closed.
+     */
+    @EntityGraph("User.principal")
     User findByEmail(String email);
 
+    @EntityGraph("User.list")
     List<User> findAllByRoleName(String userRole);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.id = :id")
+    int updatePassword(@Param("id") Integer id, @Param("password") String password);
 }
@@ -0,0 +1,669 @@
+package com.denniseckerskorn.seeder;
+
+import com.denniseckerskorn.entities.class_managment.Assistance;
+import com.denniseckerskorn.entities.class_managment.Membership;
+import com.denniseckerskorn.entities.class_managment.TrainingGroup;
+import com.denniseckerskorn.entities.class_managment.TrainingSession;
+import com.denniseckerskorn.entities.finance.IVAType;
+import com.denniseckerskorn.entities.finance.Invoice;
+import com.denniseckerskorn.entities.finance.InvoiceLine;
+import com.denniseckerskorn.entities.finance.Payment;
+import com.denniseckerskorn.entities.finance.ProductService;
+import com.denniseckerskorn.entities.user_managment.Notification;
+import com.denniseckerskorn.entities.user_managment.Permission;
+import com.denniseckerskorn.entities.user_managment.Role;
+import com.denniseckerskorn.entities.user_managment.StudentHistory;
+import com.denniseckerskorn.entities.user_managment.users.Admin;
+import com.denniseckerskorn.entities.user_managment.users.Student;
+import com.denniseckerskorn.entities.user_managment.users.Teacher;
+import com.denniseckerskorn.entities.user_managment.users.User;
+import com.denniseckerskorn.enums.MembershipTypeValues;
+import com.denniseckerskorn.enums.PaymentMethodValues;
+import com.denniseckerskorn.enums.PermissionValues;
+import com.denniseckerskorn.enums.StatusValues;
+import com.denniseckerskorn.services.finance_services.InvoiceService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Generates a synthetic school of any size, for development, benchmarks and capacity planning.
+ * <p>
+ * Students get a membership, one training group, a belt with its promotion history, the assistances of the
+ * sessions they attended and one invoice per billed month, paid in most cases. Counts follow realistic
+ * distributions: most students are white or blue belts on a basic membership, and attendance ranges from
+ * occasional to every session. The school also has the three demo accounts documented in the API.
+ * <p>
+ * Rows are persisted in transactions of {@link #STUDENTS_PER_TRANSACTION} students, so Hibernate sends them as
+ * JDBC batches, and the second-level cache is bypassed. Generation is idempotent: it counts the synthetic
+ * students already in the database and only creates the missing ones, so a database that is already
+ * populated costs a single query. Each student is built from its own index and the seed, so topping up a
+ * school builds the same students a single run would have.
+ */
+@Component
+public class SyntheticDataGenerator {
+
+    /**
+     * Email domain of the synthetic users.
+     */
+    public static final String EMAIL_DOMAIN = "@memberflow.test";
+
+    /**
+     * Number of students of each training group.
+     */
+    public static final int STUDENTS_PER_GROUP = 25;
+
+    /**
+     * Number of training groups of each teacher.
+     */
+    public static final int GROUPS_PER_TEACHER = 4;
+
+    /**
+     * Number of students created and committed together.
+     */
+    public static final int STUDENTS_PER_TRANSACTION = 500;
+
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    private static final String STUDENT_EMAILS = "student%" + EMAIL_DOMAIN;
+    private static final String TEACHER_EMAILS = "teacher%" + EMAIL_DOMAIN;
+
+    /**
+     * Mean of the attendance rates drawn in {@link #attendanceRate(SplittableRandom)}.
+     */
+    private static final double MEAN_ATTENDANCE = 0.71;
+    private static final int DNI_BASE = 50_000_000;
+    private static final String DNI_LETTERS = "TRWAGMYFPDXBNJZSQVHLCKE";
+    private static final BigDecimal IVA_GENERAL = new BigDecimal("21.00");
+    private static final String REGISTRATION_FEE = "Matrícula";
+
+    private static final String[] NAMES = {"Lucía", "Hugo", "Martina", "Mateo", "Sofía", "Leo", "Julia", "Daniel",
+            "Paula", "Alejandro", "Valeria", "Pablo", "Emma", "Manuel", "Daniela", "Álvaro", "Carla", "Adrián",
+            "Sara", "Mario", "Alba", "Diego", "Noa", "Javier", "Carmen", "Marcos", "Elena", "Iván", "Laura", "Jorge"};
+    private static final String[] SURNAMES = {"García", "Rodríguez", "González", "Fernández", "López", "Martínez",
+            "Sánchez", "Pérez", "Gómez", "Martín", "Jiménez", "Ruiz", "Hernández", "Díaz", "Moreno", "Muñoz",
+            "Álvarez", "Romero", "Alonso", "Gutiérrez", "Navarro", "Torres", "Domínguez", "Vázquez", "Ramos"};
+    private static final String[] STREETS = {"Calle Mayor", "Avenida de la Constitución", "Calle Real",
+            "Plaza de España", "Calle del Mar", "Avenida del Puerto", "Calle San Vicente", "Calle Colón"};
+    private static final String[] DISCIPLINES = {"Jiu-Jitsu", "Judo", "Grappling"};
+    private static final String[] LEVELS = {"Principiante", "Intermedio", "Avanzado"};
+
+    private static final String[] ADULT_BELTS = {"Blanco", "Azul", "Morado", "Marrón", "Negro"};
+    private static final int[] ADULT_BELT_WEIGHTS = {50, 25, 13, 8, 4};
+    private static final String[] KID_BELTS = {"Blanco", "Gris", "Amarillo", "Naranja", "Verde"};
+    private static final int[] KID_BELT_WEIGHTS = {45, 25, 15, 10, 5};
+
+    private static final MembershipTypeValues[] MEMBERSHIPS = {MembershipTypeValues.BASIC,
+            MembershipTypeValues.ADVANCED, MembershipTypeValues.PREMIUM, MembershipTypeValues.NO_LIMIT,
+            MembershipTypeValues.TRIAL};
+    private static final int[] MEMBERSHIP_WEIGHTS = {45, 25, 15, 10, 5};
+    private static final String[] MEMBERSHIP_FEES = {"40.00", "55.00", "70.00", "90.00", "15.00"};
+
+    private static final String[] EXTRA_PRODUCTS = {"Kimono", "Seminario", "Clase particular"};
+    private static final String[] EXTRA_PRICES = {"80.00", "45.00", "35.00"};
+
+    private static final PaymentMethodValues[] PAYMENT_METHODS = {PaymentMethodValues.BANK_TRANSFER,
+            PaymentMethodValues.CREDIT_CARD, PaymentMethodValues.CASH};
+    private static final int[] PAYMENT_METHOD_WEIGHTS = {50, 35, 15};
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+
+    /**
+     * Constructor for SyntheticDataGenerator.
+     *
+     * @param transactionManager the transaction manager committing each batch of students
+     * @param passwordEncoder    the encoder hashing the passwords of the users
+     */
+    public SyntheticDataGenerator(PlatformTransactionManager transactionManager, PasswordEncoder passwordEncoder) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    /**
+     * Counts the synthetic students in the database.
+     *
+     * @return the number of synthetic students
+     */
+    public int countStudents() {
+        Long count = transactionTemplate.execute(status -> entityManager
+                .createQuery("SELECT COUNT(u) FROM User u WHERE u.email LIKE :emails", Long.class)
+                .setParameter("emails", STUDENT_EMAILS)
+                .getSingleResult());
+        return Math.toIntExact(count);
+    }
+
+    /**
+     * Generates the synthetic school, or the students it is missing.
+     * This method is deliberately not transactional: every batch of students commits on its own.
+     *
+     * @param options the size of the school
+     * @return the number of students created, 0 if the school was already complete
+     */
+    public int generate(SyntheticDataOptions options) {
+        int existing = countStudents();
+        if (existing >= options.students()) {
+            logger.info("Synthetic data already has {} students, nothing to do", existing);
+            return 0;
+        }
+
+        long start = System.nanoTime();
+        String passwordHash = passwordEncoder.encode(options.password());
+        Reference reference = transactionTemplate.execute(status -> reference());
+        School school = transactionTemplate.execute(status -> school());
+        int sessionsPerGroup = Math.max(1, (int) Math.ceil(options.assistancesPerStudent() / MEAN_ATTENDANCE));
+        long[] created = new long[2];
+
+        for (int from = existing; from < options.students(); from += STUDENTS_PER_TRANSACTION) {
+            int to = Math.min(options.students(), from + STUDENTS_PER_TRANSACTION);
+            int first = from;
+            transactionTemplate.executeWithoutResult(status -> {
+                entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+                addGroups(school, reference, (to - 1) / STUDENTS_PER_GROUP + 1, sessionsPerGroup, passwordHash);
+                Products products = products(reference);
+                for (int index = first; index < to; index++) {
+                    persistStudent(index, options, reference, school, passwordHash, products, created);
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+            logger.debug("Generated synthetic students {} to {}", first + 1, to);
+        }
+
+        logger.info("Generated {} synthetic students, {} assistances and {} invoices in {} ms",
+                options.students() - existing, created[0], created[1],
+                Duration.ofNanos(System.nanoTime() - start).toMillis());
+        return options.students() - existing;
+    }
+
+    /**
+     * Finds or creates the roles, permissions, memberships, products and demo accounts.
+     */
+    private Reference reference() {
+        Map<PermissionValues, Permission> permissions = new EnumMap<>(PermissionValues.class);
+        for (PermissionValues value : PermissionValues.values()) {
+            Permission permission = findOne("SELECT p FROM Permission p WHERE p.permissionName = ?1", Permission.class, value);
+            if (permission == null) {
+                permission = new Permission();
+                permission.setPermissionName(value);
+                entityManager.persist(permission);
+            }
+            permissions.put(value, permission);
+        }
+        Role studentRole = role("ROLE_STUDENT", permissions.get(PermissionValues.VIEW_OWN_DATA));
+        Role teacherRole = role("ROLE_TEACHER", permissions.get(PermissionValues.MANAGE_STUDENTS),
+                permissions.get(PermissionValues.VIEW_OWN_DATA));
+        Role adminRole = role("ROLE_ADMIN", permissions.get(PermissionValues.FULL_ACCESS));
+
+        IVAType ivaType = findOne("SELECT i FROM IVAType i WHERE i.percentage = ?1", IVAType.class, IVA_GENERAL);
+        if (ivaType == null) {
+            ivaType = new IVAType();
+            ivaType.setPercentage(IVA_GENERAL);
+            ivaType.setDescription("IVA General");
+            entityManager.persist(ivaType);
+        }
+
+        Map<MembershipTypeValues, Integer> membershipIds = new EnumMap<>(MembershipTypeValues.class);
+        Map<MembershipTypeValues, Integer> feeIds = new EnumMap<>(MembershipTypeValues.class);
+        for (int m = 0; m < MEMBERSHIPS.length; m++) {
+            MembershipTypeValues type = MEMBERSHIPS[m];
+            Membership membership = findOne("SELECT m FROM Membership m WHERE m.type = ?1 ORDER BY m.id", Membership.class, type);
+            if (membership == null) {
+                membership = new Membership();
+                membership.setType(type);
+                membership.setStartDate(LocalDate.now().withDayOfYear(1));
+                membership.setEndDate(LocalDate.now().withDayOfYear(1).plusYears(1).minusDays(1));
+                membership.setStatus(StatusValues.ACTIVE);
+                entityManager.persist(membership);
+            }
+            membershipIds.put(type, membership.getId());
+
+            ProductService fee = findOne("SELECT p FROM ProductService p WHERE p.membershipType = ?1", ProductService.class, type);
+            if (fee == null) {
+                fee = product("Cuota " + type.name().toLowerCase().replace('_', ' '), MEMBERSHIP_FEES[m], "Cuota", ivaType);
+                fee.setMembershipType(type);
+                entityManager.persist(fee);
+            }
+            feeIds.put(type, fee.getId());
+        }
+
+        List<Integer> extraIds = new ArrayList<>();
+        for (int e = 0; e < EXTRA_PRODUCTS.length; e++) {
+            extraIds.add(findOrCreateProduct(EXTRA_PRODUCTS[e], EXTRA_PRICES[e], "Servicio", ivaType).getId());
+        }
+        Integer registrationId = findOrCreateProduct(REGISTRATION_FEE, "30.00", "Servicio", ivaType).getId();
+
+        Reference reference = new Reference(studentRole.getId(), teacherRole.getId(), membershipIds, feeIds,
+                registrationId, extraIds);
+        demoAccounts(reference, adminRole);
+        return reference;
+    }
+
+    /**
+     * Creates the demo accounts documented in the API, with a group, a session and an invoice of their own,
+     * unless they already exist.
+     */
+    private void demoAccounts(Reference reference, Role adminRole) {
+        if (findOne("SELECT u FROM User u WHERE u.email = ?1", User.class, "admin@example.com") != null) {
+            return;
+        }
+        Role studentRole = entityManager.find(Role.class, reference.studentRoleId());
+        Role teacherRole = entityManager.find(Role.class, reference.teacherRoleId());
+
+        Admin admin = new Admin();
+        admin.setUser(user("Admin", "Root", "admin@example.com", passwordEncoder.encode("admin123"), adminRole,
+                LocalDateTime.now(), "622123456", "Central"));
+        entityManager.persist(admin.getUser());
+        entityManager.persist(admin);
+
+        Teacher teacher = new Teacher();
+        teacher.setUser(user("Teacher", "Uno", "teacher@example.com", passwordEncoder.encode("123456789"), teacherRole,
+                LocalDateTime.now(), "611123456", "Calle Maestro 1"));
+        teacher.setDiscipline("Jiu-Jitsu");
+        entityManager.persist(teacher.getUser());
+        entityManager.persist(teacher);
+
+        TrainingGroup group = new TrainingGroup();
+        group.setName("Grupo JiuJitsu Avanzado");
+        group.setLevel("Avanzado");
+        group.setSchedule(LocalDateTime.now().plusDays(1).withHour(19).withMinute(0).withSecond(0).withNano(0));
+        group.setTeacher(teacher);
+        entityManager.persist(group);
+
+        TrainingSession session = session(group, group.getSchedule().minusWeeks(1));
+        entityManager.persist(session);
+
+        Student student = new Student();
+        student.setUser(user("Student", "One", "student@example.com", passwordEncoder.encode("12345678"), studentRole,
+                LocalDateTime.now().minusMonths(1), "600123456", "Calle Estudiante 123"));
+        student.setDni("12345678A");
+        student.setBirthdate(LocalDate.of(2005, 5, 20));
+        student.setBelt("Blanco");
+        student.setParentName("Padre Estudiante");
+        student.setMedicalReport("Apto");
+        student.setProgress("Buena evolución");
+        student.setMembership(entityManager.getReference(Membership.class, reference.membershipIds().get(MembershipTypeValues.BASIC)));
+        student.getTrainingGroups().add(group);
+        entityManager.persist(student.getUser());
+        entityManager.persist(student);
+        entityManager.persist(history(student, LocalDate.now().minusMonths(1), "Clase de prueba", "Primera clase"));
+        entityManager.persist(assistance(student, session, session.getDate()));
+
+        Products products = products(reference);
+        persistInvoice(student.getUser(), LocalDate.now().withDayOfMonth(1), StatusValues.PAID,
+                List.of(products.fees().get(MembershipTypeValues.BASIC)), new SplittableRandom(0));
+
+        Notification notification = new Notification();
+        notification.setShippingDate(LocalDateTime.now());
+        notification.setType("Bienvenida");
+        notification.setTitle("Bienvenido a MemberFlow");
+        notification.setMessage("Gracias por registrarte");
+        notification.setStatus(StatusValues.ACTIVE);
+        notification.addUser(admin.getUser());
+        notification.addUser(teacher.getUser());
+        notification.addUser(student.getUser());
+        entityManager.persist(notification);
+    }
+
+    /**
+     * Loads the synthetic teachers and groups already in the database, with the sessions of each group.
+     */
+    private School school() {
+        School school = new School(new ArrayList<>(), new ArrayList<>());
+        school.teacherIds().addAll(entityManager
+                .createQuery("SELECT t.id FROM Teacher t WHERE t.user.email LIKE :emails ORDER BY t.id", Integer.class)
+                .setParameter("emails", TEACHER_EMAILS)
+                .getResultList());
+        List<TrainingGroup> groups = entityManager
+                .createQuery("SELECT g FROM TrainingGroup g WHERE g.teacher.user.email LIKE :emails ORDER BY g.id", TrainingGroup.class)
+                .setParameter("emails", TEACHER_EMAILS)
+                .getResultList();
+        for (TrainingGroup group : groups) {
+            List<SessionRef> sessions = entityManager
+                    .createQuery("SELECT s FROM TrainingSession s WHERE s.trainingGroup = :group ORDER BY s.date", TrainingSession.class)
+                    .setParameter("group", group)
+                    .getResultStream()
+                    .map(session -> new SessionRef(session.getId(), session.getDate()))
+                    .toList();
+            school.groups().add(new GroupRef(group.getId(), sessions));
+        }
+        return school;
+    }
+
+    /**
+     * Creates the groups, with their teachers and weekly sessions, until the school has the given number.
+     */
+    private void addGroups(School school, Reference reference, int groupCount, int sessionsPerGroup, String passwordHash) {
+        for (int g = school.groups().size(); g < groupCount; g++) {
+            int t = g / GROUPS_PER_TEACHER;
+            if (t >= school.teacherIds().size()) {
+                SplittableRandom random = new SplittableRandom(-1 - t);
+                Teacher teacher = new Teacher();
+                teacher.setUser(user(pick(random, NAMES), surname(random), "teacher" + (t + 1) + EMAIL_DOMAIN, passwordHash,
+                        entityManager.getReference(Role.class, reference.teacherRoleId()),
+                        LocalDateTime.now().minusYears(2), phone(random), address(random)));
+                teacher.setDiscipline(DISCIPLINES[t % DISCIPLINES.length]);
+                entityManager.persist(teacher.getUser());
+                entityManager.persist(teacher);
+                school.teacherIds().add(teacher.getId());
+            }
+
+            // Weekly slot between 17:00 and 20:00; the last session was in the past week
+            LocalDateTime lastSession = LocalDate.now().minusDays(1 + g % 7).atTime(17 + g % 4, 0);
+            TrainingGroup group = new TrainingGroup();
+            group.setName("Grupo " + (g + 1));
+            group.setLevel(LEVELS[g % LEVELS.length]);
+            group.setSchedule(lastSession.plusWeeks(1));
+            group.setTeacher(entityManager.getReference(Teacher.class, school.teacherIds().get(t)));
+            entityManager.persist(group);
+
+            List<SessionRef> sessions = new ArrayList<>(sessionsPerGroup);
+            for (int s = sessionsPerGroup - 1; s >= 0; s--) {
+                TrainingSession session = session(group, lastSession.minusWeeks(s));
+                entityManager.persist(session);
+                sessions.add(new SessionRef(session.getId(), session.getDate()));
+            }
+            school.groups().add(new GroupRef(group.getId(), sessions));
+        }
+    }
+
+    /**
+     * Persists the student with the given index, with its user, history, assistances and invoices.
+     * Dependent rows are persisted one by one rather than through the collections of the student, since
+     * entities compare by ID and new ones would collapse into a single element of a set.
+     */
+    private void persistStudent(int index, SyntheticDataOptions options, Reference reference, School school,
+                            String passwordHash, Products products, long[] created) {
+        SplittableRandom random = new SplittableRandom(options.seed() * 1_000_003 + index);
+        GroupRef group = school.groups().get(index / STUDENTS_PER_GROUP);
+        int billedMonths = count(random, options.invoicesPerStudent());
+        LocalDateTime firstSession = group.sessions().isEmpty() ? LocalDateTime.now() : group.sessions().get(0).date();
+        LocalDateTime registered = min(firstSession, LocalDate.now().withDayOfMonth(1).minusMonths(Math.max(0, billedMonths - 1)).atStartOfDay())
+                .minusDays(1 + random.nextInt(60)).withHour(10 + random.nextInt(9)).withMinute(0);
+
+        User user = user(pick(random, NAMES), surname(random), "student" + (index + 1) + EMAIL_DOMAIN, passwordHash,
+                entityManager.getReference(Role.class, reference.studentRoleId()), registered, phone(random), address(random));
+
+        boolean kid = random.nextInt(10) < 4;
+        int dniNumber = DNI_BASE + index;
+        Student student = new Student();
+        student.setUser(user);
+        student.setDni(String.format("%08d%c", dniNumber, DNI_LETTERS.charAt(dniNumber % DNI_LETTERS.length())));
+        student.setBirthdate(LocalDate.now().minusYears(kid ? 6 + random.nextInt(10) : 16 + random.nextInt(35))
+                .minusDays(random.nextInt(365)));
+        if (kid) {
+            student.setParentName(pick(random, NAMES) + " " + surname(random));
+        }
+        student.setMedicalReport("Apto");
+
+        int rank = kid ? weighted(random, KID_BELT_WEIGHTS) : weighted(random, ADULT_BELT_WEIGHTS);
+        String[] belts = kid ? KID_BELTS : ADULT_BELTS;
+        student.setBelt(belts[rank]);
+        MembershipTypeValues membership = MEMBERSHIPS[weighted(random, MEMBERSHIP_WEIGHTS)];
+        student.setMembership(entityManager.getReference(Membership.class, reference.membershipIds().get(membership)));
+        student.getTrainingGroups().add(entityManager.getReference(TrainingGroup.class, group.id()));
+        entityManager.persist(user);
+        entityManager.persist(student);
+
+        entityManager.persist(history(student, registered.toLocalDate(), "Alta", "Alta en la escuela"));
+        long days = Math.max(1, Duration.between(registered, LocalDateTime.now()).toDays());
+        for (int b = 1; b <= rank; b++) {
+            entityManager.persist(history(student, registered.toLocalDate().plusDays(days * b / (rank + 1)),
+                    "Cambio de cinturón", "Cinturón " + belts[b]));
+        }
+
+        double attendance = attendanceRate(random);
+        for (SessionRef session : group.sessions()) {
+            if (session.date().isAfter(registered) && random.nextDouble() < attendance) {
+                entityManager.persist(assistance(student, entityManager.getReference(TrainingSession.class, session.id()),
+                        session.date()));
+                created[0]++;
+            }
+        }
+
+        LocalDate currentMonth = LocalDate.now().withDayOfMonth(1);
+        for (int m = billedMonths - 1; m >= 0; m--) {
+            List<ProductService> lines = new ArrayList<>(3);
+            lines.add(products.fees().get(membership));
+            if (m == billedMonths - 1) {
+                lines.add(products.registration());
+            }
+            if (random.nextInt(10) == 0) {
+                lines.add(products.extras().get(random.nextInt(products.extras().size())));
+            }
+            boolean paid = m == 0 ? random.nextInt(100) < 65 : random.nextInt(100) < 97;
+            persistInvoice(user, currentMonth.minusMonths(m), paid ? StatusValues.PAID : StatusValues.NOT_PAID, lines, random);
+        }
+        created[1] += billedMonths;
+    }
+
+    /**
+     * Persists an invoice of the given month with one line per product, and its payment if it is paid.
+     */
+    private void persistInvoice(User user, LocalDate billingPeriod, StatusValues status, List<ProductService> products,
+                            SplittableRandom random) {
+        Invoice invoice = new Invoice();
+        invoice.setUser(user);
+        invoice.setDate(billingPeriod.atTime(9, 0));
+        invoice.setBillingPeriod(billingPeriod);
+        invoice.setStatus(status);
+        List<InvoiceLine> lines = new ArrayList<>(products.size());
+        for (ProductService product : products) {
+            InvoiceLine line = new InvoiceLine();
+            line.setInvoice(invoice);
+            line.setProductService(product);
+            line.setDescription(product.getMembershipType() == null ? product.getName()
+                    : product.getName() + " " + billingPeriod.getMonthValue() + "/" + billingPeriod.getYear());
+            line.setQuantity(1);
+            line.setUnitPrice(product.getPrice());
+            line.setSubtotal(product.getPrice());
+            lines.add(line);
+        }
+        invoice.setTotal(InvoiceService.computeTotal(lines));
+        entityManager.persist(invoice);
+        lines.forEach(entityManager::persist);
+
+        if (status == StatusValues.PAID) {
+            Payment payment = new Payment();
+            payment.setInvoice(invoice);
+            payment.setAmount(invoice.getTotal());
+            payment.setPaymentDate(invoice.getDate().plusDays(random.nextInt(10)).plusHours(random.nextInt(8)));
+            payment.setPaymentMethod(PAYMENT_METHODS[weighted(random, PAYMENT_METHOD_WEIGHTS)]);
+            payment.setStatus(StatusValues.PAID);
+            entityManager.persist(payment);
+        }
+    }
+
+    /**
+     * Loads the products the invoices of a transaction refer to, with their IVA types.
+     */
+    private Products products(Reference reference) {
+        Map<MembershipTypeValues, ProductService> fees = new EnumMap<>(MembershipTypeValues.class);
+        reference.feeIds().forEach((type, id) -> fees.put(type, entityManager.find(ProductService.class, id)));
+        List<ProductService> extras = reference.extraIds().stream()
+                .map(id -> entityManager.find(ProductService.class, id))
+                .toList();
+        return new Products(fees, entityManager.find(ProductService.class, reference.registrationId()), extras);
+    }
+
+    private Role role(String name, Permission... permissions) {
+        Role role = findOne("SELECT r FROM Role r WHERE r.name = ?1", Role.class, name);
+        if (role == null) {
+            role = new Role(name);
+            for (Permission permission : permissions) {
+                role.addPermission(permission);
+            }
+            entityManager.persist(role);
+        }
+        return role;
+    }
+
+    private ProductService findOrCreateProduct(String name, String price, String type, IVAType ivaType) {
+        ProductService product = findOne("SELECT p FROM ProductService p WHERE p.name = ?1 ORDER BY p.id", ProductService.class, name);
+        if (product == null) {
+            product = product(name, price, type, ivaType);
+            entityManager.persist(product);
+        }
+        return product;
+    }
+
+    private <T> T findOne(String query, Class<T> type, Object parameter) {
+        return entityManager.createQuery(query, type)
+                .setParameter(1, parameter)
+                .setMaxResults(1)
+                .getResultStream()
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static ProductService product(String name, String price, String type, IVAType ivaType) {
+        ProductService product = new ProductService();
+        product.setName(name);
+        product.setPrice(new BigDecimal(price));
+        product.setType(type);
+        product.setStatus(StatusValues.ACTIVE);
+        product.setIvaType(ivaType);
+        return product;
+    }
+
+    private static User user(String name, String surname, String email, String passwordHash, Role role,
+                             LocalDateTime registered, String phone, String address) {
+        User user = new User();
+        user.setName(name);
+        user.setSurname(surname);
+        user.setEmail(email);
+        user.setPassword(passwordHash);
+        user.setPhoneNumber(phone);
+        user.setAddress(address);
+        user.setStatus(StatusValues.ACTIVE);
+        user.setRegisterDate(registered);
+        user.setRole(role);
+        return user;
+    }
+
+    private static TrainingSession session(TrainingGroup group, LocalDateTime date) {
+        TrainingSession session = new TrainingSession();
+        session.setTrainingGroup(group);
+        session.setDate(date);
+        session.setStatus(StatusValues.ACTIVE);
+        return session;
+    }
+
+    private static Assistance assistance(Student student, TrainingSession session, LocalDateTime date) {
+        Assistance assistance = new Assistance();
+        assistance.setStudent(student);
+        assistance.setTrainingSession(session);
+        assistance.setDate(date);
+        return assistance;
+    }
+
+    private static StudentHistory history(Student student, LocalDate date, String type, String description) {
+        StudentHistory history = new StudentHistory();
+        history.setStudent(student);
+        history.setEventDate(date);
+        history.setEventType(type);
+        history.setDescription(description);
+        return history;
+    }
+
+    /**
+     * Draws the share of sessions a student attends: occasional, regular or every session.
+     */
+    private static double attendanceRate(SplittableRandom random) {
+        int profile = random.nextInt(10);
+        if (profile < 2) {
+            return random.nextDouble(0.2, 0.5);
+        }
+        return profile < 8 ? random.nextDouble(0.6, 0.9) : random.nextDouble(0.9, 1.0);
+    }
+
+    /**
+     * Rounds an average up or down at random, so that the counts add up to the average on the whole school.
+     */
+    private static int count(SplittableRandom random, double average) {
+        int whole = (int) average;
+        return whole + (random.nextDouble() < average - whole ? 1 : 0);
+    }
+
+    private static int weighted(SplittableRandom random, int[] weights) {
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        int draw = random.nextInt(total);
+        for (int i = 0; i < weights.length; i++) {
+            draw -= weights[i];
+            if (draw < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String surname(SplittableRandom random) {
+        return pick(random, SURNAMES) + " " + pick(random, SURNAMES);
+    }
+
+    private static String phone(SplittableRandom random) {
+        return String.valueOf(600_000_000 + random.nextInt(100_000_000));
+    }
+
+    private static String address(SplittableRandom random) {
+        return pick(random, STREETS) + " " + (1 + random.nextInt(150));
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    /**
+     * IDs of the reference data every student refers to.
+     */
+    private record Reference(Integer studentRoleId, Integer teacherRoleId, Map<MembershipTypeValues, Integer> membershipIds,
+                             Map<MembershipTypeValues, Integer> feeIds, Integer registrationId, List<Integer> extraIds) {
+    }
+
+    /**
+     * Products of the current transaction.
+     */
+    private record Products(Map<MembershipTypeValues, ProductService> fees, ProductService registration,
+                            List<ProductService> extras) {
+    }
+
+    /**
+     * The synthetic teachers and groups, in creation order; group {@code g} belongs to teacher
+     * {@code g / GROUPS_PER_TEACHER} and has students {@code g * STUDENTS_PER_GROUP} onwards.
+     */
+    private record School(List<Integer> teacherIds, List<GroupRef> groups) {
+    }
+
+    private record GroupRef(Integer id, List<SessionRef> sessions) {
+    }
+
+    private record SessionRef(Integer id, LocalDateTime date) {
+    }
+}
@@ -0,0 +1,63 @@
+package com.denniseckerskorn.seeder;
+
+/**
+ * Size and shape of the synthetic school built by {@link SyntheticDataGenerator}.
+ *
+ * @param students    number of synthetic students
+ * @param assistances approximate number of assistance rows, spread over the students by their attendance
+ * @param invoices    approximate number of invoices, one per billed month of each student
+ * @param password    password of every synthetic user
+ * @param seed        seed of the random data; the same seed always builds the same student for the same index
+ */
+public record SyntheticDataOptions(int students, long assistances, long invoices, String password, long seed) {
+
+    /**
+     * Default password of the synthetic users.
+     */
+    public static final String DEFAULT_PASSWORD = "12345678";
+
+    /**
+     * Default seed of the random data.
+     */
+    public static final long DEFAULT_SEED = 42;
+
+    /**
+     * Validates the options.
+     *
+     * @throws IllegalArgumentException if a count is negative or the password is blank
+     */
+    public SyntheticDataOptions {
+        if (students < 0 || assistances < 0 || invoices < 0) {
+            throw new IllegalArgumentException("Synthetic data counts cannot be negative");
+        }
+        if (password == null || password.isBlank()) {
+            throw new IllegalArgumentException("Synthetic users need a password");
+        }
+    }
+
+    /**
+     * Options with the default password and seed.
+     *
+     * @param students    number of synthetic students
+     * @param assistances approximate number of assistance rows
+     * @param invoices    approximate number of invoices
+     * @return the options
+     */
+    public static SyntheticDataOptions of(int students, long assistances, long invoices) {
+        return new SyntheticDataOptions(students, assistances, invoices, DEFAULT_PASSWORD, DEFAULT_SEED);
+    }
+
+    /**
+     * Average number of assistances of a student.
+     */
+    double assistancesPerStudent() {
+        return students == 0 ? 0 : (double) assistances / students;
+    }
+
+    /**
+     * Average number of invoices of a student.
+     */
+    double invoicesPerStudent() {
+        return students == 0 ? 0 : (double) invoices / students;
+    }
+}
@@ -1,14 +1,42 @@
 package com.denniseckerskorn.services;
 
+import com.denniseckerskorn.exceptions.BadRequestException;
 import com.denniseckerskorn.exceptions.DuplicateEntityException;
 import com.denniseckerskorn.exceptions.EntityNotFoundException;
 import com.denniseckerskorn.exceptions.InvalidDataException;
+import com.denniseckerskorn.exceptions.StaleEntityException;
+import com.mysql.cj.conf.PropertyKey;
+import com.mysql.cj.conf.PropertySet;
+import com.mysql.cj.conf.RuntimeProperty;
+import com.mysql.cj.jdbc.JdbcConnection;
+import jakarta.persistence.EntityGraph;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.OptimisticLockException;
 import jakarta.persistence.PersistenceContext;
-import jakarta.transaction.Transactional;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.metamodel.EntityType;
+import org.hibernate.Session;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * Abstract service class providing common CRUD operations for entities.
@@ -18,11 +46,47 @@ import java.util.List;
  */
 public abstract class AbstractService<T, ID> {
 
+    /**
+     * Page size used when a page or cursor is requested without an explicit size.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 50;
+
+    /**
+     * Largest page size a caller may request.
+     */
+    public static final int MAX_PAGE_SIZE = 200;
+
+    /**
+     * JDBC fetch size used by {@link #streamAll(Consumer)}.
+     */
+    public static final int STREAM_FETCH_SIZE = 500;
+
+    /**
+     * Number of entities after which {@link #streamAll(Consumer)} clears the persistence context.
+     */
+    public static final int STREAM_CLEAR_INTERVAL = 500;
+
+    /**
+     * Number of entities {@link #streamAll(Consumer)} reads before handing them to the consumer, so the lazy
+     * associations the consumer walks are initialized in batches across the chunk rather than one entity at a time.
+     * It matches the default batch fetch size and divides {@link #STREAM_CLEAR_INTERVAL}.
+     */
+    public static final int STREAM_CHUNK_SIZE = 50;
+
+    /**
+     * Suffix of the named entity graph used as fetch plan by the list finders.
+     * An entity declaring a graph called {@code <EntityName>.list} has it applied to
+     * {@link #findPage(int, int)}, {@link #findAllAfter(Object, int)} and {@link #streamAll(Consumer)}.
+     */
+    public static final String LIST_GRAPH_SUFFIX = ".list";
+
     protected final JpaRepository<T, ID> repository;
 
     @PersistenceContext
     private EntityManager entityManager;
 
+    private volatile Class<T> entityClass;
+
     /**
      * Constructor for AbstractService.
      *
@@ -55,15 +119,21 @@ public abstract class AbstractService<T, ID> {
 
     /**
      * Updates an existing entity in the database.
+     * A managed entity is flushed directly, which issues a single UPDATE (versioned when the entity
+     * has a {@code @Version} attribute). A detached versioned entity is merged, so the row is read once
+     * and the UPDATE is checked against the version the caller holds; if the caller did not send a
+     * version the current one is taken from the database. Detached entities without a version keep
+     * the existence check before the merge.
      *
      * @param entity the entity to update
      * @return the updated entity
-     * @throws EntityNotFoundException if the entity does not exist
+     * @throws EntityNotFoundException  if the entity does not exist
      * @throws IllegalArgumentException if the entity is null
-     * @throws InvalidDataException    if the entity is invalid
+     * @throws InvalidDataException     if the entity is invalid
+     * @throws StaleEntityException     if the entity was modified or deleted by another transaction
      */
     @Transactional
-    public T update(T entity) throws IllegalArgumentException, InvalidDataException, EntityNotFoundException {
+    public T update(T entity) throws IllegalArgumentException, InvalidDataException, EntityNotFoundException, StaleEntityException {
         if (entity == null) {
             throw new IllegalArgumentException("Entity cannot be null");
         }
@@ -73,15 +143,56 @@ public abstract class AbstractService<T, ID> {
             throw new InvalidDataException("Cannot update entity: ID is null");
         }
 
-        if (!repository.existsById(id)) {
-            throw new EntityNotFoundException("Entity with ID " + id + " does not exist");
+        try {
+            if (entityManager.contains(entity)) {
+                entityManager.flush();
+                return entity;
+            }
+
+            if (!EntityVersionAccessor.isVersioned(entity.getClass())) {
+                if (!repository.existsById(id)) {
+                    throw new EntityNotFoundException("Entity with ID " + id + " does not exist");
+                }
+                return entityManager.merge(entity);
+            }
+
+            if (EntityVersionAccessor.getVersion(entity) == null) {
+                T current = repository.findById(id)
+                        .orElseThrow(() -> new EntityNotFoundException("Entity with ID " + id + " does not exist"));
+                EntityVersionAccessor.setVersion(entity, EntityVersionAccessor.getVersion(current));
+            }
+
+            T merged = entityManager.merge(entity);
+            entityManager.flush();
+            return merged;
+        } catch (OptimisticLockException e) {
+            throw new StaleEntityException("Entity with ID " + id + " was modified or deleted by another transaction", e);
         }
+    }
 
-        return entityManager.merge(entity);
+    /**
+     * Checks that an entity loaded for modification still has the version the caller last read.
+     * Use it when changes are copied onto a managed entity, since Hibernate ignores version values
+     * written to managed entities.
+     *
+     * @param entity          the managed entity
+     * @param expectedVersion the version the caller read, or null to skip the check
+     * @throws StaleEntityException if the versions differ
+     */
+    public void checkVersion(T entity, Long expectedVersion) throws StaleEntityException {
+        if (entity == null || expectedVersion == null) {
+            return;
+        }
+        Object currentVersion = EntityVersionAccessor.getVersion(entity);
+        if (currentVersion != null && !currentVersion.equals(expectedVersion)) {
+            throw new StaleEntityException("Entity with ID " + getEntityId(entity) + " was modified by another transaction (version "
+                    + expectedVersion + ", current " + currentVersion + ")");
+        }
     }
 
     /**
      * Retrieves the ID of the entity.
+     * The accessor is resolved once per entity class and cached, see {@link EntityIdAccessor}.
      *
      * @param entity the entity from which to retrieve the ID
      * @return the ID of the entity
@@ -89,13 +200,7 @@ public abstract class AbstractService<T, ID> {
      */
     @SuppressWarnings("unchecked")
     protected ID getEntityId(T entity) throws IllegalStateException {
-        try {
-            var idField = entity.getClass().getDeclaredField("id");
-            idField.setAccessible(true);
-            return (ID) idField.get(entity);
-        } catch (NoSuchFieldException | IllegalAccessException e) {
-            throw new IllegalStateException("Unable to access entity ID", e);
-        }
+        return (ID) EntityIdAccessor.getId(entity);
     }
 
     /**
@@ -140,6 +245,239 @@ public abstract class AbstractService<T, ID> {
         return repository.findAll();
     }
 
+    /**
+     * Finds entities either all at once or one page at a time, depending on the arguments.
+     * When page, size and after are all null every entity is returned, as {@link #findAll()} does.
+     * When after is given the result is the page of entities whose ID is greater than after
+     * (keyset pagination); otherwise the result is the page with the given zero-based index.
+     * Pages are always ordered by ID.
+     *
+     * @param page  zero-based page index, or null
+     * @param size  maximum number of entities to return, or null for {@link #DEFAULT_PAGE_SIZE}
+     * @param after ID of the last entity of the previous page, or null
+     * @return the requested entities
+     * @throws BadRequestException if both page and after are given, or page or size is out of range
+     */
+    @Transactional(readOnly = true)
+    public List<T> findAll(Integer page, Integer size, ID after) throws BadRequestException {
+        if (page == null && size == null && after == null) {
+            return findAll();
+        }
+        int pageSize = checkPageArguments(page, size, after);
+        return after != null ? findAllAfter(after, pageSize) : findPage(page == null ? 0 : page, pageSize);
+    }
+
+    /**
+     * Runs a projection query with the same page, size and after semantics as {@link #findAll(Integer, Integer, Object)}.
+     * The queries must order their results by ID; the cursor query must only return rows whose ID is greater than after.
+     *
+     * @param page        zero-based page index, or null
+     * @param size        maximum number of rows to return, or null for {@link #DEFAULT_PAGE_SIZE}
+     * @param after       ID of the last row of the previous page, or null
+     * @param pageQuery   query returning the rows of a page, or every row when given {@link Pageable#unpaged()}
+     * @param cursorQuery query returning the rows following a cursor
+     * @param <R>         the projection type
+     * @return the requested rows
+     * @throws BadRequestException if both page and after are given, or page or size is out of range
+     */
+    protected <R> List<R> findProjection(Integer page, Integer size, ID after,
+                                         Function<Pageable, List<R>> pageQuery,
+                                         BiFunction<ID, Limit, List<R>> cursorQuery) throws BadRequestException {
+        if (page == null && size == null && after == null) {
+            return pageQuery.apply(Pageable.unpaged());
+        }
+        int pageSize = checkPageArguments(page, size, after);
+        return after != null
+                ? cursorQuery.apply(after, Limit.of(pageSize))
+                : pageQuery.apply(PageRequest.of(page == null ? 0 : page, pageSize));
+    }
+
+    /**
+     * Validates the arguments of a paginated finder.
+     *
+     * @param page  zero-based page index, or null
+     * @param size  requested page size, or null
+     * @param after cursor ID, or null
+     * @return the page size to use
+     * @throws BadRequestException if both page and after are given, or page or size is out of range
+     */
+    private static int checkPageArguments(Integer page, Integer size, Object after) throws BadRequestException {
+        if (page != null && after != null) {
+            throw new BadRequestException("Use either page or after, not both");
+        }
+        if (page != null && page < 0) {
+            throw new BadRequestException("Page index cannot be negative");
+        }
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : size;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        // The offset of the page must fit in an int, the type of the first result of a query
+        if (page != null && page > Integer.MAX_VALUE / pageSize) {
+            throw new BadRequestException("Page index cannot be greater than " + Integer.MAX_VALUE / pageSize
+                    + " for a page size of " + pageSize);
+        }
+        return pageSize;
+    }
+
+    /**
+     * Finds the page with the given zero-based index, ordered by ID.
+     * Unlike {@link JpaRepository#findAll(org.springframework.data.domain.Pageable)} no count query is issued.
+     *
+     * @param page zero-based page index
+     * @param size maximum number of entities to return
+     * @return the entities of the page
+     */
+    public List<T> findPage(int page, int size) {
+        return createOrderedQuery(null)
+                .setFirstResult(Math.multiplyExact(page, size))
+                .setMaxResults(size)
+                .getResultList();
+    }
+
+    /**
+     * Finds the entities whose ID is greater than the given one, ordered by ID.
+     * The cost of this query does not depend on how far into the table the cursor is.
+     *
+     * @param after ID of the last entity already returned
+     * @param size  maximum number of entities to return
+     * @return the entities following the cursor
+     */
+    public List<T> findAllAfter(ID after, int size) {
+        return createOrderedQuery(after).setMaxResults(size).getResultList();
+    }
+
+    /**
+     * Passes every entity to the given consumer, one at a time and ordered by ID.
+     * Rows are read through a forward-only cursor with a JDBC fetch size of {@link #STREAM_FETCH_SIZE}
+     * (a server-side cursor on MySQL, see {@link #streamInChunks(Supplier, Consumer)}),
+     * and the persistence context is cleared every {@link #STREAM_CLEAR_INTERVAL} entities,
+     * so memory use does not grow with the table size. Entities are handed over in chunks of
+     * {@link #STREAM_CHUNK_SIZE}, so lazy associations are loaded once per chunk and not once per entity.
+     * Entities must not be kept once the consumer returns, since they may already be detached.
+     *
+     * @param consumer the consumer receiving each entity
+     * @return the number of entities streamed
+     */
+    @Transactional(readOnly = true)
+    public long streamAll(Consumer<? super T> consumer) {
+        return streamInChunks(() -> createOrderedQuery(null)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream(), consumer);
+    }
+
+    /**
+     * Hands the entities of a result stream to a consumer in chunks of {@link #STREAM_CHUNK_SIZE}, clearing the
+     * persistence context every {@link #STREAM_CLEAR_INTERVAL} entities, as {@link #streamAll(Consumer)} does.
+     * The stream is closed once it has been read. Must be called inside a transaction.
+     * <p>
+     * On MySQL, the query is run with server-side cursors enabled on the connection of the transaction, so a fetch
+     * size makes it read that many rows at a time instead of the whole result, while lazy associations can still
+     * be loaded on the same connection. The connection gets its own settings back once the stream has been read,
+     * so no other query of the application runs with cursors or server-side prepared statements.
+     *
+     * @param query    runs the query and returns its result stream, read through a cursor
+     * @param consumer the consumer receiving each entity
+     * @return the number of entities streamed
+     */
+    protected long streamInChunks(Supplier<Stream<T>> query, Consumer<? super T> consumer) {
+        Runnable restoreConnection = enableCursorFetch();
+        long count = 0;
+        try (Stream<T> stream = query.get()) {
+            Iterator<T> iterator = stream.iterator();
+            List<T> chunk = new ArrayList<>(STREAM_CHUNK_SIZE);
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == STREAM_CHUNK_SIZE || !iterator.hasNext()) {
+                    chunk.forEach(consumer);
+                    count += chunk.size();
+                    chunk.clear();
+                    if (count % STREAM_CLEAR_INTERVAL == 0) {
+                        entityManager.clear();
+                    }
+                }
+            }
+        } finally {
+            restoreConnection.run();
+        }
+        return count;
+    }
+
+    /**
+     * Enables MySQL server-side cursors on the connection of the current transaction, if it is a MySQL connection.
+     * Cursors need server-side prepared statements, so both settings are enabled.
+     *
+     * @return puts back the settings that were changed
+     */
+    private Runnable enableCursorFetch() {
+        PropertySet properties = entityManager.unwrap(Session.class).doReturningWork(connection ->
+                connection.isWrapperFor(JdbcConnection.class) ? connection.unwrap(JdbcConnection.class).getPropertySet() : null);
+        if (properties == null) {
+            return () -> {
+            };
+        }
+        List<RuntimeProperty<Boolean>> changed = new ArrayList<>();
+        for (PropertyKey key : List.of(PropertyKey.useCursorFetch, PropertyKey.useServerPrepStmts)) {
+            RuntimeProperty<Boolean> property = properties.getBooleanProperty(key);
+            if (!property.getValue()) {
+                property.setValue(true);
+                changed.add(property);
+            }
+        }
+        return () -> changed.forEach(property -> property.setValue(false));
+    }
+
+    /**
+     * Builds the ID-ordered query shared by the paginated and streaming finders.
+     * The entity's list graph, if it declares one, is applied as fetch graph.
+     *
+     * @param after optional ID the results must be greater than
+     * @return the query, ready to be executed
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private TypedQuery<T> createOrderedQuery(ID after) {
+        Class<T> entityClass = getEntityClass();
+        EntityType<T> entityType = entityManager.getMetamodel().entity(entityClass);
+        String idName = entityType.getId(entityType.getIdType().getJavaType()).getName();
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(entityClass);
+        Root<T> root = query.from(entityClass);
+        Path<Comparable> id = root.get(idName);
+        query.select(root).orderBy(cb.asc(id));
+        if (after != null) {
+            query.where(cb.greaterThan(id, (Comparable) after));
+        }
+
+        TypedQuery<T> typedQuery = entityManager.createQuery(query);
+        String graphName = entityType.getName() + LIST_GRAPH_SUFFIX;
+        for (EntityGraph<? super T> graph : entityManager.getEntityGraphs(entityClass)) {
+            if (graphName.equals(graph.getName())) {
+                typedQuery.setHint(SpecHints.HINT_SPEC_FETCH_GRAPH, graph);
+                break;
+            }
+        }
+        return typedQuery;
+    }
+
+    /**
+     * Resolves the entity class from the generic signature of the concrete service.
+     *
+     * @return the entity class managed by this service
+     */
+    @SuppressWarnings("unchecked")
+    private Class<T> getEntityClass() {
+        if (entityClass == null) {
+            Class<?>[] typeArguments = GenericTypeResolver.resolveTypeArguments(getClass(), AbstractService.class);
+            if (typeArguments == null || typeArguments[0] == null) {
+                throw new IllegalStateException("Unable to resolve entity class of " + getClass().getName());
+            }
+            entityClass = (Class<T>) typeArguments[0];
+        }
+        return entityClass;
+    }
+
     /**
      * Checks if an entity exists in the database.
      *
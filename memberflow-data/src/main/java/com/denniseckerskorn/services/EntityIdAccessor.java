@@ -0,0 +1,116 @@
+package com.denniseckerskorn.services;
+
+import jakarta.persistence.Id;
+import org.hibernate.proxy.HibernateProxy;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.Function;
+
+/**
+ * Reads entity identifiers through an accessor resolved once per entity class.
+ * The accessor is a {@link Function} spun by {@link LambdaMetafactory} around the getter of the
+ * field annotated with {@link Id} (or, failing that, a field named "id"), so after warm-up an ID
+ * read costs a class lookup plus the getter call. Classes without such a getter fall back to a field
+ * read through a handle prepared once, and Hibernate proxy classes answer from their lazy initializer.
+ */
+final class EntityIdAccessor {
+
+    private static final ClassValue<Function<Object, Object>> ID_GETTERS = new ClassValue<>() {
+        @Override
+        protected Function<Object, Object> computeValue(Class<?> type) {
+            return resolveIdGetter(type);
+        }
+    };
+
+    private EntityIdAccessor() {
+    }
+
+    /**
+     * Returns the identifier of the given entity.
+     * Uninitialized Hibernate proxies answer without being loaded.
+     *
+     * @param entity the entity, not null
+     * @return the identifier, or null if it has not been assigned yet
+     * @throws IllegalStateException if the entity class has no accessible identifier field
+     */
+    static Object getId(Object entity) throws IllegalStateException {
+        return ID_GETTERS.get(entity.getClass()).apply(entity);
+    }
+
+    /**
+     * Finds the identifier field of an entity class and builds an accessor for it.
+     *
+     * @param type the entity class
+     * @return a function reading the identifier
+     * @throws IllegalStateException if no identifier field exists or it cannot be accessed
+     */
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> resolveIdGetter(Class<?> type) throws IllegalStateException {
+        if (HibernateProxy.class.isAssignableFrom(type)) {
+            return proxy -> ((HibernateProxy) proxy).getHibernateLazyInitializer().getInternalIdentifier();
+        }
+
+        Field idField = findIdField(type);
+        if (idField == null) {
+            throw new IllegalStateException("Unable to access entity ID: no identifier field on " + type.getName());
+        }
+        try {
+            Class<?> owner = idField.getDeclaringClass();
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(owner, MethodHandles.lookup());
+            Method getter = findGetter(owner, idField);
+            if (getter != null) {
+                MethodHandle handle = lookup.unreflect(getter);
+                CallSite site = LambdaMetafactory.metafactory(lookup, "apply",
+                        MethodType.methodType(Function.class),
+                        MethodType.methodType(Object.class, Object.class),
+                        handle, handle.type().wrap());
+                return (Function<Object, Object>) site.getTarget().invokeExact();
+            }
+
+            MethodHandle fieldGetter = lookup.unreflectGetter(idField)
+                    .asType(MethodType.methodType(Object.class, Object.class));
+            return entity -> {
+                try {
+                    return (Object) fieldGetter.invokeExact(entity);
+                } catch (Throwable e) {
+                    throw new IllegalStateException("Unable to access entity ID", e);
+                }
+            };
+        } catch (Throwable e) {
+            throw new IllegalStateException("Unable to access entity ID on " + type.getName(), e);
+        }
+    }
+
+    private static Field findIdField(Class<?> type) {
+        Field namedId = null;
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (field.isAnnotationPresent(Id.class)) {
+                    return field;
+                }
+                if (namedId == null && field.getName().equals("id")) {
+                    namedId = field;
+                }
+            }
+        }
+        return namedId;
+    }
+
+    private static Method findGetter(Class<?> owner, Field field) {
+        String name = "get" + Character.toUpperCase(field.getName().charAt(0)) + field.getName().substring(1);
+        try {
+            Method method = owner.getDeclaredMethod(name);
+            boolean usable = method.getReturnType() == field.getType() && !Modifier.isStatic(method.getModifiers());
+            return usable ? method : null;
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.denniseckerskorn.services;
+
+import jakarta.persistence.Version;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.Optional;
+
+/**
+ * Reads and writes the {@link Version} attribute of entities through handles resolved once per class.
+ * Entity classes without a version attribute are remembered as such.
+ */
+final class EntityVersionAccessor {
+
+    private static final ClassValue<Optional<VersionHandles>> VERSION_HANDLES = new ClassValue<>() {
+        @Override
+        protected Optional<VersionHandles> computeValue(Class<?> type) {
+            return resolveVersionHandles(type);
+        }
+    };
+
+    private EntityVersionAccessor() {
+    }
+
+    /**
+     * Tells whether the entity class declares a version attribute.
+     *
+     * @param type the entity class
+     * @return true if the class is versioned
+     */
+    static boolean isVersioned(Class<?> type) {
+        return VERSION_HANDLES.get(type).isPresent();
+    }
+
+    /**
+     * Returns the version of the given entity.
+     *
+     * @param entity the entity, not null
+     * @return the version, or null if the entity is not versioned or has no version yet
+     */
+    static Object getVersion(Object entity) {
+        Optional<VersionHandles> handles = VERSION_HANDLES.get(entity.getClass());
+        if (handles.isEmpty()) {
+            return null;
+        }
+        try {
+            return (Object) handles.get().getter().invokeExact(entity);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Unable to read entity version", e);
+        }
+    }
+
+    /**
+     * Sets the version of the given entity.
+     *
+     * @param entity  the entity, not null
+     * @param version the version to set
+     * @throws IllegalStateException if the entity is not versioned or the version cannot be written
+     */
+    static void setVersion(Object entity, Object version) throws IllegalStateException {
+        VersionHandles handles = VERSION_HANDLES.get(entity.getClass())
+                .orElseThrow(() -> new IllegalStateException(entity.getClass().getName() + " is not versioned"));
+        try {
+            handles.setter().invokeExact(entity, version);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Unable to write entity version", e);
+        }
+    }
+
+    private static Optional<VersionHandles> resolveVersionHandles(Class<?> type) {
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (field.isAnnotationPresent(Version.class)) {
+                    return Optional.of(unreflect(field));
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static VersionHandles unreflect(Field field) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup());
+            MethodHandle getter = lookup.unreflectGetter(field)
+                    .asType(MethodType.methodType(Object.class, Object.class));
+            MethodHandle setter = lookup.unreflectSetter(field)
+                    .asType(MethodType.methodType(void.class, Object.class, Object.class));
+            return new VersionHandles(getter, setter);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Unable to access version of " + field.getDeclaringClass().getName(), e);
+        }
+    }
+
+    private record VersionHandles(MethodHandle getter, MethodHandle setter) {
+    }
+}
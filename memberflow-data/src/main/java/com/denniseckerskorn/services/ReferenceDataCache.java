@@ -0,0 +1,93 @@
+package com.denniseckerskorn.services;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Consumer;
+
+/**
+ * Access to the second-level cache holding the reference data (roles, permissions, IVA types,
+ * products and memberships).
+ * Hibernate keeps cached entities and owning collections up to date on its own. Services call this
+ * class for what it cannot see, such as the inverse side of an association changed through its owner,
+ * and evictions run again once the surrounding transaction completes so no concurrent reader can
+ * cache the state it replaced.
+ */
+@Component
+public class ReferenceDataCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReferenceDataCache.class);
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Constructor for ReferenceDataCache.
+     *
+     * @param entityManagerFactory the entity manager factory owning the cache
+     */
+    public ReferenceDataCache(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * Evicts a cached entity.
+     *
+     * @param entityClass the class of the entity
+     * @param id          the ID of the entity
+     */
+    public void evictEntity(Class<?> entityClass, Object id) {
+        logger.debug("Evicting {} with ID {} from the second-level cache", entityClass.getSimpleName(), id);
+        evictNowAndAfterCompletion(cache -> cache.evictEntityData(entityClass, id));
+    }
+
+    /**
+     * Evicts the cached collection of one entity.
+     *
+     * @param ownerClass the class of the entity owning the collection
+     * @param property   the name of the collection property
+     * @param ownerId    the ID of the owning entity
+     */
+    public void evictCollection(Class<?> ownerClass, String property, Object ownerId) {
+        String role = ownerClass.getName() + "." + property;
+        logger.debug("Evicting collection {} of ID {} from the second-level cache", role, ownerId);
+        evictNowAndAfterCompletion(cache -> cache.evictCollectionData(role, ownerId));
+    }
+
+    /**
+     * Evicts the cached collection of every entity of a class.
+     *
+     * @param ownerClass the class of the entities owning the collection
+     * @param property   the name of the collection property
+     */
+    public void evictCollection(Class<?> ownerClass, String property) {
+        String role = ownerClass.getName() + "." + property;
+        logger.debug("Evicting collection {} from the second-level cache", role);
+        evictNowAndAfterCompletion(cache -> cache.evictCollectionData(role));
+    }
+
+    /**
+     * Evicts every cached entity, collection and query result.
+     */
+    public void evictAll() {
+        logger.info("Evicting all second-level cache regions");
+        evictNowAndAfterCompletion(Cache::evictAll);
+    }
+
+    private void evictNowAndAfterCompletion(Consumer<Cache> eviction) {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        eviction.accept(cache);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    eviction.accept(cache);
+                }
+            });
+        }
+    }
+}
@@ -1,17 +1,28 @@
 package com.denniseckerskorn.services.class_managment_services;
 
 import com.denniseckerskorn.entities.class_managment.Assistance;
+import com.denniseckerskorn.entities.class_managment.TrainingSession;
+import com.denniseckerskorn.exceptions.BadRequestException;
 import com.denniseckerskorn.exceptions.DuplicateEntityException;
 import com.denniseckerskorn.exceptions.EntityNotFoundException;
 import com.denniseckerskorn.exceptions.InvalidDataException;
 import com.denniseckerskorn.repositories.class_managment_repositories.AssistanceRepository;
+import com.denniseckerskorn.repositories.class_managment_repositories.TrainingSessionRepository;
+import com.denniseckerskorn.repositories.user_managment_repositories.StudentRepository;
 import com.denniseckerskorn.services.AbstractService;
+import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
 
 /**
  * Service class for managing assistance records.
@@ -21,15 +32,22 @@ public class AssistanceService extends AbstractService<Assistance, Integer> {
 
     private static final Logger logger = LoggerFactory.getLogger(MembershipService.class);
     private final AssistanceRepository assistanceRepository;
+    private final TrainingSessionRepository trainingSessionRepository;
+    private final StudentRepository studentRepository;
 
     /**
      * Constructor for AssistanceService.
      *
-     * @param assistanceRepository the repository for assistance records
+     * @param assistanceRepository      the repository for assistance records
+     * @param trainingSessionRepository the repository for training sessions
+     * @param studentRepository         the repository for students
      */
-    public AssistanceService(AssistanceRepository assistanceRepository) {
+    public AssistanceService(AssistanceRepository assistanceRepository, TrainingSessionRepository trainingSessionRepository,
+                             StudentRepository studentRepository) {
         super(assistanceRepository);
         this.assistanceRepository = assistanceRepository;
+        this.trainingSessionRepository = trainingSessionRepository;
+        this.studentRepository = studentRepository;
     }
 
     /**
@@ -66,18 +84,6 @@ public class AssistanceService extends AbstractService<Assistance, Integer> {
         return super.update(entity);
     }
 
-    /**
-     * Gets the ID of the Assistance entity.
-     *
-     * @param entity the assistance entity
-     * @return the ID of the assistance entity
-     * @throws IllegalStateException if the entity does not have an ID
-     */
-    @Override
-    protected Integer getEntityId(Assistance entity) throws IllegalStateException {
-        return super.getEntityId(entity);
-    }
-
     /**
      * Finds an Assistance entity by its ID.
      *
@@ -137,6 +143,76 @@ public class AssistanceService extends AbstractService<Assistance, Integer> {
         return super.exists(entity);
     }
 
+    /**
+     * Records the attendance of several students to a training session at once.
+     * The students are checked against the roster of the session's group in one query, and their existing
+     * assistance records for the session are read in another. Students without a record get a new one and
+     * existing records take the given date; all rows are written in one transaction as JDBC batches.
+     * Neither the session nor the students are loaded. A roll call recorded concurrently for the same students
+     * is caught by the unique key on session and student, and rejected as a duplicate.
+     *
+     * @param sessionId  the ID of the training session
+     * @param studentIds the IDs of the students who attended
+     * @param date       the date and time of the attendance, or null for now
+     * @return the assistance records of the given students for the session
+     * @throws InvalidDataException     if the session ID or the student IDs are missing
+     * @throws EntityNotFoundException  if the session does not exist
+     * @throws BadRequestException      if any student does not belong to the session's training group
+     * @throws DuplicateEntityException if another roll call created a record of one of the students meanwhile
+     */
+    @Transactional
+    public List<Assistance> recordRollCall(Integer sessionId, Set<Integer> studentIds, LocalDateTime date)
+            throws InvalidDataException, EntityNotFoundException, BadRequestException, DuplicateEntityException {
+        logger.info("Recording roll call for session ID: {} with {} students", sessionId, studentIds == null ? 0 : studentIds.size());
+        if (sessionId == null) {
+            throw new InvalidDataException("Training session ID cannot be null");
+        }
+        if (studentIds == null || studentIds.isEmpty() || studentIds.stream().anyMatch(Objects::isNull)) {
+            throw new InvalidDataException("Student IDs cannot be empty or contain null");
+        }
+
+        Set<Integer> roster = new HashSet<>(trainingSessionRepository.findRosterStudentIds(sessionId, studentIds));
+        if (roster.size() != studentIds.size()) {
+            if (!trainingSessionRepository.existsById(sessionId)) {
+                throw new EntityNotFoundException("Training session with ID " + sessionId + " not found");
+            }
+            Set<Integer> outsiders = new TreeSet<>(studentIds);
+            outsiders.removeAll(roster);
+            throw new BadRequestException("Students " + outsiders + " do not belong to the training group of session " + sessionId);
+        }
+
+        LocalDateTime attendedAt = date != null ? date : LocalDateTime.now();
+        List<Assistance> existing = assistanceRepository.findAllByTrainingSessionIdAndStudentIdIn(sessionId, studentIds);
+        Set<Integer> recorded = new HashSet<>();
+        for (Assistance assistance : existing) {
+            assistance.setDate(attendedAt);
+            recorded.add(assistance.getStudent().getId());
+        }
+
+        TrainingSession session = trainingSessionRepository.getReferenceById(sessionId);
+        List<Assistance> created = new ArrayList<>(studentIds.size() - recorded.size());
+        for (Integer studentId : studentIds) {
+            if (recorded.contains(studentId)) {
+                continue;
+            }
+            Assistance assistance = new Assistance();
+            assistance.setTrainingSession(session);
+            assistance.setStudent(studentRepository.getReferenceById(studentId));
+            assistance.setDate(attendedAt);
+            created.add(assistance);
+        }
+
+        List<Assistance> result = new ArrayList<>(existing);
+        try {
+            result.addAll(assistanceRepository.saveAll(created));
+            assistanceRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            throw new DuplicateEntityException("Attendance of session " + sessionId + " was recorded concurrently, try again", e);
+        }
+        logger.info("Roll call for session ID: {} created {} and updated {} assistance records", sessionId, created.size(), existing.size());
+        return result;
+    }
+
     /**
      * Validates the assistance entity.
      *
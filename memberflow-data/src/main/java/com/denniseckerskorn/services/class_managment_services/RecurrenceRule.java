@@ -0,0 +1,125 @@
+package com.denniseckerskorn.services.class_managment_services;
+
+import com.denniseckerskorn.exceptions.InvalidDataException;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Describes a series of training sessions: every {@code intervalWeeks} weeks, on the given days of the week,
+ * at the time of day of {@code start}, from {@code start} up to and including {@code until}, skipping the
+ * excluded dates (holidays, closures).
+ * Weeks run from Monday to Sunday and are counted from the week containing {@code start}, so a biweekly
+ * rule falls on the start week, the week after next, and so on.
+ *
+ * @param start         date and time of the first possible session
+ * @param until         last date on which a session may fall
+ * @param intervalWeeks number of weeks between active weeks, 1 for weekly and 2 for biweekly
+ * @param daysOfWeek    days of the week with a session, or empty for the day of {@code start}
+ * @param excludedDates dates on which no session is generated
+ */
+public record RecurrenceRule(
+        LocalDateTime start,
+        LocalDate until,
+        int intervalWeeks,
+        Set<DayOfWeek> daysOfWeek,
+        Set<LocalDate> excludedDates) {
+
+    /**
+     * Largest number of sessions a single rule may produce.
+     */
+    public static final int MAX_OCCURRENCES = 1000;
+
+    /**
+     * Creates a recurrence rule.
+     *
+     * @throws InvalidDataException if start or until is missing, until is before start or the interval is not positive
+     */
+    public RecurrenceRule {
+        if (start == null) {
+            throw new InvalidDataException("Recurrence start cannot be null");
+        }
+        if (until == null) {
+            throw new InvalidDataException("Recurrence end date cannot be null");
+        }
+        if (until.isBefore(start.toLocalDate())) {
+            throw new InvalidDataException("Recurrence end date cannot be before the start date");
+        }
+        if (intervalWeeks < 1) {
+            throw new InvalidDataException("Recurrence interval must be at least one week");
+        }
+        daysOfWeek = daysOfWeek == null || daysOfWeek.isEmpty()
+                ? Collections.unmodifiableSet(EnumSet.of(start.getDayOfWeek()))
+                : Collections.unmodifiableSet(EnumSet.copyOf(daysOfWeek));
+        excludedDates = excludedDates == null ? Set.of() : Set.copyOf(excludedDates);
+    }
+
+    /**
+     * Creates a weekly rule on the day of {@code start} covering the given number of weeks,
+     * so it produces exactly {@code weeks} sessions.
+     *
+     * @param start date and time of the first session
+     * @param weeks number of weeks to cover
+     * @return the rule
+     * @throws InvalidDataException if start is null or weeks is not positive
+     */
+    public static RecurrenceRule weekly(LocalDateTime start, int weeks) throws InvalidDataException {
+        return forWeeks(start, weeks, 1, null, null);
+    }
+
+    /**
+     * Creates a rule covering the given number of weeks from the week containing {@code start}.
+     *
+     * @param start         date and time of the first possible session
+     * @param weeks         number of weeks to cover
+     * @param intervalWeeks number of weeks between active weeks
+     * @param daysOfWeek    days of the week with a session, or null for the day of {@code start}
+     * @param excludedDates dates on which no session is generated, or null
+     * @return the rule
+     * @throws InvalidDataException if start is null, or weeks or the interval is not positive
+     */
+    public static RecurrenceRule forWeeks(LocalDateTime start, int weeks, int intervalWeeks,
+                                          Set<DayOfWeek> daysOfWeek, Set<LocalDate> excludedDates) throws InvalidDataException {
+        if (start == null) {
+            throw new InvalidDataException("Recurrence start cannot be null");
+        }
+        if (weeks < 1) {
+            throw new InvalidDataException("Recurrence must cover at least one week");
+        }
+        return new RecurrenceRule(start, start.toLocalDate().plusWeeks(weeks).minusDays(1),
+                intervalWeeks, daysOfWeek, excludedDates);
+    }
+
+    /**
+     * Computes the date and time of every session of the series, in chronological order.
+     *
+     * @return the session dates
+     * @throws InvalidDataException if the series has more than {@link #MAX_OCCURRENCES} sessions
+     */
+    public List<LocalDateTime> occurrences() throws InvalidDataException {
+        LocalDate first = start.toLocalDate();
+        List<LocalDateTime> occurrences = new ArrayList<>();
+        for (LocalDate week = first.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+             !week.isAfter(until);
+             week = week.plusWeeks(intervalWeeks)) {
+            for (DayOfWeek day : daysOfWeek) {
+                LocalDate date = week.with(TemporalAdjusters.nextOrSame(day));
+                if (date.isBefore(first) || date.isAfter(until) || excludedDates.contains(date)) {
+                    continue;
+                }
+                if (occurrences.size() == MAX_OCCURRENCES) {
+                    throw new InvalidDataException("Recurrence cannot produce more than " + MAX_OCCURRENCES + " sessions");
+                }
+                occurrences.add(date.atTime(start.toLocalTime()));
+            }
+        }
+        return occurrences;
+    }
+}
@@ -68,17 +68,6 @@ public class TrainingGroupService extends AbstractService<TrainingGroup, Integer
         return super.update(entity);
     }
 
-    /**
-     * Gets the ID of the TrainingGroup entity.
-     *
-     * @param entity the training group entity
-     * @return the ID of the training group
-     */
-    @Override
-    protected Integer getEntityId(TrainingGroup entity) {
-        return super.getEntityId(entity);
-    }
-
     /**
      * Finds a TrainingGroup by its ID.
      *
@@ -15,6 +15,8 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -71,18 +73,6 @@ public class TrainingSessionService extends AbstractService<TrainingSession, Int
         return super.update(entity);
     }
 
-    /**
-     * Gets the ID of the training session entity.
-     *
-     * @param entity the training session entity
-     * @return the ID of the training session
-     * @throws IllegalStateException if the entity is not managed
-     */
-    @Override
-    protected Integer getEntityId(TrainingSession entity) throws IllegalStateException {
-        return super.getEntityId(entity);
-    }
-
     /**
      * Finds a training session by its ID.
      *
@@ -190,7 +180,8 @@ public class TrainingSessionService extends AbstractService<TrainingSession, Int
     }
 
     /**
-     * Generates recurring training sessions for a given training group.
+     * Generates weekly training sessions for a given training group, starting at the group's schedule
+     * and covering four weeks per month.
      *
      * @param group  the training group for which to generate sessions
      * @param months the number of months for which to generate sessions
@@ -198,17 +189,56 @@ public class TrainingSessionService extends AbstractService<TrainingSession, Int
      */
     @Transactional
     public void generateRecurringSession(TrainingGroup group, int months) {
+        if (group == null) {
+            throw new InvalidDataException("Training group cannot be null");
+        }
         logger.info("Generating recurring sessions for group: {} for {} months", group.getName(), months);
-        LocalDateTime baseDate = group.getSchedule();
+        generateRecurringSessions(group, RecurrenceRule.weekly(group.getSchedule(), months * 4));
+    }
 
-        for (int i = 0; i < months * 4; i++) {
-            LocalDateTime sessionDate = baseDate.plusWeeks(i);
+    /**
+     * Generates the training sessions described by a recurrence rule for a given training group.
+     * The series is computed in memory and compared with the sessions the group already has in one
+     * range query; dates that already have a session are skipped. The new sessions are persisted in
+     * one transaction, so their inserts are sent as JDBC batches.
+     *
+     * @param group the training group for which to generate sessions, already persisted
+     * @param rule  the recurrence rule describing the series
+     * @return the created sessions, in chronological order
+     * @throws InvalidDataException if the group or rule is null, or the group has no ID
+     */
+    @Transactional
+    public List<TrainingSession> generateRecurringSessions(TrainingGroup group, RecurrenceRule rule) throws InvalidDataException {
+        if (group == null || group.getId() == null) {
+            throw new InvalidDataException("Training group cannot be null");
+        }
+        if (rule == null) {
+            throw new InvalidDataException("Recurrence rule cannot be null");
+        }
+
+        List<LocalDateTime> dates = rule.occurrences();
+        if (dates.isEmpty()) {
+            logger.info("Recurrence rule produced no sessions for group: {}", group.getName());
+            return List.of();
+        }
+
+        Set<LocalDateTime> existing = new HashSet<>(trainingSessionRepository.findDatesByGroupIdBetween(
+                group.getId(), dates.get(0), dates.get(dates.size() - 1)));
+
+        List<TrainingSession> sessions = new ArrayList<>(dates.size());
+        for (LocalDateTime date : dates) {
+            if (existing.contains(date)) {
+                continue;
+            }
             TrainingSession newSession = new TrainingSession();
-            newSession.setDate(sessionDate);
+            newSession.setDate(date);
             newSession.setStatus(StatusValues.ACTIVE);
             newSession.setTrainingGroup(group);
-            save(newSession);
-            logger.info("Created new session: {} for group: {}", newSession.getId(), group.getName());
+            sessions.add(newSession);
         }
+
+        List<TrainingSession> saved = trainingSessionRepository.saveAll(sessions);
+        logger.info("Created {} sessions for group: {} ({} already existed)", saved.size(), group.getName(), dates.size() - saved.size());
+        return saved;
     }
 }
@@ -0,0 +1,174 @@
+package com.denniseckerskorn.services.finance_services;
+
+import com.denniseckerskorn.entities.finance.BillingRun;
+import com.denniseckerskorn.enums.BillingRunStatusValues;
+import com.denniseckerskorn.enums.StatusValues;
+import com.denniseckerskorn.exceptions.InvalidDataException;
+import com.denniseckerskorn.projections.BillableMembership;
+import com.denniseckerskorn.repositories.finance_repositories.BillingRunRepository;
+import com.denniseckerskorn.repositories.finance_repositories.InvoiceRepository;
+import com.denniseckerskorn.repositories.user_managment_repositories.StudentRepository;
+import com.denniseckerskorn.services.AbstractService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Service class for running the monthly membership billing.
+ * A run invoices every student with an active membership in the billed month. The pending members are
+ * split into chunks of {@link #CHUNK_SIZE}, and each chunk is invoiced in its own transaction on a bounded
+ * pool of worker threads, so a failing chunk only rolls back its own invoices.
+ * Invoices are unique per user and billing period and members already invoiced for the period are never
+ * selected again, so the committed chunks are the checkpoint of the run: running the same period again after
+ * a crash or a failed chunk only invoices the members that are still pending.
+ */
+@Service
+public class BillingRunService extends AbstractService<BillingRun, Integer> {
+
+    /**
+     * Number of members invoiced per transaction.
+     */
+    public static final int CHUNK_SIZE = 200;
+
+    /**
+     * Number of chunks invoiced at the same time when no parallelism is given.
+     */
+    public static final int DEFAULT_PARALLELISM = 4;
+
+    /**
+     * Largest number of chunks invoiced at the same time, kept well below the connection pool size.
+     */
+    public static final int MAX_PARALLELISM = 8;
+
+    private static final Logger logger = LoggerFactory.getLogger(BillingRunService.class);
+    private final BillingRunRepository billingRunRepository;
+    private final StudentRepository studentRepository;
+    private final InvoiceRepository invoiceRepository;
+    private final InvoiceService invoiceService;
+
+    /**
+     * Constructor for BillingRunService.
+     *
+     * @param billingRunRepository the repository for BillingRun entities
+     * @param studentRepository    the repository for Student entities
+     * @param invoiceRepository    the repository for Invoice entities
+     * @param invoiceService       the service creating the invoices of each chunk
+     */
+    public BillingRunService(BillingRunRepository billingRunRepository, StudentRepository studentRepository,
+                             InvoiceRepository invoiceRepository, InvoiceService invoiceService) {
+        super(billingRunRepository);
+        this.billingRunRepository = billingRunRepository;
+        this.studentRepository = studentRepository;
+        this.invoiceRepository = invoiceRepository;
+        this.invoiceService = invoiceService;
+    }
+
+    /**
+     * Runs the billing of a month with {@link #DEFAULT_PARALLELISM} worker threads.
+     *
+     * @param period the month to bill
+     * @return the billing run
+     * @throws InvalidDataException if the period is null
+     * @see #runMonthlyBilling(YearMonth, int)
+     */
+    public BillingRun runMonthlyBilling(YearMonth period) throws InvalidDataException {
+        return runMonthlyBilling(period, DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * Runs the billing of a month, or resumes it if a previous run did not complete.
+     * This method is deliberately not transactional: every chunk commits on its own, and the run
+     * record is updated as chunks complete so its progress can be followed while it runs.
+     * A run that already completed is returned unchanged.
+     *
+     * @param period      the month to bill
+     * @param parallelism the number of chunks to invoice at the same time, from 1 to {@link #MAX_PARALLELISM}
+     * @return the billing run, COMPLETED if every chunk committed and FAILED otherwise
+     * @throws InvalidDataException if the period is null or the parallelism is out of range
+     */
+    public BillingRun runMonthlyBilling(YearMonth period, int parallelism) throws InvalidDataException {
+        if (period == null) {
+            throw new InvalidDataException("Billing period cannot be null");
+        }
+        if (parallelism < 1 || parallelism > MAX_PARALLELISM) {
+            throw new InvalidDataException("Billing parallelism must be between 1 and " + MAX_PARALLELISM);
+        }
+
+        LocalDate periodStart = period.atDay(1);
+        BillingRun run = billingRunRepository.findByBillingPeriod(periodStart).orElseGet(BillingRun::new);
+        if (run.getStatus() == BillingRunStatusValues.COMPLETED) {
+            logger.info("Billing run for {} already completed, nothing to do", period);
+            return run;
+        }
+        if (run.getId() == null) {
+            run.setBillingPeriod(periodStart);
+        }
+        run.setStatus(BillingRunStatusValues.RUNNING);
+        run.setStartedAt(LocalDateTime.now());
+        run.setFinishedAt(null);
+        run = billingRunRepository.save(run);
+
+        List<BillableMembership> pending = studentRepository.findBillableMemberships(
+                periodStart, period.atEndOfMonth(), StatusValues.ACTIVE);
+        logger.info("Billing run for {} started with {} pending members", period, pending.size());
+
+        int membersSkipped = 0;
+        int failedChunks = 0;
+        Integer runId = run.getId();
+        List<Future<Integer>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(parallelism,
+                Thread.ofPlatform().name("billing-run-", 0).factory())) {
+            for (int from = 0; from < pending.size(); from += CHUNK_SIZE) {
+                List<BillableMembership> chunk = pending.subList(from, Math.min(from + CHUNK_SIZE, pending.size()));
+                futures.add(executor.submit(() -> invoiceChunk(runId, chunk, periodStart)));
+            }
+
+            for (int i = 0; i < futures.size(); i++) {
+                int chunkSize = Math.min(CHUNK_SIZE, pending.size() - i * CHUNK_SIZE);
+                try {
+                    membersSkipped += chunkSize - futures.get(i).get();
+                } catch (ExecutionException e) {
+                    failedChunks++;
+                    logger.error("Billing run for {}: chunk {} of {} failed", period, i + 1, futures.size(), e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failedChunks = Math.max(failedChunks, 1);
+            logger.error("Billing run for {} interrupted", period);
+        }
+
+        run.setInvoicesCreated(Math.toIntExact(invoiceRepository.countByBillingPeriod(periodStart)));
+        run.setMembersSkipped(membersSkipped);
+        run.setFailedChunks(failedChunks);
+        run.setStatus(failedChunks == 0 ? BillingRunStatusValues.COMPLETED : BillingRunStatusValues.FAILED);
+        run.setFinishedAt(LocalDateTime.now());
+        run = billingRunRepository.save(run);
+        logger.info("Billing run for {} finished: {}", period, run);
+        return run;
+    }
+
+    /**
+     * Invoices one chunk of members in its own transaction and records the progress on the run.
+     *
+     * @param runId         the ID of the billing run
+     * @param chunk         the members to invoice
+     * @param billingPeriod the first day of the billed month
+     * @return the number of invoices created
+     */
+    private int invoiceChunk(Integer runId, List<BillableMembership> chunk, LocalDate billingPeriod) {
+        int created = invoiceService.createMembershipInvoices(chunk, billingPeriod);
+        billingRunRepository.addInvoicesCreated(runId, created);
+        return created;
+    }
+}
@@ -80,17 +80,6 @@ public class IVATypeService extends AbstractService<IVAType, Integer> {
         return entity != null && entity.getId() != null && ivaTypeRepository.existsById(entity.getId());
     }
 
-    /**
-     * Gets the ID of the IVAType entity.
-     *
-     * @param entity the IVAType entity
-     * @return the ID of the IVAType
-     */
-    @Override
-    protected Integer getEntityId(IVAType entity) {
-        return entity.getId();
-    }
-
     /**
      * Finds all IVAType entities.
      *
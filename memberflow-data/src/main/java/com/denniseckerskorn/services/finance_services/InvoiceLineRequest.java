@@ -0,0 +1,13 @@
+package com.denniseckerskorn.services.finance_services;
+
+import java.math.BigDecimal;
+
+/**
+ * A line to be added to a new invoice, referring to its product or service by ID.
+ *
+ * @param productServiceId the ID of the product or service
+ * @param quantity         the quantity, greater than 0
+ * @param unitPrice        the unit price before IVA, or null for the product's current price
+ */
+public record InvoiceLineRequest(Integer productServiceId, int quantity, BigDecimal unitPrice) {
+}
@@ -86,17 +86,6 @@ public class InvoiceLineService extends AbstractService<InvoiceLine, Integer> {
         return entity != null && entity.getId() != null && invoiceLineRepository.existsById(entity.getId());
     }
 
-    /**
-     * Retrieves the ID of an InvoiceLine entity.
-     *
-     * @param entity the entity from which to retrieve the ID
-     * @return the ID of the InvoiceLine entity
-     */
-    @Override
-    protected Integer getEntityId(InvoiceLine entity) {
-        return entity.getId();
-    }
-
     /**
      * Validates the InvoiceLine entity before saving or updating.
      *
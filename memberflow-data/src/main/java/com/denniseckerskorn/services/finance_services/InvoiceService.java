@@ -2,20 +2,40 @@ package com.denniseckerskorn.services.finance_services;
 
 import com.denniseckerskorn.entities.finance.Invoice;
 import com.denniseckerskorn.entities.finance.InvoiceLine;
+import com.denniseckerskorn.entities.finance.ProductService;
+import com.denniseckerskorn.enums.MembershipTypeValues;
+import com.denniseckerskorn.enums.StatusValues;
+import com.denniseckerskorn.exceptions.BadRequestException;
 import com.denniseckerskorn.exceptions.DuplicateEntityException;
 import com.denniseckerskorn.exceptions.EntityNotFoundException;
 import com.denniseckerskorn.exceptions.InvalidDataException;
+import com.denniseckerskorn.projections.BillableMembership;
+import com.denniseckerskorn.projections.InvoiceSummary;
+import com.denniseckerskorn.repositories.finance_repositories.InvoiceLineRepository;
 import com.denniseckerskorn.repositories.finance_repositories.InvoiceRepository;
+import com.denniseckerskorn.repositories.finance_repositories.ProductServiceRepository;
+import com.denniseckerskorn.repositories.user_managment_repositories.UserRepository;
 import com.denniseckerskorn.services.AbstractService;
-import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 /**
  * Service class for managing invoices.
@@ -25,16 +45,27 @@ import java.util.Objects;
 public class InvoiceService extends AbstractService<Invoice, Integer> {
 
     private static final Logger logger = LoggerFactory.getLogger(InvoiceService.class);
+    private static final int MAX_PAGE_SIZE = 200;
     private final InvoiceRepository invoiceRepository;
+    private final InvoiceLineRepository invoiceLineRepository;
+    private final ProductServiceRepository productServiceRepository;
+    private final UserRepository userRepository;
 
     /**
      * Constructor for InvoiceService.
      *
-     * @param invoiceRepository the repository for Invoice entities
+     * @param invoiceRepository        the repository for Invoice entities
+     * @param invoiceLineRepository    the repository for InvoiceLine entities
+     * @param productServiceRepository the repository for ProductService entities
+     * @param userRepository           the repository for User entities
      */
-    public InvoiceService(InvoiceRepository invoiceRepository) {
+    public InvoiceService(InvoiceRepository invoiceRepository, InvoiceLineRepository invoiceLineRepository,
+                          ProductServiceRepository productServiceRepository, UserRepository userRepository) {
         super(invoiceRepository);
         this.invoiceRepository = invoiceRepository;
+        this.invoiceLineRepository = invoiceLineRepository;
+        this.productServiceRepository = productServiceRepository;
+        this.userRepository = userRepository;
     }
 
     /**
@@ -113,6 +144,182 @@ public class InvoiceService extends AbstractService<Invoice, Integer> {
         return super.findAll();
     }
 
+    /**
+     * Finds invoices as read-only summaries, with the same page, size and after
+     * semantics as {@link #findAll(Integer, Integer, Object)}.
+     *
+     * @param page  zero-based page index, or null
+     * @param size  maximum number of invoices to return, or null
+     * @param after ID of the last invoice of the previous page, or null
+     * @return the invoice summaries, ordered by ID
+     * @throws BadRequestException if the paging arguments are invalid
+     */
+    @Transactional(readOnly = true)
+    public List<InvoiceSummary> findAllSummaries(Integer page, Integer size, Integer after) throws BadRequestException {
+        logger.info("Retrieving invoice summaries");
+        return findProjection(page, size, after, invoiceRepository::findSummaries, invoiceRepository::findSummariesAfter);
+    }
+
+    /**
+     * Creates an invoice together with its lines in one transaction.
+     * All products are resolved with a single query, the lines are built in memory and the total is
+     * computed once from them; the invoice and its lines are then persisted, the lines as JDBC batches.
+     * Without lines the invoice keeps the total it was given.
+     *
+     * @param invoice      the new invoice, linked to its user and without lines
+     * @param lineRequests the lines to add, may be null or empty
+     * @return the saved invoice, with its lines
+     * @throws IllegalArgumentException if the invoice is null
+     * @throws InvalidDataException     if a line or the resulting invoice is invalid
+     * @throws EntityNotFoundException  if a product or service does not exist
+     */
+    @Transactional
+    public Invoice createInvoiceWithLines(Invoice invoice, Collection<InvoiceLineRequest> lineRequests)
+            throws IllegalArgumentException, InvalidDataException, EntityNotFoundException {
+        logger.info("Creating invoice with {} lines", lineRequests == null ? 0 : lineRequests.size());
+        if (invoice == null) {
+            throw new IllegalArgumentException("Invoice cannot be null");
+        }
+        if (invoice.getId() != null) {
+            throw new InvalidDataException("Invoice to create cannot have an ID");
+        }
+        if (lineRequests == null || lineRequests.isEmpty()) {
+            return save(invoice);
+        }
+
+        List<InvoiceLine> lines = buildInvoiceLines(invoice, lineRequests, findProducts(lineRequests));
+        invoice.setTotal(computeTotal(lines));
+        validateInvoice(invoice);
+
+        Invoice saved = invoiceRepository.save(invoice);
+        saved.getInvoiceLines().addAll(invoiceLineRepository.saveAll(lines));
+        logger.info("Invoice created with ID: {} and total: {}", saved.getId(), saved.getTotal());
+        return saved;
+    }
+
+    /**
+     * Creates the membership invoices of a billing period for a group of members, in one transaction.
+     * Each member gets an unpaid invoice with a single line for the product or service linked to their
+     * membership type. The products are resolved with one query, users are referenced without being loaded
+     * and the invoices and lines are inserted as JDBC batches. Since an invoice is unique per user and
+     * billing period, the whole group is rolled back if any member was already invoiced by a concurrent run.
+     *
+     * @param members       the members to invoice
+     * @param billingPeriod the first day of the billed month
+     * @return the number of invoices created; members whose membership type has no product are skipped
+     * @throws InvalidDataException if the members or the billing period are missing
+     */
+    @Transactional
+    public int createMembershipInvoices(Collection<BillableMembership> members, LocalDate billingPeriod) throws InvalidDataException {
+        if (members == null || billingPeriod == null) {
+            throw new InvalidDataException("Members and billing period must not be null");
+        }
+        if (members.isEmpty()) {
+            return 0;
+        }
+
+        Map<MembershipTypeValues, ProductService> products = new EnumMap<>(MembershipTypeValues.class);
+        Set<MembershipTypeValues> types = members.stream().map(BillableMembership::membershipType).collect(Collectors.toSet());
+        for (ProductService product : productServiceRepository.findAllByMembershipTypeIn(types)) {
+            products.put(product.getMembershipType(), product);
+        }
+
+        LocalDateTime date = LocalDateTime.now();
+        List<Invoice> invoices = new ArrayList<>(members.size());
+        for (BillableMembership member : members) {
+            ProductService product = products.get(member.membershipType());
+            if (product == null) {
+                logger.warn("No product/service bills the {} membership, skipping student ID: {}", member.membershipType(), member.studentId());
+                continue;
+            }
+
+            Invoice invoice = new Invoice();
+            invoice.setUser(userRepository.getReferenceById(member.userId()));
+            invoice.setDate(date);
+            invoice.setStatus(StatusValues.NOT_PAID);
+            invoice.setBillingPeriod(billingPeriod);
+
+            InvoiceLine line = new InvoiceLine();
+            line.setInvoice(invoice);
+            line.setProductService(product);
+            line.setDescription(product.getName() + " " + billingPeriod.getMonthValue() + "/" + billingPeriod.getYear());
+            line.setQuantity(1);
+            line.setUnitPrice(product.getPrice());
+            line.setSubtotal(product.getPrice());
+            invoice.getInvoiceLines().add(line);
+            invoice.setTotal(computeTotal(invoice.getInvoiceLines()));
+            invoices.add(invoice);
+        }
+
+        invoiceRepository.saveAll(invoices);
+        return invoices.size();
+    }
+
+    /**
+     * Resolves the products referenced by a set of line requests with a single query.
+     *
+     * @param lineRequests the line requests
+     * @return the products, by ID
+     * @throws InvalidDataException    if a line has no product ID
+     * @throws EntityNotFoundException if a product or service does not exist
+     */
+    private Map<Integer, ProductService> findProducts(Collection<InvoiceLineRequest> lineRequests)
+            throws InvalidDataException, EntityNotFoundException {
+        Set<Integer> productIds = new TreeSet<>();
+        for (InvoiceLineRequest request : lineRequests) {
+            if (request == null || request.productServiceId() == null) {
+                throw new InvalidDataException("InvoiceLine must be linked to a product/service");
+            }
+            productIds.add(request.productServiceId());
+        }
+
+        Map<Integer, ProductService> products = new HashMap<>();
+        for (ProductService product : productServiceRepository.findAllById(productIds)) {
+            products.put(product.getId(), product);
+        }
+        if (products.size() != productIds.size()) {
+            productIds.removeAll(products.keySet());
+            throw new EntityNotFoundException("Product/Service not found with ID: " + productIds.stream()
+                    .map(String::valueOf)
+                    .collect(Collectors.joining(", ")));
+        }
+        return products;
+    }
+
+    /**
+     * Builds the lines of an invoice from line requests and their resolved products.
+     *
+     * @param invoice      the invoice the lines belong to
+     * @param lineRequests the line requests
+     * @param products     the products referenced by the requests, by ID
+     * @return the new, unsaved lines
+     * @throws InvalidDataException if a quantity or unit price is not greater than 0
+     */
+    private List<InvoiceLine> buildInvoiceLines(Invoice invoice, Collection<InvoiceLineRequest> lineRequests,
+                                                Map<Integer, ProductService> products) throws InvalidDataException {
+        List<InvoiceLine> lines = new ArrayList<>(lineRequests.size());
+        for (InvoiceLineRequest request : lineRequests) {
+            ProductService product = products.get(request.productServiceId());
+            BigDecimal unitPrice = request.unitPrice() != null ? request.unitPrice() : product.getPrice();
+            if (request.quantity() <= 0) {
+                throw new InvalidDataException("Quantity must be greater than 0");
+            }
+            if (unitPrice == null || unitPrice.compareTo(BigDecimal.ZERO) <= 0) {
+                throw new InvalidDataException("Unit price must be greater than 0");
+            }
+
+            InvoiceLine line = new InvoiceLine();
+            line.setInvoice(invoice);
+            line.setProductService(product);
+            line.setDescription(product.getName());
+            line.setQuantity(request.quantity());
+            line.setUnitPrice(unitPrice);
+            line.setSubtotal(unitPrice.multiply(BigDecimal.valueOf(request.quantity())));
+            lines.add(line);
+        }
+        return lines;
+    }
+
     /**
      * Checks if an invoice exists in the database.
      *
@@ -125,32 +332,93 @@ public class InvoiceService extends AbstractService<Invoice, Integer> {
     }
 
     /**
-     * Gets the ID of the invoice entity.
+     * Finds all invoices associated with a specific user ID, newest first.
      *
-     * @param entity the invoice entity
-     * @return the ID of the invoice
+     * @param userId the ID of the user
+     * @return a list of invoices associated with the user
+     * @throws InvalidDataException if the user ID is null
      */
-    @Override
-    protected Integer getEntityId(Invoice entity) {
-        return entity.getId();
+    @Transactional(readOnly = true)
+    public List<Invoice> findAllInvoicesByUserId(Integer userId) throws InvalidDataException {
+        return findInvoicesByUserId(userId, null, null, null, null);
     }
 
     /**
-     * Finds all invoices associated with a specific user ID.
+     * Finds a page of invoices associated with a specific user ID, newest first.
+     * Pagination is keyset based: the next page is requested with the date and ID of the
+     * last invoice of the previous page, so deep pages cost the same as the first one.
      *
-     * @param userId the ID of the user
+     * @param userId    the ID of the user
+     * @param status    optional status filter, or null for all statuses
+     * @param afterDate date of the last invoice already returned, or null for the first page
+     * @param afterId   ID of the last invoice already returned, or null for the first page
+     * @param size      maximum number of invoices to return, or null for no limit
      * @return a list of invoices associated with the user
      * @throws InvalidDataException if the user ID is null
+     * @throws BadRequestException  if only half of the cursor is given, or the size is out of range
      */
-    public List<Invoice> findAllInvoicesByUserId(Integer userId) throws InvalidDataException {
+    @Transactional(readOnly = true)
+    public List<Invoice> findInvoicesByUserId(Integer userId, StatusValues status, LocalDateTime afterDate, Integer afterId, Integer size) throws InvalidDataException {
+        logger.info("Finding invoices for user ID: {} (status: {}, after: {}/{}, size: {})", userId, status, afterDate, afterId, size);
         if (userId == null) {
             throw new InvalidDataException("User ID cannot be null");
         }
-        return invoiceRepository.findAll().stream()
-                .filter(invoice -> invoice.getUser() != null && invoice.getUser().getId().equals(userId))
-                .toList();
+        if ((afterDate == null) != (afterId == null)) {
+            throw new BadRequestException("Both afterDate and afterId must be provided to continue a page");
+        }
+        if (size != null && (size < 1 || size > MAX_PAGE_SIZE)) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        Limit limit = size == null ? Limit.unlimited() : Limit.of(size);
+        if (afterDate == null) {
+            return invoiceRepository.findPageByUserId(userId, status, limit);
+        }
+        return invoiceRepository.findPageByUserIdAfter(userId, status, afterDate, afterId, limit);
+    }
+
+    /**
+     * Streams the invoices of a date range, of a user or of both, oldest first, with their lines loaded.
+     * Invoices are read through a cursor and handed over in chunks as {@link #streamAll(Consumer)} does, and the
+     * lines of each chunk are loaded in one batch before its invoices reach the consumer. The invoices are fully
+     * loaded when handed over, so they can still be read after the consumer returns, also from other threads,
+     * but they may already be detached.
+     *
+     * @param userId   optional ID of the user the invoices belong to
+     * @param from     optional first day of the range
+     * @param to       optional last day of the range, included
+     * @param consumer the consumer receiving each invoice
+     * @return the number of invoices streamed
+     * @throws InvalidDataException if the filter is invalid, see {@link #validateInvoiceFilter}
+     */
+    @Transactional(readOnly = true)
+    public long streamInvoicesWithLines(Integer userId, LocalDate from, LocalDate to, Consumer<? super Invoice> consumer) throws InvalidDataException {
+        validateInvoiceFilter(userId, from, to);
+        logger.info("Streaming invoices for user ID: {} from {} to {}", userId, from, to);
+        return streamInChunks(() -> invoiceRepository.streamByUserIdAndDate(userId,
+                from == null ? null : from.atStartOfDay(),
+                to == null ? null : to.plusDays(1).atStartOfDay()), invoice -> {
+            invoice.getInvoiceLines().size();
+            consumer.accept(invoice);
+        });
     }
 
+    /**
+     * Checks the filter of {@link #streamInvoicesWithLines}: a user, a complete date range, or both.
+     *
+     * @param userId optional ID of the user the invoices belong to
+     * @param from   optional first day of the range
+     * @param to     optional last day of the range, included
+     * @throws InvalidDataException if neither a user nor a complete range is given, or the range is reversed
+     */
+    public void validateInvoiceFilter(Integer userId, LocalDate from, LocalDate to) throws InvalidDataException {
+        if (userId == null && (from == null || to == null)) {
+            throw new InvalidDataException("A user ID or a date range must be provided");
+        }
+        if (from != null && to != null && to.isBefore(from)) {
+            throw new InvalidDataException("The end of the date range cannot be before its start");
+        }
+    }
 
     /**
      * Validates the invoice entity.
@@ -215,9 +483,19 @@ public class InvoiceService extends AbstractService<Invoice, Integer> {
      * @param invoice the invoice to update
      */
     public void updateInvoiceTotal(Invoice invoice) {
+        invoice.setTotal(computeTotal(invoice.getInvoiceLines()));
+    }
+
+    /**
+     * Computes the total of a set of invoice lines, IVA included.
+     *
+     * @param lines the invoice lines
+     * @return the total amount
+     */
+    public static BigDecimal computeTotal(Collection<InvoiceLine> lines) {
         BigDecimal total = BigDecimal.ZERO;
 
-        for (InvoiceLine line : invoice.getInvoiceLines()) {
+        for (InvoiceLine line : lines) {
             if (line.getUnitPrice() != null && line.getQuantity() != null) {
                 BigDecimal quantity = BigDecimal.valueOf(line.getQuantity());
                 BigDecimal base = line.getUnitPrice().multiply(quantity);
@@ -233,7 +511,7 @@ public class InvoiceService extends AbstractService<Invoice, Integer> {
             }
         }
 
-        invoice.setTotal(total);
+        return total;
     }
 
     /**
@@ -3,15 +3,17 @@ package com.denniseckerskorn.services.finance_services;
 import com.denniseckerskorn.entities.finance.Invoice;
 import com.denniseckerskorn.entities.finance.Payment;
 import com.denniseckerskorn.enums.StatusValues;
+import com.denniseckerskorn.exceptions.BadRequestException;
 import com.denniseckerskorn.exceptions.DuplicateEntityException;
 import com.denniseckerskorn.exceptions.EntityNotFoundException;
 import com.denniseckerskorn.exceptions.InvalidDataException;
+import com.denniseckerskorn.projections.PaymentSummary;
 import com.denniseckerskorn.repositories.finance_repositories.PaymentRepository;
 import com.denniseckerskorn.services.AbstractService;
-import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -118,17 +120,6 @@ public class PaymentService extends AbstractService<Payment, Integer> {
         return entity != null && entity.getId() != null && paymentRepository.existsById(entity.getId());
     }
 
-    /**
-     * Obtains the ID of a Payment entity.
-     *
-     * @param entity the entity from which to retrieve the ID
-     * @return the ID of the Payment entity
-     */
-    @Override
-    protected Integer getEntityId(Payment entity) {
-        return entity.getId();
-    }
-
     /**
      * Obtains all Payment entities.
      *
@@ -189,10 +180,41 @@ public class PaymentService extends AbstractService<Payment, Integer> {
      * @param userId the ID of the user
      * @return a list of payments associated with the user
      */
+    @Transactional(readOnly = true)
     public List<Payment> findAllByUserId(Integer userId) {
         return paymentRepository.findByInvoice_User_Id(userId);
     }
 
+    /**
+     * Finds payments as read-only summaries, with the same page, size and after
+     * semantics as {@link #findAll(Integer, Integer, Object)}.
+     *
+     * @param page  zero-based page index, or null
+     * @param size  maximum number of payments to return, or null
+     * @param after ID of the last payment of the previous page, or null
+     * @return the payment summaries, ordered by ID
+     * @throws BadRequestException if the paging arguments are invalid
+     */
+    @Transactional(readOnly = true)
+    public List<PaymentSummary> findAllSummaries(Integer page, Integer size, Integer after) throws BadRequestException {
+        return findProjection(page, size, after, paymentRepository::findSummaries, paymentRepository::findSummariesAfter);
+    }
+
+    /**
+     * Finds the payments of a user as read-only summaries.
+     *
+     * @param userId the ID of the user
+     * @return the payment summaries of the user, ordered by ID
+     * @throws InvalidDataException if the user ID is null
+     */
+    @Transactional(readOnly = true)
+    public List<PaymentSummary> findAllSummariesByUserId(Integer userId) throws InvalidDataException {
+        if (userId == null) {
+            throw new InvalidDataException("User ID cannot be null");
+        }
+        return paymentRepository.findSummariesByUserId(userId);
+    }
+
     /**
      * Retrieves an Invoice by its ID.
      *
@@ -117,21 +117,11 @@ public class ProductServiceService extends AbstractService<ProductService, Integ
         return entity != null && entity.getId() != null && productServiceRepository.existsById(entity.getId());
     }
 
-    /**
-     * Gets the ID of a ProductService entity.
-     *
-     * @param entity the entity from which to retrieve the ID
-     * @return the ID of the ProductService entity
-     */
-    @Override
-    protected Integer getEntityId(ProductService entity) {
-        return entity.getId();
-    }
-
     /**
      * Validates the ProductService entity before saving or updating.
      *
      * @param product the ProductService to validate
+     * @throws DuplicateEntityException if another product/service is already linked to the same membership type
      */
     private void validateProduct(ProductService product) {
         if (product.getName() == null || product.getName().isBlank()) {
@@ -149,5 +139,10 @@ public class ProductServiceService extends AbstractService<ProductService, Integ
         if (product.getIvaType() == null || product.getIvaType().getId() == null) {
             throw new IllegalArgumentException("Product must have an IVA type assigned");
         }
+        if (product.getMembershipType() != null && (product.getId() == null
+                ? productServiceRepository.existsByMembershipType(product.getMembershipType())
+                : productServiceRepository.existsByMembershipTypeAndIdNot(product.getMembershipType(), product.getId()))) {
+            throw new DuplicateEntityException("Another product/service already bills the " + product.getMembershipType() + " membership");
+        }
     }
 }
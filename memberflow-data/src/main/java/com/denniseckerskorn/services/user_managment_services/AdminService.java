@@ -11,6 +11,7 @@ import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -18,6 +19,7 @@ import java.util.List;
 /**
  * Service class for managing Admin entities.
  * This class provides methods to perform CRUD operations on Admin entities.
+ * Updating or deleting an admin publishes an {@link AuthorizationChangedEvent} for its user.
  */
 @Service
 public class AdminService extends AbstractService<Admin, Integer> {
@@ -25,16 +27,20 @@ public class AdminService extends AbstractService<Admin, Integer> {
     private final static Logger logger = LoggerFactory.getLogger(AdminService.class);
     private final AdminRepository adminRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Constructor for AdminService.
      *
      * @param adminRepository the admin repository
+     * @param userRepository  the user repository
+     * @param eventPublisher  the publisher of authorization changes
      */
-    public AdminService(AdminRepository adminRepository, UserRepository userRepository) {
+    public AdminService(AdminRepository adminRepository, UserRepository userRepository, ApplicationEventPublisher eventPublisher) {
         super(adminRepository);
         this.adminRepository = adminRepository;
         this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -86,7 +92,9 @@ public class AdminService extends AbstractService<Admin, Integer> {
             throw new InvalidDataException("Admin cannot be null.");
         }
         logger.info("Admin updated successfully: {}", entity);
-        return super.update(entity);
+        Admin updated = super.update(entity);
+        eventPublisher.publishEvent(new AuthorizationChangedEvent(updated.getUser().getId()));
+        return updated;
     }
 
     /**
@@ -112,7 +120,9 @@ public class AdminService extends AbstractService<Admin, Integer> {
     @Override
     public void deleteById(Integer id) throws EntityNotFoundException {
         logger.info("Deleting admin by ID: {}", id);
+        Admin admin = findById(id);
         super.deleteById(id);
+        eventPublisher.publishEvent(new AuthorizationChangedEvent(admin.getUser().getId()));
     }
 
     /**
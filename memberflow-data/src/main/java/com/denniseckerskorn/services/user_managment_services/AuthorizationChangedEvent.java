@@ -0,0 +1,29 @@
+package com.denniseckerskorn.services.user_managment_services;
+
+/**
+ * Published when the authorities a user is granted may have changed, so that anything holding on to a
+ * resolved principal can drop it. The event is published inside the transaction making the change;
+ * listeners that rebuild principals from the database should wait for the commit.
+ *
+ * @param userId the ID of the affected user, or null if the change may affect every user
+ */
+public record AuthorizationChangedEvent(Integer userId) {
+
+    /**
+     * Creates an event for a change that may affect every user, such as a change to a role or a permission.
+     *
+     * @return the event
+     */
+    public static AuthorizationChangedEvent allUsers() {
+        return new AuthorizationChangedEvent(null);
+    }
+
+    /**
+     * Tells whether the change may affect every user.
+     *
+     * @return true if no single user is targeted
+     */
+    public boolean affectsAllUsers() {
+        return userId == null;
+    }
+}
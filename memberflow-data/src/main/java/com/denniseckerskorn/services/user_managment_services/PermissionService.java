@@ -8,9 +8,11 @@ import com.denniseckerskorn.exceptions.EntityNotFoundException;
 import com.denniseckerskorn.exceptions.InvalidDataException;
 import com.denniseckerskorn.repositories.user_managment_repositories.PermissionRepository;
 import com.denniseckerskorn.services.AbstractService;
+import com.denniseckerskorn.services.ReferenceDataCache;
 import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -23,15 +25,22 @@ import java.util.List;
 public class PermissionService extends AbstractService<Permission, Integer> {
     private final static Logger logger = LoggerFactory.getLogger(PermissionService.class);
     private final PermissionRepository permissionRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Constructor for PermissionService.
      *
      * @param permissionRepository the JPA repository
+     * @param referenceDataCache   the second-level cache of the reference data
+     * @param eventPublisher       the publisher of authorization changes
      */
-    public PermissionService(PermissionRepository permissionRepository) {
+    public PermissionService(PermissionRepository permissionRepository, ReferenceDataCache referenceDataCache,
+                             ApplicationEventPublisher eventPublisher) {
         super(permissionRepository);
         this.permissionRepository = permissionRepository;
+        this.referenceDataCache = referenceDataCache;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -79,7 +88,9 @@ public class PermissionService extends AbstractService<Permission, Integer> {
             throw new InvalidDataException("Permission cannot be null");
         }
         validatePermission(entity);
-        return super.update(entity);
+        Permission updated = super.update(entity);
+        eventPublisher.publishEvent(AuthorizationChangedEvent.allUsers());
+        return updated;
     }
 
     /**
@@ -112,6 +123,8 @@ public class PermissionService extends AbstractService<Permission, Integer> {
         }
         logger.info("Permission with ID {} deleted successfully", id);
         super.deleteById(id);
+        referenceDataCache.evictCollection(Role.class, "permissions");
+        eventPublisher.publishEvent(AuthorizationChangedEvent.allUsers());
     }
 
     /**
@@ -6,9 +6,11 @@ import com.denniseckerskorn.exceptions.EntityNotFoundException;
 import com.denniseckerskorn.exceptions.InvalidDataException;
 import com.denniseckerskorn.repositories.user_managment_repositories.RoleRepository;
 import com.denniseckerskorn.services.AbstractService;
+import com.denniseckerskorn.services.ReferenceDataCache;
 import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -16,21 +18,31 @@ import java.util.List;
 /**
  * Service class for managing Role entities.
  * This class provides methods to perform CRUD operations on Role entities.
+ * Since the permissions of a role are mapped by the role, every change to them evicts the cached
+ * roles of the permissions involved, and every change that can alter the authorities of a user publishes an
+ * {@link AuthorizationChangedEvent}.
  */
 @Service
 public class RoleService extends AbstractService<Role, Integer> {
 
     private static final Logger logger = LoggerFactory.getLogger(RoleService.class);
     private final RoleRepository roleRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Constructor for RoleService.
      *
-     * @param roleRepository the role repository
+     * @param roleRepository     the role repository
+     * @param referenceDataCache the second-level cache of the reference data
+     * @param eventPublisher     the publisher of authorization changes
      */
-    public RoleService(RoleRepository roleRepository) {
+    public RoleService(RoleRepository roleRepository, ReferenceDataCache referenceDataCache,
+                       ApplicationEventPublisher eventPublisher) {
         super(roleRepository);
         this.roleRepository = roleRepository;
+        this.referenceDataCache = referenceDataCache;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -44,7 +56,9 @@ public class RoleService extends AbstractService<Role, Integer> {
     public Role save(Role role) throws InvalidDataException {
         logger.info("Saving role: {}", role);
         validateRole(role);
-        return super.save(role);
+        Role saved = super.save(role);
+        referenceDataCache.evictCollection(Permission.class, "roles");
+        return saved;
     }
 
 
@@ -87,6 +101,8 @@ public class RoleService extends AbstractService<Role, Integer> {
         }
         logger.info("Role with ID {} deleted successfully", id);
         super.deleteById(id);
+        referenceDataCache.evictCollection(Permission.class, "roles");
+        eventPublisher.publishEvent(AuthorizationChangedEvent.allUsers());
     }
 
     /**
@@ -147,6 +163,8 @@ public class RoleService extends AbstractService<Role, Integer> {
 
         managedRole.addPermission(permission);
         roleRepository.save(managedRole);
+        referenceDataCache.evictCollection(Permission.class, "roles", permission.getId());
+        eventPublisher.publishEvent(AuthorizationChangedEvent.allUsers());
         logger.info("Permission successfully added to role");
     }
 
@@ -173,6 +191,8 @@ public class RoleService extends AbstractService<Role, Integer> {
 
         managedRole.removePermission(permission);
         roleRepository.save(managedRole);
+        referenceDataCache.evictCollection(Permission.class, "roles", permission.getId());
+        eventPublisher.publishEvent(AuthorizationChangedEvent.allUsers());
         logger.info("Permission successfully removed from role");
     }
 
@@ -186,6 +206,9 @@ public class RoleService extends AbstractService<Role, Integer> {
     @Transactional
     @Override
     public Role update(Role entity) throws EntityNotFoundException {
-        return super.update(entity);
+        Role updated = super.update(entity);
+        referenceDataCache.evictCollection(Permission.class, "roles");
+        eventPublisher.publishEvent(AuthorizationChangedEvent.allUsers());
+        return updated;
     }
 }
\ No newline at end of file
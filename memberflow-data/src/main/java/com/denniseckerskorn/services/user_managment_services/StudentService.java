@@ -5,23 +5,28 @@ import com.denniseckerskorn.entities.class_managment.Membership;
 import com.denniseckerskorn.entities.class_managment.TrainingGroup;
 import com.denniseckerskorn.entities.user_managment.StudentHistory;
 import com.denniseckerskorn.entities.user_managment.users.Student;
+import com.denniseckerskorn.exceptions.BadRequestException;
 import com.denniseckerskorn.exceptions.DuplicateEntityException;
 import com.denniseckerskorn.exceptions.EntityNotFoundException;
 import com.denniseckerskorn.exceptions.InvalidDataException;
+import com.denniseckerskorn.projections.StudentSummary;
 import com.denniseckerskorn.repositories.class_managment_repositories.AssistanceRepository;
 import com.denniseckerskorn.repositories.user_managment_repositories.StudentRepository;
 import com.denniseckerskorn.repositories.user_managment_repositories.UserRepository;
 import com.denniseckerskorn.services.AbstractService;
-import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 /**
  * Service class for managing Student entities.
  * This class provides methods to perform CRUD operations on Student entities.
+ * Updating or deleting a student publishes an {@link AuthorizationChangedEvent} for its user, since the update
+ * also carries the user's status, email and role.
  */
 @Service
 public class StudentService extends AbstractService<Student, Integer> {
@@ -30,6 +35,7 @@ public class StudentService extends AbstractService<Student, Integer> {
     private final StudentRepository studentRepository;
     private final UserRepository userRepository;
     private final AssistanceRepository assistanceRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Constructor for StudentService.
@@ -37,12 +43,15 @@ public class StudentService extends AbstractService<Student, Integer> {
      * @param studentRepository    the student repository
      * @param userRepository       the user repository
      * @param assistanceRepository the assistance repository
+     * @param eventPublisher       the publisher of authorization changes
      */
-    public StudentService(StudentRepository studentRepository, UserRepository userRepository, AssistanceRepository assistanceRepository) {
+    public StudentService(StudentRepository studentRepository, UserRepository userRepository, AssistanceRepository assistanceRepository,
+                          ApplicationEventPublisher eventPublisher) {
         super(studentRepository);
         this.studentRepository = studentRepository;
         this.userRepository = userRepository;
         this.assistanceRepository = assistanceRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -66,7 +75,9 @@ public class StudentService extends AbstractService<Student, Integer> {
             throw new InvalidDataException("Student or DNI cannot be null");
         }
         logger.info("Student updated: {}", entity);
-        return super.update(entity);
+        Student updated = super.update(entity);
+        eventPublisher.publishEvent(new AuthorizationChangedEvent(updated.getUser().getId()));
+        return updated;
     }
 
     /**
@@ -81,6 +92,22 @@ public class StudentService extends AbstractService<Student, Integer> {
 
     }
 
+    /**
+     * Finds the student roster as read-only summaries, with the same page, size and after
+     * semantics as {@link #findAll(Integer, Integer, Object)}.
+     *
+     * @param page  zero-based page index, or null
+     * @param size  maximum number of students to return, or null
+     * @param after ID of the last student of the previous page, or null
+     * @return the student summaries, ordered by ID
+     * @throws BadRequestException if the paging arguments are invalid
+     */
+    @Transactional(readOnly = true)
+    public List<StudentSummary> findAllSummaries(Integer page, Integer size, Integer after) throws BadRequestException {
+        logger.info("Fetching student summaries");
+        return findProjection(page, size, after, studentRepository::findSummaries, studentRepository::findSummariesAfter);
+    }
+
     /**
      * Checks if a student exists in the database.
      *
@@ -126,6 +153,7 @@ public class StudentService extends AbstractService<Student, Integer> {
         deleteStudentMembership(id);
 
         super.deleteById(id);
+        eventPublisher.publishEvent(new AuthorizationChangedEvent(student.getUser().getId()));
         logger.info("Student with ID {} deleted successfully", id);
     }
 
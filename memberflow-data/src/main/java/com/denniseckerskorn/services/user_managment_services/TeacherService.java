@@ -13,6 +13,7 @@ import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
@@ -21,6 +22,7 @@ import java.util.List;
 /**
  * Service class for managing Teacher entities.
  * This class provides methods to perform CRUD operations on Teacher entities.
+ * Updating or deleting a teacher publishes an {@link AuthorizationChangedEvent} for its user.
  */
 @Service
 public class TeacherService extends AbstractService<Teacher, Integer> {
@@ -28,17 +30,20 @@ public class TeacherService extends AbstractService<Teacher, Integer> {
     private final static Logger logger = LoggerFactory.getLogger(TeacherService.class);
     private final TeacherRepository teacherRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Constructor for TeacherService.
      *
      * @param teacherRepository the teacher repository
      * @param userRepository    the user repository
+     * @param eventPublisher    the publisher of authorization changes
      */
-    public TeacherService(TeacherRepository teacherRepository, UserRepository userRepository) {
+    public TeacherService(TeacherRepository teacherRepository, UserRepository userRepository, ApplicationEventPublisher eventPublisher) {
         super(teacherRepository);
         this.teacherRepository = teacherRepository;
         this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -77,7 +82,9 @@ public class TeacherService extends AbstractService<Teacher, Integer> {
             throw new InvalidDataException("Teacher or user email cannot be null.");
         }
         logger.info("Teacher updated: {}", entity);
-        return super.update(entity);
+        Teacher updated = super.update(entity);
+        eventPublisher.publishEvent(new AuthorizationChangedEvent(updated.getUser().getId()));
+        return updated;
     }
 
     /**
@@ -132,6 +139,7 @@ public class TeacherService extends AbstractService<Teacher, Integer> {
             throw new InvalidDataException("Cannot delete teacher with ID " + id + " because they are associated with training groups");
         }
         super.deleteById(id);
+        eventPublisher.publishEvent(new AuthorizationChangedEvent(teacher.getUser().getId()));
     }
 
     /**
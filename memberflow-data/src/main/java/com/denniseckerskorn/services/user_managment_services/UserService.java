@@ -9,6 +9,7 @@ import com.denniseckerskorn.exceptions.InvalidDataException;
 import com.denniseckerskorn.repositories.user_managment_repositories.UserRepository;
 import com.denniseckerskorn.services.AbstractService;
 import jakarta.transaction.Transactional;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Service;
 
@@ -20,6 +21,7 @@ import java.util.List;
 /**
  * Service class for managing User entities.
  * This class provides methods to perform CRUD operations on User entities.
+ * Updating, deleting or assigning a role to a user publishes an {@link AuthorizationChangedEvent} for that user.
  */
 @Service
 @Primary
@@ -27,17 +29,18 @@ public class UserService extends AbstractService<User, Integer> {
 
     private static final Logger logger = LoggerFactory.getLogger(UserService.class);
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Constructor for UserService.
      *
      * @param userRepository the user repository
+     * @param eventPublisher the publisher of authorization changes
      */
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository, ApplicationEventPublisher eventPublisher) {
         super(userRepository);
         this.userRepository = userRepository;
-
-
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -79,7 +82,9 @@ public class UserService extends AbstractService<User, Integer> {
     public User update(User entity) throws EntityNotFoundException, InvalidDataException {
         logger.info("Updating user: {}", entity);
         validateUser(entity);
-        return super.update(entity);
+        User updated = super.update(entity);
+        eventPublisher.publishEvent(new AuthorizationChangedEvent(updated.getId()));
+        return updated;
     }
 
     /**
@@ -97,6 +102,7 @@ public class UserService extends AbstractService<User, Integer> {
 
         logger.info("Deleting user with ID: {}", userId);
         super.deleteById(userId);
+        eventPublisher.publishEvent(new AuthorizationChangedEvent(userId));
     }
 
     /**
@@ -143,6 +149,7 @@ public class UserService extends AbstractService<User, Integer> {
         logger.info("Assigning role {} to user with ID: {}", role, userId);
         user.setRole(role);
         userRepository.save(user);
+        eventPublisher.publishEvent(new AuthorizationChangedEvent(userId));
     }
 
     /**
@@ -0,0 +1,146 @@
+package com.denniseckerskorn.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks the routing of {@link ReadWriteRoutingDataSource} against two in-memory databases, each holding
+ * a row naming the database, and with the replication lag controlled by the test.
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private static final Duration MAX_LAG = Duration.ofSeconds(5);
+
+    private TestRoutingDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate writeTransaction;
+    private TransactionTemplate readOnlyTransaction;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new TestRoutingDataSource(pool("primary"), pool("replica"));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        writeTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        dataSource.checkReplica();
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    void readOnlyTransaction_ReplicaInSync_ReadsFromReplica() {
+        assertTrue(dataSource.isReplicaUsable());
+        assertEquals("replica", readOnlyTransaction.execute(status -> database()));
+    }
+
+    @Test
+    void writeTransactionAndAutoCommit_AlwaysUsePrimary() {
+        assertEquals("primary", writeTransaction.execute(status -> database()));
+        assertEquals("primary", database());
+    }
+
+    @Test
+    void readOnlyTransaction_ReplicaLagging_FallsBackToPrimary() {
+        dataSource.lag = MAX_LAG.plusSeconds(1);
+        dataSource.checkReplica();
+
+        assertFalse(dataSource.isReplicaUsable());
+        assertEquals("primary", readOnlyTransaction.execute(status -> database()));
+
+        dataSource.lag = Duration.ofSeconds(1);
+        dataSource.checkReplica();
+        assertEquals("replica", readOnlyTransaction.execute(status -> database()));
+    }
+
+    @Test
+    void readOnlyTransaction_ReplicationStopped_FallsBackToPrimary() {
+        dataSource.lag = null;
+        dataSource.checkReplica();
+
+        assertEquals("primary", readOnlyTransaction.execute(status -> database()));
+    }
+
+    @Test
+    void replicationLag_NoReplicaStatus_IsUnknown() throws SQLException {
+        try (ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(pool("primary"), pool("replica"),
+                MAX_LAG, Duration.ofSeconds(1), false)) {
+            assertNull(routing.replicationLag(notReplicating()));
+        }
+    }
+
+    @Test
+    void replicationLag_NoReplicaStatusAllowed_IsZero() throws SQLException {
+        try (ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(pool("primary"), pool("replica"),
+                MAX_LAG, Duration.ofSeconds(1), true)) {
+            assertEquals(Duration.ZERO, routing.replicationLag(notReplicating()));
+        }
+    }
+
+    private String database() {
+        return jdbcTemplate.queryForObject("SELECT NAME FROM ROUTING_MARKER", String.class);
+    }
+
+    /**
+     * A connection to a server whose {@code SHOW REPLICA STATUS} returns no row, as a server that is not
+     * replicating does.
+     */
+    private static Connection notReplicating() throws SQLException {
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        ResultSet status = mock(ResultSet.class);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery("SHOW REPLICA STATUS")).thenReturn(status);
+        when(status.next()).thenReturn(false);
+        return connection;
+    }
+
+    private static HikariDataSource pool(String name) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:routing_" + name + ";DB_CLOSE_DELAY=-1");
+        pool.setUsername("sa");
+        pool.setMaximumPoolSize(2);
+        JdbcTemplate jdbc = new JdbcTemplate(pool);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS ROUTING_MARKER (NAME VARCHAR(20))");
+        jdbc.execute("DELETE FROM ROUTING_MARKER");
+        jdbc.update("INSERT INTO ROUTING_MARKER VALUES (?)", name);
+        return pool;
+    }
+
+    /**
+     * Reports a lag set by the test instead of querying the replication status, which H2 does not have.
+     * Lag checks are never started, so they only run when the test asks for them.
+     */
+    private static class TestRoutingDataSource extends ReadWriteRoutingDataSource {
+
+        private volatile Duration lag = Duration.ZERO;
+
+        TestRoutingDataSource(HikariDataSource primary, HikariDataSource replica) {
+            super(primary, replica, MAX_LAG, Duration.ofSeconds(1), false);
+        }
+
+        @Override
+        protected Duration replicationLag(Connection connection) {
+            return lag;
+        }
+    }
+}
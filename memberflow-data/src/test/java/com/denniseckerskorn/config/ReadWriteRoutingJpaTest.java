@@ -0,0 +1,218 @@
+package com.denniseckerskorn.config;
+
+import com.denniseckerskorn.entities.finance.IVAType;
+import com.denniseckerskorn.entities.user_managment.Permission;
+import com.denniseckerskorn.entities.user_managment.Role;
+import com.denniseckerskorn.enums.PermissionValues;
+import com.denniseckerskorn.services.finance_services.IVATypeService;
+import com.denniseckerskorn.services.finance_services.InvoiceService;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.core.env.Environment;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.net.URISyntaxException;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that {@code @Transactional(readOnly = true)} service methods run through {@link JpaTransactionManager}
+ * and the production entity manager factory of {@link HibernateConfig} are served by the replica pool.
+ * Both pools point at the same in-memory database, so the schema exists for both, and count the connections
+ * handed out by each.
+ * The second-level cache is on, in a cache manager of its own, since the JCache regions of the shared one are
+ * seen by every context of the JVM.
+ */
+@SpringJUnitConfig(ReadWriteRoutingJpaTest.Config.class)
+@TestPropertySource(properties =
+        "spring.datasource.url=jdbc:h2:mem:routing_jpa;MODE=MySQL;DB_CLOSE_DELAY=-1;NON_KEYWORDS=DATE,TYPE,VALUE,USER")
+class ReadWriteRoutingJpaTest {
+
+    private static final Duration MAX_LAG = Duration.ofSeconds(5);
+    private static final AtomicInteger primaryConnections = new AtomicInteger();
+    private static final AtomicInteger replicaConnections = new AtomicInteger();
+    private static volatile Duration lag = Duration.ZERO;
+
+    @Configuration
+    @EnableTransactionManagement
+    @EnableJpaRepositories(basePackages = "com.denniseckerskorn.repositories")
+    @PropertySource("classpath:datalayer-test.properties")
+    @Import({InvoiceService.class, IVATypeService.class})
+    static class Config {
+
+        private final HibernateConfig hibernateConfig;
+
+        Config(Environment env) {
+            this.hibernateConfig = new HibernateConfig(env);
+        }
+
+        @Bean(destroyMethod = "close")
+        public ReadWriteRoutingDataSource dataSource(Environment env) {
+            String url = env.getProperty("spring.datasource.url");
+            return new ReadWriteRoutingDataSource(pool("primary", url, primaryConnections),
+                    pool("replica", url, replicaConnections), MAX_LAG, Duration.ofSeconds(1), false) {
+                @Override
+                protected Duration replicationLag(Connection connection) {
+                    return lag;
+                }
+            };
+        }
+
+        @Bean(destroyMethod = "close")
+        public CacheManager secondLevelCacheManager() throws URISyntaxException {
+            // Another URI of the same file gives a cache manager of its own, with the same regions
+            ClassLoader classLoader = HibernateConfig.class.getClassLoader();
+            return Caching.getCachingProvider(CaffeineCachingProvider.class.getName(), classLoader)
+                    .getCacheManager(classLoader.getResource(HibernateConfig.CACHE_CONFIG).toURI(), classLoader);
+        }
+
+        @Bean
+        public LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource, CacheManager cacheManager) {
+            return hibernateConfig.entityManagerFactory(dataSource, cacheManager);
+        }
+
+        @Bean
+        public PlatformTransactionManager transactionManager(LocalContainerEntityManagerFactoryBean emf) {
+            return hibernateConfig.transactionManager(emf);
+        }
+    }
+
+    @Autowired
+    private ReadWriteRoutingDataSource dataSource;
+
+    @Autowired
+    private InvoiceService invoiceService;
+
+    @Autowired
+    private IVATypeService ivaTypeService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        entityManagerFactory.getCache().evictAll();
+        lag = Duration.ZERO;
+        dataSource.checkReplica();
+        primaryConnections.set(0);
+        replicaConnections.set(0);
+    }
+
+    @Test
+    void readOnlyServiceMethod_ReplicaInSync_IsServedByReplica() {
+        invoiceService.findAllSummaries(null, null, null);
+
+        assertEquals(1, replicaConnections.get());
+        assertEquals(0, primaryConnections.get());
+    }
+
+    @Test
+    void writingServiceMethod_IsServedByPrimary() {
+        IVAType ivaType = new IVAType();
+        ivaType.setPercentage(new BigDecimal("10.00"));
+        ivaType.setDescription("Routing " + System.nanoTime());
+
+        ivaTypeService.save(ivaType);
+
+        assertEquals(0, replicaConnections.get());
+        assertTrue(primaryConnections.get() > 0);
+    }
+
+    @Test
+    void readOnlyServiceMethod_ReplicaLagging_IsServedByPrimary() {
+        lag = MAX_LAG.plusSeconds(1);
+        dataSource.checkReplica();
+        replicaConnections.set(0);
+
+        invoiceService.findAllSummaries(null, null, null);
+
+        assertEquals(0, replicaConnections.get());
+        assertEquals(1, primaryConnections.get());
+    }
+
+    @Test
+    void replicaRead_AfterChangeOnPrimary_DoesNotCacheWhatItRead() {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        String permissionsRole = Role.class.getName() + ".permissions";
+        Integer roleId = new TransactionTemplate(transactionManager).execute(status -> {
+            Permission permission = new Permission();
+            permission.setPermissionName(PermissionValues.VIEW_OWN_DATA);
+            entityManager.persist(permission);
+            Role role = new Role("Routing " + System.nanoTime());
+            role.addPermission(permission);
+            entityManager.persist(role);
+            return role.getId();
+        });
+        // The eviction ReferenceDataCache makes once a change of the role has committed
+        cache.evictEntityData(Role.class, roleId);
+        cache.evictCollectionData(permissionsRole, roleId);
+        replicaConnections.set(0);
+
+        readRole(roleId);
+
+        assertEquals(1, replicaConnections.get());
+        assertFalse(cache.containsEntity(Role.class, roleId));
+        assertFalse(cache.containsCollection(permissionsRole, roleId));
+
+        lag = MAX_LAG.plusSeconds(1);
+        dataSource.checkReplica();
+        readRole(roleId);
+
+        assertTrue(cache.containsEntity(Role.class, roleId));
+        assertTrue(cache.containsCollection(permissionsRole, roleId));
+    }
+
+    private void readRole(Integer roleId) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status -> entityManager.find(Role.class, roleId).getPermissions().size());
+    }
+
+    private static HikariDataSource pool(String name, String url, AtomicInteger connections) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName("routing-jpa-" + name);
+        pool.setJdbcUrl(url);
+        pool.setUsername("sa");
+        pool.setMaximumPoolSize(2);
+        pool.setMetricsTrackerFactory((poolName, poolStats) -> new IMetricsTracker() {
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                connections.incrementAndGet();
+            }
+        });
+        return pool;
+    }
+}
@@ -0,0 +1,146 @@
+package com.denniseckerskorn.seeder;
+
+import com.denniseckerskorn.entities.finance.Invoice;
+import com.denniseckerskorn.enums.StatusValues;
+import com.denniseckerskorn.services.DataLayerTestConfig;
+import com.denniseckerskorn.services.QueryCountingDataSource;
+import com.denniseckerskorn.services.finance_services.InvoiceService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the synthetic school has the requested size and shape, and that generating it again only
+ * counts the students. The school is committed into its own database, with the second-level cache off,
+ * since the JCache regions are shared by every context of the JVM.
+ */
+@SpringJUnitConfig(SyntheticDataGeneratorTest.Config.class)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:synthetic_data;MODE=MySQL;DB_CLOSE_DELAY=-1;NON_KEYWORDS=DATE,TYPE,VALUE,USER",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SyntheticDataGeneratorTest {
+
+    private static final int STUDENTS = 60;
+    private static final int ASSISTANCES_PER_STUDENT = 10;
+    private static final int INVOICES_PER_STUDENT = 3;
+    private static final String SYNTHETIC_STUDENTS = "FROM Student s WHERE s.user.email LIKE 'student%" + SyntheticDataGenerator.EMAIL_DOMAIN + "'";
+
+    @Configuration
+    @Import({DataLayerTestConfig.class, SyntheticDataGenerator.class})
+    static class Config {
+
+        @Bean
+        public PasswordEncoder passwordEncoder() {
+            return new BCryptPasswordEncoder(4);
+        }
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private SyntheticDataGenerator generator;
+
+    @BeforeAll
+    void generateSchool() {
+        int created = generator.generate(SyntheticDataOptions.of(STUDENTS,
+                (long) STUDENTS * ASSISTANCES_PER_STUDENT, (long) STUDENTS * INVOICES_PER_STUDENT));
+
+        assertEquals(STUDENTS, created);
+    }
+
+    @Test
+    void generate_WhenStudentsExist_OnlyCountsThem() {
+        QueryCountingDataSource queryCounter = (QueryCountingDataSource) dataSource;
+        int students = generator.countStudents();
+
+        queryCounter.reset();
+        int created = generator.generate(SyntheticDataOptions.of(students, 0, 0));
+
+        assertEquals(0, created);
+        assertEquals(1, queryCounter.statementCount(), () -> String.join("\n", queryCounter.statements()));
+    }
+
+    @Test
+    void generate_WithMoreStudents_CreatesOnlyTheMissingOnes() {
+        int students = generator.countStudents();
+
+        int created = generator.generate(SyntheticDataOptions.of(students + 30, 0, 0));
+
+        assertEquals(30, created);
+        assertEquals(students + 30, generator.countStudents());
+    }
+
+    @Test
+    @Transactional
+    void generate_SpreadsStudentsOverGroupsOfTheirTeachers() {
+        long students = count("SELECT COUNT(s) " + SYNTHETIC_STUDENTS);
+        long groups = count("SELECT COUNT(g) FROM TrainingGroup g WHERE g.teacher.user.email LIKE 'teacher%"
+                + SyntheticDataGenerator.EMAIL_DOMAIN + "'");
+        long largestGroup = entityManager.createQuery("SELECT COUNT(s) FROM TrainingGroup g JOIN g.students s GROUP BY g ORDER BY COUNT(s) DESC", Long.class)
+                .setMaxResults(1)
+                .getSingleResult();
+
+        assertEquals((students + SyntheticDataGenerator.STUDENTS_PER_GROUP - 1) / SyntheticDataGenerator.STUDENTS_PER_GROUP, groups);
+        assertEquals(SyntheticDataGenerator.STUDENTS_PER_GROUP, largestGroup);
+        assertEquals(0, count("SELECT COUNT(s) " + SYNTHETIC_STUDENTS + " AND s.membership IS NULL"));
+    }
+
+    @Test
+    @Transactional
+    void generate_CreatesAboutTheRequestedAssistancesAndInvoices() {
+        double assistances = count("SELECT COUNT(a) FROM Assistance a WHERE a.student.user.email LIKE 'student%"
+                + SyntheticDataGenerator.EMAIL_DOMAIN + "'");
+        double invoices = count("SELECT COUNT(i) FROM Invoice i WHERE i.user.email LIKE 'student%"
+                + SyntheticDataGenerator.EMAIL_DOMAIN + "'");
+
+        assertEquals(STUDENTS * ASSISTANCES_PER_STUDENT, assistances, STUDENTS * ASSISTANCES_PER_STUDENT * 0.2);
+        assertEquals(STUDENTS * INVOICES_PER_STUDENT, invoices, STUDENTS * INVOICES_PER_STUDENT * 0.2);
+    }
+
+    @Test
+    @Transactional
+    void generate_InvoicesHaveTheirTotalAndPayment() {
+        List<Invoice> invoices = entityManager.createQuery("SELECT i FROM Invoice i", Invoice.class).getResultList();
+
+        assertFalse(invoices.isEmpty());
+        for (Invoice invoice : invoices) {
+            assertFalse(invoice.getInvoiceLines().isEmpty());
+            assertEquals(0, InvoiceService.computeTotal(invoice.getInvoiceLines()).compareTo(invoice.getTotal()));
+            assertEquals(invoice.getStatus() == StatusValues.PAID, invoice.getPayment() != null);
+        }
+    }
+
+    @Test
+    @Transactional
+    void generate_CreatesTheDemoAccounts() {
+        assertEquals(3, count("SELECT COUNT(u) FROM User u WHERE u.email LIKE '%@example.com'"));
+        assertEquals(1, count("SELECT COUNT(s) FROM Student s WHERE s.user.email = 'student@example.com'"));
+    }
+
+    private long count(String query) {
+        return entityManager.createQuery(query, Long.class).getSingleResult();
+    }
+}
@@ -0,0 +1,257 @@
+package com.denniseckerskorn.services;
+
+import com.denniseckerskorn.config.HibernateConfig;
+import com.denniseckerskorn.entities.class_managment.Assistance;
+import com.denniseckerskorn.entities.class_managment.TrainingGroup;
+import com.denniseckerskorn.entities.class_managment.TrainingSession;
+import com.denniseckerskorn.entities.finance.IVAType;
+import com.denniseckerskorn.entities.finance.Invoice;
+import com.denniseckerskorn.entities.finance.InvoiceLine;
+import com.denniseckerskorn.entities.finance.ProductService;
+import com.denniseckerskorn.entities.user_managment.Role;
+import com.denniseckerskorn.entities.user_managment.users.Student;
+import com.denniseckerskorn.entities.user_managment.users.Teacher;
+import com.denniseckerskorn.entities.user_managment.users.User;
+import com.denniseckerskorn.enums.StatusValues;
+import com.denniseckerskorn.services.class_managment_services.AssistanceService;
+import com.denniseckerskorn.services.finance_services.InvoiceLineRequest;
+import com.denniseckerskorn.services.finance_services.InvoiceService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that bulk writes are sent as JDBC batches. Hibernate executes one batch, a single round trip,
+ * per {@link HibernateConfig#DEFAULT_JDBC_BATCH_SIZE} rows of a table, while unbatched writes execute one
+ * statement per row.
+ */
+@SpringJUnitConfig(DataLayerTestConfig.class)
+@Transactional
+class BatchWriteTest {
+
+    private static final int INVOICES = 60;
+    private static final int LINES_PER_INVOICE = 2;
+    private static final int ROSTER = 30;
+    private static final int ALREADY_PRESENT = 10;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private QueryCountingDataSource queryCounter;
+
+    @Autowired
+    private AssistanceService assistanceService;
+
+    @Autowired
+    private InvoiceService invoiceService;
+
+    private Role role;
+    private User user;
+    private ProductService product;
+
+    @BeforeEach
+    void setUp() {
+        role = new Role("STUDENT");
+        entityManager.persist(role);
+
+        user = newUser("batch");
+
+        IVAType ivaType = new IVAType();
+        ivaType.setPercentage(new BigDecimal("21.00"));
+        entityManager.persist(ivaType);
+
+        product = new ProductService();
+        product.setIvaType(ivaType);
+        product.setName("Monthly fee");
+        product.setPrice(new BigDecimal("50.00"));
+        product.setType("SERVICE");
+        product.setStatus(StatusValues.ACTIVE);
+        entityManager.persist(product);
+
+        entityManager.flush();
+    }
+
+    @Test
+    void persist_InterleavedInvoicesAndLines_AreGroupedIntoBatches() {
+        queryCounter.reset();
+        List<InvoiceLine> lines = persistInvoicesWithLines();
+        entityManager.flush();
+
+        assertEquals(INVOICES * LINES_PER_INVOICE, lines.size());
+        assertEquals(batches(INVOICES), countStatements("insert into INVOICES "));
+        assertEquals(batches(INVOICES * LINES_PER_INVOICE), countStatements("insert into INVOICE_LINES "));
+    }
+
+    @Test
+    void flush_ManyModifiedLines_UpdatesInBatches() {
+        List<InvoiceLine> lines = persistInvoicesWithLines();
+        entityManager.flush();
+
+        queryCounter.reset();
+        lines.forEach(line -> line.setQuantity(2));
+        entityManager.flush();
+
+        assertEquals(batches(INVOICES * LINES_PER_INVOICE), countStatements("update INVOICE_LINES "));
+    }
+
+    @Test
+    void recordRollCall_WholeGroup_UsesOneStatementPerStep() {
+        Teacher teacher = new Teacher();
+        teacher.setUser(newUser("teacher"));
+        entityManager.persist(teacher);
+
+        TrainingGroup group = new TrainingGroup();
+        group.setTeacher(teacher);
+        group.setName("Roll call");
+        group.setSchedule(LocalDateTime.now());
+        entityManager.persist(group);
+
+        TrainingSession session = new TrainingSession();
+        session.setTrainingGroup(group);
+        session.setDate(LocalDateTime.now());
+        session.setStatus(StatusValues.ACTIVE);
+        entityManager.persist(session);
+
+        Set<Integer> studentIds = new LinkedHashSet<>();
+        for (int i = 0; i < ROSTER; i++) {
+            Student student = new Student();
+            student.setUser(newUser("student" + i));
+            student.setDni(String.format("%08dR", i));
+            student.setBirthdate(LocalDate.of(2000, 1, 1));
+            student.getTrainingGroups().add(group);
+            entityManager.persist(student);
+            studentIds.add(student.getId());
+
+            if (i < ALREADY_PRESENT) {
+                Assistance assistance = new Assistance();
+                assistance.setStudent(student);
+                assistance.setTrainingSession(session);
+                assistance.setDate(LocalDateTime.now().minusHours(1));
+                entityManager.persist(assistance);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        queryCounter.reset();
+        LocalDateTime date = LocalDateTime.now();
+        List<Assistance> assistances = assistanceService.recordRollCall(session.getId(), studentIds, date);
+        entityManager.flush();
+
+        assertEquals(ROSTER, assistances.size());
+        assertTrue(assistances.stream().allMatch(assistance -> assistance.getDate().equals(date)));
+        assertEquals(2, countStatements("select "),
+                () -> String.join("\n", queryCounter.statements()));
+        assertEquals(1, countStatements("insert into ASSISTANCE "));
+        assertEquals(1, countStatements("update ASSISTANCE "));
+    }
+
+    @Test
+    void createInvoiceWithLines_ManyLines_ResolvesProductsOnceAndInsertsInBatches() {
+        List<InvoiceLineRequest> requests = new ArrayList<>();
+        for (int i = 0; i < INVOICES; i++) {
+            requests.add(new InvoiceLineRequest(product.getId(), i % 3 + 1, null));
+        }
+        Invoice invoice = new Invoice();
+        invoice.setUser(user);
+        invoice.setDate(LocalDateTime.now());
+        invoice.setStatus(StatusValues.NOT_PAID);
+        entityManager.clear();
+        startNewIdBlock(Invoice.class);
+        startNewIdBlock(InvoiceLine.class);
+
+        queryCounter.reset();
+        Invoice created = invoiceService.createInvoiceWithLines(invoice, requests);
+        entityManager.flush();
+
+        assertEquals(INVOICES, created.getInvoiceLines().size());
+        assertEquals(0, new BigDecimal("7260.00").compareTo(created.getTotal()));
+        // The products, and the second block of line IDs once the first one is used up
+        assertEquals(2, countStatements("select "), () -> String.join("\n", queryCounter.statements()));
+        assertEquals(1, countStatements("select next value for INVOICE_LINES_SEQ"));
+        assertEquals(1, countStatements("insert into INVOICES "));
+        assertEquals(batches(INVOICES), countStatements("insert into INVOICE_LINES "));
+        assertEquals(0, countStatements("update "));
+    }
+
+    private User newUser(String name) {
+        User newUser = new User();
+        newUser.setName(name);
+        newUser.setSurname("Test");
+        newUser.setEmail(name + "@memberflow.test");
+        newUser.setPassword("secret");
+        newUser.setPhoneNumber("600000000");
+        newUser.setAddress("Street 1");
+        newUser.setStatus(StatusValues.ACTIVE);
+        newUser.setRegisterDate(LocalDateTime.now());
+        newUser.setRole(role);
+        entityManager.persist(newUser);
+        return newUser;
+    }
+
+    private List<InvoiceLine> persistInvoicesWithLines() {
+        List<InvoiceLine> lines = new ArrayList<>();
+        for (int i = 0; i < INVOICES; i++) {
+            Invoice invoice = new Invoice();
+            invoice.setUser(user);
+            invoice.setDate(LocalDateTime.now());
+            invoice.setTotal(new BigDecimal("100.00"));
+            invoice.setStatus(StatusValues.NOT_PAID);
+            entityManager.persist(invoice);
+
+            for (int l = 0; l < LINES_PER_INVOICE; l++) {
+                InvoiceLine line = new InvoiceLine();
+                line.setInvoice(invoice);
+                line.setProductService(product);
+                line.setQuantity(1);
+                line.setUnitPrice(product.getPrice());
+                line.setSubtotal(product.getPrice());
+                entityManager.persist(line);
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Draws IDs of an entity until its generator fetches a new block from the sequence, so the IDs used next
+     * come from a full block whatever the tests before left of the previous one.
+     */
+    private void startNewIdBlock(Class<?> entityClass) {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        IdentifierGenerator generator = (IdentifierGenerator) session.getFactory().getMappingMetamodel()
+                .getEntityDescriptor(entityClass).getGenerator();
+        queryCounter.reset();
+        while (countStatements("select next value for ") == 0) {
+            generator.generate(session, null);
+        }
+    }
+
+    /**
+     * Number of JDBC batches needed to write the given number of rows of a table.
+     */
+    private static long batches(int rows) {
+        return Math.ceilDiv(rows, HibernateConfig.DEFAULT_JDBC_BATCH_SIZE);
+    }
+
+    private long countStatements(String prefix) {
+        return queryCounter.statements().stream().filter(sql -> sql.startsWith(prefix)).count();
+    }
+}
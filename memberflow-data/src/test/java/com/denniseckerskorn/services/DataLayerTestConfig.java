@@ -0,0 +1,28 @@
+package com.denniseckerskorn.services;
+
+import com.denniseckerskorn.config.HibernateConfig;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * Data layer context for tests that run against an in-memory database.
+ * It uses the production {@link HibernateConfig} and wraps the DataSource in a {@link QueryCountingDataSource},
+ * which tests inject to count the statements an operation costs.
+ */
+@Configuration
+@Import(HibernateConfig.class)
+@PropertySource("classpath:datalayer-test.properties")
+@EnableJpaRepositories(basePackages = "com.denniseckerskorn.repositories")
+@ComponentScan(basePackages = "com.denniseckerskorn.services")
+public class DataLayerTestConfig {
+
+    @Bean
+    public static BeanPostProcessor queryCountingDataSourceWrapper() {
+        return QueryCountingDataSource.wrapper();
+    }
+}
@@ -0,0 +1,27 @@
+package com.denniseckerskorn.services;
+
+import com.denniseckerskorn.entities.finance.Invoice;
+import com.denniseckerskorn.entities.user_managment.users.Student;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityIdAccessorTest {
+
+    @Test
+    void getId_AssignedId_ReturnsId() {
+        Invoice invoice = new Invoice();
+        invoice.setId(42);
+        assertEquals(42, EntityIdAccessor.getId(invoice));
+    }
+
+    @Test
+    void getId_TransientEntity_ReturnsNull() {
+        assertNull(EntityIdAccessor.getId(new Student()));
+    }
+
+    @Test
+    void getId_ClassWithoutIdField_ThrowsIllegalStateException() {
+        assertThrows(IllegalStateException.class, () -> EntityIdAccessor.getId("not an entity"));
+    }
+}
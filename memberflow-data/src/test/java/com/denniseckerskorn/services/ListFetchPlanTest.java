@@ -0,0 +1,342 @@
+package com.denniseckerskorn.services;
+
+import com.denniseckerskorn.entities.class_managment.Assistance;
+import com.denniseckerskorn.entities.class_managment.Membership;
+import com.denniseckerskorn.entities.class_managment.TrainingGroup;
+import com.denniseckerskorn.entities.class_managment.TrainingSession;
+import com.denniseckerskorn.entities.finance.IVAType;
+import com.denniseckerskorn.entities.finance.Invoice;
+import com.denniseckerskorn.entities.finance.InvoiceLine;
+import com.denniseckerskorn.entities.finance.Payment;
+import com.denniseckerskorn.entities.finance.ProductService;
+import com.denniseckerskorn.entities.user_managment.Notification;
+import com.denniseckerskorn.entities.user_managment.Role;
+import com.denniseckerskorn.entities.user_managment.StudentHistory;
+import com.denniseckerskorn.entities.user_managment.users.Student;
+import com.denniseckerskorn.entities.user_managment.users.Teacher;
+import com.denniseckerskorn.entities.user_managment.users.User;
+import com.denniseckerskorn.enums.MembershipTypeValues;
+import com.denniseckerskorn.enums.PaymentMethodValues;
+import com.denniseckerskorn.enums.StatusValues;
+import com.denniseckerskorn.projections.StudentSummary;
+import com.denniseckerskorn.services.class_managment_services.AssistanceService;
+import com.denniseckerskorn.services.class_managment_services.TrainingGroupService;
+import com.denniseckerskorn.services.class_managment_services.TrainingSessionService;
+import com.denniseckerskorn.services.finance_services.InvoiceService;
+import com.denniseckerskorn.services.finance_services.PaymentService;
+import com.denniseckerskorn.services.user_managment_services.StudentService;
+import com.denniseckerskorn.services.user_managment_services.TeacherService;
+import com.denniseckerskorn.services.user_managment_services.UserService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static com.denniseckerskorn.services.QueryCountingDataSource.batches;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Statement budgets for the list endpoints.
+ * Each test loads a list through the service used by the endpoint, walks the same associations
+ * as the endpoint's DTO mapping and checks the number of SQL statements: one for the list itself,
+ * plus one per batch of lazy collections the mapping initializes, never one per row.
+ */
+@SpringJUnitConfig(DataLayerTestConfig.class)
+@Transactional
+class ListFetchPlanTest {
+
+    private static final int STUDENTS = 60;
+    private static final int GROUPS = 4;
+    private static final int SESSIONS_PER_GROUP = 3;
+    private static final int INVOICES_PER_STUDENT = 2;
+    private static final int LINES_PER_INVOICE = 3;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private QueryCountingDataSource queryCounter;
+
+    @Autowired
+    private InvoiceService invoiceService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TeacherService teacherService;
+
+    @Autowired
+    private TrainingGroupService trainingGroupService;
+
+    @Autowired
+    private TrainingSessionService trainingSessionService;
+
+    @Autowired
+    private AssistanceService assistanceService;
+
+    private Integer firstStudentUserId;
+
+    @BeforeEach
+    void setUp() {
+        Role studentRole = persist(new Role("STUDENT"));
+        Role teacherRole = persist(new Role("TEACHER"));
+
+        Membership membership = new Membership();
+        membership.setType(MembershipTypeValues.BASIC);
+        membership.setStartDate(LocalDate.now());
+        membership.setEndDate(LocalDate.now().plusMonths(1));
+        membership.setStatus(StatusValues.ACTIVE);
+        persist(membership);
+
+        IVAType ivaType = new IVAType();
+        ivaType.setPercentage(new BigDecimal("21.00"));
+        persist(ivaType);
+
+        ProductService product = new ProductService();
+        product.setIvaType(ivaType);
+        product.setName("Monthly fee");
+        product.setPrice(new BigDecimal("50.00"));
+        product.setType("SERVICE");
+        product.setStatus(StatusValues.ACTIVE);
+        persist(product);
+
+        Notification notification = new Notification();
+        notification.setTitle("Welcome");
+        notification.setShippingDate(LocalDateTime.now());
+        persist(notification);
+
+        Teacher teacher = new Teacher();
+        teacher.setUser(persist(newUser("teacher", teacherRole)));
+        teacher.setDiscipline("BJJ");
+        persist(teacher);
+
+        TrainingGroup[] groups = new TrainingGroup[GROUPS];
+        TrainingSession[] sessions = new TrainingSession[GROUPS * SESSIONS_PER_GROUP];
+        for (int g = 0; g < GROUPS; g++) {
+            TrainingGroup group = new TrainingGroup();
+            group.setTeacher(teacher);
+            group.setName("Group " + g);
+            group.setSchedule(LocalDateTime.now());
+            groups[g] = persist(group);
+            for (int s = 0; s < SESSIONS_PER_GROUP; s++) {
+                TrainingSession session = new TrainingSession();
+                session.setTrainingGroup(group);
+                session.setDate(LocalDateTime.now().plusDays(s));
+                session.setStatus(StatusValues.ACTIVE);
+                sessions[g * SESSIONS_PER_GROUP + s] = persist(session);
+            }
+        }
+
+        for (int i = 0; i < STUDENTS; i++) {
+            User user = persist(newUser("student" + i, studentRole));
+            notification.getUsers().add(user);
+            if (firstStudentUserId == null) {
+                firstStudentUserId = user.getId();
+            }
+
+            Student student = new Student();
+            student.setUser(user);
+            student.setDni(String.format("%08dX", i));
+            student.setBirthdate(LocalDate.of(2000, 1, 1));
+            student.setMembership(membership);
+            student.getTrainingGroups().add(groups[i % GROUPS]);
+            student.getTrainingGroups().add(groups[(i + 1) % GROUPS]);
+            persist(student);
+
+            StudentHistory history = new StudentHistory();
+            history.setStudent(student);
+            history.setEventDate(LocalDate.now());
+            history.setEventType("REGISTER");
+            persist(history);
+
+            for (int a = 0; a < 2; a++) {
+                Assistance assistance = new Assistance();
+                assistance.setStudent(student);
+                assistance.setTrainingSession(sessions[(i + a) % sessions.length]);
+                assistance.setDate(LocalDateTime.now());
+                persist(assistance);
+            }
+
+            for (int m = 0; m < INVOICES_PER_STUDENT; m++) {
+                Invoice invoice = new Invoice();
+                invoice.setUser(user);
+                invoice.setDate(LocalDateTime.now().minusMonths(m));
+                invoice.setTotal(new BigDecimal("150.00"));
+                invoice.setStatus(StatusValues.PAID);
+                persist(invoice);
+                for (int l = 0; l < LINES_PER_INVOICE; l++) {
+                    InvoiceLine line = new InvoiceLine();
+                    line.setInvoice(invoice);
+                    line.setProductService(product);
+                    line.setQuantity(1);
+                    line.setUnitPrice(product.getPrice());
+                    line.setSubtotal(product.getPrice());
+                    persist(line);
+                }
+                Payment payment = new Payment();
+                payment.setInvoice(invoice);
+                payment.setAmount(invoice.getTotal());
+                payment.setPaymentDate(LocalDateTime.now());
+                payment.setPaymentMethod(PaymentMethodValues.CASH);
+                payment.setStatus(StatusValues.PAID);
+                persist(payment);
+            }
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void invoiceList_WalkingUserPaymentAndLines_StaysWithinBudget() {
+        assertWithinBudget(1 + batches(STUDENTS * INVOICES_PER_STUDENT), () -> invoiceService.findAll(), invoice -> {
+            touch(invoice.getUser().getRole().getName());
+            touch(invoice.getPayment() != null ? invoice.getPayment().getId() : null);
+            invoice.getInvoiceLines().forEach(line -> touch(line.getId()));
+        });
+    }
+
+    @Test
+    void invoicePage_WalkingUserPaymentAndLines_StaysWithinBudget() {
+        assertWithinBudget(1 + batches(100), () -> invoiceService.findAll(0, 100, null), invoice -> {
+            touch(invoice.getUser().getRole().getName());
+            touch(invoice.getPayment() != null ? invoice.getPayment().getId() : null);
+            invoice.getInvoiceLines().forEach(line -> touch(line.getId()));
+        });
+    }
+
+    @Test
+    void invoicesByUser_WalkingUserPaymentAndLines_StaysWithinBudget() {
+        assertWithinBudget(1 + batches(INVOICES_PER_STUDENT), () -> invoiceService.findAllInvoicesByUserId(firstStudentUserId), invoice -> {
+            touch(invoice.getUser().getRole().getName());
+            invoice.getInvoiceLines().forEach(line -> touch(line.getId()));
+        });
+    }
+
+    @Test
+    void paymentList_ReadingInvoiceId_UsesSingleStatement() {
+        assertWithinBudget(1, () -> paymentService.findAll(), payment -> touch(payment.getInvoice().getId()));
+    }
+
+    @Test
+    void studentList_WalkingDtoAssociations_StaysWithinBudget() {
+        assertWithinBudget(1 + 2 * batches(STUDENTS) + batches(GROUPS), () -> studentService.findAll(0, STUDENTS, null), student -> {
+            touch(student.getUser().getRole().getName());
+            touch(student.getMembership().getType());
+            student.getAssistances().forEach(assistance -> touch(assistance.getTrainingSession().getTrainingGroup().getId()));
+            student.getTrainingGroups().forEach(group -> {
+                touch(group.getTeacher().getId());
+                group.getStudents().forEach(member -> touch(member.getId()));
+            });
+        });
+    }
+
+    @Test
+    void userList_WalkingNotificationsAndHistories_StaysWithinBudget() {
+        assertWithinBudget(1 + batches(STUDENTS + 1) + batches(STUDENTS), () -> userService.findAll(), user -> {
+            touch(user.getRole().getName());
+            user.getNotifications().forEach(notification -> touch(notification.getTitle()));
+            if (user.getStudent() != null) {
+                user.getStudent().getHistories().forEach(history -> touch(history.getEventType()));
+            }
+        });
+    }
+
+    @Test
+    void teacherList_ReadingUser_UsesSingleStatement() {
+        assertWithinBudget(1, () -> teacherService.findAll(), teacher -> touch(teacher.getUser().getRole().getName()));
+    }
+
+    @Test
+    void trainingGroupList_ReadingTeacherAndStudentIds_StaysWithinBudget() {
+        assertWithinBudget(1 + batches(GROUPS), () -> trainingGroupService.findAll(), group -> {
+            touch(group.getTeacher().getId());
+            group.getStudents().forEach(student -> touch(student.getId()));
+        });
+    }
+
+    @Test
+    void trainingSessionList_ReadingGroupId_UsesSingleStatement() {
+        assertWithinBudget(1, () -> trainingSessionService.findAll(), session -> touch(session.getTrainingGroup().getId()));
+    }
+
+    @Test
+    void assistanceList_ReadingStudentAndSessionIds_UsesSingleStatement() {
+        assertWithinBudget(1, () -> assistanceService.findAll(0, 100, null), assistance -> {
+            touch(assistance.getStudent().getId());
+            touch(assistance.getTrainingSession().getId());
+        });
+    }
+
+    @Test
+    void summaryLists_UseSingleStatementWithoutManagedEntities() {
+        assertWithinBudget(1, () -> invoiceService.findAllSummaries(null, null, null), summary -> touch(summary.userEmail()));
+        assertWithinBudget(1, () -> studentService.findAllSummaries(0, STUDENTS, null), summary -> touch(summary.membershipType()));
+        assertWithinBudget(1, () -> paymentService.findAllSummariesByUserId(firstStudentUserId), summary -> touch(summary.invoiceId()));
+
+        assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    @Test
+    void studentSummaries_WithCursor_ContinueAfterLastId() {
+        List<StudentSummary> first = studentService.findAllSummaries(null, 10, null);
+        List<StudentSummary> next = studentService.findAllSummaries(null, 10, first.get(9).id());
+
+        assertEquals(10, next.size());
+        assertTrue(next.get(0).id() > first.get(9).id());
+        assertNotNull(next.get(0).email());
+    }
+
+    private <T> void assertWithinBudget(int budget, Supplier<List<T>> finder, Consumer<T> mapping) {
+        queryCounter.reset();
+        List<T> entities = finder.get();
+        entities.forEach(mapping);
+
+        assertFalse(entities.isEmpty());
+        assertTrue(queryCounter.statementCount() <= budget,
+                () -> "Expected at most " + budget + " statements but got " + queryCounter.statementCount()
+                        + ":\n" + String.join("\n", queryCounter.statements()));
+    }
+
+    private static void touch(Object value) {
+        Objects.hashCode(value);
+    }
+
+    private User newUser(String name, Role role) {
+        User user = new User();
+        user.setName(name);
+        user.setSurname("Test");
+        user.setEmail(name + "@memberflow.test");
+        user.setPassword("secret");
+        user.setPhoneNumber("600000000");
+        user.setAddress("Street 1");
+        user.setStatus(StatusValues.ACTIVE);
+        user.setRegisterDate(LocalDateTime.now());
+        user.setRole(role);
+        return user;
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+}
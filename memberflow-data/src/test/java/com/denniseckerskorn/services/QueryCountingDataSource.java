@@ -0,0 +1,151 @@
+package com.denniseckerskorn.services;
+
+import com.denniseckerskorn.config.HibernateConfig;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * DataSource proxy counting the statements executed and the rows fetched through it.
+ * It works at the JDBC level, so it also counts the statements run outside Hibernate, and records the SQL of
+ * each statement so tests can tell them apart. A JDBC batch counts as one statement.
+ * Contexts wrap their DataSource with {@link #wrapper()}; the memberflow-api tests use it through the test jar.
+ */
+public class QueryCountingDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private final List<String> statements = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicLong rows = new AtomicLong();
+
+    public QueryCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    /**
+     * Bean post-processor wrapping the DataSource of a context, to be declared from a static bean method.
+     *
+     * @return the post-processor
+     */
+    public static BeanPostProcessor wrapper() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof QueryCountingDataSource)) {
+                    return new QueryCountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(Connection.class, obtainTargetDataSource().getConnection(), null);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(Connection.class, obtainTargetDataSource().getConnection(username, password), null);
+    }
+
+    /**
+     * Number of queries needed to initialize the given number of lazy collections or proxies, one per batch
+     * of {@link HibernateConfig#DEFAULT_BATCH_FETCH_SIZE}.
+     *
+     * @param rows the number of collections or proxies
+     * @return the number of queries
+     */
+    public static int batches(long rows) {
+        return Math.toIntExact(Math.ceilDiv(rows, HibernateConfig.DEFAULT_BATCH_FETCH_SIZE));
+    }
+
+    public void reset() {
+        statements.clear();
+        rows.set(0);
+    }
+
+    public int statementCount() {
+        return statements.size();
+    }
+
+    public long rowCount() {
+        return rows.get();
+    }
+
+    public List<String> statements() {
+        synchronized (statements) {
+            return new ArrayList<>(statements);
+        }
+    }
+
+    /**
+     * Closes the target pool, if it can be closed.
+     */
+    @Override
+    public void close() throws Exception {
+        if (obtainTargetDataSource() instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    /**
+     * Wraps a JDBC object so the statements and result sets it hands out are counted as well.
+     *
+     * @param type   the interface to expose
+     * @param target the object to wrap
+     * @param sql    the SQL of a prepared statement, or null
+     */
+    private <T> T proxy(Class<T> type, T target, String sql) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (target instanceof Statement && EXECUTE_METHODS.contains(method.getName())) {
+                statements.add(sql != null ? sql : args != null && args.length > 0 ? String.valueOf(args[0]) : method.getName());
+            }
+            if (target instanceof ResultSet && method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                rows.incrementAndGet();
+            }
+            return wrap(method, args, result);
+        };
+        return type.cast(Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object wrap(Method method, Object[] args, Object result) {
+        Class<?> returnType = method.getReturnType();
+        if (result == null || !returnType.isInterface()) {
+            return result;
+        }
+        if (Statement.class.isAssignableFrom(returnType)) {
+            String sql = method.getName().startsWith("prepare") && args != null && args.length > 0 ? (String) args[0] : null;
+            return proxy((Class<Object>) returnType, result, sql);
+        }
+        if (returnType == ResultSet.class) {
+            return proxy(ResultSet.class, (ResultSet) result, null);
+        }
+        return result;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
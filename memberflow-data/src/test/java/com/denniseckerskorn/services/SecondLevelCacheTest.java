@@ -0,0 +1,136 @@
+package com.denniseckerskorn.services;
+
+import com.denniseckerskorn.entities.user_managment.Permission;
+import com.denniseckerskorn.entities.user_managment.Role;
+import com.denniseckerskorn.enums.PermissionValues;
+import com.denniseckerskorn.repositories.user_managment_repositories.RoleRepository;
+import com.denniseckerskorn.services.user_managment_services.RoleService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that reference data is served from the second-level cache once committed, and that changes
+ * made through the services never leave stale entries behind.
+ * The tests commit their data, since only committed state enters the cache, and remove it afterwards.
+ */
+@SpringJUnitConfig(DataLayerTestConfig.class)
+class SecondLevelCacheTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private QueryCountingDataSource queryCounter;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private RoleService roleService;
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    private TransactionTemplate transactionTemplate;
+    private Role role;
+    private Permission permission;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        referenceDataCache.evictAll();
+        transactionTemplate.executeWithoutResult(status -> {
+            EntityManager entityManager = entityManagerFactory.createEntityManager();
+            entityManager.joinTransaction();
+            permission = new Permission();
+            permission.setPermissionName(PermissionValues.VIEW_OWN_DATA);
+            entityManager.persist(permission);
+            role = new Role("CACHED");
+            role.addPermission(permission);
+            entityManager.persist(role);
+            entityManager.flush();
+            entityManager.close();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            EntityManager entityManager = entityManagerFactory.createEntityManager();
+            entityManager.joinTransaction();
+            Role managedRole = entityManager.find(Role.class, role.getId());
+            if (managedRole != null) {
+                entityManager.remove(managedRole);
+            }
+            entityManager.remove(entityManager.find(Permission.class, permission.getId()));
+            entityManager.flush();
+            entityManager.close();
+        });
+        referenceDataCache.evictAll();
+    }
+
+    @Test
+    void find_CachedRoleAndPermissions_IssuesNoStatements() {
+        inNewEntityManager(entityManager -> entityManager.find(Role.class, role.getId()).getPermissions().size());
+
+        queryCounter.reset();
+        int permissions = inNewEntityManager(entityManager ->
+                entityManager.find(Role.class, role.getId()).getPermissions().size());
+
+        assertEquals(1, permissions);
+        assertEquals(0, queryCounter.statementCount(), () -> String.join("\n", queryCounter.statements()));
+    }
+
+    @Test
+    void findByName_RepeatedLookup_IsServedFromQueryCache() {
+        roleRepository.findByName("CACHED");
+
+        queryCounter.reset();
+        Role found = roleRepository.findByName("CACHED");
+
+        assertEquals(role.getId(), found.getId());
+        assertEquals(0, queryCounter.statementCount(), () -> String.join("\n", queryCounter.statements()));
+    }
+
+    @Test
+    void removePermissionFromRole_CachedInverseCollection_IsEvicted() {
+        int rolesBefore = inNewEntityManager(entityManager ->
+                entityManager.find(Permission.class, permission.getId()).getRoles().size());
+
+        roleService.removePermissionFromRole(role, permission);
+
+        int rolesAfter = inNewEntityManager(entityManager ->
+                entityManager.find(Permission.class, permission.getId()).getRoles().size());
+        int permissionsAfter = inNewEntityManager(entityManager ->
+                entityManager.find(Role.class, role.getId()).getPermissions().size());
+        assertEquals(1, rolesBefore);
+        assertEquals(0, rolesAfter);
+        assertEquals(0, permissionsAfter);
+    }
+
+    private <R> R inNewEntityManager(Function<EntityManager, R> work) {
+        return transactionTemplate.execute(status -> {
+            EntityManager entityManager = entityManagerFactory.createEntityManager();
+            try {
+                entityManager.joinTransaction();
+                return work.apply(entityManager);
+            } finally {
+                entityManager.close();
+            }
+        });
+    }
+}
@@ -3,17 +3,24 @@ package com.denniseckerskorn.services.class_managment_services;
 import com.denniseckerskorn.entities.class_managment.Assistance;
 import com.denniseckerskorn.entities.class_managment.TrainingSession;
 import com.denniseckerskorn.entities.user_managment.users.Student;
+import com.denniseckerskorn.exceptions.BadRequestException;
+import com.denniseckerskorn.exceptions.DuplicateEntityException;
 import com.denniseckerskorn.exceptions.EntityNotFoundException;
 import com.denniseckerskorn.exceptions.InvalidDataException;
 import com.denniseckerskorn.repositories.class_managment_repositories.AssistanceRepository;
+import com.denniseckerskorn.repositories.class_managment_repositories.TrainingSessionRepository;
+import com.denniseckerskorn.repositories.user_managment_repositories.StudentRepository;
 import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.lang.reflect.Field;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -23,6 +30,12 @@ class AssistanceServiceTest {
     @Mock
     private AssistanceRepository assistanceRepository;
 
+    @Mock
+    private TrainingSessionRepository trainingSessionRepository;
+
+    @Mock
+    private StudentRepository studentRepository;
+
     @Mock
     private EntityManager entityManager;
 
@@ -104,4 +117,60 @@ class AssistanceServiceTest {
 
         verify(assistanceRepository).deleteById(100);
     }
+
+    @Test
+    void recordRollCall_ShouldCreateMissingAndUpdateExistingRecords() {
+        LocalDateTime date = LocalDateTime.of(2025, 3, 3, 19, 0);
+        Student other = new Student();
+        other.setId(2);
+        when(trainingSessionRepository.findRosterStudentIds(10, Set.of(1, 2))).thenReturn(List.of(1, 2));
+        when(assistanceRepository.findAllByTrainingSessionIdAndStudentIdIn(10, Set.of(1, 2))).thenReturn(List.of(assistance));
+        when(trainingSessionRepository.getReferenceById(10)).thenReturn(session);
+        when(studentRepository.getReferenceById(2)).thenReturn(other);
+        when(assistanceRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<Assistance> result = assistanceService.recordRollCall(10, Set.of(1, 2), date);
+
+        assertEquals(2, result.size());
+        assertTrue(result.stream().allMatch(a -> a.getDate().equals(date) && a.getTrainingSession() == session));
+        assertSame(other, result.get(1).getStudent());
+        verify(studentRepository, never()).getReferenceById(1);
+        verify(assistanceRepository, never()).save(any());
+    }
+
+    @Test
+    void recordRollCall_RecordedConcurrently_ShouldThrowDuplicate() {
+        when(trainingSessionRepository.findRosterStudentIds(10, Set.of(2))).thenReturn(List.of(2));
+        when(assistanceRepository.findAllByTrainingSessionIdAndStudentIdIn(10, Set.of(2))).thenReturn(List.of());
+        when(assistanceRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        doThrow(new DataIntegrityViolationException("uk_assistance_session_student")).when(assistanceRepository).flush();
+
+        assertThrows(DuplicateEntityException.class, () -> assistanceService.recordRollCall(10, Set.of(2), null));
+    }
+
+    @Test
+    void recordRollCall_StudentOutsideGroup_ShouldThrow() {
+        when(trainingSessionRepository.findRosterStudentIds(10, Set.of(1, 2))).thenReturn(List.of(1));
+        when(trainingSessionRepository.existsById(10)).thenReturn(true);
+
+        BadRequestException ex = assertThrows(BadRequestException.class,
+                () -> assistanceService.recordRollCall(10, Set.of(1, 2), null));
+        assertTrue(ex.getMessage().contains("[2]"));
+        verify(assistanceRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void recordRollCall_UnknownSession_ShouldThrow() {
+        when(trainingSessionRepository.findRosterStudentIds(99, Set.of(1))).thenReturn(List.of());
+        when(trainingSessionRepository.existsById(99)).thenReturn(false);
+
+        assertThrows(EntityNotFoundException.class, () -> assistanceService.recordRollCall(99, Set.of(1), null));
+    }
+
+    @Test
+    void recordRollCall_NoStudents_ShouldThrow() {
+        assertThrows(InvalidDataException.class, () -> assistanceService.recordRollCall(10, Set.of(), null));
+        assertThrows(InvalidDataException.class, () -> assistanceService.recordRollCall(null, Set.of(1), null));
+        verifyNoInteractions(trainingSessionRepository);
+    }
 }
@@ -3,9 +3,12 @@ package com.denniseckerskorn.services.class_managment_services;
 import com.denniseckerskorn.entities.class_managment.Membership;
 import com.denniseckerskorn.enums.MembershipTypeValues;
 import com.denniseckerskorn.enums.StatusValues;
+import com.denniseckerskorn.exceptions.BadRequestException;
 import com.denniseckerskorn.exceptions.InvalidDataException;
+import com.denniseckerskorn.exceptions.StaleEntityException;
 import com.denniseckerskorn.repositories.class_managment_repositories.MembershipRepository;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.OptimisticLockException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -67,11 +70,50 @@ class MembershipServiceTest {
 
     @Test
     void update_ValidMembership_ReturnsUpdatedMembership() {
-        when(membershipRepository.existsById(1)).thenReturn(true);
+        membership.setVersion(0L);
         when(entityManager.merge(membership)).thenReturn(membership);
 
         Membership updated = membershipService.update(membership);
         assertEquals(MembershipTypeValues.BASIC, updated.getType());
+        verify(membershipRepository, never()).existsById(any());
+        verify(entityManager).flush();
+    }
+
+    @Test
+    void update_WithoutVersion_UsesCurrentVersion() {
+        Membership current = new Membership();
+        current.setId(1);
+        current.setVersion(3L);
+        when(membershipRepository.findById(1)).thenReturn(Optional.of(current));
+        when(entityManager.merge(membership)).thenReturn(membership);
+
+        membershipService.update(membership);
+        assertEquals(3L, membership.getVersion());
+    }
+
+    @Test
+    void update_ManagedMembership_FlushesWithoutMerge() {
+        when(entityManager.contains(membership)).thenReturn(true);
+
+        Membership updated = membershipService.update(membership);
+        assertSame(membership, updated);
+        verify(entityManager).flush();
+        verify(entityManager, never()).merge(any());
+    }
+
+    @Test
+    void update_StaleVersion_ThrowsStaleEntityException() {
+        membership.setVersion(1L);
+        when(entityManager.merge(membership)).thenThrow(new OptimisticLockException());
+
+        assertThrows(StaleEntityException.class, () -> membershipService.update(membership));
+    }
+
+    @Test
+    void checkVersion_DifferentVersion_ThrowsStaleEntityException() {
+        membership.setVersion(2L);
+        assertThrows(StaleEntityException.class, () -> membershipService.checkVersion(membership, 1L));
+        assertDoesNotThrow(() -> membershipService.checkVersion(membership, 2L));
     }
 
     @Test
@@ -104,4 +146,29 @@ class MembershipServiceTest {
         List<Membership> list = membershipService.findAll();
         assertEquals(1, list.size());
     }
+
+    @Test
+    void findAll_WithoutPagination_ReturnsWholeList() {
+        when(membershipRepository.findAll()).thenReturn(List.of(membership));
+        List<Membership> list = membershipService.findAll(null, null, null);
+        assertEquals(1, list.size());
+    }
+
+    @Test
+    void findAll_PageAndCursor_ThrowsException() {
+        assertThrows(BadRequestException.class, () -> membershipService.findAll(0, 10, 5));
+    }
+
+    @Test
+    void findAll_SizeTooLarge_ThrowsException() {
+        assertThrows(BadRequestException.class, () -> membershipService.findAll(0, 10_000, null));
+        verifyNoInteractions(entityManager);
+    }
+
+    @Test
+    void findAll_PageOffsetOverflows_ThrowsException() {
+        assertThrows(BadRequestException.class, () -> membershipService.findAll(Integer.MAX_VALUE, 200, null));
+        assertThrows(BadRequestException.class, () -> membershipService.findAll(Integer.MAX_VALUE / 200 + 1, 200, null));
+        verifyNoInteractions(entityManager);
+    }
 }
@@ -0,0 +1,68 @@
+package com.denniseckerskorn.services.class_managment_services;
+
+import com.denniseckerskorn.exceptions.InvalidDataException;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecurrenceRuleTest {
+
+    // Wednesday
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 19, 0);
+
+    @Test
+    void weekly_ShouldProduceOneSessionPerWeek() {
+        List<LocalDateTime> dates = RecurrenceRule.weekly(START, 4).occurrences();
+
+        assertEquals(List.of(START, START.plusWeeks(1), START.plusWeeks(2), START.plusWeeks(3)), dates);
+    }
+
+    @Test
+    void occurrences_Biweekly_ShouldSkipAlternateWeeks() {
+        RecurrenceRule rule = new RecurrenceRule(START, LocalDate.of(2025, 2, 1), 2, null, null);
+
+        assertEquals(List.of(START, START.plusWeeks(2), START.plusWeeks(4)), rule.occurrences());
+    }
+
+    @Test
+    void occurrences_SpecificWeekdays_ShouldBeChronologicalAndNotBeforeStart() {
+        RecurrenceRule rule = new RecurrenceRule(START, LocalDate.of(2025, 1, 13), 1,
+                EnumSet.of(DayOfWeek.FRIDAY, DayOfWeek.MONDAY), null);
+
+        assertEquals(List.of(
+                LocalDateTime.of(2025, 1, 3, 19, 0),
+                LocalDateTime.of(2025, 1, 6, 19, 0),
+                LocalDateTime.of(2025, 1, 10, 19, 0),
+                LocalDateTime.of(2025, 1, 13, 19, 0)), rule.occurrences());
+    }
+
+    @Test
+    void occurrences_ExcludedDates_ShouldBeSkipped() {
+        RecurrenceRule rule = RecurrenceRule.forWeeks(START, 3, 1, null, Set.of(LocalDate.of(2025, 1, 8)));
+
+        assertEquals(List.of(START, START.plusWeeks(2)), rule.occurrences());
+    }
+
+    @Test
+    void occurrences_TooManySessions_ShouldThrow() {
+        RecurrenceRule rule = new RecurrenceRule(START, START.toLocalDate().plusYears(5), 1,
+                EnumSet.allOf(DayOfWeek.class), null);
+
+        assertThrows(InvalidDataException.class, rule::occurrences);
+    }
+
+    @Test
+    void constructor_InvalidArguments_ShouldThrow() {
+        assertThrows(InvalidDataException.class, () -> new RecurrenceRule(null, LocalDate.of(2025, 2, 1), 1, null, null));
+        assertThrows(InvalidDataException.class, () -> new RecurrenceRule(START, LocalDate.of(2024, 12, 31), 1, null, null));
+        assertThrows(InvalidDataException.class, () -> new RecurrenceRule(START, LocalDate.of(2025, 2, 1), 0, null, null));
+        assertThrows(InvalidDataException.class, () -> RecurrenceRule.weekly(START, 0));
+    }
+}
@@ -13,6 +13,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.*;
 
 import java.lang.reflect.Field;
+import java.time.DayOfWeek;
 import java.time.LocalDateTime;
 import java.util.*;
 
@@ -90,6 +91,61 @@ class TrainingSessionServiceTest {
         assertEquals(1, students.size());
         assertTrue(students.contains(student1));
     }
+
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void generateRecurringSession_ShouldCreateFourWeeklySessionsPerMonth() {
+        group.setSchedule(LocalDateTime.of(2025, 3, 5, 18, 30));
+        when(trainingSessionRepository.findDatesByGroupIdBetween(eq(1), any(), any())).thenReturn(List.of());
+        when(trainingSessionRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        trainingSessionService.generateRecurringSession(group, 2);
+
+        ArgumentCaptor<List<TrainingSession>> captor = ArgumentCaptor.forClass((Class) List.class);
+        verify(trainingSessionRepository).saveAll(captor.capture());
+        List<TrainingSession> created = captor.getValue();
+        assertEquals(8, created.size());
+        assertEquals(LocalDateTime.of(2025, 3, 5, 18, 30), created.get(0).getDate());
+        assertEquals(LocalDateTime.of(2025, 4, 23, 18, 30), created.get(7).getDate());
+        verify(trainingSessionRepository, never()).save(any());
+    }
+
+    @Test
+    void generateRecurringSessions_ExistingDates_ShouldSkipThemWithOneRangeQuery() {
+        LocalDateTime start = LocalDateTime.of(2025, 3, 3, 10, 0);
+        RecurrenceRule rule = RecurrenceRule.forWeeks(start, 2, 1,
+                EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.THURSDAY), null);
+        when(trainingSessionRepository.findDatesByGroupIdBetween(1, start, LocalDateTime.of(2025, 3, 13, 10, 0)))
+                .thenReturn(List.of(LocalDateTime.of(2025, 3, 6, 10, 0)));
+        when(trainingSessionRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<TrainingSession> created = trainingSessionService.generateRecurringSessions(group, rule);
+
+        assertEquals(List.of(LocalDateTime.of(2025, 3, 3, 10, 0),
+                        LocalDateTime.of(2025, 3, 10, 10, 0),
+                        LocalDateTime.of(2025, 3, 13, 10, 0)),
+                created.stream().map(TrainingSession::getDate).toList());
+        assertTrue(created.stream().allMatch(s -> s.getTrainingGroup() == group && s.getStatus() == StatusValues.ACTIVE));
+        verify(trainingSessionRepository, times(1)).findDatesByGroupIdBetween(any(), any(), any());
+    }
+
+    @Test
+    void generateRecurringSessions_EmptySeries_ShouldNotQuery() {
+        LocalDateTime start = LocalDateTime.of(2025, 12, 25, 10, 0);
+        RecurrenceRule rule = new RecurrenceRule(start, start.toLocalDate(), 1, null, Set.of(start.toLocalDate()));
+
+        List<TrainingSession> created = trainingSessionService.generateRecurringSessions(group, rule);
+
+        assertTrue(created.isEmpty());
+        verifyNoInteractions(trainingSessionRepository);
+    }
+
+    @Test
+    void generateRecurringSessions_UnsavedGroup_ShouldThrow() {
+        group.setId(null);
+        RecurrenceRule rule = RecurrenceRule.weekly(LocalDateTime.of(2025, 3, 3, 10, 0), 4);
+        assertThrows(InvalidDataException.class, () -> trainingSessionService.generateRecurringSessions(group, rule));
+    }
 /*
     @Test
     void save_InvalidSession_ShouldThrow() {
@@ -0,0 +1,164 @@
+package com.denniseckerskorn.services.finance_management_services;
+
+import com.denniseckerskorn.entities.finance.BillingRun;
+import com.denniseckerskorn.enums.BillingRunStatusValues;
+import com.denniseckerskorn.enums.MembershipTypeValues;
+import com.denniseckerskorn.enums.StatusValues;
+import com.denniseckerskorn.exceptions.InvalidDataException;
+import com.denniseckerskorn.projections.BillableMembership;
+import com.denniseckerskorn.repositories.finance_repositories.BillingRunRepository;
+import com.denniseckerskorn.repositories.finance_repositories.InvoiceRepository;
+import com.denniseckerskorn.repositories.user_managment_repositories.StudentRepository;
+import com.denniseckerskorn.services.finance_services.BillingRunService;
+import com.denniseckerskorn.services.finance_services.InvoiceService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+
+import java.lang.reflect.Field;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BillingRunServiceTest {
+
+    private static final YearMonth PERIOD = YearMonth.of(2026, 3);
+    private static final LocalDate PERIOD_START = LocalDate.of(2026, 3, 1);
+
+    @Mock
+    private BillingRunRepository billingRunRepository;
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    @Mock
+    private InvoiceRepository invoiceRepository;
+
+    @Mock
+    private InvoiceService invoiceService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @InjectMocks
+    private BillingRunService billingRunService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+
+        when(billingRunRepository.save(any(BillingRun.class))).thenAnswer(invocation -> {
+            BillingRun run = invocation.getArgument(0);
+            if (run.getId() == null) {
+                run.setId(1);
+            }
+            return run;
+        });
+
+        Field emField = BillingRunService.class.getSuperclass().getDeclaredField("entityManager");
+        emField.setAccessible(true);
+        emField.set(billingRunService, entityManager);
+    }
+
+    @Test
+    void runMonthlyBilling_PendingMembers_ShouldInvoiceInChunksAndComplete() {
+        List<BillableMembership> pending = members(BillingRunService.CHUNK_SIZE * 2 + 50);
+        when(billingRunRepository.findByBillingPeriod(PERIOD_START)).thenReturn(Optional.empty());
+        when(studentRepository.findBillableMemberships(PERIOD_START, LocalDate.of(2026, 3, 31), StatusValues.ACTIVE))
+                .thenReturn(pending);
+        when(invoiceService.createMembershipInvoices(anyCollection(), eq(PERIOD_START)))
+                .thenAnswer(invocation -> ((Collection<?>) invocation.getArgument(0)).size());
+        when(invoiceRepository.countByBillingPeriod(PERIOD_START)).thenReturn((long) pending.size());
+
+        BillingRun run = billingRunService.runMonthlyBilling(PERIOD, 2);
+
+        assertEquals(BillingRunStatusValues.COMPLETED, run.getStatus());
+        assertEquals(PERIOD_START, run.getBillingPeriod());
+        assertEquals(pending.size(), run.getInvoicesCreated());
+        assertEquals(0, run.getMembersSkipped());
+        assertEquals(0, run.getFailedChunks());
+        assertNotNull(run.getFinishedAt());
+        verify(invoiceService, times(3)).createMembershipInvoices(anyCollection(), eq(PERIOD_START));
+        verify(billingRunRepository, times(3)).addInvoicesCreated(eq(1), anyInt());
+    }
+
+    @Test
+    void runMonthlyBilling_FailingChunk_ShouldMarkRunFailed() {
+        List<BillableMembership> pending = members(BillingRunService.CHUNK_SIZE + 10);
+        when(billingRunRepository.findByBillingPeriod(PERIOD_START)).thenReturn(Optional.empty());
+        when(studentRepository.findBillableMemberships(any(), any(), eq(StatusValues.ACTIVE))).thenReturn(pending);
+        when(invoiceService.createMembershipInvoices(anyCollection(), eq(PERIOD_START)))
+                .thenAnswer(invocation -> {
+                    Collection<?> chunk = invocation.getArgument(0);
+                    if (chunk.size() == BillingRunService.CHUNK_SIZE) {
+                        throw new IllegalStateException("Deadlock");
+                    }
+                    return chunk.size() - 1;
+                });
+        when(invoiceRepository.countByBillingPeriod(PERIOD_START)).thenReturn(9L);
+
+        BillingRun run = billingRunService.runMonthlyBilling(PERIOD, 1);
+
+        assertEquals(BillingRunStatusValues.FAILED, run.getStatus());
+        assertEquals(1, run.getFailedChunks());
+        assertEquals(1, run.getMembersSkipped());
+        assertEquals(9, run.getInvoicesCreated());
+    }
+
+    @Test
+    void runMonthlyBilling_InterruptedRun_ShouldResumeSameRun() {
+        BillingRun previous = new BillingRun();
+        previous.setId(5);
+        previous.setBillingPeriod(PERIOD_START);
+        previous.setStatus(BillingRunStatusValues.RUNNING);
+        previous.setInvoicesCreated(100);
+        when(billingRunRepository.findByBillingPeriod(PERIOD_START)).thenReturn(Optional.of(previous));
+        when(studentRepository.findBillableMemberships(any(), any(), eq(StatusValues.ACTIVE))).thenReturn(members(20));
+        when(invoiceService.createMembershipInvoices(anyCollection(), eq(PERIOD_START))).thenReturn(20);
+        when(invoiceRepository.countByBillingPeriod(PERIOD_START)).thenReturn(120L);
+
+        BillingRun run = billingRunService.runMonthlyBilling(PERIOD);
+
+        assertSame(previous, run);
+        assertEquals(BillingRunStatusValues.COMPLETED, run.getStatus());
+        assertEquals(120, run.getInvoicesCreated());
+        verify(billingRunRepository).addInvoicesCreated(5, 20);
+    }
+
+    @Test
+    void runMonthlyBilling_CompletedRun_ShouldReturnWithoutInvoicing() {
+        BillingRun completed = new BillingRun();
+        completed.setId(5);
+        completed.setStatus(BillingRunStatusValues.COMPLETED);
+        when(billingRunRepository.findByBillingPeriod(PERIOD_START)).thenReturn(Optional.of(completed));
+
+        BillingRun run = billingRunService.runMonthlyBilling(PERIOD);
+
+        assertSame(completed, run);
+        verifyNoInteractions(studentRepository, invoiceService);
+        verify(billingRunRepository, never()).save(any());
+    }
+
+    @Test
+    void runMonthlyBilling_InvalidParallelism_ShouldThrow() {
+        assertThrows(InvalidDataException.class, () -> billingRunService.runMonthlyBilling(PERIOD, 0));
+        assertThrows(InvalidDataException.class,
+                () -> billingRunService.runMonthlyBilling(PERIOD, BillingRunService.MAX_PARALLELISM + 1));
+        assertThrows(InvalidDataException.class, () -> billingRunService.runMonthlyBilling(null));
+    }
+
+    private static List<BillableMembership> members(int count) {
+        List<BillableMembership> members = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            members.add(new BillableMembership(i, 1000 + i, MembershipTypeValues.BASIC));
+        }
+        return members;
+    }
+}
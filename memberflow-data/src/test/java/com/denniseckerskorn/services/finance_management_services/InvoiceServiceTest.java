@@ -1,20 +1,43 @@
 package com.denniseckerskorn.services.finance_management_services;
 
+import com.denniseckerskorn.entities.finance.IVAType;
 import com.denniseckerskorn.entities.finance.Invoice;
+import com.denniseckerskorn.entities.finance.InvoiceLine;
+import com.denniseckerskorn.entities.finance.ProductService;
 import com.denniseckerskorn.entities.user_managment.users.User;
+import com.denniseckerskorn.enums.MembershipTypeValues;
 import com.denniseckerskorn.enums.StatusValues;
+import com.denniseckerskorn.exceptions.BadRequestException;
+import com.denniseckerskorn.exceptions.EntityNotFoundException;
 import com.denniseckerskorn.exceptions.InvalidDataException;
+import com.denniseckerskorn.repositories.finance_repositories.InvoiceLineRepository;
 import com.denniseckerskorn.repositories.finance_repositories.InvoiceRepository;
+import com.denniseckerskorn.projections.BillableMembership;
+import com.denniseckerskorn.repositories.finance_repositories.ProductServiceRepository;
+import com.denniseckerskorn.repositories.user_managment_repositories.UserRepository;
+import com.denniseckerskorn.services.finance_services.InvoiceLineRequest;
 import com.denniseckerskorn.services.finance_services.InvoiceService;
+import com.mysql.cj.conf.PropertyKey;
+import com.mysql.cj.jdbc.JdbcConnection;
+import com.mysql.cj.jdbc.JdbcPropertySet;
+import com.mysql.cj.jdbc.JdbcPropertySetImpl;
 import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.jdbc.ReturningWork;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.data.domain.Limit;
 
 import java.lang.reflect.Field;
 import java.math.BigDecimal;
+import java.sql.Connection;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -24,6 +47,15 @@ class InvoiceServiceTest {
     @Mock
     private InvoiceRepository invoiceRepository;
 
+    @Mock
+    private InvoiceLineRepository invoiceLineRepository;
+
+    @Mock
+    private ProductServiceRepository productServiceRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
     @Mock
     private EntityManager entityManager;
 
@@ -94,4 +126,197 @@ class InvoiceServiceTest {
         assertDoesNotThrow(() -> invoiceService.deleteById(10));
         verify(invoiceRepository).deleteById(10);
     }
+
+    @Test
+    void findAllInvoicesByUserId_ValidId_ShouldQueryRepository() {
+        when(invoiceRepository.findPageByUserId(1, null, Limit.unlimited())).thenReturn(List.of(invoice));
+
+        List<Invoice> result = invoiceService.findAllInvoicesByUserId(1);
+
+        assertEquals(1, result.size());
+        verify(invoiceRepository, never()).findAll();
+    }
+
+    @Test
+    void findInvoicesByUserId_WithCursor_ShouldQueryNextPage() {
+        LocalDateTime afterDate = invoice.getDate();
+        when(invoiceRepository.findPageByUserIdAfter(1, StatusValues.PAID, afterDate, 10, Limit.of(20)))
+                .thenReturn(List.of());
+
+        List<Invoice> result = invoiceService.findInvoicesByUserId(1, StatusValues.PAID, afterDate, 10, 20);
+
+        assertTrue(result.isEmpty());
+        verify(invoiceRepository).findPageByUserIdAfter(1, StatusValues.PAID, afterDate, 10, Limit.of(20));
+    }
+
+    @Test
+    void findInvoicesByUserId_IncompleteCursor_ShouldThrow() {
+        assertThrows(BadRequestException.class,
+                () -> invoiceService.findInvoicesByUserId(1, null, LocalDateTime.now(), null, 20));
+    }
+
+    @Test
+    void findInvoicesByUserId_InvalidSize_ShouldThrow() {
+        assertThrows(BadRequestException.class,
+                () -> invoiceService.findInvoicesByUserId(1, null, null, null, 0));
+    }
+
+    @Test
+    void streamInvoicesWithLines_WithoutUserOrRange_ShouldThrow() {
+        assertThrows(InvalidDataException.class,
+                () -> invoiceService.streamInvoicesWithLines(null, LocalDate.now(), null, found -> {
+                }));
+        verifyNoInteractions(invoiceRepository);
+    }
+
+    @Test
+    void streamInvoicesWithLines_ReversedRange_ShouldThrow() {
+        assertThrows(InvalidDataException.class,
+                () -> invoiceService.streamInvoicesWithLines(1, LocalDate.now(), LocalDate.now().minusDays(1), found -> {
+                }));
+        verifyNoInteractions(invoiceRepository);
+    }
+
+    @Test
+    void streamInvoicesWithLines_ShouldIncludeTheLastDayOfTheRange() throws Exception {
+        connectTo(mock(Connection.class));
+        LocalDate from = LocalDate.of(2025, 1, 1);
+        LocalDate to = LocalDate.of(2025, 1, 31);
+        when(invoiceRepository.streamByUserIdAndDate(null, from.atStartOfDay(), LocalDate.of(2025, 2, 1).atStartOfDay()))
+                .thenReturn(Stream.of(invoice));
+
+        long count = invoiceService.streamInvoicesWithLines(null, from, to, found -> assertSame(invoice, found));
+
+        assertEquals(1, count);
+    }
+
+    @Test
+    void streamInvoicesWithLines_OnMySql_ShouldUseCursorsOnlyWhileStreaming() throws Exception {
+        JdbcPropertySet properties = new JdbcPropertySetImpl();
+        JdbcConnection mysql = mock(JdbcConnection.class);
+        when(mysql.isWrapperFor(JdbcConnection.class)).thenReturn(true);
+        when(mysql.unwrap(JdbcConnection.class)).thenReturn(mysql);
+        when(mysql.getPropertySet()).thenReturn(properties);
+        connectTo(mysql);
+        when(invoiceRepository.streamByUserIdAndDate(1, null, null)).thenAnswer(invocation -> {
+            assertTrue(properties.getBooleanProperty(PropertyKey.useCursorFetch).getValue());
+            assertTrue(properties.getBooleanProperty(PropertyKey.useServerPrepStmts).getValue());
+            return Stream.of(invoice);
+        });
+
+        long count = invoiceService.streamInvoicesWithLines(1, null, null, found -> {
+        });
+
+        assertEquals(1, count);
+        assertFalse(properties.getBooleanProperty(PropertyKey.useCursorFetch).getValue());
+        assertFalse(properties.getBooleanProperty(PropertyKey.useServerPrepStmts).getValue());
+    }
+
+    @Test
+    void createInvoiceWithLines_ShouldResolveProductsOnceAndComputeTotal() {
+        ProductService fee = product(1, "Monthly fee", "50.00", "21.00");
+        ProductService belt = product(2, "Belt", "20.00", "0.00");
+        invoice.setId(null);
+        invoice.setTotal(null);
+        when(productServiceRepository.findAllById(Set.of(1, 2))).thenReturn(List.of(fee, belt));
+        when(invoiceRepository.save(invoice)).thenReturn(invoice);
+        when(invoiceLineRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<InvoiceLine> lines = invocation.getArgument(0);
+            for (int i = 0; i < lines.size(); i++) {
+                lines.get(i).setId(100 + i);
+            }
+            return lines;
+        });
+
+        Invoice created = invoiceService.createInvoiceWithLines(invoice, List.of(
+                new InvoiceLineRequest(1, 2, null),
+                new InvoiceLineRequest(2, 1, new BigDecimal("15.00")),
+                new InvoiceLineRequest(1, 1, null)));
+
+        assertEquals(0, new BigDecimal("196.50").compareTo(created.getTotal()));
+        assertEquals(3, created.getInvoiceLines().size());
+        assertTrue(created.getInvoiceLines().stream().anyMatch(line ->
+                line.getProductService() == belt && new BigDecimal("15.00").equals(line.getSubtotal())));
+        verify(productServiceRepository, times(1)).findAllById(any());
+        verify(invoiceRepository, times(1)).save(invoice);
+    }
+
+    @Test
+    void createInvoiceWithLines_UnknownProduct_ShouldThrow() {
+        invoice.setId(null);
+        when(productServiceRepository.findAllById(Set.of(1, 3))).thenReturn(List.of(product(1, "Monthly fee", "50.00", "21.00")));
+
+        EntityNotFoundException ex = assertThrows(EntityNotFoundException.class, () -> invoiceService.createInvoiceWithLines(invoice,
+                List.of(new InvoiceLineRequest(1, 1, null), new InvoiceLineRequest(3, 1, null))));
+        assertTrue(ex.getMessage().endsWith("3"));
+        verify(invoiceRepository, never()).save(any());
+    }
+
+    @Test
+    void createInvoiceWithLines_InvalidQuantity_ShouldThrow() {
+        invoice.setId(null);
+        when(productServiceRepository.findAllById(Set.of(1))).thenReturn(List.of(product(1, "Monthly fee", "50.00", "21.00")));
+
+        assertThrows(InvalidDataException.class, () -> invoiceService.createInvoiceWithLines(invoice,
+                List.of(new InvoiceLineRequest(1, 0, null))));
+        verify(invoiceRepository, never()).save(any());
+    }
+
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void createMembershipInvoices_ShouldInvoiceMappedMembershipsAndSkipOthers() {
+        ProductService basic = product(1, "Basic fee", "40.00", "21.00");
+        basic.setMembershipType(MembershipTypeValues.BASIC);
+        LocalDate period = LocalDate.of(2026, 3, 1);
+        when(productServiceRepository.findAllByMembershipTypeIn(Set.of(MembershipTypeValues.BASIC, MembershipTypeValues.PREMIUM)))
+                .thenReturn(List.of(basic));
+        when(userRepository.getReferenceById(anyInt())).thenAnswer(invocation -> {
+            User reference = new User();
+            reference.setId(invocation.getArgument(0));
+            return reference;
+        });
+
+        int created = invoiceService.createMembershipInvoices(List.of(
+                new BillableMembership(1, 11, MembershipTypeValues.BASIC),
+                new BillableMembership(2, 12, MembershipTypeValues.PREMIUM),
+                new BillableMembership(3, 13, MembershipTypeValues.BASIC)), period);
+
+        ArgumentCaptor<List<Invoice>> captor = ArgumentCaptor.forClass((Class) List.class);
+        verify(invoiceRepository).saveAll(captor.capture());
+        List<Invoice> invoices = captor.getValue();
+        assertEquals(2, created);
+        assertEquals(List.of(11, 13), invoices.stream().map(i -> i.getUser().getId()).toList());
+        assertTrue(invoices.stream().allMatch(i -> period.equals(i.getBillingPeriod())
+                && i.getStatus() == StatusValues.NOT_PAID
+                && new BigDecimal("48.40").compareTo(i.getTotal()) == 0
+                && i.getInvoiceLines().size() == 1));
+        verify(productServiceRepository, times(1)).findAllByMembershipTypeIn(any());
+    }
+
+    @Test
+    void createMembershipInvoices_NullPeriod_ShouldThrow() {
+        assertThrows(InvalidDataException.class, () -> invoiceService.createMembershipInvoices(List.of(), null));
+        verify(invoiceRepository, never()).saveAll(any());
+    }
+
+    private static ProductService product(Integer id, String name, String price, String iva) {
+        IVAType ivaType = new IVAType();
+        ivaType.setPercentage(new BigDecimal(iva));
+        ProductService product = new ProductService();
+        product.setId(id);
+        product.setName(name);
+        product.setPrice(new BigDecimal(price));
+        product.setIvaType(ivaType);
+        return product;
+    }
+
+    /**
+     * Makes the work run on the session of the mocked entity manager use the given connection.
+     */
+    private void connectTo(Connection connection) {
+        Session session = mock(Session.class);
+        when(entityManager.unwrap(Session.class)).thenReturn(session);
+        when(session.doReturningWork(any())).thenAnswer(invocation ->
+                invocation.<ReturningWork<?>>getArgument(0).execute(connection));
+    }
 }
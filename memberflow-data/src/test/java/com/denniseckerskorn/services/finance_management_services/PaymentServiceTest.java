@@ -4,8 +4,10 @@ import com.denniseckerskorn.entities.finance.Invoice;
 import com.denniseckerskorn.entities.finance.Payment;
 import com.denniseckerskorn.enums.PaymentMethodValues;
 import com.denniseckerskorn.enums.StatusValues;
+import com.denniseckerskorn.exceptions.BadRequestException;
 import com.denniseckerskorn.exceptions.DuplicateEntityException;
 import com.denniseckerskorn.exceptions.InvalidDataException;
+import com.denniseckerskorn.projections.PaymentSummary;
 import com.denniseckerskorn.repositories.finance_repositories.PaymentRepository;
 import com.denniseckerskorn.services.finance_services.InvoiceService;
 import com.denniseckerskorn.services.finance_services.PaymentService;
@@ -13,10 +15,14 @@ import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import java.lang.reflect.Field;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -101,4 +107,36 @@ class PaymentServiceTest {
 
         assertThrows(InvalidDataException.class, () -> paymentService.save(payment));
     }
+
+    @Test
+    void findAllSummaries_WithoutArguments_ShouldReadAllSummaries() {
+        PaymentSummary summary = new PaymentSummary(101, 0L, 1, payment.getPaymentDate(), payment.getAmount(),
+                PaymentMethodValues.CASH, StatusValues.PAID);
+        when(paymentRepository.findSummaries(Pageable.unpaged())).thenReturn(List.of(summary));
+
+        assertEquals(List.of(summary), paymentService.findAllSummaries(null, null, null));
+        verify(paymentRepository, never()).findAll();
+    }
+
+    @Test
+    void findAllSummaries_WithPage_ShouldRequestPage() {
+        when(paymentRepository.findSummaries(PageRequest.of(2, 10))).thenReturn(List.of());
+
+        assertTrue(paymentService.findAllSummaries(2, 10, null).isEmpty());
+        verify(paymentRepository).findSummaries(PageRequest.of(2, 10));
+    }
+
+    @Test
+    void findAllSummaries_WithCursor_ShouldUseDefaultPageSize() {
+        when(paymentRepository.findSummariesAfter(101, Limit.of(50))).thenReturn(List.of());
+
+        paymentService.findAllSummaries(null, null, 101);
+
+        verify(paymentRepository).findSummariesAfter(101, Limit.of(50));
+    }
+
+    @Test
+    void findAllSummaries_WithPageAndCursor_ShouldThrow() {
+        assertThrows(BadRequestException.class, () -> paymentService.findAllSummaries(0, 10, 101));
+    }
 }
@@ -2,6 +2,7 @@ package com.denniseckerskorn.services.finance_services;
 
 import com.denniseckerskorn.entities.finance.IVAType;
 import com.denniseckerskorn.entities.finance.ProductService;
+import com.denniseckerskorn.enums.MembershipTypeValues;
 import com.denniseckerskorn.enums.StatusValues;
 import com.denniseckerskorn.exceptions.DuplicateEntityException;
 import com.denniseckerskorn.exceptions.InvalidDataException;
@@ -78,6 +79,17 @@ class ProductServiceServiceTest {
         assertThrows(DuplicateEntityException.class, () -> productServiceService.save(product));
     }
 
+    @Test
+    void save_MembershipTypeAlreadyBilled_ShouldThrow() {
+        product.setMembershipType(MembershipTypeValues.PREMIUM);
+        when(ivaTypeService.findById(ivaType.getId())).thenReturn(ivaType);
+        when(productServiceRepository.existsByName(product.getName())).thenReturn(false);
+        when(productServiceRepository.existsByMembershipTypeAndIdNot(MembershipTypeValues.PREMIUM, product.getId())).thenReturn(true);
+
+        assertThrows(DuplicateEntityException.class, () -> productServiceService.save(product));
+        verify(productServiceRepository, never()).save(any());
+    }
+
     @Test
     void save_InvalidPrice_ShouldThrow() {
         product.setPrice(BigDecimal.ZERO);
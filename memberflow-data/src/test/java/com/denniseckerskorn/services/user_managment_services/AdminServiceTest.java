@@ -13,6 +13,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
@@ -28,6 +29,9 @@ class AdminServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private AdminService adminService;
 
@@ -104,10 +108,12 @@ class AdminServiceTest {
     @Test
     void givenValidId_whenDeleteById_thenDeletesAdmin() {
         when(adminRepository.existsById(admin.getId())).thenReturn(true);
+        when(adminRepository.findById(admin.getId())).thenReturn(Optional.of(admin));
         doNothing().when(adminRepository).deleteById(admin.getId());
 
         adminService.deleteById(admin.getId());
         verify(adminRepository, times(1)).deleteById(admin.getId());
+        verify(eventPublisher).publishEvent(new AuthorizationChangedEvent(1));
     }
 
     @Test
@@ -1,15 +1,18 @@
 package com.denniseckerskorn.services.user_managment_services;
 
 import com.denniseckerskorn.entities.user_managment.Permission;
+import com.denniseckerskorn.entities.user_managment.Role;
 import com.denniseckerskorn.enums.PermissionValues;
 import com.denniseckerskorn.exceptions.EntityNotFoundException;
 import com.denniseckerskorn.exceptions.InvalidDataException;
 import com.denniseckerskorn.repositories.user_managment_repositories.PermissionRepository;
+import com.denniseckerskorn.services.ReferenceDataCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Optional;
 import java.util.List;
@@ -22,6 +25,12 @@ class PermissionServiceTest {
     @Mock
     private PermissionRepository permissionRepository;
 
+    @Mock
+    private ReferenceDataCache referenceDataCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private PermissionService permissionService;
 
@@ -67,6 +76,8 @@ class PermissionServiceTest {
         when(permissionRepository.existsById(1)).thenReturn(true);
         doNothing().when(permissionRepository).deleteById(1);
         assertDoesNotThrow(() -> permissionService.deleteById(1));
+        verify(referenceDataCache).evictCollection(Role.class, "permissions");
+        verify(eventPublisher).publishEvent(AuthorizationChangedEvent.allUsers());
     }
 
     @Test
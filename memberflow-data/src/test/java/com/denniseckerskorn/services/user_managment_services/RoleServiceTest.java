@@ -5,11 +5,13 @@ import com.denniseckerskorn.entities.user_managment.Role;
 import com.denniseckerskorn.exceptions.EntityNotFoundException;
 import com.denniseckerskorn.exceptions.InvalidDataException;
 import com.denniseckerskorn.repositories.user_managment_repositories.RoleRepository;
+import com.denniseckerskorn.services.ReferenceDataCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.*;
 
@@ -21,6 +23,12 @@ class RoleServiceTest {
     @Mock
     private RoleRepository roleRepository;
 
+    @Mock
+    private ReferenceDataCache referenceDataCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private RoleService roleService;
 
@@ -72,6 +80,8 @@ class RoleServiceTest {
         when(roleRepository.existsById(1)).thenReturn(true);
         doNothing().when(roleRepository).deleteById(1);
         assertDoesNotThrow(() -> roleService.deleteById(1));
+        verify(referenceDataCache).evictCollection(Permission.class, "roles");
+        verify(eventPublisher).publishEvent(AuthorizationChangedEvent.allUsers());
     }
 
     @Test
@@ -88,6 +98,8 @@ class RoleServiceTest {
         when(roleRepository.save(any())).thenReturn(role);
         roleService.addPermissionToRole(role, permission);
         verify(roleRepository).save(any());
+        verify(referenceDataCache).evictCollection(Permission.class, "roles", permission.getId());
+        verify(eventPublisher).publishEvent(AuthorizationChangedEvent.allUsers());
     }
 
     @Test
@@ -109,6 +121,8 @@ class RoleServiceTest {
         roleService.removePermissionFromRole(role, permission);
 
         verify(roleRepository).save(any());
+        verify(referenceDataCache).evictCollection(Permission.class, "roles", permission.getId());
+        verify(eventPublisher).publishEvent(AuthorizationChangedEvent.allUsers());
     }
 
 
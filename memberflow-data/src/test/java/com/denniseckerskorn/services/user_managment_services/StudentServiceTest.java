@@ -15,6 +15,7 @@ import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.lang.reflect.Field;
 import java.time.LocalDate;
@@ -29,6 +30,7 @@ class StudentServiceTest {
     @Mock private UserRepository userRepository;
     @Mock private AssistanceRepository assistanceRepository;
     @Mock private EntityManager entityManager;
+    @Mock private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private StudentService studentService;
@@ -47,7 +49,9 @@ class StudentServiceTest {
         student.setId(1);
         student.setDni("12345678A");
         student.setBirthdate(LocalDate.of(2000, 1, 1));
-        student.setUser(new User());
+        User user = new User();
+        user.setId(7);
+        student.setUser(user);
         student.setHistories(new HashSet<>());
         student.setAssistances(new HashSet<>());
         student.setTrainingGroups(new HashSet<>());
@@ -74,10 +78,22 @@ class StudentServiceTest {
 
     @Test
     void update_ValidStudent_ShouldSucceed() {
-        when(studentRepository.existsById(1)).thenReturn(true);
+        student.setVersion(0L);
         when(entityManager.merge(any())).thenReturn(student);
         Student updated = studentService.update(student);
         assertEquals("12345678A", updated.getDni());
+        verify(eventPublisher).publishEvent(new AuthorizationChangedEvent(7));
+    }
+
+    @Test
+    void deleteById_ShouldPublishAuthorizationChangeOfItsUser() {
+        when(studentRepository.existsById(1)).thenReturn(true);
+        when(studentRepository.findById(1)).thenReturn(Optional.of(student));
+
+        studentService.deleteById(1);
+
+        verify(studentRepository).deleteById(1);
+        verify(eventPublisher).publishEvent(new AuthorizationChangedEvent(7));
     }
 
     @Test
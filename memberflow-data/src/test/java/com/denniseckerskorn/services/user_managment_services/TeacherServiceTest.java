@@ -14,6 +14,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.lang.reflect.Field;
 import java.util.*;
@@ -32,6 +33,9 @@ class TeacherServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private TeacherService teacherService;
 
@@ -42,6 +46,7 @@ class TeacherServiceTest {
         MockitoAnnotations.openMocks(this);
 
         User user = new User();
+        user.setId(5);
         user.setEmail("test@example.com");
         teacher = new Teacher();
         teacher.setId(1);
@@ -80,6 +85,7 @@ class TeacherServiceTest {
         Teacher updated = teacherService.update(teacher);
         assertNotNull(updated);
         assertEquals("test@example.com", updated.getUser().getEmail());
+        verify(eventPublisher).publishEvent(new AuthorizationChangedEvent(5));
     }
 
     @Test
@@ -96,6 +102,7 @@ class TeacherServiceTest {
 
         InvalidDataException exception = assertThrows(InvalidDataException.class, () -> teacherService.deleteById(1));
         assertTrue(exception.getMessage().contains("Cannot delete teacher with ID"));
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
@@ -105,6 +112,7 @@ class TeacherServiceTest {
         doNothing().when(teacherRepository).deleteById(1);
         assertDoesNotThrow(() -> teacherService.deleteById(1));
         verify(teacherRepository).deleteById(1);
+        verify(eventPublisher).publishEvent(new AuthorizationChangedEvent(5));
     }
 
     @Test
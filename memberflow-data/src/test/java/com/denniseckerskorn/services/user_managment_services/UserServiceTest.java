@@ -12,6 +12,7 @@ import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.lang.reflect.Field;
 import java.math.BigDecimal;
@@ -27,6 +28,9 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @Mock
     private EntityManager entityManager;
 
@@ -77,10 +81,11 @@ class UserServiceTest {
 
     @Test
     void update_ValidUser_ReturnsUpdatedUser() {
-        when(userRepository.existsById(1)).thenReturn(true);
+        user.setVersion(0L);
         when(entityManager.merge(user)).thenReturn(user);
         User updated = userService.update(user);
         assertNotNull(updated);
+        verify(eventPublisher).publishEvent(new AuthorizationChangedEvent(1));
     }
 
     @Test
@@ -91,6 +96,7 @@ class UserServiceTest {
 
         assertDoesNotThrow(() -> userService.deleteById(1));
         verify(userRepository).deleteById(1);
+        verify(eventPublisher).publishEvent(new AuthorizationChangedEvent(1));
     }
 
 
@@ -121,6 +127,7 @@ class UserServiceTest {
         when(userRepository.save(user)).thenReturn(user);
         assertDoesNotThrow(() -> userService.assignRoleToUser(1, role));
         assertEquals("Admin", user.getRole().getName());
+        verify(eventPublisher).publishEvent(new AuthorizationChangedEvent(1));
     }
 
     @Test
@@ -0,0 +1,176 @@
+package com.denniseckerskorn.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and outcomes of the requests of a run, per operation.
+ * Latencies are kept in HdrHistograms with microsecond resolution, so percentiles are exact to three
+ * significant digits however long the run is. Only successful responses are added to the latency histograms;
+ * the others are counted by status code, with {@code 0} standing for an I/O error or a timeout.
+ */
+public class LatencyReport {
+
+    private static final long HIGHEST_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, Map<Integer, LongAdder>> errors = new EnumMap<>(Operation.class);
+    private volatile Duration elapsed = Duration.ZERO;
+
+    /**
+     * Creates an empty report for the given operations.
+     *
+     * @param operations the operations of the workload
+     */
+    public LatencyReport(Iterable<Operation> operations) {
+        for (Operation operation : operations) {
+            latencies.put(operation, new ConcurrentHistogram(HIGHEST_LATENCY_MICROS, 3));
+            errors.put(operation, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Records a completed request.
+     *
+     * @param operation    the operation of the request
+     * @param status       the HTTP status, or 0 if no response arrived
+     * @param latencyNanos the time from the intended start of the request to its response
+     */
+    public void record(Operation operation, int status, long latencyNanos) {
+        if (status >= 200 && status < 300) {
+            latencies.get(operation).recordValue(Math.min(HIGHEST_LATENCY_MICROS, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+        } else {
+            errors.get(operation).computeIfAbsent(status, key -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * Sets the length of the measured period, which the throughput is computed over.
+     *
+     * @param elapsed the measured period
+     */
+    public void setElapsed(Duration elapsed) {
+        this.elapsed = elapsed;
+    }
+
+    /**
+     * Returns the measured period.
+     *
+     * @return the measured period
+     */
+    public Duration elapsed() {
+        return elapsed;
+    }
+
+    /**
+     * Returns the totals of every operation together.
+     *
+     * @return the row of all operations
+     */
+    public Row total() {
+        Histogram all = new Histogram(HIGHEST_LATENCY_MICROS, 3);
+        long failed = 0;
+        for (Operation operation : latencies.keySet()) {
+            all.add(latencies.get(operation));
+            failed += errorCount(operation);
+        }
+        return row("total", all, failed);
+    }
+
+    /**
+     * Returns one row per operation, then the total.
+     *
+     * @return the rows of the report
+     */
+    public List<Row> rows() {
+        List<Row> rows = new ArrayList<>();
+        for (Operation operation : latencies.keySet()) {
+            rows.add(row(operation.label(), latencies.get(operation), errorCount(operation)));
+        }
+        rows.add(total());
+        return rows;
+    }
+
+    /**
+     * Prints the report as a table, followed by the failed requests by status code.
+     *
+     * @param title the title of the run
+     * @param out   the stream to print to
+     */
+    public void print(String title, PrintStream out) {
+        out.println();
+        out.printf("%s (%d s measured)%n", title, elapsed().toSeconds());
+        out.printf("%-16s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "operation", "ok", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Row row : rows()) {
+            out.printf("%-16s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", row.operation(), row.ok(),
+                    row.errors(), row.throughput(), row.p50(), row.p90(), row.p99(), row.p999(), row.max());
+        }
+        for (Map.Entry<Operation, Map<Integer, LongAdder>> entry : errors.entrySet()) {
+            if (!entry.getValue().isEmpty()) {
+                Map<Integer, Long> byStatus = new TreeMap<>();
+                entry.getValue().forEach((status, count) -> byStatus.put(status, count.sum()));
+                out.printf("  %s errors by status (0 = no response): %s%n", entry.getKey().label(), byStatus);
+            }
+        }
+    }
+
+    /**
+     * Appends the rows of the report to a CSV file, writing the header if the file is new.
+     *
+     * @param file  the CSV file
+     * @param run   the name of the run, written in the first column
+     * @param load  the description of the load, written in the second column
+     * @throws IOException if the file cannot be written
+     */
+    public void appendCsv(Path file, String run, String load) throws IOException {
+        List<String> lines = new ArrayList<>();
+        if (!Files.exists(file)) {
+            lines.add("run,load,operation,ok,errors,throughput,p50_ms,p90_ms,p99_ms,p999_ms,max_ms");
+        }
+        for (Row row : rows()) {
+            lines.add(String.format(Locale.ROOT, "%s,%s,%s,%d,%d,%.1f,%.2f,%.2f,%.2f,%.2f,%.2f", run, load,
+                    row.operation(), row.ok(), row.errors(), row.throughput(), row.p50(), row.p90(), row.p99(),
+                    row.p999(), row.max()));
+        }
+        Files.write(file, lines, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private long errorCount(Operation operation) {
+        return errors.get(operation).values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    private Row row(String operation, Histogram histogram, long failed) {
+        double seconds = Math.max(1e-9, elapsed().toNanos() / 1e9);
+        return new Row(operation, histogram.getTotalCount(), failed, histogram.getTotalCount() / seconds,
+                millis(histogram, 50), millis(histogram, 90), millis(histogram, 99), millis(histogram, 99.9),
+                histogram.getMaxValue() / 1000.0);
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    /**
+     * The results of one operation, with latencies in milliseconds and throughput in successful requests per second.
+     */
+    public record Row(String operation, long ok, long errors, double throughput, double p50, double p90,
+                      double p99, double p999, double max) {
+    }
+}
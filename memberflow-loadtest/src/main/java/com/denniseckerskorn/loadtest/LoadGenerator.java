@@ -0,0 +1,158 @@
+package com.denniseckerskorn.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.random.RandomGenerator;
+
+/**
+ * Sends the workload to the API under test and records what each request cost.
+ * <ul>
+ *     <li>Closed model: a fixed number of clients, each sending its next request when the previous one
+ *     completed. The load adapts to the API, as with a fixed number of users at their desks.</li>
+ *     <li>Open model: requests are started at a fixed rate whatever the API does, as with users arriving
+ *     independently. Latency is measured from the time a request was due, so a stalled API shows up in
+ *     the percentiles instead of silently lowering the load.</li>
+ * </ul>
+ * Every request runs on its own virtual thread, so the generator itself never limits the concurrency.
+ */
+public class LoadGenerator {
+
+    /**
+     * Time a request may take before it counts as failed.
+     */
+    public static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+    private final Operation.Session session;
+    private final List<Operation> weightedOperations = new ArrayList<>();
+
+    /**
+     * Constructor for LoadGenerator.
+     *
+     * @param httpClient the client the requests are sent with
+     * @param session    the API under test
+     * @param mix        the relative weight of each operation
+     */
+    public LoadGenerator(HttpClient httpClient, Operation.Session session, Map<Operation, Integer> mix) {
+        this.httpClient = httpClient;
+        this.session = session;
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                weightedOperations.add(operation);
+            }
+        });
+        if (weightedOperations.isEmpty()) {
+            throw new IllegalArgumentException("The mix has no operation with a positive weight");
+        }
+    }
+
+    /**
+     * Runs the warmup and then the measured period.
+     *
+     * @param options the load to apply
+     * @return the latencies of the requests started in the measured period, however late they completed
+     * @throws InterruptedException if the calling thread is interrupted
+     */
+    public LatencyReport run(LoadTestOptions options) throws InterruptedException {
+        LatencyReport report = new LatencyReport(options.mix().keySet());
+        long measureFrom = System.nanoTime() + options.warmup().toNanos();
+        long measureUntil = measureFrom + options.duration().toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            if (options.model().equals("closed")) {
+                SplittableRandom seeds = new SplittableRandom(7);
+                for (int i = 0; i < options.clients(); i++) {
+                    SplittableRandom random = seeds.split();
+                    executor.execute(() -> closedClient(random, options.thinkTime(), measureFrom, measureUntil, report));
+                }
+            } else {
+                openArrivals(executor, options.rate(), measureFrom, measureUntil, report);
+            }
+            sleepUntil(measureUntil);
+            // Requests started in the measured period are recorded when they complete, even after it
+            executor.shutdown();
+            executor.awaitTermination(REQUEST_TIMEOUT.toSeconds() + 5, TimeUnit.SECONDS);
+        }
+        report.setElapsed(options.duration());
+        return report;
+    }
+
+    private void closedClient(RandomGenerator random, Duration thinkTime, long from, long until, LatencyReport report) {
+        while (System.nanoTime() < until) {
+            Operation operation = pick(random);
+            long start = System.nanoTime();
+            int status = send(operation, random);
+            record(report, operation, status, start, from, until);
+            if (!thinkTime.isZero()) {
+                LockSupport.parkNanos(thinkTime.toNanos());
+            }
+        }
+    }
+
+    private void openArrivals(ExecutorService executor, int rate, long measureFrom, long until, LatencyReport report) {
+        SplittableRandom random = new SplittableRandom(7);
+        double interval = 1_000_000_000.0 / rate;
+        long first = System.nanoTime();
+        for (long i = 0; ; i++) {
+            long due = first + (long) (i * interval);
+            if (due >= until) {
+                return;
+            }
+            sleepUntil(due);
+            SplittableRandom requestRandom = random.split();
+            executor.execute(() -> {
+                Operation operation = pick(requestRandom);
+                int status = send(operation, requestRandom);
+                record(report, operation, status, due, measureFrom, until);
+            });
+        }
+    }
+
+    private Operation pick(RandomGenerator random) {
+        return weightedOperations.get(random.nextInt(weightedOperations.size()));
+    }
+
+    /**
+     * Sends one request of an operation.
+     *
+     * @return the HTTP status, or 0 if no response arrived in time
+     */
+    private int send(Operation operation, RandomGenerator random) {
+        HttpRequest request = operation.request(session, random);
+        try {
+            return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            return 0;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        }
+    }
+
+    /**
+     * Records a completed request if it started, or was due, in the measured period.
+     */
+    private static void record(LatencyReport report, Operation operation, int status, long start, long from, long until) {
+        if (start >= from && start < until) {
+            report.record(operation, status, System.nanoTime() - start);
+        }
+    }
+
+    private static void sleepUntil(long nanoTime) {
+        long remaining;
+        while ((remaining = nanoTime - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.denniseckerskorn.loadtest;
+
+import com.denniseckerskorn.MemberFlowApplication;
+import com.denniseckerskorn.security.JwtUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+/**
+ * Load test of the API without MySQL, Docker or any other service.
+ * It starts {@link MemberFlowApplication} in this JVM on an in-memory H2 database in MySQL mode, seeds a
+ * synthetic school, drives the mixed workload of {@link Operation} against it over HTTP on the loopback
+ * interface, and prints throughput and latency percentiles per operation.
+ * With {@code --threads=both} the whole test runs twice, on platform and then on virtual request threads,
+ * each on a fresh database, and the two are compared. See the README of the module for the options.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        List<String> modes = options.threads().equals("both") ? List.of("platform", "virtual") : List.of(options.threads());
+
+        Map<String, LatencyReport.Row> totals = new LinkedHashMap<>();
+        for (String mode : modes) {
+            try (ConfigurableApplicationContext context = start(options, mode)) {
+                long seedStart = System.nanoTime();
+                LoadTestDataSet dataSet = LoadTestDataSet.seed(context, options.students());
+                System.out.printf("Seeded %d students, %d groups and %d invoices in %d ms%n", dataSet.studentUsers().size(),
+                        dataSet.groups().size(), dataSet.invoiceIds().size(), Duration.ofNanos(System.nanoTime() - seedStart).toMillis());
+
+                String title = mode + " threads, " + options.model() + " model, " + options.describeLoad()
+                        + ", pool of " + options.poolSize() + ", " + options.students() + " students";
+                System.out.printf("Running %s: %d s warmup, %d s measured%n", title,
+                        options.warmup().toSeconds(), options.duration().toSeconds());
+
+                try (HttpClient httpClient = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .connectTimeout(Duration.ofSeconds(10))
+                        .executor(Executors.newVirtualThreadPerTaskExecutor())
+                        .build()) {
+                    LatencyReport report = new LoadGenerator(httpClient, session(context, dataSet), options.mix()).run(options);
+                    report.print(title, System.out);
+                    if (options.report() != null) {
+                        report.appendCsv(Path.of(options.report()), mode + "-" + options.model(), options.describeLoad());
+                    }
+                    totals.put(mode, report.total());
+                }
+            }
+        }
+
+        if (totals.size() > 1) {
+            System.out.println();
+            System.out.printf("%-10s %9s %7s %9s %9s %9s%n", "threads", "req/s", "errors", "p50 ms", "p99 ms", "p99.9 ms");
+            totals.forEach((mode, total) -> System.out.printf("%-10s %9.1f %7d %9.2f %9.2f %9.2f%n",
+                    mode, total.throughput(), total.errors(), total.p50(), total.p99(), total.p999()));
+        }
+    }
+
+    /**
+     * Starts the API on a random port and a fresh in-memory database.
+     * The settings are passed as command line arguments so they take precedence over {@code application.properties}.
+     */
+    private static ConfigurableApplicationContext start(LoadTestOptions options, String mode) {
+        return new SpringApplicationBuilder(MemberFlowApplication.class).run(
+                "--spring.datasource.url=jdbc:h2:mem:loadtest_" + mode + ";MODE=MySQL;DB_CLOSE_DELAY=-1;NON_KEYWORDS=DATE,TYPE,VALUE,USER",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.hikari.maximum-pool-size=" + options.poolSize(),
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.threads.virtual.enabled=" + mode.equals("virtual"),
+                "--server.port=0",
+                "--management.server.port=-1",
+                "--spring.main.banner-mode=off",
+                // The services log every call at INFO, which would bury the report
+                "--logging.level.root=WARN");
+    }
+
+    /**
+     * Issues a token for every user the workload acts as, without going through the login endpoint.
+     */
+    private static Operation.Session session(ConfigurableApplicationContext context, LoadTestDataSet dataSet) {
+        int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+        JwtUtil jwtUtil = context.getBean(JwtUtil.class);
+        return new Operation.Session(
+                URI.create("http://localhost:" + port),
+                dataSet,
+                jwtUtil.generateToken(dataSet.adminEmail(), "FULL_ACCESS"),
+                dataSet.teacherEmails().stream().map(email -> jwtUtil.generateToken(email, "MANAGE_STUDENTS")).toList(),
+                dataSet.studentUsers().stream().map(user -> jwtUtil.generateToken(user.email(), "VIEW_OWN_DATA")).toList(),
+                new ObjectMapper());
+    }
+}
@@ -0,0 +1,122 @@
+package com.denniseckerskorn.loadtest;
+
+import com.denniseckerskorn.seeder.SyntheticDataGenerator;
+import com.denniseckerskorn.seeder.SyntheticDataOptions;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Synthetic school seeded into the database of the API under test, and the IDs the workload picks from.
+ * The school is built by {@link SyntheticDataGenerator}: groups of {@link SyntheticDataGenerator#STUDENTS_PER_GROUP}
+ * students, each with a teacher and weekly sessions, and students with assistances and monthly invoices.
+ * All synthetic users share one password, hashed once, so seeding does not pay BCrypt per user.
+ *
+ * @param password      the password of every synthetic user
+ * @param adminEmail    the email of the administrator
+ * @param studentUsers  the students' user IDs and emails
+ * @param teacherEmails the emails of the teachers
+ * @param groups        the training groups with their students and sessions
+ * @param invoiceIds    the IDs of the seeded invoices
+ * @param productIds    the IDs of the products and services
+ */
+public record LoadTestDataSet(String password, String adminEmail, List<UserRef> studentUsers,
+                              List<String> teacherEmails, List<GroupRef> groups, List<Integer> invoiceIds,
+                              List<Integer> productIds) {
+
+    /**
+     * Average number of assistances of each student.
+     */
+    public static final int ASSISTANCES_PER_STUDENT = 9;
+
+    /**
+     * Average number of invoices of each student.
+     */
+    public static final int INVOICES_PER_STUDENT = 3;
+
+    private static final String ADMIN_EMAIL = "admin@example.com";
+    private static final String STUDENT_EMAILS = "student%" + SyntheticDataGenerator.EMAIL_DOMAIN;
+    private static final String TEACHER_EMAILS = "teacher%" + SyntheticDataGenerator.EMAIL_DOMAIN;
+
+    /**
+     * A user the workload acts as or on.
+     *
+     * @param id    the user ID
+     * @param email the email, used as username
+     */
+    public record UserRef(Integer id, String email) {
+    }
+
+    /**
+     * A training group the workload reads rosters of and takes roll calls in.
+     *
+     * @param id         the group ID
+     * @param studentIds the IDs of its students
+     * @param sessionIds the IDs of its sessions
+     */
+    public record GroupRef(Integer id, List<Integer> studentIds, List<Integer> sessionIds) {
+    }
+
+    /**
+     * Seeds a school of the given size into the database of the application and reads back its IDs.
+     *
+     * @param context  the application context of the API
+     * @param students the number of students
+     * @return the references the workload uses
+     */
+    public static LoadTestDataSet seed(ApplicationContext context, int students) {
+        context.getBean(SyntheticDataGenerator.class).generate(new SyntheticDataOptions(students,
+                (long) students * ASSISTANCES_PER_STUDENT, (long) students * INVOICES_PER_STUDENT,
+                SyntheticDataOptions.DEFAULT_PASSWORD, SyntheticDataOptions.DEFAULT_SEED));
+
+        EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(
+                context.getBean(EntityManagerFactory.class));
+        TransactionTemplate transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        transactionTemplate.setReadOnly(true);
+        return transactionTemplate.execute(status -> {
+            List<UserRef> studentUsers = entityManager
+                    .createQuery("SELECT u.id, u.email FROM User u WHERE u.email LIKE :emails ORDER BY u.id", Object[].class)
+                    .setParameter("emails", STUDENT_EMAILS)
+                    .getResultStream()
+                    .map(row -> new UserRef((Integer) row[0], (String) row[1]))
+                    .toList();
+            List<String> teacherEmails = entityManager
+                    .createQuery("SELECT t.user.email FROM Teacher t WHERE t.user.email LIKE :emails ORDER BY t.id", String.class)
+                    .setParameter("emails", TEACHER_EMAILS)
+                    .getResultList();
+
+            Map<Integer, GroupRef> groups = new LinkedHashMap<>();
+            entityManager.createQuery("SELECT g.id FROM TrainingGroup g WHERE g.teacher.user.email LIKE :emails ORDER BY g.id", Integer.class)
+                    .setParameter("emails", TEACHER_EMAILS)
+                    .getResultList()
+                    .forEach(id -> groups.put(id, new GroupRef(id, new ArrayList<>(), new ArrayList<>())));
+            entityManager.createQuery("SELECT g.id, s.id FROM TrainingGroup g JOIN g.students s ORDER BY s.id", Object[].class)
+                    .getResultStream()
+                    .filter(row -> groups.containsKey((Integer) row[0]))
+                    .forEach(row -> groups.get((Integer) row[0]).studentIds().add((Integer) row[1]));
+            entityManager.createQuery("SELECT s.trainingGroup.id, s.id FROM TrainingSession s ORDER BY s.id", Object[].class)
+                    .getResultStream()
+                    .filter(row -> groups.containsKey((Integer) row[0]))
+                    .forEach(row -> groups.get((Integer) row[0]).sessionIds().add((Integer) row[1]));
+
+            List<Integer> invoiceIds = entityManager
+                    .createQuery("SELECT i.id FROM Invoice i WHERE i.user.email LIKE :emails ORDER BY i.id", Integer.class)
+                    .setParameter("emails", STUDENT_EMAILS)
+                    .getResultList();
+            List<Integer> productIds = entityManager
+                    .createQuery("SELECT p.id FROM ProductService p ORDER BY p.id", Integer.class)
+                    .getResultList();
+
+            return new LoadTestDataSet(SyntheticDataOptions.DEFAULT_PASSWORD, ADMIN_EMAIL, studentUsers, teacherEmails,
+                    List.copyOf(groups.values()), invoiceIds, productIds);
+        });
+    }
+}
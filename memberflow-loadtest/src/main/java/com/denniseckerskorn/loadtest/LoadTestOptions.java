@@ -0,0 +1,93 @@
+package com.denniseckerskorn.loadtest;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Options of a load test, read from {@code --name=value} arguments.
+ *
+ * @param students      number of students in the synthetic data set
+ * @param model         {@code closed}: a fixed number of clients send one request after another;
+ *                      {@code open}: requests arrive at a fixed rate whether or not earlier ones completed
+ * @param clients       number of concurrent clients of the closed model
+ * @param rate          requests per second of the open model
+ * @param thinkTime     pause of each closed-model client between two requests
+ * @param warmup        time the workload runs before latencies are recorded
+ * @param duration      time latencies are recorded
+ * @param threads       {@code platform}, {@code virtual} or {@code both}: how the API runs requests; {@code both}
+ *                      runs the test once per mode on a fresh database and compares them
+ * @param poolSize      size of the connection pool of the API
+ * @param mix           relative weight of each operation
+ * @param report        CSV file the results are appended to, or null
+ */
+public record LoadTestOptions(int students, String model, int clients, int rate, Duration thinkTime,
+                              Duration warmup, Duration duration, String threads, int poolSize,
+                              Map<Operation, Integer> mix, String report) {
+
+    private static final Set<String> NAMES = Set.of("students", "model", "clients", "rate", "think-time",
+            "warmup", "duration", "threads", "pool-size", "mix", "report");
+
+    /**
+     * Parses the command line.
+     *
+     * @param args arguments of the form {@code --name=value}
+     * @return the options, with defaults for the ones not given
+     * @throws IllegalArgumentException if an argument is unknown or malformed
+     */
+    public static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0 || !NAMES.contains(arg.substring(2, separator))) {
+                throw new IllegalArgumentException("Unknown argument " + arg + ", expected --name=value with name one of " + NAMES);
+            }
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        LoadTestOptions options = new LoadTestOptions(
+                Integer.parseInt(values.getOrDefault("students", "2000")),
+                values.getOrDefault("model", "closed"),
+                Integer.parseInt(values.getOrDefault("clients", "50")),
+                Integer.parseInt(values.getOrDefault("rate", "200")),
+                Duration.ofMillis(Long.parseLong(values.getOrDefault("think-time", "0"))),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("warmup", "15"))),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("duration", "60"))),
+                values.getOrDefault("threads", "platform"),
+                Integer.parseInt(values.getOrDefault("pool-size", "10")),
+                parseMix(values.getOrDefault("mix", Operation.DEFAULT_MIX)),
+                values.get("report"));
+        if (!Set.of("closed", "open").contains(options.model())) {
+            throw new IllegalArgumentException("--model must be closed or open");
+        }
+        if (!Set.of("platform", "virtual", "both").contains(options.threads())) {
+            throw new IllegalArgumentException("--threads must be platform, virtual or both");
+        }
+        return options;
+    }
+
+    /**
+     * Describes the load, for the report.
+     *
+     * @return the model with its clients or rate
+     */
+    public String describeLoad() {
+        return model.equals("closed")
+                ? clients + " clients" + (thinkTime.isZero() ? "" : ", " + thinkTime.toMillis() + " ms think time")
+                : rate + " requests/s";
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("--mix entries must be operation:weight, got " + entry);
+            }
+            weights.put(Operation.fromName(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,224 @@
+package com.denniseckerskorn.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * The requests of the workload, each standing for something the frontend does all day.
+ * Students log in and open their profile; teachers read rosters, take roll calls and download invoices;
+ * the administrator creates invoices.
+ */
+public enum Operation {
+
+    /**
+     * A student logs in; the password check runs on the login pool.
+     */
+    LOGIN("login") {
+        @Override
+        HttpRequest request(Session session, RandomGenerator random) {
+            LoadTestDataSet.UserRef student = session.randomStudent(random);
+            return session.post("/api/v1/auth/login", null,
+                    Map.of("email", student.email(), "password", session.dataSet().password()));
+        }
+    },
+
+    /**
+     * A student opens their profile.
+     */
+    ME("me") {
+        @Override
+        HttpRequest request(Session session, RandomGenerator random) {
+            return session.get("/api/v1/users/me", session.studentToken(random));
+        }
+    },
+
+    /**
+     * A teacher opens a training group with its students.
+     */
+    GROUP_ROSTER("group-roster") {
+        @Override
+        HttpRequest request(Session session, RandomGenerator random) {
+            return session.get("/api/v1/training-groups/findById/" + session.randomGroup(random).id(), session.teacherToken(random));
+        }
+    },
+
+    /**
+     * A teacher pages through the student roster, 50 students at a time.
+     */
+    STUDENT_ROSTER("student-roster") {
+        @Override
+        HttpRequest request(Session session, RandomGenerator random) {
+            int pages = Math.max(1, session.dataSet().studentUsers().size() / 50);
+            return session.get("/api/v1/students/getAllSummaries?page=" + random.nextInt(pages) + "&size=50",
+                    session.teacherToken(random));
+        }
+    },
+
+    /**
+     * A teacher takes the roll call of a session, with most of the group present.
+     */
+    ROLL_CALL("roll-call") {
+        @Override
+        HttpRequest request(Session session, RandomGenerator random) {
+            LoadTestDataSet.GroupRef group = session.randomGroup(random);
+            List<Integer> present = new ArrayList<>();
+            for (Integer studentId : group.studentIds()) {
+                if (random.nextInt(5) != 0) {
+                    present.add(studentId);
+                }
+            }
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("sessionId", group.sessionIds().get(random.nextInt(group.sessionIds().size())));
+            body.put("studentIds", present);
+            body.put("date", LocalDateTime.now().withNano(0).toString());
+            return session.post("/api/v1/assistances/roll-call", session.teacherToken(random), body);
+        }
+    },
+
+    /**
+     * The administrator creates an invoice of one to three lines for a student.
+     */
+    CREATE_INVOICE("create-invoice") {
+        @Override
+        HttpRequest request(Session session, RandomGenerator random) {
+            List<Map<String, Object>> lines = new ArrayList<>();
+            int count = 1 + random.nextInt(3);
+            for (int i = 0; i < count; i++) {
+                List<Integer> productIds = session.dataSet().productIds();
+                lines.add(Map.of(
+                        "productServiceId", productIds.get(random.nextInt(productIds.size())),
+                        "quantity", 1,
+                        "unitPrice", new BigDecimal("35.00")));
+            }
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("userId", session.randomStudent(random).id());
+            body.put("date", LocalDateTime.now().withNano(0).toString());
+            body.put("status", "NOT_PAID");
+            body.put("total", BigDecimal.ZERO);
+            body.put("lines", lines);
+            return session.post("/api/v1/invoices/createInvoiceWithLines", session.adminToken(), body);
+        }
+    },
+
+    /**
+     * A teacher downloads the PDF of an invoice.
+     */
+    INVOICE_PDF("invoice-pdf") {
+        @Override
+        HttpRequest request(Session session, RandomGenerator random) {
+            List<Integer> invoiceIds = session.dataSet().invoiceIds();
+            return session.get("/api/v1/invoices/generatePDFById/" + invoiceIds.get(random.nextInt(invoiceIds.size())),
+                    session.teacherToken(random));
+        }
+    };
+
+    /**
+     * Default weights of the operations, in the format of {@code --mix}.
+     */
+    public static final String DEFAULT_MIX =
+            "login:5,me:25,group-roster:15,student-roster:10,roll-call:10,create-invoice:10,invoice-pdf:25";
+
+    private final String label;
+
+    Operation(String label) {
+        this.label = label;
+    }
+
+    /**
+     * Returns the name of the operation in {@code --mix} and in the report.
+     *
+     * @return the name
+     */
+    public String label() {
+        return label;
+    }
+
+    /**
+     * Finds an operation by its name.
+     *
+     * @param label the name used in {@code --mix}
+     * @return the operation
+     * @throws IllegalArgumentException if no operation has that name
+     */
+    public static Operation fromName(String label) {
+        for (Operation operation : values()) {
+            if (operation.label.equals(label)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation " + label);
+    }
+
+    /**
+     * Builds one request of this operation.
+     *
+     * @param session the API under test and the data it holds
+     * @param random  the random source of the calling client
+     * @return the request
+     */
+    abstract HttpRequest request(Session session, RandomGenerator random);
+
+    /**
+     * The API under test: its address, the seeded data and a token for every user the workload acts as.
+     *
+     * @param baseUri       the address of the API
+     * @param dataSet       the seeded data
+     * @param adminToken    the token of the administrator
+     * @param teacherTokens the tokens of the teachers
+     * @param studentTokens the tokens of the students, in the order of {@link LoadTestDataSet#studentUsers()}
+     * @param objectMapper  the mapper the request bodies are written with
+     */
+    record Session(URI baseUri, LoadTestDataSet dataSet, String adminToken, List<String> teacherTokens,
+                   List<String> studentTokens, ObjectMapper objectMapper) {
+
+        LoadTestDataSet.UserRef randomStudent(RandomGenerator random) {
+            return dataSet.studentUsers().get(random.nextInt(dataSet.studentUsers().size()));
+        }
+
+        LoadTestDataSet.GroupRef randomGroup(RandomGenerator random) {
+            return dataSet.groups().get(random.nextInt(dataSet.groups().size()));
+        }
+
+        String studentToken(RandomGenerator random) {
+            return studentTokens.get(random.nextInt(studentTokens.size()));
+        }
+
+        String teacherToken(RandomGenerator random) {
+            return teacherTokens.get(random.nextInt(teacherTokens.size()));
+        }
+
+        HttpRequest get(String path, String token) {
+            return builder(path, token).GET().build();
+        }
+
+        HttpRequest post(String path, String token, Object body) {
+            try {
+                return builder(path, token)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                        .build();
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Cannot write the body of " + path, e);
+            }
+        }
+
+        private HttpRequest.Builder builder(String path, String token) {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(path))
+                    .timeout(LoadGenerator.REQUEST_TIMEOUT);
+            if (token != null) {
+                builder.header("Authorization", "Bearer " + token);
+            }
+            return builder;
+        }
+    }
+}